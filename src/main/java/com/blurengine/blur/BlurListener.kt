@@ -16,9 +16,12 @@
 
 package com.blurengine.blur
 
+import com.blurengine.blur.events.EventListeners
 import com.blurengine.blur.events.players.PlayerDamagePlayerEvent
 import com.blurengine.blur.events.players.PlayerMoveBlockEvent
+import com.supaham.commons.bukkit.TickerTask
 import com.supaham.commons.bukkit.utils.EventUtils
+import org.bukkit.Location
 import org.bukkit.entity.Player
 import org.bukkit.event.EventHandler
 import org.bukkit.event.EventPriority
@@ -28,6 +31,7 @@ import org.bukkit.event.inventory.InventoryAction
 import org.bukkit.event.inventory.InventoryClickEvent
 import org.bukkit.event.player.PlayerInteractEvent
 import org.bukkit.event.player.PlayerMoveEvent
+import org.bukkit.event.player.PlayerQuitEvent
 import org.bukkit.inventory.PlayerInventory
 
 /*
@@ -45,20 +49,61 @@ internal class BlurListener(private val plugin: BlurPlugin) : Listener {
         }
     }
 
+    /*
+     * Only used when coalescing move block events.
+     */
+    private val pendingMoves = PendingMoves<Player>()
+
+    init {
+        if (plugin.settings.isCoalesceMoveBlockEvents) {
+            TickerTask(plugin, 0, 1, Runnable { flushPendingMoves() }).start()
+        }
+    }
+
     @EventHandler(priority = EventPriority.LOW, ignoreCancelled = true)
     fun callPlayerMoveBlockEvent(event: PlayerMoveEvent) {
         val from = event.from
-        val to = event.to
-        if (from.toVector() != to!!.toVector()) {
-            val blurPlayer = plugin.blur.getPlayer(event.player)
-            if (blurPlayer != null && blurPlayer.session != null) {
-                EventUtils.callEvent(PlayerMoveBlockEvent(event, blurPlayer))
+        val to = event.to ?: return
+        // Most movement packets stay within a block, so bail out on integer coordinates before touching anything else.
+        if (!PlayerMoveBlockEvent.isBlockChange(from, to) || !EventListeners.hasListeners(PlayerMoveBlockEvent::class.java)) {
+            return
+        }
+        if (plugin.settings.isCoalesceMoveBlockEvents) {
+            pendingMoves.add(event.player, from)
+            return
+        }
+        val blurPlayer = plugin.blur.getPlayer(event.player)
+        if (blurPlayer != null && blurPlayer.session != null) {
+            EventUtils.callEvent(PlayerMoveBlockEvent(event, blurPlayer))
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    fun clearPendingMove(event: PlayerQuitEvent) {
+        pendingMoves.remove(event.player)
+    }
+
+    private fun flushPendingMoves() {
+        pendingMoves.flush({ it.location }) { player, from, to ->
+            val blurPlayer = plugin.blur.getPlayer(player)
+            if (blurPlayer == null || blurPlayer.session == null) {
+                return@flush
+            }
+            val moveEvent = PlayerMoveBlockEvent(blurPlayer, from, to)
+            EventUtils.callEvent(moveEvent)
+            if (moveEvent.isCancelled) {
+                player.teleport(from)
+            } else if (moveEvent.to !== to) {
+                player.teleport(moveEvent.to)
             }
         }
     }
 
     @EventHandler(priority = EventPriority.LOW, ignoreCancelled = true)
     fun callPlayerDamagePlayerEvent(event: EntityDamageByEntityEvent) {
+        if (!EventListeners.hasListeners(PlayerDamagePlayerEvent::class.java)) {
+            return
+        }
         val damager = EventUtils.getLivingEntityDamager(event)
         if (event.entity is Player && damager is Player) {
             val blurDamager = plugin.blur.getPlayer(damager)
@@ -98,3 +143,43 @@ internal class BlurListener(private val plugin: BlurPlugin) : Listener {
         }
     }
 }
+
+/**
+ * Holds the location each player was at before their first block change of the current tick, so that a tick of moves is called as at most one
+ * [PlayerMoveBlockEvent] per player.
+ */
+internal class PendingMoves<P : Any> {
+    private val moves = HashMap<P, Location>()
+
+    val size: Int get() = moves.size
+
+    /**
+     * Records a block change of [player] from [from]. Only the first block change of a tick is kept.
+     */
+    fun add(player: P, from: Location) {
+        moves.putIfAbsent(player, from)
+    }
+
+    fun remove(player: P) {
+        moves.remove(player)
+    }
+
+    /**
+     * Calls [action] with the first and current location of every player that is in a different block than before their first block change of the
+     * tick, then forgets every move.
+     */
+    fun flush(locationOf: (P) -> Location, action: (P, Location, Location) -> Unit) {
+        if (moves.isEmpty()) {
+            return
+        }
+        val flushed = ArrayList(moves.entries)
+        moves.clear()
+        for ((player, from) in flushed) {
+            val to = locationOf(player)
+            // The player may have returned to the block they started the tick in.
+            if (PlayerMoveBlockEvent.isBlockChange(from, to)) {
+                action(player, from, to)
+            }
+        }
+    }
+}
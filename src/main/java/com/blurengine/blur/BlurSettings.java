@@ -24,12 +24,15 @@ import java.util.List;
 
 import javax.annotation.Nonnull;
 
+import pluginbase.config.annotation.Name;
 import pluginbase.config.annotation.NoTypeKey;
 
 @NoTypeKey
 public final class BlurSettings extends CommonSettings {
 
     private List<Object> modules = Arrays.asList("");
+    @Name("coalesce-move-block-events")
+    private boolean coalesceMoveBlockEvents = false;
 
     private BlurSettings() {}
 
@@ -40,4 +43,14 @@ public final class BlurSettings extends CommonSettings {
     public List<Object> getModules() {
         return modules;
     }
+
+    /**
+     * Returns whether {@link com.blurengine.blur.events.players.PlayerMoveBlockEvent} is called at most once per player per tick, rather than
+     * for every movement packet that crosses a block boundary.
+     *
+     * @return whether move block events are coalesced
+     */
+    public boolean isCoalesceMoveBlockEvents() {
+        return coalesceMoveBlockEvents;
+    }
 }
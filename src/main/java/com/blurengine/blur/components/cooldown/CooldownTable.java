@@ -0,0 +1,307 @@
+/*
+ * Copyright 2026 Ali Moghnieh
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blurengine.blur.components.cooldown;
+
+import com.google.common.base.Preconditions;
+
+import com.blurengine.blur.framework.ticking.TimingWheel;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Represents a table of cooldown entries keyed by player and cooldown, indexed both ways. Each entry is stamped with the absolute tick it expires
+ * on and expires through a {@link TimingWheel} timer, so running cooldowns cost nothing per tick, and looking up whether a player is on a cooldown
+ * and for how long is a pair of hash lookups.
+ * <p />
+ * A player has at most one entry per cooldown, putting another replaces it. Expired entries are removed before their completion handler is
+ * called, so handlers may put the same cooldown again. This class is not thread-safe.
+ *
+ * @param <P> type of players
+ * @param <C> type of cooldowns
+ * @param <E> type of entries
+ */
+public class CooldownTable<P, C, E> {
+
+    private final TimingWheel wheel;
+    private final CompletionHandler<P, C, E> completionHandler;
+    private final Map<P, Map<C, Slot<P, C, E>>> byPlayer = new HashMap<>();
+    private final Map<C, Map<P, Slot<P, C, E>>> byCooldown = new HashMap<>();
+    private int size;
+
+    public CooldownTable(@Nonnull TimingWheel wheel, @Nonnull CompletionHandler<P, C, E> completionHandler) {
+        this.wheel = Preconditions.checkNotNull(wheel, "wheel cannot be null.");
+        this.completionHandler = Preconditions.checkNotNull(completionHandler, "completionHandler cannot be null.");
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Puts an entry that expires after the given number of ticks, replacing any entry the player already has for the cooldown.
+     *
+     * @param player player
+     * @param cooldown cooldown
+     * @param entry entry
+     * @param ticks ticks until the entry expires, values less than one expire on the next tick
+     *
+     * @return the replaced entry, or null if there was none
+     */
+    @Nullable
+    public E put(@Nonnull P player, @Nonnull C cooldown, @Nonnull E entry, long ticks) {
+        Preconditions.checkNotNull(player, "player cannot be null.");
+        Preconditions.checkNotNull(cooldown, "cooldown cannot be null.");
+        Preconditions.checkNotNull(entry, "entry cannot be null.");
+        Slot<P, C, E> slot = getSlot(player, cooldown);
+        if (slot != null) {
+            E old = slot.entry;
+            slot.entry = entry;
+            slot.timer.reschedule(ticks);
+            return old;
+        }
+        Slot<P, C, E> created = slot = new Slot<>(player, cooldown, entry);
+        slot.timer = wheel.schedule(ticks, timer -> expire(created));
+        byPlayer.computeIfAbsent(player, p -> new HashMap<>(4)).put(cooldown, slot);
+        byCooldown.computeIfAbsent(cooldown, c -> new HashMap<>()).put(player, slot);
+        size++;
+        return null;
+    }
+
+    /**
+     * Changes the number of ticks until the player's entry for the cooldown expires.
+     *
+     * @param player player
+     * @param cooldown cooldown
+     * @param ticks ticks from now, values less than one expire on the next tick
+     *
+     * @return whether the player had an entry for the cooldown
+     */
+    public boolean reschedule(@Nonnull P player, @Nonnull C cooldown, long ticks) {
+        Slot<P, C, E> slot = getSlot(player, cooldown);
+        if (slot == null) {
+            return false;
+        }
+        slot.timer.reschedule(ticks);
+        return true;
+    }
+
+    @Nullable
+    public E get(@Nonnull P player, @Nonnull C cooldown) {
+        Slot<P, C, E> slot = getSlot(player, cooldown);
+        return slot != null ? slot.entry : null;
+    }
+
+    public boolean contains(@Nonnull P player, @Nonnull C cooldown) {
+        return getSlot(player, cooldown) != null;
+    }
+
+    /**
+     * Returns the number of ticks until the player's entry for the cooldown expires.
+     *
+     * @param player player
+     * @param cooldown cooldown
+     *
+     * @return remaining ticks, or 0 if the player is not on the cooldown
+     */
+    public long getRemainingTicks(@Nonnull P player, @Nonnull C cooldown) {
+        Slot<P, C, E> slot = getSlot(player, cooldown);
+        return slot != null ? slot.timer.getRemainingTicks() : 0;
+    }
+
+    /**
+     * Returns the tick, of this table's {@link TimingWheel}, that the player's entry for the cooldown expires on.
+     *
+     * @param player player
+     * @param cooldown cooldown
+     *
+     * @return expiry tick, or {@link Long#MIN_VALUE} if the player is not on the cooldown
+     */
+    public long getExpiry(@Nonnull P player, @Nonnull C cooldown) {
+        Slot<P, C, E> slot = getSlot(player, cooldown);
+        return slot != null ? slot.timer.getExpiry() : Long.MIN_VALUE;
+    }
+
+    /**
+     * Returns the entries of the given player.
+     *
+     * @param player player
+     *
+     * @return new list of entries
+     */
+    @Nonnull
+    public List<E> get(@Nonnull P player) {
+        Map<C, Slot<P, C, E>> slots = byPlayer.get(player);
+        if (slots == null) {
+            return Collections.emptyList();
+        }
+        List<E> result = new ArrayList<>(slots.size());
+        for (Slot<P, C, E> slot : slots.values()) {
+            result.add(slot.entry);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the players that are on the given cooldown.
+     *
+     * @param cooldown cooldown
+     *
+     * @return unmodifiable view of players
+     */
+    @Nonnull
+    public Set<P> getPlayers(@Nonnull C cooldown) {
+        Map<P, Slot<P, C, E>> slots = byCooldown.get(cooldown);
+        return slots != null ? Collections.unmodifiableSet(slots.keySet()) : Collections.emptySet();
+    }
+
+    /**
+     * Returns every entry in this table.
+     *
+     * @return new list of entries
+     */
+    @Nonnull
+    public List<E> values() {
+        List<E> result = new ArrayList<>(size);
+        for (Map<C, Slot<P, C, E>> slots : byPlayer.values()) {
+            for (Slot<P, C, E> slot : slots.values()) {
+                result.add(slot.entry);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Removes the player's entry for the cooldown without completing it.
+     *
+     * @param player player
+     * @param cooldown cooldown
+     *
+     * @return the removed entry, or null if there was none
+     */
+    @Nullable
+    public E remove(@Nonnull P player, @Nonnull C cooldown) {
+        Slot<P, C, E> slot = getSlot(player, cooldown);
+        if (slot == null) {
+            return null;
+        }
+        slot.timer.cancel();
+        unlink(slot);
+        return slot.entry;
+    }
+
+    /**
+     * Removes every entry of the given player without completing them.
+     *
+     * @param player player
+     *
+     * @return removed entries
+     */
+    @Nonnull
+    public Collection<E> removeAll(@Nonnull P player) {
+        Map<C, Slot<P, C, E>> slots = byPlayer.remove(player);
+        if (slots == null) {
+            return Collections.emptyList();
+        }
+        List<E> result = new ArrayList<>(slots.size());
+        for (Slot<P, C, E> slot : slots.values()) {
+            slot.timer.cancel();
+            removeFromCooldown(slot);
+            size--;
+            result.add(slot.entry);
+        }
+        return result;
+    }
+
+    /**
+     * Removes every entry without completing them.
+     */
+    public void clear() {
+        for (Map<C, Slot<P, C, E>> slots : byPlayer.values()) {
+            for (Slot<P, C, E> slot : slots.values()) {
+                slot.timer.cancel();
+            }
+        }
+        byPlayer.clear();
+        byCooldown.clear();
+        size = 0;
+    }
+
+    @Nullable
+    private Slot<P, C, E> getSlot(P player, C cooldown) {
+        Map<C, Slot<P, C, E>> slots = byPlayer.get(player);
+        return slots != null ? slots.get(cooldown) : null;
+    }
+
+    private void expire(Slot<P, C, E> slot) {
+        unlink(slot);
+        completionHandler.onComplete(slot.player, slot.cooldown, slot.entry);
+    }
+
+    private void unlink(Slot<P, C, E> slot) {
+        Map<C, Slot<P, C, E>> slots = byPlayer.get(slot.player);
+        slots.remove(slot.cooldown);
+        if (slots.isEmpty()) {
+            byPlayer.remove(slot.player);
+        }
+        removeFromCooldown(slot);
+        size--;
+    }
+
+    private void removeFromCooldown(Slot<P, C, E> slot) {
+        Map<P, Slot<P, C, E>> slots = byCooldown.get(slot.cooldown);
+        slots.remove(slot.player);
+        if (slots.isEmpty()) {
+            byCooldown.remove(slot.cooldown);
+        }
+    }
+
+    /**
+     * Represents a callback for entries that have expired.
+     */
+    @FunctionalInterface
+    public interface CompletionHandler<P, C, E> {
+
+        void onComplete(@Nonnull P player, @Nonnull C cooldown, @Nonnull E entry);
+    }
+
+    private static final class Slot<P, C, E> {
+
+        final P player;
+        final C cooldown;
+        E entry;
+        TimingWheel.Timer timer;
+
+        Slot(P player, C cooldown, E entry) {
+            this.player = player;
+            this.cooldown = cooldown;
+            this.entry = entry;
+        }
+    }
+}
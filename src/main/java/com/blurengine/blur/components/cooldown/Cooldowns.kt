@@ -16,58 +16,133 @@
 
 package com.blurengine.blur.components.cooldown
 
+import com.blurengine.blur.components.shared.SessionTimers
 import com.blurengine.blur.events.players.PlayerLeaveSessionEvent
 import com.blurengine.blur.framework.AbstractComponent
 import com.blurengine.blur.framework.ModuleManager
 import com.blurengine.blur.framework.ticking.Tick
 import com.blurengine.blur.session.BlurPlayer
+import com.blurengine.blur.utils.getSharedComponent
 import com.google.common.collect.HashMultimap
 import com.google.common.collect.Multimaps
 import com.google.common.collect.SetMultimap
 import org.bukkit.event.EventHandler
 import java.util.Collections
 
+/**
+ * Represents a component that puts players on [Cooldown]s. Entries are stored in a [CooldownTable] as absolute expiry ticks of the session's
+ * [SessionTimers], so running cooldowns cost nothing per tick unless their [Cooldown.ticking] asks for it, or they are an [ExpCooldownEntry] being
+ * displayed.
+ */
 class CooldownsManager(moduleManager: ModuleManager) : AbstractComponent(moduleManager) {
-    private val _cooldowns = HashMultimap.create<BlurPlayer, CooldownEntry>()
-    val cooldowns: SetMultimap<BlurPlayer, CooldownEntry> get() = Multimaps.unmodifiableSetMultimap(_cooldowns)
+    private val timers: SessionTimers get() = session.getSharedComponent { SessionTimers(session) }
+    private val table by lazy {
+        CooldownTable<BlurPlayer, Cooldown<*>, CooldownEntry>(timers.wheel) { _, _, entry -> complete(entry) }
+    }
+    private val tickingEntries = LinkedHashSet<CooldownEntry>()
+    private val expDisplays = HashMap<BlurPlayer, ExpCooldownEntry>()
+
+    /**
+     * Returns a snapshot of every player's cooldown entries.
+     */
+    val cooldowns: SetMultimap<BlurPlayer, CooldownEntry>
+        get() {
+            val result = HashMultimap.create<BlurPlayer, CooldownEntry>()
+            table.values().forEach { result.put(it.blurPlayer, it) }
+            return Multimaps.unmodifiableSetMultimap(result)
+        }
 
-    operator fun get(blurPlayer: BlurPlayer): Set<CooldownEntry> = Collections.unmodifiableSet(_cooldowns[blurPlayer])
+    operator fun get(blurPlayer: BlurPlayer): Set<CooldownEntry> = Collections.unmodifiableSet(LinkedHashSet(table.get(blurPlayer)))
 
-    operator fun get(blurPlayer: BlurPlayer, cooldown: Cooldown<CooldownEntry>): CooldownEntry? = _cooldowns[blurPlayer].single { it.cooldown == cooldown }
+    operator fun get(blurPlayer: BlurPlayer, cooldown: Cooldown<CooldownEntry>): CooldownEntry? = table.get(blurPlayer, cooldown)
 
     operator fun set(blurPlayer: BlurPlayer, cooldown: Cooldown<CooldownEntry>) = apply(blurPlayer, cooldown)
 
     fun remove(blurPlayer: BlurPlayer, cooldown: Cooldown<CooldownEntry>): Boolean {
-        val foundEntry = _cooldowns[blurPlayer].filter { it.cooldown == cooldown }.firstOrNull()
-        return foundEntry?.let { _cooldowns.remove(blurPlayer, it) } ?: false
+        val entry = table.remove(blurPlayer, cooldown) ?: return false
+        release(entry)
+        return true
     }
 
-    fun removeAll(blurPlayer: BlurPlayer): MutableSet<CooldownEntry> = _cooldowns.removeAll(blurPlayer)
+    fun removeAll(blurPlayer: BlurPlayer): MutableSet<CooldownEntry> = table.removeAll(blurPlayer).mapTo(HashSet()) { it.also { release(it) } }
 
+    /**
+     * Puts [blurPlayer] on [cooldown], replacing the entry they already have for it, if any.
+     */
     fun <T : CooldownEntry> apply(blurPlayer: BlurPlayer, cooldown: Cooldown<T>): T {
         val ticks = cooldown.getCooldownFor(blurPlayer)
         val entry = cooldown.createEntry(this, blurPlayer, ticks)
-        _cooldowns.put(blurPlayer, entry)
+        table.put(blurPlayer, cooldown, entry, ticks.toLong())?.let { release(it) }
+        if (cooldown.ticking) {
+            tickingEntries.add(entry)
+        }
         return entry
     }
 
-    fun <T : CooldownEntry> isOnCooldown(blurPlayer: BlurPlayer, cooldown: Cooldown<T>): Boolean {
-        return _cooldowns.get(blurPlayer).any { it.cooldown == cooldown }
+    fun <T : CooldownEntry> isOnCooldown(blurPlayer: BlurPlayer, cooldown: Cooldown<T>): Boolean = table.contains(blurPlayer, cooldown)
+
+    /**
+     * Returns the number of ticks until [blurPlayer] comes off [cooldown], or 0 if they are not on it.
+     */
+    fun <T : CooldownEntry> getRemainingTicks(blurPlayer: BlurPlayer, cooldown: Cooldown<T>): Int {
+        return table.getRemainingTicks(blurPlayer, cooldown).coerceAtMost(Int.MAX_VALUE.toLong()).toInt()
     }
 
+    /**
+     * Returns the players currently on [cooldown].
+     */
+    fun getPlayers(cooldown: Cooldown<*>): Set<BlurPlayer> = table.getPlayers(cooldown)
+
     @Tick
     fun tick() {
-        this._cooldowns.values().forEach { it.ticks-- }
-        this._cooldowns.entries().filter { it.value.ticks <= 0 }.forEach {
-            it.value.cooldown.onComplete(it.value)
-            this._cooldowns.remove(it.key, it.value)
+        if (tickingEntries.isEmpty() && expDisplays.isEmpty()) return
+        tickingEntries.forEach { it.cooldown.tick(it) }
+        expDisplays.values.forEach { if (!it.cooldown.ticking) it.cooldown.tick(it) }
+    }
+
+    internal fun getRemainingTicks(entry: CooldownEntry): Int {
+        return if (isCurrent(entry)) getRemainingTicks(entry.blurPlayer, entry.cooldown) else 0
+    }
+
+    internal fun reschedule(entry: CooldownEntry, ticks: Int) {
+        if (isCurrent(entry)) {
+            table.reschedule(entry.blurPlayer, entry.cooldown, ticks.toLong())
+        }
+    }
+
+    internal fun getExpDisplay(blurPlayer: BlurPlayer): ExpCooldownEntry? = expDisplays[blurPlayer]
+
+    internal fun setExpDisplay(entry: ExpCooldownEntry, active: Boolean) {
+        if (active) {
+            expDisplays[entry.blurPlayer] = entry
+        } else {
+            expDisplays.remove(entry.blurPlayer, entry)
+        }
+    }
+
+    private fun isCurrent(entry: CooldownEntry) = table.get(entry.blurPlayer, entry.cooldown) === entry
+
+    private fun complete(entry: CooldownEntry) {
+        if (entry is ExpCooldownEntry && entry.active) {
+            entry.cooldown.tick(entry) // Show the finished cooldown before it stops being displayed.
+        }
+        release(entry)
+        entry.cooldown.onComplete(entry)
+    }
+
+    private fun release(entry: CooldownEntry) {
+        if (entry.cooldown.ticking) {
+            tickingEntries.remove(entry)
+        }
+        if (entry is ExpCooldownEntry) {
+            expDisplays.remove(entry.blurPlayer, entry)
         }
     }
 
     @EventHandler
     fun onPlayerLeaveSession(event: PlayerLeaveSessionEvent) {
         if (isSession(event)) {
-            this._cooldowns.removeAll(event.blurPlayer)
+            removeAll(event.blurPlayer)
         }
     }
 
@@ -80,6 +155,11 @@ interface Cooldown<out T : CooldownEntry> {
 
     fun getCooldownFor(blurPlayer: BlurPlayer) = cooldownTicks
 
+    /**
+     * Whether [tick] is called for every entry of this cooldown on every tick. Off by default, so that running cooldowns cost nothing per tick.
+     */
+    val ticking: Boolean get() = false
+
     fun tick(entry: @UnsafeVariance T) {}
     
     fun onComplete(entry: @UnsafeVariance T) {}
@@ -91,11 +171,13 @@ interface BasicCooldown : Cooldown<CooldownEntry> {
 }
 
 open class CooldownEntry(val manager: CooldownsManager, val cooldown: Cooldown<CooldownEntry>, val blurPlayer: BlurPlayer, ticks: Int) {
-    internal var _ticks = ticks
+    /**
+     * Ticks until this entry expires, or 0 once it has been removed or replaced.
+     */
     open var ticks: Int
-        get() = _ticks
+        get() = manager.getRemainingTicks(this)
         set(value) {
-            _ticks = value
+            manager.reschedule(this, value)
             cooldown.tick(this)
         }
 
@@ -116,7 +198,10 @@ interface ExpCooldown : Cooldown<ExpCooldownEntry> {
         } else {
             exp = Math.max((entry.maxTicks - entry.ticks) * entry.incrementation, 0f)
         }
-        entry.blurPlayer.player.exp = exp
+        val player = entry.blurPlayer.player
+        if (player.exp != exp) {
+            player.exp = exp
+        }
     }
 }
 
@@ -142,14 +227,15 @@ class ExpCooldownEntry(manager: CooldownsManager, cooldown: Cooldown<ExpCooldown
             }
         }
 
-    private var _active: Boolean = false
+    /**
+     * Whether this entry is shown on its player's exp bar. Only one entry per player is shown, activating one deactivates the others.
+     */
     var active: Boolean
-        get() = _active
+        get() = manager.getExpDisplay(blurPlayer) === this
         set(value) {
-            // Deactivate all other ExpCooldownEntry
-            for (entry in manager.cooldowns.values().filterIsInstance<ExpCooldownEntry>().filter { it != this && it.blurPlayer == blurPlayer}) {
-                entry._active = false
+            manager.setExpDisplay(this, value)
+            if (value) {
+                cooldown.tick(this)
             }
-            _active = value
         }
 }
@@ -0,0 +1,204 @@
+/*
+ * Copyright 2026 Ali Moghnieh
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blurengine.blur.components.shared
+
+import com.blurengine.blur.framework.SharedComponent
+import com.blurengine.blur.framework.ticking.Tick
+import com.blurengine.blur.modules.extents.Extent
+import com.blurengine.blur.session.BlurSession
+import com.blurengine.blur.utils.blocks.BlockKeys
+import org.bukkit.World
+import org.bukkit.block.data.BlockData
+import java.time.Duration
+import java.util.ArrayDeque
+import java.util.concurrent.CompletableFuture
+
+/**
+ * Represents a [SharedComponent] that places large numbers of blocks over multiple ticks. Blocks are placed chunk by chunk, and every tick only
+ * spends up to a time budget placing them, preventing big fills from freezing the server.
+ *
+ * @see BlockPlacementQueue
+ */
+class BlockPlacer(session: BlurSession) : SharedComponent(session) {
+
+    val queue = BlockPlacementQueue()
+
+    /**
+     * Default time spent placing blocks per tick for placements that do not specify their own budget.
+     */
+    var tickBudget: Duration = DEFAULT_TICK_BUDGET
+        set(value) {
+            require(!value.isNegative && !value.isZero) { "tickBudget must be positive." }
+            field = value
+        }
+
+    override fun disable() {
+        queue.cancelAll()
+    }
+
+    /**
+     * Queues every block of the given [Extent]s to be set to [blockData] in [world].
+     *
+     * @param physics whether to apply physics when setting each block
+     * @param tickBudget time to spend placing these blocks per tick, defaults to [BlockPlacer.tickBudget]
+     * @return future completed once every block has been placed
+     */
+    @JvmOverloads
+    fun place(world: World, extents: Collection<Extent>, blockData: BlockData, physics: Boolean = true,
+              tickBudget: Duration = this.tickBudget): CompletableFuture<Void?> {
+        return queue.submit(WorldBlockWriter(world), extents, blockData, physics, tickBudget.toNanos())
+    }
+
+    @Tick
+    fun tick() {
+        queue.process()
+    }
+
+    private class WorldBlockWriter(private val world: World) : BlockWriter {
+        override fun setBlock(x: Int, y: Int, z: Int, blockData: BlockData, physics: Boolean) {
+            world.getBlockAt(x, y, z).setBlockData(blockData, physics)
+        }
+    }
+
+    companion object {
+        @JvmField
+        val DEFAULT_TICK_BUDGET: Duration = Duration.ofMillis(5)
+    }
+}
+
+/**
+ * Represents the destination blocks are written to by a [BlockPlacementQueue].
+ */
+fun interface BlockWriter {
+    fun setBlock(x: Int, y: Int, z: Int, blockData: BlockData, physics: Boolean)
+}
+
+/**
+ * Represents a first-in-first-out queue of block placements. Each placement's blocks are sorted by chunk when submitted, then written in slices by
+ * [process], each slice lasting no longer than the placement's time budget.
+ *
+ * @param nanoTime clock the time budgets are measured with, in nanoseconds
+ */
+class BlockPlacementQueue(private val nanoTime: () -> Long = System::nanoTime) {
+    private val placements = ArrayDeque<Placement>()
+
+    /**
+     * Number of blocks that have been submitted but not placed yet.
+     */
+    val pendingBlocks: Long get() = placements.sumOf { (it.keys.size - it.cursor).toLong() }
+
+    /**
+     * Total number of blocks placed by this queue.
+     */
+    var placedBlocks: Long = 0
+        private set
+
+    val isEmpty: Boolean get() = placements.isEmpty()
+
+    fun submit(writer: BlockWriter, extents: Collection<Extent>, blockData: BlockData, physics: Boolean,
+               budgetNanos: Long): CompletableFuture<Void?> {
+        require(budgetNanos > 0) { "budgetNanos must be positive." }
+        val placement = Placement(writer, collectKeys(extents), blockData, physics, budgetNanos)
+        if (placement.keys.isEmpty()) {
+            placement.future.complete(null)
+        } else {
+            placements.add(placement)
+        }
+        return placement.future
+    }
+
+    /**
+     * Places queued blocks until either the queue is empty or the budget of the placement at the head of the queue has been spent.
+     *
+     * @return number of blocks placed
+     */
+    fun process(): Int {
+        val head = placements.peek() ?: return 0
+        val deadline = nanoTime() + head.budgetNanos
+        var placed = 0
+        while (placements.isNotEmpty()) {
+            val placement = placements.peek()
+            val keys = placement.keys
+            try {
+                while (placement.cursor < keys.size) {
+                    val key = keys[placement.cursor++]
+                    placement.writer.setBlock(BlockKeys.x(key), BlockKeys.y(key), BlockKeys.z(key), placement.blockData, placement.physics)
+                    placed++
+                    // Reading the clock is comparatively expensive, so only check the deadline every few blocks.
+                    if ((placed and CLOCK_CHECK_MASK) == 0 && nanoTime() - deadline >= 0) {
+                        break
+                    }
+                }
+            } catch (e: Exception) {
+                placements.poll()
+                placement.future.completeExceptionally(e)
+                continue
+            }
+            if (placement.cursor < keys.size) {
+                break // Out of budget
+            }
+            placements.poll()
+            placement.future.complete(null)
+        }
+        placedBlocks += placed
+        return placed
+    }
+
+    /**
+     * Cancels every queued placement, leaving their remaining blocks untouched.
+     */
+    fun cancelAll() {
+        while (placements.isNotEmpty()) {
+            placements.poll().future.cancel(false)
+        }
+    }
+
+    /**
+     * Returns the sorted, deduplicated [BlockKeys] of all blocks in [extents], which results in chunk-grouped placement order.
+     */
+    private fun collectKeys(extents: Collection<Extent>): LongArray {
+        var keys = LongArray(64)
+        var size = 0
+        for (extent in extents) {
+            extent.forEachBlock { x, y, z ->
+                if (size == keys.size) {
+                    keys = keys.copyOf(size * 2)
+                }
+                keys[size++] = BlockKeys.pack(x, y, z)
+            }
+        }
+        keys.sort(0, size)
+
+        var unique = 0
+        for (i in 0 until size) {
+            if (unique == 0 || keys[unique - 1] != keys[i]) {
+                keys[unique++] = keys[i]
+            }
+        }
+        return keys.copyOf(unique)
+    }
+
+    private class Placement(val writer: BlockWriter, val keys: LongArray, val blockData: BlockData, val physics: Boolean,
+                            val budgetNanos: Long) {
+        val future = CompletableFuture<Void?>()
+        var cursor = 0
+    }
+
+    companion object {
+        private const val CLOCK_CHECK_MASK = 63
+    }
+}
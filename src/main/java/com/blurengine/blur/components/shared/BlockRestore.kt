@@ -19,9 +19,13 @@ package com.blurengine.blur.components.shared
 import com.blurengine.blur.framework.SharedComponent
 import com.blurengine.blur.framework.ticking.Tick
 import com.blurengine.blur.session.BlurSession
+import com.blurengine.blur.utils.blocks.BlockExpiryQueue
+import com.blurengine.blur.utils.blocks.BlockKeys
 import com.blurengine.blur.utils.elapsed
-import com.supaham.commons.bukkit.utils.BlockFaceUtils
+import com.supaham.commons.bukkit.TickerTask
+import org.bukkit.Bukkit
 import org.bukkit.Location
+import org.bukkit.World
 import org.bukkit.block.Block
 import org.bukkit.block.BlockFace
 import org.bukkit.block.BlockState
@@ -39,69 +43,162 @@ import java.time.Duration
 import java.time.Instant
 import java.util.Collections
 
+/**
+ * Represents a [SharedComponent] that temporarily changes blocks and restores them once their expiry has elapsed. Pending blocks are kept in a
+ * [BlockExpiryQueue] per world, so each tick only visits the blocks that have expired, and block events in chunks without pending blocks are
+ * ignored after a single lookup.
+ */
 class BlockRestore(session: BlurSession) : SharedComponent(session) {
 
-    private val _blocks = HashMap<Block, BlockRestoreData>()
-    val blocks: Map<Block, BlockRestoreData> = Collections.unmodifiableMap(_blocks)
+    private val _blocks = BlockRestoreQueue<BlockRestoreData>()
+
+    /**
+     * Returns a snapshot of all blocks pending restoration.
+     */
+    val blocks: Map<Block, BlockRestoreData>
+        get() {
+            val result = HashMap<Block, BlockRestoreData>(_blocks.size)
+            _blocks.forEachValue { result[it.block] = it }
+            return Collections.unmodifiableMap(result)
+        }
 
     var restoreOnDisable = false
 
+    /**
+     * Time spent restoring blocks per tick when this component is disabled with [restoreOnDisable].
+     */
+    var restoreTickBudget: Duration = BlockPlacer.DEFAULT_TICK_BUDGET
+        set(value) {
+            require(!value.isNegative && !value.isZero) { "restoreTickBudget must be positive." }
+            field = value
+        }
+
     init {
         addListener(BlockListener())
     }
 
     override fun disable() {
-        if (restoreOnDisable) {
-            restoreAll()
+        if (restoreOnDisable && !_blocks.isEmpty) {
+            // The session is going away, so finish restoring on a task of our own rather than on this component's ticks.
+            val restoration = PendingRestoration(_blocks.drainSorted(), restoreTickBudget.toNanos())
+            if (!restoration.process()) {
+                restoration.task = TickerTask(session.blur.plugin, 1, 1, Runnable { restoration.process() }).apply { start() }
+            }
         }
     }
 
     @Tick
     fun tick() {
-        val it = _blocks.values.iterator()
-        while (it.hasNext()) {
-            val data = it.next()
-            if (data.checkExpiry()) {
-                it.remove()
-            }
-        }
+        if (_blocks.isEmpty) return
+        _blocks.poll(System.nanoTime()) { it.restoreIfSafe() }
     }
 
+    /**
+     * Restores every pending block immediately, chunk by chunk.
+     */
     fun restoreAll() {
-        val it = _blocks.values.iterator()
-        while (it.hasNext()) {
-            it.next().restore()
-            it.remove()
+        for (data in _blocks.drainSorted()) {
+            data.restore()
         }
     }
 
     fun restore(location: Location) = restore(location.block)
 
     fun restore(block: Block) {
-        _blocks.remove(block)?.restore()
+        _blocks.remove(block.world, block.x, block.y, block.z)?.restore()
     }
 
     fun add(block: Block, to: BlockData, expiry: Duration): Boolean {
-        if (block in _blocks) {
-            _blocks[block]!!.update(to, expiry)
+        val existing = get(block)
+        if (existing != null) {
+            existing.update(to, expiry)
+            schedule(existing)
         } else {
-            _blocks[block] = BlockRestoreData(block, to, expiry)
+            schedule(BlockRestoreData(block, to, expiry))
         }
         return true
     }
 
     fun add(block: Block, to: BlockData, expiry: Duration, listener: BlockRestoreListener? = null): Boolean {
-        if (block in _blocks) {
-            _blocks[block]!!.update(to, expiry, listener)
+        val existing = get(block)
+        if (existing != null) {
+            existing.update(to, expiry, listener)
+            schedule(existing)
         } else {
-            _blocks[block] = BlockRestoreData(block, to, expiry, listener)
+            schedule(BlockRestoreData(block, to, expiry, listener))
         }
         return true
     }
 
-    operator fun contains(block: Block) = _blocks.contains(block)
+    operator fun contains(block: Block) = get(block) != null
+
+    operator fun get(block: Block): BlockRestoreData? = _blocks.get(block.world, block.x, block.y, block.z)
+
+    private fun schedule(data: BlockRestoreData) {
+        val block = data.block
+        _blocks.put(block.world, block.x, block.y, block.z, data, deadlineOf(data.expiry))
+    }
+
+    /**
+     * Restores blocks left over by a disabled [BlockRestore], spending up to [budgetNanos] per tick.
+     */
+    private class PendingRestoration(private val blocks: List<BlockRestoreData>, private val budgetNanos: Long) {
+        var task: TickerTask? = null
+        private var cursor = 0
+        private var lastWorld: World? = null
+        private var lastWorldLoaded = false
 
-    operator fun get(block: Block) = _blocks[block]
+        /**
+         * @return whether every block has been restored
+         */
+        fun process(): Boolean {
+            val deadline = System.nanoTime() + budgetNanos
+            var restored = 0
+            lastWorld = null
+            while (cursor < blocks.size) {
+                val data = blocks[cursor++]
+                // Worlds may be unloaded at the end of a session, at which point there is nothing left to restore in them.
+                if (isLoaded(data.block.world)) {
+                    try {
+                        data.restore()
+                    } catch (e: Exception) {
+                        e.printStackTrace()
+                    }
+                }
+                if ((++restored and CLOCK_CHECK_MASK) == 0 && System.nanoTime() - deadline >= 0) {
+                    break
+                }
+            }
+            if (cursor < blocks.size) {
+                return false
+            }
+            task?.stop()
+            return true
+        }
+
+        private fun isLoaded(world: World): Boolean {
+            if (world !== lastWorld) {
+                lastWorld = world
+                lastWorldLoaded = Bukkit.getWorld(world.uid) === world
+            }
+            return lastWorldLoaded
+        }
+    }
+
+    companion object {
+        private const val CLOCK_CHECK_MASK = 63
+
+        private fun deadlineOf(expiry: Duration): Long {
+            val now = System.nanoTime()
+            val nanos = try {
+                expiry.toNanos()
+            } catch (e: ArithmeticException) {
+                return Long.MAX_VALUE
+            }
+            // Saturate rather than overflow for very long expiries.
+            return if (nanos > Long.MAX_VALUE - now) Long.MAX_VALUE else now + nanos
+        }
+    }
 
     private inner class BlockListener : Listener {
 
@@ -135,12 +232,71 @@ class BlockRestore(session: BlurSession) : SharedComponent(session) {
             if (shouldCancel(event.block)) event.isCancelled = true
         }
 
+        // The listener is registered globally, so only blocks of worlds with pending blocks are looked up.
         private fun shouldCancel(block: Block): Boolean {
-            if (_blocks.containsKey(block)) {
-                return true
+            return !_blocks.isEmpty && _blocks.containsOrAdjacent(block.world, block.x, block.y, block.z)
+        }
+    }
+}
+
+/**
+ * Represents pending blocks kept in a [BlockExpiryQueue] per world, as the same coordinates may be pending in more than one world.
+ */
+internal class BlockRestoreQueue<V : Any> {
+    private val worlds = HashMap<World, BlockExpiryQueue<V>>(4)
+
+    val size: Int get() = worlds.values.sumOf { it.size() }
+
+    // Queues are removed as they empty, so an empty map means nothing is pending.
+    val isEmpty: Boolean get() = worlds.isEmpty()
+
+    fun get(world: World, x: Int, y: Int, z: Int): V? = worlds[world]?.get(x, y, z)
+
+    fun put(world: World, x: Int, y: Int, z: Int, value: V, deadline: Long) {
+        worlds.getOrPut(world) { BlockExpiryQueue() }.put(BlockKeys.pack(x, y, z), value, deadline)
+    }
+
+    fun remove(world: World, x: Int, y: Int, z: Int): V? {
+        val queue = worlds[world] ?: return null
+        val value = queue.remove(x, y, z)
+        if (queue.isEmpty) worlds.remove(world)
+        return value
+    }
+
+    /**
+     * Returns whether the block at the given coordinates in [world], or any of its six neighbours, is pending.
+     */
+    fun containsOrAdjacent(world: World, x: Int, y: Int, z: Int): Boolean = worlds[world]?.containsOrAdjacent(x, y, z) ?: false
+
+    fun forEachValue(action: (V) -> Unit) {
+        worlds.values.forEach { queue -> queue.forEachValue { action(it) } }
+    }
+
+    /**
+     * Visits every value whose deadline is no later than [now], removing those for which [action] returns true. The action may add and remove
+     * values, including in worlds without pending values.
+     *
+     * @see BlockExpiryQueue.poll
+     */
+    fun poll(now: Long, action: (V) -> Boolean) {
+        for (queue in ArrayList(worlds.values)) {
+            queue.poll(now) { _, value -> action(value) }
+        }
+        worlds.values.removeIf { it.isEmpty }
+    }
+
+    /**
+     * Removes and returns every value, sorted so that values of the same world and chunk are adjacent.
+     */
+    fun drainSorted(): List<V> {
+        val result = ArrayList<V>(size)
+        for (queue in worlds.values) {
+            for (key in queue.sortedKeys()) {
+                result.add(queue.get(key))
             }
-            return BlockFaceUtils.getAdjacents().any { _blocks.containsKey(block.getRelative(it)) }
         }
+        worlds.clear()
+        return result
     }
 }
 
@@ -184,19 +340,23 @@ class BlockRestoreData(val block: Block, to: BlockData, expiry: Duration, listen
         this.listener?.onRestore(this)
     }
 
-    fun checkExpiry(): Boolean {
-        if (expired) {
-            try {
-                if (from.type.hasGravity() && block.getRelative(BlockFace.DOWN).isEmpty) {
-                    // Allow gravity affected blocks spawn safely by delaying expiry
-                    return false
-                }
-                restore()
-            } catch(e: Exception) {
-                e.printStackTrace()
+    fun checkExpiry(): Boolean = expired && restoreIfSafe()
+
+    /**
+     * Restores this block unless doing so would drop a gravity affected block into air.
+     *
+     * @return whether this block is done with, false if its restoration was delayed
+     */
+    internal fun restoreIfSafe(): Boolean {
+        try {
+            if (from.type.hasGravity() && block.getRelative(BlockFace.DOWN).isEmpty) {
+                // Allow gravity affected blocks spawn safely by delaying expiry
+                return false
             }
-            return true
+            restore()
+        } catch(e: Exception) {
+            e.printStackTrace()
         }
-        return false
+        return true
     }
 }
@@ -16,104 +16,119 @@
 
 package com.blurengine.blur.components.shared
 
+import com.blurengine.blur.events.players.PlayerLeaveSessionEvent
 import com.blurengine.blur.framework.SharedComponent
-import com.blurengine.blur.framework.ticking.Tick
 import com.blurengine.blur.session.BlurPlayer
 import com.blurengine.blur.session.BlurSession
 import com.blurengine.blur.utils.getSharedComponent
 import com.blurengine.blur.utils.isPositive
-import com.blurengine.blur.utils.toTicks
-import com.supaham.commons.bukkit.utils.LocationUtils
+import org.bukkit.Location
+import org.bukkit.NamespacedKey
+import org.bukkit.World
+import org.bukkit.attribute.Attribute
+import org.bukkit.attribute.AttributeModifier
+import org.bukkit.entity.Player
 import org.bukkit.event.EventHandler
+import org.bukkit.event.EventPriority
 import org.bukkit.event.Listener
+import org.bukkit.event.player.PlayerChangedWorldEvent
 import org.bukkit.event.player.PlayerMoveEvent
 import org.bukkit.event.player.PlayerQuitEvent
-import org.bukkit.event.player.PlayerToggleFlightEvent
+import org.bukkit.event.player.PlayerVelocityEvent
+import org.bukkit.inventory.EquipmentSlotGroup
+import org.bukkit.util.Vector
 import java.time.Duration
 
+/**
+ * Represents a [SharedComponent] that freezes players in place. Frozen players have their movement speed, jump strength and gravity zeroed
+ * through attribute modifiers and their velocity cancelled, so the client simply stops moving rather than being teleported back on every
+ * movement packet. Teleports are only used to correct drift, or rotation when turning is not allowed.
+ */
 class EntityFreezer(session: BlurSession) : SharedComponent(session) {
 
-    val NO_JUMP = BlurPotionEffects.NO_JUMP.infinite()
-    val potionManager: PotionEffectManager get() = session.getSharedComponent { PotionEffectManager(session) }
-
-    private val _frozenPlayers = HashMap<BlurPlayer, FreezePlayerData>()
+    private val timers: SessionTimers get() = session.getSharedComponent { SessionTimers(session) }
+    private val frozen = FrozenPlayers<FreezePlayerData>(AttributeFreezeModifiers(NamespacedKey(session.blur.plugin, "entity_freezer")))
 
     init {
         addListener(PlayerListener())
     }
 
-    @Tick
-    fun tick() {
-        val it = _frozenPlayers.entries.iterator()
-        while (it.hasNext()) {
-            val (blurPlayer, data) = it.next()
-            if (data.done) {
-                unfreeze(blurPlayer, data)
-                it.remove()
-            }
-        }
+    override fun disable() {
+        // The session's timers are cleared with it, so players still frozen would otherwise keep their modifiers in the next session.
+        frozen.removeAll { blurPlayer, data -> unfreeze(blurPlayer, data) }
     }
 
     fun freeze(blurPlayer: BlurPlayer, duration: Duration, turningAllowed: Boolean) {
-        val data = _frozenPlayers[blurPlayer]
+        val data = frozen[blurPlayer]
         data?.apply {
-            expiresTicks = duration.toTicks(session)
+            timer.reschedule(timers.ticksOf(duration))
             this.turningAllowed = turningAllowed
             return
         }
-        _frozenPlayers[blurPlayer] = FreezePlayerData(blurPlayer, duration, turningAllowed)
-        potionManager.apply(blurPlayer.player, NO_JUMP)
+        frozen.add(blurPlayer, FreezePlayerData(blurPlayer, duration, turningAllowed))
         blurPlayer.player.apply {
-            walkSpeed = 0f
             flySpeed = 0f
-            allowFlight = true
-            isFlying = true
+            velocity = Vector()
         }
     }
 
-    fun unfreeze(blurPlayer: BlurPlayer, data: FreezePlayerData? = _frozenPlayers.remove(blurPlayer)): Boolean {
+    fun unfreeze(blurPlayer: BlurPlayer, data: FreezePlayerData? = frozen.remove(blurPlayer)): Boolean {
         data?.apply {
+            timer.cancel()
             applyDefaults()
-            potionManager.clear(blurPlayer.player, NO_JUMP.type)
             return true
         }
         return false
     }
 
-    operator fun contains(blurPlayer: BlurPlayer) = _frozenPlayers.contains(blurPlayer)
-    operator fun get(blurPlayer: BlurPlayer) = _frozenPlayers[blurPlayer]
-
+    operator fun contains(blurPlayer: BlurPlayer) = blurPlayer in frozen
+    operator fun get(blurPlayer: BlurPlayer) = frozen[blurPlayer]
 
     inner class PlayerListener : Listener {
         @EventHandler(ignoreCancelled = true)
         fun onPlayerMove(event: PlayerMoveEvent) {
-            val blurPlayer = getPlayer(event.player)
-            if (!isSession(blurPlayer.session)) return
-            val data = _frozenPlayers[blurPlayer] ?: return
-            if (!data.turningAllowed || !LocationUtils.isSameCoordinates(event.from, event.to)) {
-                val tp = event.from
+            if (!frozen.isFrozen(event.player)) return
+            val data = frozen[getPlayer(event.player)] ?: return
+            val to = event.to ?: return
+            val anchor = data.location
+            val drifted = to.world !== anchor.world || to.distanceSquared(anchor) > DRIFT_TOLERANCE_SQUARED
+            val turned = !data.turningAllowed && (to.yaw != anchor.yaw || to.pitch != anchor.pitch)
+            if (drifted || turned) {
+                val tp = anchor.clone()
                 if (data.turningAllowed) {
-                    tp.yaw = event.to!!.yaw
-                    tp.pitch = event.to!!.pitch
+                    tp.yaw = to.yaw
+                    tp.pitch = to.pitch
                 }
                 event.player.teleport(tp)
             }
         }
 
+        @EventHandler(priority = EventPriority.HIGH, ignoreCancelled = true)
+        fun onPlayerVelocity(event: PlayerVelocityEvent) {
+            if (frozen.isFrozen(event.player)) {
+                event.isCancelled = true
+            }
+        }
+
+        @EventHandler
+        fun onPlayerChangedWorld(event: PlayerChangedWorldEvent) {
+            val blurPlayer = getPlayer(event.player)
+            val data = frozen[blurPlayer] ?: return
+            frozen.changedWorld(blurPlayer, event.from)
+            data.location = event.player.location
+        }
+
         @EventHandler
         fun onPlayerQuit(event: PlayerQuitEvent) {
             unfreeze(getPlayer(event.player))
         }
 
         @EventHandler
-        fun onPlayerToggleFlight(event: PlayerToggleFlightEvent) {
-            if (!event.isFlying) {
-                if(getPlayer(event.player) in this@EntityFreezer) {
-                    event.isCancelled = true
-                }
+        fun onPlayerLeaveSession(event: PlayerLeaveSessionEvent) {
+            if (isSession(event)) {
+                unfreeze(event.blurPlayer)
             }
         }
-
     }
 
     inner class FreezePlayerData(val blurPlayer: BlurPlayer, duration: Duration, var turningAllowed: Boolean) {
@@ -122,9 +137,17 @@ class EntityFreezer(session: BlurSession) : SharedComponent(session) {
         val allowFlight = blurPlayer.player.allowFlight
         val isFlying = blurPlayer.player.isFlying
 
+        /**
+         * Location the player is held at, drifting too far from it teleports them back.
+         */
+        var location: Location = blurPlayer.player.location
+            internal set
+
         var expiresTicks: Int
+            get() = timer.remainingTicks.coerceAtMost(Int.MAX_VALUE.toLong()).toInt()
+            set(value) = timer.reschedule(value.toLong())
         val done: Boolean
-            get() = expiresTicks <= 0
+            get() = !timer.isScheduled
 
         fun applyDefaults() {
             blurPlayer.player.let { player ->
@@ -137,7 +160,97 @@ class EntityFreezer(session: BlurSession) : SharedComponent(session) {
 
         init {
             require(duration.isPositive()) { "duration must be positive." }
-            expiresTicks = duration.toTicks(session)
+        }
+
+        internal val timer = timers.schedule(duration) { unfreeze(blurPlayer) }
+    }
+
+    private class AttributeFreezeModifiers(private val key: NamespacedKey) : FreezeModifiers {
+        override fun apply(player: Player) {
+            for (attribute in FROZEN_ATTRIBUTES) {
+                val instance = player.getAttribute(attribute) ?: continue
+                instance.removeModifier(key)
+                instance.addModifier(AttributeModifier(key, -1.0, AttributeModifier.Operation.MULTIPLY_SCALAR_1, EquipmentSlotGroup.ANY))
+            }
+        }
+
+        override fun remove(player: Player) {
+            for (attribute in FROZEN_ATTRIBUTES) {
+                player.getAttribute(attribute)?.removeModifier(key)
+            }
+        }
+    }
+
+    companion object {
+        private val FROZEN_ATTRIBUTES = listOf(Attribute.MOVEMENT_SPEED, Attribute.JUMP_STRENGTH, Attribute.GRAVITY)
+        private const val DRIFT_TOLERANCE_SQUARED = 0.25 * 0.25
+    }
+}
+
+/**
+ * Adds and removes the modifiers that hold a frozen player in place.
+ */
+internal interface FreezeModifiers {
+    fun apply(player: Player)
+    fun remove(player: Player)
+}
+
+/**
+ * Represents the frozen players of an [EntityFreezer]. A player has the freeze [modifiers] on for exactly as long as they are held here, so
+ * every way out of being frozen takes the modifiers off.
+ */
+internal class FrozenPlayers<D : Any>(private val modifiers: FreezeModifiers) {
+
+    private val data = HashMap<BlurPlayer, D>()
+    // Lets move events in worlds without frozen players, or of players that are not frozen, bail out without resolving a BlurPlayer.
+    private val byWorld = HashMap<World, HashSet<Player>>()
+
+    val size: Int get() = data.size
+
+    operator fun get(blurPlayer: BlurPlayer): D? = data[blurPlayer]
+    operator fun contains(blurPlayer: BlurPlayer) = data.containsKey(blurPlayer)
+
+    fun isFrozen(player: Player) = byWorld[player.world]?.contains(player) == true
+
+    fun add(blurPlayer: BlurPlayer, value: D) {
+        val player = blurPlayer.player
+        data[blurPlayer] = value
+        byWorld.getOrPut(player.world) { HashSet() }.add(player)
+        modifiers.apply(player)
+    }
+
+    fun remove(blurPlayer: BlurPlayer): D? {
+        val value = data.remove(blurPlayer) ?: return null
+        val player = blurPlayer.player
+        removeFromWorld(player, player.world)
+        modifiers.remove(player)
+        return value
+    }
+
+    /**
+     * Moves a frozen player's entry to their new world.
+     */
+    fun changedWorld(blurPlayer: BlurPlayer, from: World) {
+        if (blurPlayer !in data) return
+        val player = blurPlayer.player
+        removeFromWorld(player, from)
+        byWorld.getOrPut(player.world) { HashSet() }.add(player)
+    }
+
+    /**
+     * Removes every player, passing each one's data to [action] after their modifiers are taken off.
+     */
+    fun removeAll(action: (BlurPlayer, D) -> Unit) {
+        for (blurPlayer in ArrayList(data.keys)) {
+            val value = remove(blurPlayer) ?: continue
+            action(blurPlayer, value)
+        }
+    }
+
+    private fun removeFromWorld(player: Player, world: World) {
+        val players = byWorld[world] ?: return
+        if (players.remove(player) && players.isEmpty()) {
+            byWorld.remove(world)
         }
     }
 }
@@ -17,8 +17,9 @@
 package com.blurengine.blur.components.shared
 
 import com.blurengine.blur.framework.SharedComponent
-import com.blurengine.blur.framework.ticking.Tick
+import com.blurengine.blur.framework.ticking.TimingWheel
 import com.blurengine.blur.session.BlurSession
+import com.blurengine.blur.utils.getSharedComponent
 import com.blurengine.blur.utils.isPositive
 import org.bukkit.entity.Entity
 import org.bukkit.entity.FallingBlock
@@ -26,14 +27,23 @@ import org.bukkit.event.EventHandler
 import org.bukkit.event.Listener
 import org.bukkit.event.entity.EntityChangeBlockEvent
 import org.bukkit.event.entity.EntityDeathEvent
+import java.lang.ref.WeakReference
 import java.time.Duration
 import java.time.Instant
 import java.util.Collections
 import java.util.WeakHashMap
 
 class EntityRemover(session: BlurSession) : SharedComponent(session) {
-    private val _expiringEntities = WeakHashMap<Entity, Instant>()
-    val expiringEntities: Map<Entity, Instant> get() = Collections.unmodifiableMap(_expiringEntities)
+    private val timers: SessionTimers get() = session.getSharedComponent { SessionTimers(session) }
+
+    private val _expiringEntities = WeakHashMap<Entity, TimingWheel.Timer>()
+    val expiringEntities: Map<Entity, Instant>
+        get() {
+            val now = Instant.now()
+            val result = HashMap<Entity, Instant>(_expiringEntities.size)
+            _expiringEntities.forEach { (entity, timer) -> result[entity] = now.plusMillis(timer.remainingTicks * session.ticksAsMs) }
+            return Collections.unmodifiableMap(result)
+        }
 
     init {
         addListener(EntityListener())
@@ -41,46 +51,50 @@ class EntityRemover(session: BlurSession) : SharedComponent(session) {
 
     fun schedule(entity: Entity, duration: Duration) {
         require(duration.isPositive()) { "Duration must be greater than 0" }
-        _expiringEntities[entity] = Instant.now().plus(duration)
+        val timer = _expiringEntities[entity]
+        if (timer != null) {
+            timer.reschedule(timers.ticksOf(duration))
+            return
+        }
+        // The wheel must not keep the entity alive, the map's weak keys are what let unloaded entities go.
+        val reference = WeakReference(entity)
+        _expiringEntities[entity] = timers.schedule(duration) { expire(reference.get()) }
     }
 
     fun unschedule(entity: Entity): Boolean {
-        return _expiringEntities.remove(entity) != null
+        val timer = _expiringEntities.remove(entity) ?: return false
+        timer.cancel()
+        return true
     }
 
     fun clear(removeEntities: Boolean) {
-        val it = _expiringEntities.keys.iterator()
+        val it = _expiringEntities.entries.iterator()
         while (it.hasNext()) {
-            val next = it.next()
+            val (entity, timer) = it.next()
             if (removeEntities) {
-                next.remove()
+                entity.remove()
             }
+            timer.cancel()
             it.remove()
         }
     }
 
-    @Tick
-    fun tick() {
-        val it = _expiringEntities.entries.iterator()
-        while (it.hasNext()) {
-            val (entity, instant) = it.next()
-            if (Instant.now() >= instant || entity.isDead) {
-                entity.remove()
-                it.remove()
-            }
+    private fun expire(entity: Entity?) {
+        if (entity != null && _expiringEntities.remove(entity) != null) {
+            entity.remove()
         }
     }
 
     private inner class EntityListener : Listener {
         @EventHandler
         fun onEntityDeath(event: EntityDeathEvent) {
-            _expiringEntities.remove(event.entity)
+            unschedule(event.entity)
         }
 
         @EventHandler
         fun onEntityChangeBlock(event: EntityChangeBlockEvent) {
             if (event.entity is FallingBlock) {
-                _expiringEntities.remove(event.entity)
+                unschedule(event.entity)
             }
         }
 
@@ -18,9 +18,182 @@ package com.blurengine.blur.components.shared
 
 import com.blurengine.blur.framework.SharedComponent
 import com.blurengine.blur.modules.extents.Extent
+import com.blurengine.blur.modules.extents.ProtectionIndex
+import com.blurengine.blur.modules.extents.ProtectionRule
 import com.blurengine.blur.session.BlurSession
+import com.blurengine.blur.session.WorldBlurSession
+import org.bukkit.GameMode
+import org.bukkit.World
+import org.bukkit.block.Block
+import org.bukkit.entity.Player
+import org.bukkit.event.Event
+import org.bukkit.event.EventHandler
+import org.bukkit.event.EventPriority
+import org.bukkit.event.Listener
+import org.bukkit.event.block.BlockBreakEvent
+import org.bukkit.event.block.BlockExplodeEvent
+import org.bukkit.event.block.BlockFromToEvent
+import org.bukkit.event.block.BlockPlaceEvent
+import org.bukkit.event.entity.EntityExplodeEvent
+import org.bukkit.event.player.PlayerBucketEmptyEvent
+import org.bukkit.event.player.PlayerBucketFillEvent
+import org.bukkit.event.player.PlayerInteractEvent
+import java.util.Collections
 
+/**
+ * Represents a [SharedComponent] that enforces region protection. Each [ProtectionRule] protects an [Extent] against breaking, placing,
+ * interacting, fluid flow and explosions, except for subjects allowed by its exception filter. Creative players are never prevented.
+ *
+ * Rules are looked up through a [ProtectionIndex] rebuilt whenever the rules change, so an event in a chunk without protection costs a single array
+ * read, and explosions are filtered in one pass over their block list.
+ */
 class ExtentGuard(session: BlurSession) : SharedComponent(session) {
 
-    val extents = ArrayList<Extent>()
+    private val guard = ProtectionGuard((session as? WorldBlurSession)?.world) { session.getPlayer(it.uniqueId).orElse(null) ?: it }
+
+    val rules: List<ProtectionRule> get() = guard.rules
+
+    val extents: List<Extent> get() = guard.rules.map { it.extent }
+
+    init {
+        addListener(guard.listener)
+    }
+
+    fun protect(rule: ProtectionRule) = guard.protect(rule)
+
+    /**
+     * Protects the given [Extent] against every action, without exceptions.
+     */
+    fun protect(extent: Extent) = protect(ProtectionRule(extent, ProtectionRule.ALL, null))
+
+    /**
+     * Removes every rule protecting the given [Extent].
+     *
+     * @return whether any rule was removed
+     */
+    fun unprotect(extent: Extent): Boolean = guard.unprotect(extent)
+
+    /**
+     * Returns whether an action at the given [Block] is prevented for the given subject.
+     *
+     * @param flag one of the [ProtectionRule] flags
+     * @param subject subject performing the action, tested against exception filters, defaults to the block
+     */
+    fun isProtected(flag: Int, block: Block, subject: Any? = null): Boolean = guard.isProtected(flag, block, subject)
+}
+
+/**
+ * Holds the [ProtectionRule]s of an [ExtentGuard] and the listener enforcing them in [world], or in every world if null.
+ *
+ * @param subjectOf maps a player performing an action to the subject tested against exception filters
+ */
+internal class ProtectionGuard(private val world: World?, private val subjectOf: (Player) -> Any) {
+
+    private val _rules = ArrayList<ProtectionRule>()
+    private var index: ProtectionIndex? = null
+
+    val rules: List<ProtectionRule> get() = Collections.unmodifiableList(_rules)
+
+    val listener: Listener = GuardListener()
+
+    fun protect(rule: ProtectionRule) {
+        _rules.add(rule)
+        index = null
+    }
+
+    fun unprotect(extent: Extent): Boolean {
+        if (_rules.removeIf { it.extent == extent }) {
+            index = null
+            return true
+        }
+        return false
+    }
+
+    private fun index(): ProtectionIndex = index ?: ProtectionIndex(_rules).also { index = it }
+
+    fun isProtected(flag: Int, block: Block, subject: Any? = null): Boolean {
+        if (world != null && block.world !== world) return false
+        val index = index()
+        val x = block.x
+        val z = block.z
+        if ((index.getFlags(x shr 4, z shr 4) and flag) == 0) return false
+        return index.isProtected(flag, x, block.y, z, subject ?: block)
+    }
+
+    /**
+     * Removes protected blocks from an explosion's block list in a single pass, looking up each chunk's flags once per run of blocks in it.
+     */
+    fun filterExplosion(blocks: MutableList<Block>) {
+        if (blocks.isEmpty()) return
+        val index = index()
+        var chunkX = Int.MIN_VALUE
+        var chunkZ = Int.MIN_VALUE
+        var chunkFlags = 0
+        var kept = 0
+        for (i in blocks.indices) {
+            val block = blocks[i]
+            val x = block.x
+            val z = block.z
+            if (x shr 4 != chunkX || z shr 4 != chunkZ) {
+                chunkX = x shr 4
+                chunkZ = z shr 4
+                chunkFlags = index.getFlags(chunkX, chunkZ)
+            }
+            if ((chunkFlags and ProtectionRule.EXPLOSION) != 0 && index.isProtected(ProtectionRule.EXPLOSION, x, block.y, z, block)) {
+                continue
+            }
+            blocks[kept++] = block
+        }
+        if (kept < blocks.size) {
+            blocks.subList(kept, blocks.size).clear()
+        }
+    }
+
+    private fun isPrevented(flag: Int, block: Block, player: Player): Boolean {
+        return player.gameMode != GameMode.CREATIVE && isProtected(flag, block, subjectOf(player))
+    }
+
+    private inner class GuardListener : Listener {
+        @EventHandler(priority = EventPriority.LOWEST, ignoreCancelled = true)
+        fun onBlockBreak(event: BlockBreakEvent) {
+            if (isPrevented(ProtectionRule.BREAK, event.block, event.player)) event.isCancelled = true
+        }
+
+        @EventHandler(priority = EventPriority.LOWEST, ignoreCancelled = true)
+        fun onBlockPlace(event: BlockPlaceEvent) {
+            if (isPrevented(ProtectionRule.PLACE, event.block, event.player)) event.isCancelled = true
+        }
+
+        @EventHandler(priority = EventPriority.LOWEST, ignoreCancelled = true)
+        fun onBucketEmpty(event: PlayerBucketEmptyEvent) {
+            if (isPrevented(ProtectionRule.PLACE, event.block, event.player)) event.isCancelled = true
+        }
+
+        @EventHandler(priority = EventPriority.LOWEST, ignoreCancelled = true)
+        fun onBucketFill(event: PlayerBucketFillEvent) {
+            if (isPrevented(ProtectionRule.BREAK, event.block, event.player)) event.isCancelled = true
+        }
+
+        @EventHandler(priority = EventPriority.LOWEST)
+        fun onPlayerInteract(event: PlayerInteractEvent) {
+            val block = event.clickedBlock ?: return
+            if (event.useInteractedBlock() == Event.Result.DENY) return
+            if (isPrevented(ProtectionRule.INTERACT, block, event.player)) event.setUseInteractedBlock(Event.Result.DENY)
+        }
+
+        @EventHandler(priority = EventPriority.LOWEST, ignoreCancelled = true)
+        fun onBlockFromTo(event: BlockFromToEvent) {
+            if (isProtected(ProtectionRule.FLUID, event.toBlock)) event.isCancelled = true
+        }
+
+        @EventHandler(priority = EventPriority.LOWEST, ignoreCancelled = true)
+        fun onEntityExplode(event: EntityExplodeEvent) {
+            if (world == null || event.entity.world === world) filterExplosion(event.blockList())
+        }
+
+        @EventHandler(priority = EventPriority.LOWEST, ignoreCancelled = true)
+        fun onBlockExplode(event: BlockExplodeEvent) {
+            if (world == null || event.block.world === world) filterExplosion(event.blockList())
+        }
+    }
 }
@@ -0,0 +1,268 @@
+/*
+ * Copyright 2026 Ali Moghnieh
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blurengine.blur.components.shared
+
+import com.blurengine.blur.events.players.PlayerLeaveSessionEvent
+import com.blurengine.blur.events.players.PlayerMoveBlockEvent
+import com.blurengine.blur.framework.SharedComponent
+import com.blurengine.blur.modules.extents.Extent
+import com.blurengine.blur.modules.extents.ExtentEnterEvent
+import com.blurengine.blur.modules.extents.ExtentExitEvent
+import com.blurengine.blur.session.BlurPlayer
+import com.blurengine.blur.session.BlurSession
+import com.blurengine.blur.session.WorldBlurSession
+import com.blurengine.blur.utils.blocks.BlockKeyMap
+import com.blurengine.blur.utils.blocks.BlockKeys
+import com.blurengine.blur.utils.callEventIfListened
+import org.bukkit.Location
+import org.bukkit.World
+import org.bukkit.event.EventHandler
+import org.bukkit.event.EventPriority
+import org.bukkit.event.Listener
+import org.bukkit.event.player.PlayerRespawnEvent
+import org.bukkit.event.player.PlayerTeleportEvent
+import java.util.Collections
+
+/**
+ * Represents a [SharedComponent] that keeps track of which tracked [Extent]s each player of a session is inside of. Rather than every module
+ * testing its extents on every movement, the tracker tests each movement once against the extents indexed in the player's chunk, then calls
+ * [ExtentEnterEvent] and [ExtentExitEvent] only when a player crosses an extent's boundary.
+ *
+ * Extents with unknown [Extent.getBounds], such as moving extents, are tested on every movement.
+ *
+ * @see ExtentIndex
+ */
+class ExtentTracker(session: BlurSession) : SharedComponent(session) {
+
+    private val index = ExtentIndex<BlurPlayer>(object : ExtentIndex.Transitions<BlurPlayer> {
+        override fun entered(player: BlurPlayer, extent: Extent) {
+            session.callEventIfListened { ExtentEnterEvent(player, session, extent) }
+        }
+
+        override fun exited(player: BlurPlayer, extent: Extent) {
+            session.callEventIfListened { ExtentExitEvent(player, session, extent) }
+        }
+    })
+
+    private val world: World? = (session as? WorldBlurSession)?.world
+
+    init {
+        addListener(TrackerListener())
+    }
+
+    override fun disable() {
+        index.clearPlayers()
+    }
+
+    /**
+     * Starts tracking the given [Extent]. Players already inside of it will be noticed on their next movement.
+     *
+     * @return whether the extent was not already tracked
+     */
+    fun track(extent: Extent) = index.track(extent)
+
+    /**
+     * Stops tracking the given [Extent]. No [ExtentExitEvent] is called for the players inside of it.
+     *
+     * @return whether the extent was tracked
+     */
+    fun untrack(extent: Extent) = index.untrack(extent)
+
+    fun isTracked(extent: Extent) = index.isTracked(extent)
+
+    /**
+     * Returns the tracked [Extent]s the given player is currently inside of.
+     */
+    fun getExtents(blurPlayer: BlurPlayer): Collection<Extent> = index.getExtents(blurPlayer)
+
+    fun isInside(blurPlayer: BlurPlayer, extent: Extent) = index.isInside(blurPlayer, extent)
+
+    /**
+     * Re-evaluates the given player's extents at their current location.
+     */
+    fun refresh(blurPlayer: BlurPlayer) {
+        update(blurPlayer, blurPlayer.location)
+    }
+
+    private fun update(blurPlayer: BlurPlayer, location: Location) {
+        // Extents are in the session's world, so a player anywhere else, e.g. teleported out of it, is inside of none of them.
+        if (world != null && location.world !== world) {
+            index.remove(blurPlayer)
+            return
+        }
+        index.update(blurPlayer, location.x, location.y, location.z)
+    }
+
+    private inner class TrackerListener : Listener {
+        @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+        fun onPlayerMoveBlock(event: PlayerMoveBlockEvent) {
+            if (index.isEmpty || !isSession(event)) return
+            update(event.blurPlayer, event.to)
+        }
+
+        @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+        fun onPlayerTeleport(event: PlayerTeleportEvent) {
+            if (index.isEmpty) return
+            val blurPlayer = session.getPlayer(event.player.uniqueId).orElse(null) ?: return
+            update(blurPlayer, event.to!!)
+        }
+
+        @EventHandler(priority = EventPriority.MONITOR)
+        fun onPlayerRespawn(event: PlayerRespawnEvent) {
+            if (index.isEmpty) return
+            val blurPlayer = session.getPlayer(event.player.uniqueId).orElse(null) ?: return
+            update(blurPlayer, event.respawnLocation)
+        }
+
+        @EventHandler
+        fun onPlayerLeaveSession(event: PlayerLeaveSessionEvent) {
+            if (isSession(event)) {
+                index.remove(event.blurPlayer)
+            }
+        }
+    }
+}
+
+/**
+ * Represents an index of which [Extent]s each player is inside of. Extents with known bounds are indexed by the chunks they cover, so that an
+ * update only tests the extents in the player's chunk, the extents the player is already in, and extents with unknown bounds.
+ *
+ * @param transitions receives every extent a player enters or exits, after all of the update's state changes have been made
+ */
+class ExtentIndex<P : Any>(private val transitions: Transitions<P>) {
+
+    private val tracked = HashSet<Extent>()
+    private val chunkIndex = BlockKeyMap<MutableList<Extent>>()
+    private val unindexed = ArrayList<Extent>()
+    private val playerExtents = HashMap<P, MutableList<Extent>>()
+
+    val isEmpty: Boolean get() = tracked.isEmpty()
+
+    fun track(extent: Extent): Boolean {
+        if (!tracked.add(extent)) return false
+
+        val bounds = extent.bounds
+        if (bounds == null) {
+            unindexed.add(extent)
+            return true
+        }
+        val minChunkX = Math.floor(bounds.minX).toInt() shr 4
+        val minChunkZ = Math.floor(bounds.minZ).toInt() shr 4
+        val maxChunkX = Math.floor(bounds.maxX).toInt() shr 4
+        val maxChunkZ = Math.floor(bounds.maxZ).toInt() shr 4
+        if ((maxChunkX - minChunkX + 1).toLong() * (maxChunkZ - minChunkZ + 1) > MAX_INDEXED_CHUNKS) {
+            unindexed.add(extent)
+            return true
+        }
+        for (chunkX in minChunkX..maxChunkX) {
+            for (chunkZ in minChunkZ..maxChunkZ) {
+                val chunkKey = BlockKeys.chunkKey(chunkX, chunkZ)
+                val extents = chunkIndex.get(chunkKey) ?: ArrayList<Extent>(2).also { chunkIndex.put(chunkKey, it) }
+                extents.add(extent)
+            }
+        }
+        return true
+    }
+
+    fun untrack(extent: Extent): Boolean {
+        if (!tracked.remove(extent)) return false
+        unindexed.remove(extent)
+        chunkIndex.removeIf { _, extents -> extents.remove(extent) && extents.isEmpty() }
+        playerExtents.values.forEach { it.remove(extent) }
+        return true
+    }
+
+    fun isTracked(extent: Extent) = extent in tracked
+
+    fun getExtents(player: P): Collection<Extent> {
+        return playerExtents[player]?.let { Collections.unmodifiableList(it) } ?: emptyList()
+    }
+
+    fun isInside(player: P, extent: Extent) = playerExtents[player]?.contains(extent) ?: false
+
+    /**
+     * Moves the given player to the given coordinates, reporting every extent they exited and then every extent they entered.
+     */
+    fun update(player: P, x: Double, y: Double, z: Double) {
+        val current = playerExtents.getOrPut(player) { ArrayList(4) }
+        // Transitions are collected first and reported after all state is updated, as they may move the player again.
+        var exited: MutableList<Extent>? = null
+        var entered: MutableList<Extent>? = null
+
+        var i = current.size - 1
+        while (i >= 0) {
+            val extent = current[i]
+            if (!extent.contains(x, y, z)) {
+                current.removeAt(i)
+                exited = (exited ?: ArrayList(2)).apply { add(extent) }
+            }
+            i--
+        }
+
+        val candidates = chunkIndex.get(BlockKeys.chunkKey(Math.floor(x).toInt() shr 4, Math.floor(z).toInt() shr 4))
+        if (candidates != null) {
+            entered = collectEntered(current, candidates, x, y, z, entered)
+        }
+        if (unindexed.isNotEmpty()) {
+            entered = collectEntered(current, unindexed, x, y, z, entered)
+        }
+
+        exited?.forEach { transitions.exited(player, it) }
+        entered?.forEach { transitions.entered(player, it) }
+    }
+
+    private fun collectEntered(current: MutableList<Extent>, candidates: List<Extent>, x: Double, y: Double, z: Double,
+                               entered: MutableList<Extent>?): MutableList<Extent>? {
+        var result = entered
+        for (i in candidates.indices) {
+            val extent = candidates[i]
+            if (extent !in current && extent.contains(x, y, z)) {
+                current.add(extent)
+                result = (result ?: ArrayList(2)).apply { add(extent) }
+            }
+        }
+        return result
+    }
+
+    /**
+     * Forgets the given player, reporting an exit from every extent they were inside of.
+     */
+    fun remove(player: P) {
+        val current = playerExtents.remove(player) ?: return
+        current.forEach { transitions.exited(player, it) }
+    }
+
+    /**
+     * Forgets every player without reporting any exits.
+     */
+    fun clearPlayers() {
+        playerExtents.clear()
+    }
+
+    interface Transitions<P> {
+        fun entered(player: P, extent: Extent)
+
+        fun exited(player: P, extent: Extent)
+    }
+
+    companion object {
+        /**
+         * Extents spanning more chunks than this are tested on every movement rather than indexed per chunk.
+         */
+        private const val MAX_INDEXED_CHUNKS = 4096
+    }
+}
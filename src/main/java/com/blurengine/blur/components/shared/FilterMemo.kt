@@ -0,0 +1,114 @@
+/*
+ * Copyright 2026 Ali Moghnieh
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blurengine.blur.components.shared
+
+import com.blurengine.blur.framework.SharedComponent
+import com.blurengine.blur.framework.ticking.Tick
+import com.blurengine.blur.modules.filters.Filter
+import com.blurengine.blur.modules.filters.Filter.FilterResponse
+import com.blurengine.blur.modules.filters.SubjectKind
+import com.blurengine.blur.session.BlurSession
+import java.util.IdentityHashMap
+
+/**
+ * Represents a [SharedComponent] that memoizes [Filter] responses per subject for the current tick. Memoization is opt-in: a session enables it
+ * by putting this component, e.g. `session.putSharedComponent(FilterMemo(session))`, and callers test filters through [FilterMemo.test].
+ *
+ * Filters and subjects are both compared by identity. Filters that are not [Filter.isDeterministic] are always tested directly, as are subjects
+ * that can be changed in place, such as locations and vectors, since the same instance may test differently later in the tick.
+ */
+class FilterMemo(session: BlurSession) : SharedComponent(session) {
+
+    private val responses = IdentityHashMap<Filter, IdentityHashMap<Any?, FilterResponse>>()
+    private var size = 0
+
+    /** Number of tests answered from the memo. */
+    var hits = 0L
+        private set
+    /** Number of tests of deterministic filters that had to be evaluated. */
+    var misses = 0L
+        private set
+    /** Number of tests of non-deterministic filters or mutable subjects, which are never memoized. */
+    var bypassed = 0L
+        private set
+
+    /** Ratio of [hits] to memoizable tests, or 0 if there were none. */
+    val hitRate: Double
+        get() = if (hits + misses == 0L) 0.0 else hits.toDouble() / (hits + misses)
+
+    /**
+     * Tests the given [Filter] against [subject], returning the response memoized earlier this tick if there is one.
+     */
+    fun test(filter: Filter, subject: Any?): FilterResponse {
+        if (!filter.isDeterministic || SubjectKind.of(subject) in MUTABLE_SUBJECTS) {
+            bypassed++
+            return filter.test(subject)
+        }
+        val bySubject = responses.getOrPut(filter) { IdentityHashMap() }
+        val memoized = bySubject[subject]
+        if (memoized != null) {
+            hits++
+            return memoized
+        }
+        misses++
+        val response = filter.test(subject)
+        bySubject[subject] = response
+        size++
+        return response
+    }
+
+    /**
+     * Forgets every memoized response. Called at every tick boundary.
+     */
+    @Tick
+    fun clear() {
+        if (size > 0) {
+            responses.values.forEach { it.clear() }
+            size = 0
+        }
+    }
+
+    fun resetStatistics() {
+        hits = 0
+        misses = 0
+        bypassed = 0
+    }
+
+    override fun disable() {
+        responses.clear()
+        size = 0
+    }
+
+    override fun toString(): String {
+        return "FilterMemo{hits=$hits, misses=$misses, bypassed=$bypassed, hitRate=${"%.2f".format(hitRate)}}"
+    }
+
+    companion object {
+        /** Kinds of subjects whose state, which filters test, can change without the subject's identity changing. */
+        private val MUTABLE_SUBJECTS = SubjectKind.setOf(SubjectKind.LOCATION, SubjectKind.VECTOR, SubjectKind.BLOCK, SubjectKind.BLOCK_STATE,
+            SubjectKind.ITEM_STACK)
+
+        /**
+         * Tests the given [Filter] against [subject] through the [FilterMemo] of [session], or directly if the session has not enabled one.
+         */
+        @JvmStatic
+        fun test(session: BlurSession, filter: Filter, subject: Any?): FilterResponse {
+            val memo = session.getSharedComponent(FilterMemo::class.java)
+            return memo?.test(filter, subject) ?: filter.test(subject)
+        }
+    }
+}
@@ -20,8 +20,10 @@ import com.blurengine.blur.events.players.BlurPlayerDeathEvent
 import com.blurengine.blur.events.players.PlayerLeaveSessionEvent
 import com.blurengine.blur.framework.SharedComponent
 import com.blurengine.blur.framework.ticking.Tick
+import com.blurengine.blur.framework.ticking.TimingWheel
 import com.blurengine.blur.session.BlurSession
 import com.blurengine.blur.utils.elapsed
+import com.blurengine.blur.utils.getSharedComponent
 import com.blurengine.blur.utils.isPositive
 import com.blurengine.blur.utils.toTicks
 import com.google.common.collect.HashBasedTable
@@ -29,70 +31,126 @@ import org.bukkit.GameMode
 import org.bukkit.entity.LivingEntity
 import org.bukkit.entity.Player
 import org.bukkit.event.EventHandler
+import org.bukkit.event.EventPriority
 import org.bukkit.event.Listener
 import org.bukkit.event.entity.EntityDeathEvent
+import org.bukkit.event.entity.EntityPotionEffectEvent
+import org.bukkit.event.player.PlayerQuitEvent
+import org.bukkit.event.player.PlayerRespawnEvent
 import org.bukkit.potion.PotionEffect
 import org.bukkit.potion.PotionEffectType
+import java.lang.ref.WeakReference
 import java.time.Duration
 import java.time.Instant
 import java.util.Collections
 import java.util.UUID
 
+/**
+ * Represents a [SharedComponent] that keeps potion effects on entities for as long as their [BlurPotionEffect] says. Effects expire through
+ * [SessionTimers], and effects removed by anything else, such as milk or death, are restored in response to [EntityPotionEffectEvent] and
+ * respawns. Nothing is done per tick, apart from an infrequent reconciliation pass in case an event was missed.
+ */
 class PotionEffectManager(session: BlurSession) : SharedComponent(session) {
     private val _entityEffects = HashBasedTable.create<UUID, PotionEffectType, PotionData>()
+    private val timers: SessionTimers get() = session.getSharedComponent { SessionTimers(session) }
+    // Weak, so that this component never keeps despawned entities or disconnected players alive.
+    private val entities = HashMap<UUID, WeakReference<LivingEntity>>()
+    private val pendingRestores = HashSet<UUID>()
 
     init {
         addListener(EntityListener())
     }
 
-    @Tick
-    fun tick() {
+    /**
+     * Safety net for anything the listeners miss: drops effects of entities that are gone and restores missing ones.
+     */
+    @Tick(interval = RECONCILE_INTERVAL_TICKS)
+    fun reconcile() {
+        if (_entityEffects.isEmpty) {
+            entities.clear()
+            return
+        }
         // Make copy of map to prevent CME when potionsIt removal causes _entityEffects key to be removed as well.
         val entityEffects = _entityEffects.rowMap().toMutableMap()
         entityEffects.forEach { (uuid, potionsMap) ->
-            val entity = session.server.getEntity(uuid) as? LivingEntity
+            val entity = getEntity(uuid)
 
             val potionsIt = potionsMap.values.iterator()
             potionsIt.forEachRemaining {
                 // Handle absence
                 if (entity == null) {
                     if (!it.potion.sessionPersistent) {
+                        it.timer.cancel()
                         potionsIt.remove()
                     }
                     return@forEachRemaining
                 }
-                it.expiresTicks--
-
-                if (it.done) {
-                    entity.removePotionEffect(it.potion.type)
-                    potionsIt.remove()
-                } else if (!entity.hasPotionEffect(it.potion.type)) {
+                if (!entity.hasPotionEffect(it.potion.type)) {
                     it.apply(entity)
                 }
             }
         }
+        entities.keys.retainAll(_entityEffects.rowKeySet())
+    }
+
+    /**
+     * Re-applies every managed effect [uuid] is missing.
+     */
+    fun restore(uuid: UUID) {
+        val entity = getEntity(uuid) ?: return
+        // Copied, as applying effects fires events that may lead back here.
+        for (data in ArrayList(_entityEffects.row(uuid).values)) {
+            if (!entity.hasPotionEffect(data.potion.type)) {
+                data.apply(entity)
+            }
+        }
+    }
+
+    /**
+     * Restores [uuid]'s effects on the next tick, once whatever removed them has finished.
+     */
+    private fun scheduleRestore(uuid: UUID) {
+        if (pendingRestores.add(uuid)) {
+            timers.schedule(1L) {
+                pendingRestores.remove(uuid)
+                restore(uuid)
+            }
+        }
+    }
+
+    private fun getEntity(uuid: UUID): LivingEntity? {
+        val cached = entities[uuid]?.get()
+        if (cached != null && cached.isValid) {
+            return cached
+        }
+        val entity = session.server.getEntity(uuid) as? LivingEntity
+        if (entity == null) {
+            entities.remove(uuid)
+        } else {
+            entities[uuid] = WeakReference(entity)
+        }
+        return entity
     }
 
     fun clear(entity: LivingEntity, potionEffectType: PotionEffectType): Boolean {
-        _entityEffects.remove(entity.uniqueId, potionEffectType) ?: return false
+        _entityEffects.remove(entity.uniqueId, potionEffectType)?.timer?.cancel() ?: return false
         entity.removePotionEffect(potionEffectType)
         return true
     }
 
     fun clear(uuid: UUID, potionEffectType: PotionEffectType): Boolean {
-        _entityEffects.remove(uuid, potionEffectType) ?: return false
-        val entity = session.server.getEntity(uuid) as? LivingEntity ?: return false
+        _entityEffects.remove(uuid, potionEffectType)?.timer?.cancel() ?: return false
+        val entity = getEntity(uuid) ?: return false
         entity.removePotionEffect(potionEffectType)
         return true
     }
 
     fun clearAll(uuid: UUID) {
-        val entity = session.server.getEntity(uuid) as? LivingEntity
+        val entity = getEntity(uuid)
         val potions = _entityEffects.row(uuid).values
-        if (entity != null) {
-            potions.forEach {
-                entity.removePotionEffect(it.potion.type)
-            }
+        potions.forEach {
+            it.timer.cancel()
+            entity?.removePotionEffect(it.potion.type)
         }
         potions.clear()
     }
@@ -105,8 +163,9 @@ class PotionEffectManager(session: BlurSession) : SharedComponent(session) {
         if (entity is Player && entity.gameMode == GameMode.SPECTATOR) {
             return false
         }
+        entities[entity.uniqueId] = WeakReference(entity)
         if (!_entityEffects.contains(entity.uniqueId, potion.type)) {
-            potionData = PotionData(potion.copy())
+            potionData = PotionData(entity.uniqueId, potion.copy())
             _entityEffects.put(entity.uniqueId, potion.type, potionData)
         } else {
             potionData = _entityEffects.get(entity.uniqueId, potion.type)!!
@@ -140,6 +199,39 @@ class PotionEffectManager(session: BlurSession) : SharedComponent(session) {
                 val data = it.next().value
                 player.removePotionEffect(data.potion.type) // remove all effects
                 if (!data.potion.sessionPersistent) {
+                    data.timer.cancel()
+                    it.remove()
+                }
+            }
+        }
+
+        @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+        fun onEntityPotionEffect(event: EntityPotionEffectEvent) {
+            if (event.action != EntityPotionEffectEvent.Action.REMOVED && event.action != EntityPotionEffectEvent.Action.CLEARED) return
+            val uuid = event.entity.uniqueId
+            if (!_entityEffects.contains(uuid, event.modifiedType)) return
+            // Effects cleared by death are restored on respawn instead.
+            if (event.cause != EntityPotionEffectEvent.Cause.DEATH) {
+                scheduleRestore(uuid)
+            }
+        }
+
+        @EventHandler(priority = EventPriority.MONITOR)
+        fun onPlayerRespawn(event: PlayerRespawnEvent) {
+            if (_entityEffects.containsRow(event.player.uniqueId)) {
+                scheduleRestore(event.player.uniqueId)
+            }
+        }
+
+        @EventHandler(priority = EventPriority.MONITOR)
+        fun onPlayerQuit(event: PlayerQuitEvent) {
+            val uuid = event.player.uniqueId
+            entities.remove(uuid)
+            val it = _entityEffects.row(uuid).values.iterator()
+            while (it.hasNext()) {
+                val data = it.next()
+                if (!data.potion.sessionPersistent) {
+                    data.timer.cancel()
                     it.remove()
                 }
             }
@@ -157,33 +249,41 @@ class PotionEffectManager(session: BlurSession) : SharedComponent(session) {
 
         private fun handleDeath(uuid: UUID) {
             val it = _entityEffects.row(uuid).iterator()
-            val entity = session.server.getEntity(uuid) as? LivingEntity
+            val entity = getEntity(uuid)
             while (it.hasNext()) {
                 // Remove potion effects that are not death persistent.
                 val data = it.next().value
                 if (!data.potion.deathPersistent) {
                     entity?.removePotionEffect(data.potion.type)
+                    data.timer.cancel()
                     it.remove()
                 }
             }
         }
     }
 
-    inner class PotionData(potion: BlurPotionEffect) {
+    inner class PotionData(val uuid: UUID, potion: BlurPotionEffect) {
         var potion: BlurPotionEffect = potion
             private set
 
-        internal var expiresTicks: Int
         internal var lastApply = Instant.MIN
+        internal val timer: TimingWheel.Timer
+        internal var expiresTicks: Int
+            get() = timer.remainingTicks.coerceAtMost(Int.MAX_VALUE.toLong()).toInt()
+            set(value) = timer.reschedule(if (value < 0) Int.MAX_VALUE.toLong() else value.toLong())
         val done: Boolean
-            get() = expiresTicks <= 0
+            get() = !timer.isScheduled
 
         init {
             require(potion.amplifier >= 0) { "amplifier cannot be less than 0." }
             require(potion.duration.isPositive()) { "duration must be positive." }
-            expiresTicks = potion.duration.toTicks(session)
-            if (expiresTicks < 0) {
-                expiresTicks = Int.MAX_VALUE
+            timer = timers.schedule(potion.duration) { expire() }
+        }
+
+        private fun expire() {
+            if (_entityEffects.get(uuid, potion.type) === this) {
+                _entityEffects.remove(uuid, potion.type)
+                getEntity(uuid)?.removePotionEffect(potion.type)
             }
         }
 
@@ -211,9 +311,6 @@ class PotionEffectManager(session: BlurSession) : SharedComponent(session) {
                 potion = potion.copy(ambient = p2.particles)
                 change = true
             }
-            if (expiresTicks < 0) {
-                expiresTicks = Int.MAX_VALUE
-            }
             return change
         }
 
@@ -233,6 +330,10 @@ class PotionEffectManager(session: BlurSession) : SharedComponent(session) {
 
         internal fun createPotionEffect() = PotionEffect(potion.type, expiresTicks, potion.amplifier, potion.ambient, potion.particles)
     }
+
+    companion object {
+        private const val RECONCILE_INTERVAL_TICKS = 100L
+    }
 }
 
 data class BlurPotionEffect(val type: PotionEffectType, val amplifier: Int, val duration: Duration, val ambient: Boolean = false,
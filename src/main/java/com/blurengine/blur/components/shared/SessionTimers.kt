@@ -0,0 +1,68 @@
+/*
+ * Copyright 2026 Ali Moghnieh
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blurengine.blur.components.shared
+
+import com.blurengine.blur.framework.SharedComponent
+import com.blurengine.blur.framework.ticking.Tick
+import com.blurengine.blur.framework.ticking.TimingWheel
+import com.blurengine.blur.session.BlurSession
+import java.time.Duration
+
+/**
+ * Represents a [SharedComponent] that schedules timers against the session's ticks through a [TimingWheel]. Components with timed state should
+ * schedule expiries here rather than polling every entry each tick.
+ */
+class SessionTimers(session: BlurSession) : SharedComponent(session) {
+
+    val wheel = TimingWheel()
+
+    /**
+     * Number of ticks this component has been ticking for.
+     */
+    val currentTick: Long get() = wheel.tick
+
+    /**
+     * Schedules a timer that calls [handler] once [ticks] ticks have passed.
+     */
+    fun schedule(ticks: Long, handler: TimingWheel.Handler): TimingWheel.Timer = wheel.schedule(ticks, handler)
+
+    /**
+     * Schedules a timer that calls [handler] once [duration] has passed, measured in session ticks.
+     */
+    fun schedule(duration: Duration, handler: TimingWheel.Handler): TimingWheel.Timer = wheel.schedule(ticksOf(duration), handler)
+
+    /**
+     * Returns [duration] in session ticks, saturating very long durations.
+     */
+    fun ticksOf(duration: Duration): Long {
+        return try {
+            duration.toMillis() / session.ticksAsMs
+        } catch (e: ArithmeticException) {
+            Long.MAX_VALUE
+        }
+    }
+
+    override fun disable() {
+        wheel.clear()
+    }
+
+    @Tick
+    fun tick() {
+        wheel.advance()
+    }
+}
+
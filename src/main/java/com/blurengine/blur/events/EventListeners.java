@@ -0,0 +1,102 @@
+/*
+ * Copyright 2026 Ali Moghnieh
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.blurengine.blur.events;
+
+import com.google.common.base.Preconditions;
+
+import com.supaham.commons.bukkit.utils.EventUtils;
+
+import org.bukkit.event.Event;
+import org.bukkit.event.HandlerList;
+
+import java.lang.reflect.Method;
+import java.util.function.Supplier;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Utility methods for skipping the construction of events that have no registered listeners.
+ * <p>
+ * No state is kept here beyond each event class's {@link HandlerList}. A handler list bakes its listeners into an array that is only rebuilt
+ * after a listener is registered or unregistered, so checking for listeners is an array length read until registration changes.
+ */
+public final class EventListeners {
+
+    private static final ClassValue<HandlerList> HANDLER_LISTS = new ClassValue<HandlerList>() {
+        @Override
+        protected HandlerList computeValue(Class<?> type) {
+            // Mirrors Bukkit's lookup: the handler list is declared by the event class or the nearest superclass that declares one.
+            for (Class<?> clazz = type; clazz != null && Event.class.isAssignableFrom(clazz); clazz = clazz.getSuperclass()) {
+                try {
+                    Method method = clazz.getDeclaredMethod("getHandlerList");
+                    method.setAccessible(true);
+                    return (HandlerList) method.invoke(null);
+                } catch (NoSuchMethodException ignored) {
+                } catch (ReflectiveOperationException e) {
+                    throw new IllegalArgumentException("Failed to get handler list of " + type.getName(), e);
+                }
+            }
+            throw new IllegalArgumentException(type.getName() + " does not declare a static getHandlerList method.");
+        }
+    };
+
+    private EventListeners() {}
+
+    /**
+     * Returns the {@link HandlerList} of an event class.
+     *
+     * @param eventClass event class
+     *
+     * @return handler list
+     *
+     * @throws IllegalArgumentException thrown if the event class has no static getHandlerList method
+     */
+    @Nonnull
+    public static HandlerList getHandlerList(@Nonnull Class<? extends Event> eventClass) {
+        return HANDLER_LISTS.get(Preconditions.checkNotNull(eventClass, "eventClass cannot be null."));
+    }
+
+    /**
+     * Returns whether any listener is registered for an event class.
+     *
+     * @param eventClass event class
+     *
+     * @return whether the event has listeners
+     */
+    public static boolean hasListeners(@Nonnull Class<? extends Event> eventClass) {
+        return getHandlerList(eventClass).getRegisteredListeners().length != 0;
+    }
+
+    /**
+     * Builds and calls an event only if it has listeners.
+     *
+     * @param eventClass event class
+     * @param supplier event supplier, only invoked if the event has listeners
+     * @param <T> event type
+     *
+     * @return the called event, or null if the event has no listeners
+     */
+    @Nullable
+    public static <T extends Event> T callEvent(@Nonnull Class<T> eventClass, @Nonnull Supplier<? extends T> supplier) {
+        if (!hasListeners(eventClass)) {
+            return null;
+        }
+        return EventUtils.callEvent(supplier.get());
+    }
+}
@@ -30,33 +30,117 @@ import javax.annotation.Nonnull;
 /**
  * Represents an event that is called when a {@link BlurPlayer} moves to a different block. This is different as opposed to {@link PlayerMoveEvent}
  * which is called whenever a player moves.
+ * <p>
+ * When Blur is configured to coalesce move events, this event is called at most once per player per tick, after the moves of that tick, and
+ * {@link #isCoalesced()} returns true. Cancelling a coalesced event teleports the player back to {@link #getFrom()}.
  */
 public class PlayerMoveBlockEvent extends BlurPlayerEvent implements Cancellable {
 
     private final PlayerMoveEvent bukkitEvent;
+    private final Location from;
+    private Location to;
+    private final int fromBlockX, fromBlockY, fromBlockZ;
+    private int toBlockX, toBlockY, toBlockZ;
+    private boolean cancelled;
+
+    /**
+     * Returns whether a move from one location to another crosses a block boundary, comparing block coordinates without allocating.
+     *
+     * @param from location moved from
+     * @param to location moved to
+     *
+     * @return whether the block changed
+     */
+    public static boolean isBlockChange(@Nonnull Location from, @Nonnull Location to) {
+        return from.getBlockX() != to.getBlockX() || from.getBlockY() != to.getBlockY() || from.getBlockZ() != to.getBlockZ()
+            || from.getWorld() != to.getWorld();
+    }
 
     public PlayerMoveBlockEvent(@Nonnull PlayerMoveEvent bukkitEvent, @Nonnull BlurPlayer blurPlayer) {
         super(Preconditions.checkNotNull(blurPlayer, "blurPlayer cannot be null."), blurPlayer.getSession());
         this.bukkitEvent = Preconditions.checkNotNull(bukkitEvent, "bukkitEvent cannot be null.");
+        this.from = bukkitEvent.getFrom();
+        Location to = bukkitEvent.getTo();
+        this.fromBlockX = from.getBlockX();
+        this.fromBlockY = from.getBlockY();
+        this.fromBlockZ = from.getBlockZ();
+        this.toBlockX = to.getBlockX();
+        this.toBlockY = to.getBlockY();
+        this.toBlockZ = to.getBlockZ();
+    }
+
+    /**
+     * Constructs a coalesced event, summarizing every move a player made within a tick.
+     *
+     * @param blurPlayer player that moved
+     * @param from location the player was at before their first block change of the tick
+     * @param to location of the player at the end of the tick
+     */
+    public PlayerMoveBlockEvent(@Nonnull BlurPlayer blurPlayer, @Nonnull Location from, @Nonnull Location to) {
+        super(Preconditions.checkNotNull(blurPlayer, "blurPlayer cannot be null."), blurPlayer.getSession());
+        this.bukkitEvent = null;
+        this.from = Preconditions.checkNotNull(from, "from cannot be null.");
+        this.to = Preconditions.checkNotNull(to, "to cannot be null.");
+        this.fromBlockX = from.getBlockX();
+        this.fromBlockY = from.getBlockY();
+        this.fromBlockZ = from.getBlockZ();
+        this.toBlockX = to.getBlockX();
+        this.toBlockY = to.getBlockY();
+        this.toBlockZ = to.getBlockZ();
     }
 
     public Location getFrom() {
-        return bukkitEvent.getFrom();
+        return from;
     }
 
     public Location getTo() {
-        return bukkitEvent.getTo();
+        return bukkitEvent != null ? bukkitEvent.getTo() : to;
     }
 
     public void setTo(Location to) {
-        bukkitEvent.setTo(to);
+        Preconditions.checkNotNull(to, "to cannot be null.");
+        if (bukkitEvent != null) {
+            bukkitEvent.setTo(to);
+        } else {
+            this.to = to;
+        }
+        this.toBlockX = to.getBlockX();
+        this.toBlockY = to.getBlockY();
+        this.toBlockZ = to.getBlockZ();
+    }
+
+    public int getFromBlockX() { return fromBlockX; }
+
+    public int getFromBlockY() { return fromBlockY; }
+
+    public int getFromBlockZ() { return fromBlockZ; }
+
+    public int getToBlockX() { return toBlockX; }
+
+    public int getToBlockY() { return toBlockY; }
+
+    public int getToBlockZ() { return toBlockZ; }
+
+    /**
+     * Returns whether this event summarizes a tick of moves rather than wrapping a single {@link PlayerMoveEvent}.
+     *
+     * @return whether this event is coalesced
+     */
+    public boolean isCoalesced() {
+        return bukkitEvent == null;
     }
 
     @Override
-    public boolean isCancelled() { return bukkitEvent.isCancelled(); }
+    public boolean isCancelled() { return bukkitEvent != null ? bukkitEvent.isCancelled() : cancelled; }
 
     @Override
-    public void setCancelled(boolean cancelled) { bukkitEvent.setCancelled(cancelled); }
+    public void setCancelled(boolean cancelled) {
+        if (bukkitEvent != null) {
+            bukkitEvent.setCancelled(cancelled);
+        } else {
+            this.cancelled = cancelled;
+        }
+    }
 
     private static final HandlerList handlerList = new HandlerList();
 
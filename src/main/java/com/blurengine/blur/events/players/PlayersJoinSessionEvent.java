@@ -0,0 +1,62 @@
+/*
+ * Copyright 2026 Ali Moghnieh
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blurengine.blur.events.players;
+
+import com.google.common.base.Preconditions;
+
+import com.blurengine.blur.events.session.BlurSessionEvent;
+import com.blurengine.blur.session.BlurPlayer;
+import com.blurengine.blur.session.BlurSession;
+
+import org.bukkit.event.HandlerList;
+
+import java.util.Collections;
+import java.util.List;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Represents a {@link BlurSessionEvent} fired once when a batch of {@link BlurPlayer}s joins a {@link BlurSession} through
+ * {@link BlurSession#addPlayers(java.util.Collection)}. This event is fired after every player's metadata has been initialised and before the
+ * per-player {@link PlayerJoinSessionEvent}s, which are still fired for each player in the batch.
+ */
+public class PlayersJoinSessionEvent extends BlurSessionEvent {
+
+    private final List<BlurPlayer> blurPlayers;
+
+    public PlayersJoinSessionEvent(@Nonnull BlurSession session, @Nonnull List<BlurPlayer> blurPlayers) {
+        super(session);
+        this.blurPlayers = Collections.unmodifiableList(Preconditions.checkNotNull(blurPlayers, "blurPlayers cannot be null."));
+    }
+
+    /**
+     * Returns the players that joined, in the order they were added.
+     *
+     * @return immutable list of joined players
+     */
+    @Nonnull
+    public List<BlurPlayer> getBlurPlayers() {
+        return blurPlayers;
+    }
+
+    private static final HandlerList handlerList = new HandlerList();
+
+    @Override
+    public HandlerList getHandlers() { return handlerList; }
+
+    public static HandlerList getHandlerList() { return handlerList; }
+}
@@ -173,6 +173,9 @@ public class ModuleLoader {
                 }
             }
         }
+        this.moduleManager.getLogger().fine("Anonymous filters: %d (%d deduplicated), anonymous extents: %d (%d deduplicated).",
+            filterSerializer.getAnonymousCount(), filterSerializer.getDeduplicatedCount(),
+            extentSerializer.getAnonymousCount(), extentSerializer.getDeduplicatedCount());
     }
 
     /**
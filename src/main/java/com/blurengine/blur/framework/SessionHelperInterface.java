@@ -30,6 +30,7 @@ import com.blurengine.blur.session.BlurSession;
 import net.md_5.bungee.api.chat.BaseComponent;
 import net.md_5.bungee.api.chat.TextComponent;
 import org.bukkit.entity.Player;
+import org.bukkit.event.Event;
 import org.bukkit.event.player.PlayerEvent;
 
 import java.util.Collection;
@@ -37,9 +38,11 @@ import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 import pluginbase.logging.PluginLogger;
 
@@ -124,6 +127,15 @@ public interface SessionHelperInterface {
         return getSession().getPlayer(uuid);
     }
 
+    default boolean hasListeners(@Nonnull Class<? extends Event> eventClass) {
+        return getSession().hasListeners(eventClass);
+    }
+
+    @Nullable
+    default <T extends Event> T callEvent(@Nonnull Class<T> eventClass, @Nonnull Supplier<? extends T> supplier) {
+        return getSession().callEvent(eventClass, supplier);
+    }
+
     @Nonnull
     default PluginLogger getLogger() {
         return getSession().getLogger();
@@ -0,0 +1,290 @@
+/*
+ * Copyright 2026 Ali Moghnieh
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blurengine.blur.framework.ticking;
+
+import com.google.common.base.Preconditions;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Represents a hierarchical timing wheel of {@link Timer}s keyed by tick. Scheduling, cancelling and rescheduling a timer are constant time, and
+ * {@link #advance()} only touches the timers that expire on that tick, plus the occasional cascade of a coarser slot into finer ones. The cost of
+ * a tick therefore scales with the number of expiring timers rather than the number of scheduled ones.
+ * <p />
+ * The wheel has {@value #LEVELS} levels of {@value #SLOTS} slots each, the first level covering one tick per slot and each following level
+ * covering {@value #SLOTS} times as many ticks per slot as the previous. Timers further away than the wheel covers are held aside until the wheel
+ * comes around to them.
+ * <p />
+ * Timers expiring on the same tick are delivered as one batch, after the wheel has finished moving. Handlers are therefore free to schedule,
+ * cancel or reschedule any timer, including ones in the same batch that have yet to be delivered. This class is not thread-safe.
+ */
+public class TimingWheel {
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 6;
+    private static final int RANGE_BITS = SLOT_BITS * LEVELS;
+
+    private final Timer[][] wheels = new Timer[LEVELS][SLOTS];
+    private final Timer distant = Timer.sentinel();
+    private final Timer expiring = Timer.sentinel();
+    private long tick;
+    private int size;
+
+    public TimingWheel() {
+        for (Timer[] wheel : wheels) {
+            for (int i = 0; i < SLOTS; i++) {
+                wheel[i] = Timer.sentinel();
+            }
+        }
+    }
+
+    /**
+     * Returns the number of ticks this wheel has advanced.
+     *
+     * @return current tick
+     */
+    public long getTick() {
+        return tick;
+    }
+
+    /**
+     * Returns the number of scheduled timers, including ones that have expired on this tick but have yet to be delivered.
+     *
+     * @return number of scheduled timers
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Schedules a new timer that expires after the given number of ticks.
+     *
+     * @param delay ticks from now, values less than one expire on the next tick
+     * @param handler handler to call once the timer expires
+     *
+     * @return the scheduled timer
+     */
+    public Timer schedule(long delay, @Nonnull Handler handler) {
+        Preconditions.checkNotNull(handler, "handler cannot be null.");
+        Timer timer = new Timer(this, handler);
+        timer.reschedule(delay);
+        return timer;
+    }
+
+    /**
+     * Advances this wheel by one tick, delivering every timer that expires on the new tick to its handler.
+     *
+     * @return number of delivered timers
+     */
+    public int advance() {
+        long next = tick + 1;
+        // Cascade coarser slots that start at the next tick into finer ones, coarsest first so that timers may fall through several levels.
+        if ((next & ((1L << RANGE_BITS) - 1)) == 0) {
+            cascade(distant, next);
+        }
+        for (int level = LEVELS - 1; level > 0; level--) {
+            int shift = SLOT_BITS * level;
+            if ((next & ((1L << shift) - 1)) == 0) {
+                cascade(wheels[level][(int) (next >>> shift) & SLOT_MASK], next);
+            }
+        }
+        Timer slot = wheels[0][(int) next & SLOT_MASK];
+        tick = next;
+        if (slot.next == slot) {
+            return 0;
+        }
+        expiring.spliceAll(slot);
+
+        int delivered = 0;
+        Timer timer;
+        while ((timer = expiring.next) != expiring) {
+            timer.unlink();
+            size--;
+            delivered++;
+            try {
+                timer.handler.onExpire(timer);
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+        }
+        return delivered;
+    }
+
+    /**
+     * Cancels every scheduled timer.
+     */
+    public void clear() {
+        for (Timer[] wheel : wheels) {
+            for (Timer slot : wheel) {
+                slot.unlinkAll();
+            }
+        }
+        distant.unlinkAll();
+        expiring.unlinkAll();
+        size = 0;
+    }
+
+    private void cascade(Timer slot, long now) {
+        Timer timer;
+        while ((timer = slot.next) != slot) {
+            timer.unlink();
+            insert(timer, now);
+        }
+    }
+
+    /**
+     * Links the given timer into the slot its expiry belongs to, relative to the tick {@code now} that is about to be processed.
+     */
+    private void insert(Timer timer, long now) {
+        long expiry = Math.max(timer.expiry, now);
+        for (int level = 0; level < LEVELS; level++) {
+            int shift = SLOT_BITS * (level + 1);
+            if ((expiry >>> shift) == (now >>> shift)) {
+                wheels[level][(int) (expiry >>> (SLOT_BITS * level)) & SLOT_MASK].link(timer);
+                return;
+            }
+        }
+        distant.link(timer);
+    }
+
+    /**
+     * Represents a callback for expired {@link Timer}s.
+     */
+    @FunctionalInterface
+    public interface Handler {
+
+        void onExpire(@Nonnull Timer timer);
+    }
+
+    /**
+     * Represents a timer scheduled in a {@link TimingWheel}. A timer may be rescheduled any number of times, including after it has expired or been
+     * cancelled.
+     */
+    public static final class Timer {
+
+        private final TimingWheel wheel;
+        private final Handler handler;
+        private long expiry;
+        private Timer prev;
+        private Timer next;
+
+        private Timer(TimingWheel wheel, Handler handler) {
+            this.wheel = wheel;
+            this.handler = handler;
+        }
+
+        private static Timer sentinel() {
+            Timer timer = new Timer(null, null);
+            timer.prev = timer.next = timer;
+            return timer;
+        }
+
+        /**
+         * Returns the tick this timer expires, or expired, on.
+         *
+         * @return expiry tick
+         */
+        public long getExpiry() {
+            return expiry;
+        }
+
+        /**
+         * Returns the number of ticks until this timer expires.
+         *
+         * @return remaining ticks, or 0 if this timer is not scheduled
+         */
+        public long getRemainingTicks() {
+            return isScheduled() ? Math.max(0, expiry - wheel.tick) : 0;
+        }
+
+        public boolean isScheduled() {
+            return next != null;
+        }
+
+        /**
+         * Schedules this timer to expire after the given number of ticks, replacing its previous expiry.
+         *
+         * @param delay ticks from now, values less than one expire on the next tick
+         */
+        public void reschedule(long delay) {
+            long now = wheel.tick;
+            long expiry = delay > Long.MAX_VALUE - now ? Long.MAX_VALUE : now + Math.max(1, delay);
+            if (isScheduled()) {
+                if (expiry == this.expiry) {
+                    return;
+                }
+                unlink();
+            } else {
+                wheel.size++;
+            }
+            this.expiry = expiry;
+            wheel.insert(this, now + 1);
+        }
+
+        /**
+         * Cancels this timer, preventing its handler from being called.
+         *
+         * @return whether this timer was scheduled
+         */
+        public boolean cancel() {
+            if (!isScheduled()) {
+                return false;
+            }
+            unlink();
+            wheel.size--;
+            return true;
+        }
+
+        private void link(Timer timer) {
+            timer.prev = prev;
+            timer.next = this;
+            prev.next = timer;
+            prev = timer;
+        }
+
+        private void unlink() {
+            prev.next = next;
+            next.prev = prev;
+            prev = next = null;
+        }
+
+        /**
+         * Moves every timer linked to the given sentinel to the end of this sentinel's list.
+         */
+        private void spliceAll(Timer from) {
+            Timer first = from.next;
+            Timer last = from.prev;
+            first.prev = prev;
+            prev.next = first;
+            last.next = this;
+            prev = last;
+            from.prev = from.next = from;
+        }
+
+        private void unlinkAll() {
+            Timer timer = next;
+            while (timer != this) {
+                Timer following = timer.next;
+                timer.prev = timer.next = null;
+                timer = following;
+            }
+            prev = next = this;
+        }
+    }
+}
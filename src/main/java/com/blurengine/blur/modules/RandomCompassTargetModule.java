@@ -48,6 +48,6 @@ public class RandomCompassTargetModule extends Module {
     @Tick(interval = 1000, ms = true)
     private void updateCompasses() {
         Location baitLoc = this.bait.getPlayer().getLocation();
-        getPlayers(Predicates.ALIVE).forEach(aliveBP -> aliveBP.getPlayer().setCompassTarget(baitLoc));
+        getSession().getAlivePlayers().forEach(aliveBP -> aliveBP.getPlayer().setCompassTarget(baitLoc));
     }
 }
@@ -16,6 +16,7 @@
 
 package com.blurengine.blur.modules;
 
+import com.blurengine.blur.components.shared.BlockPlacer;
 import com.blurengine.blur.modules.extents.Extent;
 import com.blurengine.blur.framework.Module;
 import com.blurengine.blur.framework.ModuleInfo;
@@ -28,18 +29,20 @@ import com.blurengine.blur.framework.ModuleData;
 
 import org.bukkit.Bukkit;
 import org.bukkit.Material;
+import org.bukkit.World;
 import org.bukkit.block.data.BlockData;
 import org.bukkit.material.MaterialData;
-import org.bukkit.util.BlockVector;
 
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @ModuleInfo(name = "BSetBlocks", dataClass = SetBlocksData.class)
 public class SetBlocksModule extends WorldModule {
 
     private final SetBlocksData data;
+    private CompletableFuture<Void> placement = CompletableFuture.completedFuture(null);
 
     public SetBlocksModule(ModuleManager moduleManager, SetBlocksData data) {
         super(moduleManager);
@@ -49,10 +52,12 @@ public class SetBlocksModule extends WorldModule {
     @Override
     public void enable() {
         Runnable runnable = () -> {
-            for (Extent extent : data.extents) {
-                for (BlockVector bv : extent) {
-                    bv.toLocation(getSession().getWorld()).getBlock().setBlockData(data.blockData, data.physics);
-                }
+            BlockPlacer placer = getBlockPlacer();
+            World world = getSession().getWorld();
+            if (data.tickBudget != null) {
+                this.placement = placer.place(world, data.extents, data.blockData, data.physics, data.tickBudget);
+            } else {
+                this.placement = placer.place(world, data.extents, data.blockData, data.physics);
             }
         };
         // If a delay or interval has been set, create a future task
@@ -63,6 +68,24 @@ public class SetBlocksModule extends WorldModule {
         }
     }
 
+    private BlockPlacer getBlockPlacer() {
+        BlockPlacer placer = getSession().getSharedComponent(BlockPlacer.class);
+        if (placer == null) {
+            placer = new BlockPlacer(getSession());
+            getSession().putSharedComponent(placer);
+        }
+        return placer;
+    }
+
+    /**
+     * Returns the future of the most recent fill by this module. The future completes once every block of the fill has been placed.
+     *
+     * @return future of the most recent fill
+     */
+    public CompletableFuture<Void> getPlacement() {
+        return placement;
+    }
+
     public static final class SetBlocksData implements ModuleData {
 
         private List<Extent> extents = new ArrayList<>();
@@ -70,6 +93,7 @@ public class SetBlocksModule extends WorldModule {
         private Duration delay;
         private Duration interval;
         private boolean physics = true;
+        private Duration tickBudget;
 
         @Override
         public Module parse(ModuleManager moduleManager, SerializedModule serialized) throws ModuleParseException {
@@ -25,19 +25,19 @@ import com.blurengine.blur.framework.WorldModule
 import com.blurengine.blur.modules.WorldProtectModule.WorldProtectData
 import org.bukkit.GameMode
 import org.bukkit.Material
+import org.bukkit.World
 import org.bukkit.block.data.type.CaveVinesPlant
 import org.bukkit.entity.Entity
 import org.bukkit.entity.EntityType
 import org.bukkit.entity.ItemFrame
 import org.bukkit.entity.Player
 import org.bukkit.entity.Projectile
-import org.bukkit.event.Event
 import org.bukkit.event.EventHandler
 import org.bukkit.event.EventPriority.LOWEST
+import org.bukkit.event.Listener
 import org.bukkit.event.block.Action
 import org.bukkit.event.block.BlockBreakEvent
 import org.bukkit.event.block.BlockBurnEvent
-import org.bukkit.event.block.BlockEvent
 import org.bukkit.event.block.BlockFadeEvent
 import org.bukkit.event.block.BlockFormEvent
 import org.bukkit.event.block.BlockFromToEvent
@@ -50,7 +50,6 @@ import org.bukkit.event.entity.CreatureSpawnEvent
 import org.bukkit.event.entity.EntityBreakDoorEvent
 import org.bukkit.event.entity.EntityCombustEvent
 import org.bukkit.event.entity.EntityDamageByEntityEvent
-import org.bukkit.event.entity.EntityEvent
 import org.bukkit.event.entity.EntityExplodeEvent
 import org.bukkit.event.entity.EntityPickupItemEvent
 import org.bukkit.event.entity.ProjectileHitEvent
@@ -63,7 +62,6 @@ import org.bukkit.event.player.PlayerBedEnterEvent
 import org.bukkit.event.player.PlayerBucketEmptyEvent
 import org.bukkit.event.player.PlayerBucketFillEvent
 import org.bukkit.event.player.PlayerDropItemEvent
-import org.bukkit.event.player.PlayerEvent
 import org.bukkit.event.player.PlayerInteractEntityEvent
 import org.bukkit.event.player.PlayerInteractEvent
 import org.bukkit.event.player.PlayerShearEntityEvent
@@ -71,103 +69,172 @@ import org.bukkit.event.player.PlayerSignOpenEvent
 import org.bukkit.event.vehicle.VehicleDamageEvent
 import org.bukkit.event.vehicle.VehicleDestroyEvent
 import org.bukkit.event.weather.WeatherChangeEvent
-import org.bukkit.event.weather.WeatherEvent
-import org.bukkit.event.world.WorldEvent
 import org.bukkit.inventory.ItemStack
 import pluginbase.config.annotation.Name
 
+/**
+ * Protects a session's world from changes. Every enabled protection flag gets its own listener, and flags that are disabled register nothing, so
+ * high volume events such as [BlockPhysicsEvent] and [BlockFromToEvent] are only handled when their flag is on. Each listener first compares the
+ * event's world by identity before doing anything else.
+ */
 @ModuleInfo(name = "WorldProtect", dataClass = WorldProtectData::class)
 class WorldProtectModule(moduleManager: ModuleManager, val data: WorldProtectData) : WorldModule(moduleManager) {
-    private fun Event.test(bool: Boolean): Boolean {
-        val world = when (this) {
-            is WorldEvent -> world
-            is EntityEvent -> entity.world
-            is PlayerEvent -> player.world
-            is BlockEvent -> block.world
-            is WeatherEvent -> world
-            else -> null
-        }
-        if (world != null && getWorld() != world) {
-            return false
+
+    init {
+        createListeners(world, data).forEach { addListener(it) }
+    }
+
+    companion object {
+        /**
+         * Returns one listener for each protection flag enabled in [data], each only handling events that happen in [world].
+         */
+        @JvmStatic
+        fun createListeners(world: World, data: WorldProtectData): List<Listener> {
+            val listeners = ArrayList<Listener>()
+            if (data.blockBreak) listeners += BlockBreakListener(world)
+            if (data.blockPlace) listeners += BlockPlaceListener(world)
+            if (data.blockIgnite) listeners += BlockIgniteListener(world)
+            if (data.blockBurn) listeners += BlockBurnListener(world)
+            if (data.blockFade) listeners += BlockFadeListener(world)
+            if (data.blockForm) listeners += BlockFormListener(world)
+            if (data.blockFromTo) listeners += BlockFromToListener(world)
+            if (data.blockGrow) listeners += BlockGrowListener(world)
+            if (data.cactusPhysics) listeners += CactusPhysicsListener(world)
+            if (data.leavesDecay) listeners += LeavesDecayListener(world)
+            if (data.entityCombust) listeners += EntityCombustListener(world)
+            if (data.entityExplode) listeners += EntityExplodeListener(world)
+            if (data.entityBreakDoor) listeners += EntityBreakDoorListener(world)
+            if (data.entityPickupItem) listeners += EntityPickupItemListener(world)
+            if (data.creatureSpawn) listeners += CreatureSpawnListener(world)
+            if (data.hangingBreak || data.hangingBreakByPlayer) listeners += HangingBreakListener(world, data.hangingBreak)
+            if (data.hangingPlace) listeners += HangingPlaceListener(world)
+            if (data.hangingInteract) listeners += HangingInteractListener(world)
+            if (data.hangingInteract || data.playerDamageEntity) {
+                listeners += EntityDamageByPlayerListener(world, data.hangingInteract, data.playerDamageEntity)
+            }
+            if (data.vehicleDamage) listeners += VehicleDamageListener(world)
+            if (data.vehicleDestroy) listeners += VehicleDestroyListener(world)
+            if (data.interactBlock) listeners += InteractBlockListener(world)
+            if (data.itemCraft) listeners += ItemCraftListener(world)
+            if (data.playerBedEnter) listeners += PlayerBedEnterListener(world)
+            if (data.bucketEmpty) listeners += BucketEmptyListener(world)
+            if (data.bucketFill) listeners += BucketFillListener(world)
+            if (data.shearEntity) listeners += ShearEntityListener(world)
+            if (data.weatherChange) listeners += WeatherChangeListener(world)
+            if (data.cleanUpArrows) listeners += CleanUpArrowsListener(world)
+            if (data.playerDropItem) listeners += PlayerDropItemListener(world)
+            if (data.pickBerries) listeners += PickBerriesListener(world)
+            if (data.armorStandManipulate) listeners += ArmorStandManipulateListener(world)
+            if (data.signEdit) listeners += SignEditListener(world)
+            return listeners
         }
-        return bool
     }
 
-    private fun Entity.isCreative() = this is Player && this.gameMode == GameMode.CREATIVE
-
-    @EventHandler(priority = LOWEST, ignoreCancelled = true)
-    fun onBlockBreak(event: BlockBreakEvent) {
-        if (!event.player.isCreative() && event.test(data.blockBreak)) event.isCancelled = true
+    private class BlockBreakListener(private val world: World) : Listener {
+        @EventHandler(priority = LOWEST, ignoreCancelled = true)
+        fun onBlockBreak(event: BlockBreakEvent) {
+            if (event.block.world === world && !event.player.isCreative()) event.isCancelled = true
+        }
     }
 
-    @EventHandler(priority = LOWEST, ignoreCancelled = true)
-    fun onBlockPlace(event: BlockPlaceEvent) {
-        if (!event.player.isCreative() && event.test(data.blockPlace)) event.isCancelled = true
+    private class BlockPlaceListener(private val world: World) : Listener {
+        @EventHandler(priority = LOWEST, ignoreCancelled = true)
+        fun onBlockPlace(event: BlockPlaceEvent) {
+            if (event.block.world === world && !event.player.isCreative()) event.isCancelled = true
+        }
     }
 
-    @EventHandler(priority = LOWEST, ignoreCancelled = true)
-    fun onBlockIgnite(event: BlockIgniteEvent) {
-        if ((event.ignitingEntity !is Player || !(event.ignitingEntity as Player).isCreative()) && event.test(data.blockIgnite)) event.isCancelled = true
+    private class BlockIgniteListener(private val world: World) : Listener {
+        @EventHandler(priority = LOWEST, ignoreCancelled = true)
+        fun onBlockIgnite(event: BlockIgniteEvent) {
+            if (event.block.world !== world) return
+            val ignitingEntity = event.ignitingEntity
+            if (ignitingEntity !is Player || !ignitingEntity.isCreative()) event.isCancelled = true
+        }
     }
 
-    @EventHandler(priority = LOWEST, ignoreCancelled = true)
-    fun onFireDestroy(event: BlockBurnEvent) {
-        if (event.test(data.blockBurn)) event.isCancelled = true
+    private class BlockBurnListener(private val world: World) : Listener {
+        @EventHandler(priority = LOWEST, ignoreCancelled = true)
+        fun onFireDestroy(event: BlockBurnEvent) {
+            if (event.block.world === world) event.isCancelled = true
+        }
     }
 
-    @EventHandler(priority = LOWEST, ignoreCancelled = true)
-    fun onBlockFade(event: BlockFadeEvent) {
-        if (event.test(data.blockFade)) event.isCancelled = true
+    private class BlockFadeListener(private val world: World) : Listener {
+        @EventHandler(priority = LOWEST, ignoreCancelled = true)
+        fun onBlockFade(event: BlockFadeEvent) {
+            if (event.block.world === world) event.isCancelled = true
+        }
     }
 
-    @EventHandler(priority = LOWEST, ignoreCancelled = true)
-    fun onBlockForm(event: BlockFormEvent) {
-        if (event.test(data.blockForm)) event.isCancelled = true
+    private class BlockFormListener(private val world: World) : Listener {
+        @EventHandler(priority = LOWEST, ignoreCancelled = true)
+        fun onBlockForm(event: BlockFormEvent) {
+            if (event.block.world === world) event.isCancelled = true
+        }
     }
 
-    @EventHandler(priority = LOWEST, ignoreCancelled = true)
-    fun onBlockFromTo(event: BlockFromToEvent) {
-        if (event.test(data.blockFromTo)) event.isCancelled = true
+    private class BlockFromToListener(private val world: World) : Listener {
+        @EventHandler(priority = LOWEST, ignoreCancelled = true)
+        fun onBlockFromTo(event: BlockFromToEvent) {
+            if (event.block.world === world) event.isCancelled = true
+        }
     }
 
-    @EventHandler(priority = LOWEST, ignoreCancelled = true)
-    fun onBlockGrow(event: BlockGrowEvent) {
-        if (event.test(data.blockGrow)) event.isCancelled = true
+    private class BlockGrowListener(private val world: World) : Listener {
+        @EventHandler(priority = LOWEST, ignoreCancelled = true)
+        fun onBlockGrow(event: BlockGrowEvent) {
+            if (event.block.world === world) event.isCancelled = true
+        }
     }
 
-    @EventHandler(priority = LOWEST, ignoreCancelled = true)
-    fun onCactusPhysics(event: BlockPhysicsEvent) {
-        if (event.test(data.cactusPhysics) && event.block.type == Material.CACTUS) event.isCancelled = true
+    private class CactusPhysicsListener(private val world: World) : Listener {
+        @EventHandler(priority = LOWEST, ignoreCancelled = true)
+        fun onCactusPhysics(event: BlockPhysicsEvent) {
+            val block = event.block
+            if (block.world === world && block.type == Material.CACTUS) event.isCancelled = true
+        }
     }
 
-    @EventHandler(priority = LOWEST, ignoreCancelled = true)
-    fun onLeavesDecay(event: LeavesDecayEvent) {
-        if (event.test(data.leavesDecay)) event.isCancelled = true
+    private class LeavesDecayListener(private val world: World) : Listener {
+        @EventHandler(priority = LOWEST, ignoreCancelled = true)
+        fun onLeavesDecay(event: LeavesDecayEvent) {
+            if (event.block.world === world) event.isCancelled = true
+        }
     }
 
-    @EventHandler(priority = LOWEST, ignoreCancelled = true)
-    fun onEntityCombust(event: EntityCombustEvent) {
-        if (event.test(data.entityCombust)) event.isCancelled = true
+    private class EntityCombustListener(private val world: World) : Listener {
+        @EventHandler(priority = LOWEST, ignoreCancelled = true)
+        fun onEntityCombust(event: EntityCombustEvent) {
+            if (event.entity.world === world) event.isCancelled = true
+        }
     }
 
-    @EventHandler(priority = LOWEST, ignoreCancelled = true)
-    fun onEntityExplode(event: EntityExplodeEvent) {
-        if (event.test(data.entityExplode)) event.blockList().clear()
+    private class EntityExplodeListener(private val world: World) : Listener {
+        @EventHandler(priority = LOWEST, ignoreCancelled = true)
+        fun onEntityExplode(event: EntityExplodeEvent) {
+            if (event.entity.world === world) event.blockList().clear()
+        }
     }
 
-    @EventHandler(priority = LOWEST, ignoreCancelled = true)
-    fun onEntityBreakDoor(event: EntityBreakDoorEvent) {
-        if (!event.entity.isCreative() && event.test(data.entityBreakDoor)) event.isCancelled = true
+    private class EntityBreakDoorListener(private val world: World) : Listener {
+        @EventHandler(priority = LOWEST, ignoreCancelled = true)
+        fun onEntityBreakDoor(event: EntityBreakDoorEvent) {
+            if (event.entity.world === world && !event.entity.isCreative()) event.isCancelled = true
+        }
     }
 
-    @EventHandler(priority = LOWEST, ignoreCancelled = true)
-    fun onEntityPickupItem(event: EntityPickupItemEvent) {
-        if (!event.entity.isCreative() && event.test(data.playerDropItem)) event.isCancelled = true
+    private class EntityPickupItemListener(private val world: World) : Listener {
+        @EventHandler(priority = LOWEST, ignoreCancelled = true)
+        fun onEntityPickupItem(event: EntityPickupItemEvent) {
+            if (event.entity.world === world && !event.entity.isCreative()) event.isCancelled = true
+        }
     }
 
-    @EventHandler(priority = LOWEST, ignoreCancelled = true)
-    fun onCreatureSpawn(event: CreatureSpawnEvent) {
-        if (event.test(data.creatureSpawn)) {
+    private class CreatureSpawnListener(private val world: World) : Listener {
+        @EventHandler(priority = LOWEST, ignoreCancelled = true)
+        fun onCreatureSpawn(event: CreatureSpawnEvent) {
+            if (event.entity.world !== world) return
             val allow = when (event.spawnReason) {
                 CreatureSpawnEvent.SpawnReason.CUSTOM,
                 CreatureSpawnEvent.SpawnReason.SPAWNER_EGG -> {
@@ -181,130 +248,147 @@ class WorldProtectModule(moduleManager: ModuleManager, val data: WorldProtectDat
         }
     }
 
-    @EventHandler(priority = LOWEST, ignoreCancelled = true)
-    fun onHangingBreak(event: HangingBreakEvent) {
-        if (event.entity.isCreative()) return
-        if (event.test(data.hangingBreak)) {
-            event.isCancelled = true
-        } else if (event.test(data.hangingBreakByPlayer) && event is HangingBreakByEntityEvent && event.remover is Player) {
-            event.isCancelled = true
+    /**
+     * @param all whether to prevent all hanging breaks, otherwise only those by players
+     */
+    private class HangingBreakListener(private val world: World, private val all: Boolean) : Listener {
+        @EventHandler(priority = LOWEST, ignoreCancelled = true)
+        fun onHangingBreak(event: HangingBreakEvent) {
+            if (event.entity.world !== world || event.entity.isCreative()) return
+            if (all || (event is HangingBreakByEntityEvent && event.remover is Player)) {
+                event.isCancelled = true
+            }
         }
     }
 
-    @EventHandler(priority = LOWEST, ignoreCancelled = true)
-    fun onHangingPlace(event: HangingPlaceEvent) {
-        if (!event.player!!.isCreative() && event.test(data.hangingPlace)) event.isCancelled = true
-    }
-
-    @EventHandler(priority = LOWEST, ignoreCancelled = true)
-    fun onPlayerInteractEntity(event: PlayerInteractEntityEvent) {
-        if (!event.player.isCreative()) {
-            event.isCancelled = when {
-                event.rightClicked is ItemFrame -> event.test(data.hangingInteract)
-                else -> false
-            }
+    private class HangingPlaceListener(private val world: World) : Listener {
+        @EventHandler(priority = LOWEST, ignoreCancelled = true)
+        fun onHangingPlace(event: HangingPlaceEvent) {
+            if (event.entity.world === world && event.player?.isCreative() != true) event.isCancelled = true
         }
     }
 
-    @EventHandler(priority = LOWEST, ignoreCancelled = true)
-    fun onEntityDamageByPlayer(event: EntityDamageByEntityEvent) {
-        val damager = event.damager
-        fun checkPlayer(damager: Player) {
-            if (!damager.isCreative()) {
-                event.isCancelled = when {
-                    event.entity is ItemFrame -> event.test(data.hangingInteract)
-                    else -> event.test(data.playerDamageEntity)
-                }
-
-            }
+    private class HangingInteractListener(private val world: World) : Listener {
+        @EventHandler(priority = LOWEST, ignoreCancelled = true)
+        fun onPlayerInteractEntity(event: PlayerInteractEntityEvent) {
+            if (event.player.world === world && event.rightClicked is ItemFrame && !event.player.isCreative()) event.isCancelled = true
         }
+    }
 
-        if (damager is Player) {
-            checkPlayer(damager)
-        } else if (damager is Projectile) {
-            val shooter = damager.shooter
-            if (shooter is Player) {
-                checkPlayer(shooter)
+    private class EntityDamageByPlayerListener(private val world: World, private val hangingInteract: Boolean,
+                                               private val playerDamageEntity: Boolean) : Listener {
+        @EventHandler(priority = LOWEST, ignoreCancelled = true)
+        fun onEntityDamageByPlayer(event: EntityDamageByEntityEvent) {
+            if (event.entity.world !== world) return
+            val damager = event.damager
+            val player = if (damager is Projectile) damager.shooter as? Player else damager as? Player
+            if (player != null && !player.isCreative()) {
+                event.isCancelled = if (event.entity is ItemFrame) hangingInteract else playerDamageEntity
             }
         }
     }
 
-    @EventHandler(priority = LOWEST, ignoreCancelled = true)
-    fun onVehicleDamage(event: VehicleDamageEvent) {
-        if (event.attacker?.isCreative() == true) return
-        if (event.test(data.vehicleDamage)) event.isCancelled = true
+    private class VehicleDamageListener(private val world: World) : Listener {
+        @EventHandler(priority = LOWEST, ignoreCancelled = true)
+        fun onVehicleDamage(event: VehicleDamageEvent) {
+            if (event.vehicle.world === world && event.attacker?.isCreative() != true) event.isCancelled = true
+        }
     }
 
-    @EventHandler(priority = LOWEST, ignoreCancelled = true)
-    fun onVehicleDestroy(event: VehicleDestroyEvent) {
-        if (event.attacker?.isCreative() == true) return
-        if (event.test(data.vehicleDestroy)) event.isCancelled = true
+    private class VehicleDestroyListener(private val world: World) : Listener {
+        @EventHandler(priority = LOWEST, ignoreCancelled = true)
+        fun onVehicleDestroy(event: VehicleDestroyEvent) {
+            if (event.vehicle.world === world && event.attacker?.isCreative() != true) event.isCancelled = true
+        }
     }
 
-    @EventHandler(priority = LOWEST, ignoreCancelled = true)
-    fun onPlayerInteract(event: PlayerInteractEvent) {
-        if (event.hasBlock() && !event.player.isCreative() && event.test(data.interactBlock)) {
-            event.isCancelled = true
+    private class InteractBlockListener(private val world: World) : Listener {
+        @EventHandler(priority = LOWEST, ignoreCancelled = true)
+        fun onPlayerInteract(event: PlayerInteractEvent) {
+            if (event.player.world === world && event.hasBlock() && !event.player.isCreative()) event.isCancelled = true
         }
     }
 
-    @EventHandler(priority = LOWEST, ignoreCancelled = true)
-    fun onPrepareItemCraft(event: PrepareItemCraftEvent) {
-        if (event.view.player.isCreative()) return
-        if (event.test(data.itemCraft)) event.inventory.result = ItemStack(Material.AIR)
+    private class ItemCraftListener(private val world: World) : Listener {
+        @EventHandler(priority = LOWEST, ignoreCancelled = true)
+        fun onPrepareItemCraft(event: PrepareItemCraftEvent) {
+            val player = event.view.player
+            if (player.world === world && !player.isCreative()) event.inventory.result = ItemStack(Material.AIR)
+        }
     }
 
-    @EventHandler(priority = LOWEST, ignoreCancelled = true)
-    fun onPlayerBedEnter(event: PlayerBedEnterEvent) {
-        if (!event.player.isCreative() && event.test(data.playerBedEnter)) event.isCancelled = true
+    private class PlayerBedEnterListener(private val world: World) : Listener {
+        @EventHandler(priority = LOWEST, ignoreCancelled = true)
+        fun onPlayerBedEnter(event: PlayerBedEnterEvent) {
+            if (event.player.world === world && !event.player.isCreative()) event.isCancelled = true
+        }
     }
 
-    @EventHandler(priority = LOWEST, ignoreCancelled = true)
-    fun onBucketEmpty(event: PlayerBucketEmptyEvent) {
-        if (!event.player.isCreative() && event.test(data.bucketEmpty)) event.isCancelled = true
+    private class BucketEmptyListener(private val world: World) : Listener {
+        @EventHandler(priority = LOWEST, ignoreCancelled = true)
+        fun onBucketEmpty(event: PlayerBucketEmptyEvent) {
+            if (event.player.world === world && !event.player.isCreative()) event.isCancelled = true
+        }
     }
 
-    @EventHandler(priority = LOWEST, ignoreCancelled = true)
-    fun onBucketFill(event: PlayerBucketFillEvent) {
-        if (!event.player.isCreative() && event.test(data.bucketFill)) event.isCancelled = true
+    private class BucketFillListener(private val world: World) : Listener {
+        @EventHandler(priority = LOWEST, ignoreCancelled = true)
+        fun onBucketFill(event: PlayerBucketFillEvent) {
+            if (event.player.world === world && !event.player.isCreative()) event.isCancelled = true
+        }
     }
 
-    @EventHandler(priority = LOWEST, ignoreCancelled = true)
-    fun onPlayerShearEntity(event: PlayerShearEntityEvent) {
-        if (!event.player.isCreative() && event.test(data.shearEntity)) event.isCancelled = true
+    private class ShearEntityListener(private val world: World) : Listener {
+        @EventHandler(priority = LOWEST, ignoreCancelled = true)
+        fun onPlayerShearEntity(event: PlayerShearEntityEvent) {
+            if (event.player.world === world && !event.player.isCreative()) event.isCancelled = true
+        }
     }
 
-    @EventHandler(priority = LOWEST, ignoreCancelled = true)
-    fun onWeatherChange(event: WeatherChangeEvent) {
-        if (event.test(data.weatherChange)) event.isCancelled = true
+    private class WeatherChangeListener(private val world: World) : Listener {
+        @EventHandler(priority = LOWEST, ignoreCancelled = true)
+        fun onWeatherChange(event: WeatherChangeEvent) {
+            if (event.world === world) event.isCancelled = true
+        }
     }
 
-    @EventHandler(priority = LOWEST, ignoreCancelled = true)
-    fun onCleanUpArrows(event: ProjectileHitEvent) {
-        if (event.test(data.cleanUpArrows) && event.entity.type == EntityType.ARROW) event.entity.remove()
+    private class CleanUpArrowsListener(private val world: World) : Listener {
+        @EventHandler(priority = LOWEST, ignoreCancelled = true)
+        fun onCleanUpArrows(event: ProjectileHitEvent) {
+            if (event.entity.world === world && event.entity.type == EntityType.ARROW) event.entity.remove()
+        }
     }
 
-    @EventHandler(priority = LOWEST, ignoreCancelled = true)
-    fun onPlayerDropItem(event: PlayerDropItemEvent) {
-        if (!event.player.isCreative() && event.test(data.playerDropItem)) event.isCancelled = true
+    private class PlayerDropItemListener(private val world: World) : Listener {
+        @EventHandler(priority = LOWEST, ignoreCancelled = true)
+        fun onPlayerDropItem(event: PlayerDropItemEvent) {
+            if (event.player.world === world && !event.player.isCreative()) event.isCancelled = true
+        }
     }
 
-    @EventHandler(priority = LOWEST, ignoreCancelled = true)
-    fun onPlayerPickBerries(event: PlayerInteractEvent) {
-        if ((event.action == Action.RIGHT_CLICK_BLOCK && event.clickedBlock!!.blockData is CaveVinesPlant) ||
-                (event.action == Action.RIGHT_CLICK_BLOCK && event.clickedBlock!!.blockData.material == Material.SWEET_BERRY_BUSH)) {
-            if (!event.player.isCreative() && event.test(data.pickBerries)) event.isCancelled = true
+    private class PickBerriesListener(private val world: World) : Listener {
+        @EventHandler(priority = LOWEST, ignoreCancelled = true)
+        fun onPlayerPickBerries(event: PlayerInteractEvent) {
+            if (event.action != Action.RIGHT_CLICK_BLOCK || event.player.world !== world) return
+            val blockData = event.clickedBlock!!.blockData
+            if ((blockData is CaveVinesPlant || blockData.material == Material.SWEET_BERRY_BUSH) && !event.player.isCreative()) {
+                event.isCancelled = true
+            }
         }
     }
 
-    @EventHandler(priority = LOWEST, ignoreCancelled = true)
-    fun onPlayerArmorStandManipulate(event: PlayerArmorStandManipulateEvent) {
-        if (!event.player.isCreative() && event.test(data.armorStandManipulate)) event.isCancelled = true
+    private class ArmorStandManipulateListener(private val world: World) : Listener {
+        @EventHandler(priority = LOWEST, ignoreCancelled = true)
+        fun onPlayerArmorStandManipulate(event: PlayerArmorStandManipulateEvent) {
+            if (event.player.world === world && !event.player.isCreative()) event.isCancelled = true
+        }
     }
 
-    @EventHandler(priority = LOWEST, ignoreCancelled = true)
-    fun onPlayerSignEdit(event: PlayerSignOpenEvent) {
-        if (!event.player.isCreative() && event.test(data.signEdit)) event.isCancelled = true
+    private class SignEditListener(private val world: World) : Listener {
+        @EventHandler(priority = LOWEST, ignoreCancelled = true)
+        fun onPlayerSignEdit(event: PlayerSignOpenEvent) {
+            if (event.player.world === world && !event.player.isCreative()) event.isCancelled = true
+        }
     }
 
     class WorldProtectData : ModuleData {
@@ -387,3 +471,5 @@ class WorldProtectModule(moduleManager: ModuleManager, val data: WorldProtectDat
         }
     }
 }
+
+private fun Entity.isCreative() = this is Player && this.gameMode == GameMode.CREATIVE
@@ -16,7 +16,7 @@
 
 package com.blurengine.blur.modules.checkpoints
 
-import com.blurengine.blur.events.players.PlayerMoveBlockEvent
+import com.blurengine.blur.components.shared.ExtentTracker
 import com.blurengine.blur.framework.Module
 import com.blurengine.blur.framework.ModuleData
 import com.blurengine.blur.framework.ModuleInfo
@@ -24,11 +24,13 @@ import com.blurengine.blur.framework.ModuleManager
 import com.blurengine.blur.framework.SerializedModule
 import com.blurengine.blur.modules.checkpoints.CheckpointsModule.CheckpointsData
 import com.blurengine.blur.modules.extents.Extent
+import com.blurengine.blur.modules.extents.ExtentEnterEvent
 import com.blurengine.blur.modules.extents.serializer.ExtentSerializer
 import com.blurengine.blur.modules.goal.GoalWinnersStageChangeData
 import com.blurengine.blur.modules.stages.StageChangeData
 import com.blurengine.blur.modules.stages.StageChangeReasons
 import com.blurengine.blur.session.BlurPlayer
+import com.blurengine.blur.utils.getSharedComponent
 import org.bukkit.ChatColor
 import org.bukkit.event.EventHandler
 import pluginbase.config.annotation.SerializeWith
@@ -38,8 +40,14 @@ import java.util.HashMap
 class CheckpointsModule(manager: ModuleManager, val data: CheckpointsData) : Module(manager) {
     private val playerCheckpoint = HashMap<BlurPlayer, Int>()
 
+    init {
+        val tracker = session.getSharedComponent { ExtentTracker(session) }
+        data.points.forEach { tracker.track(it) }
+    }
+
     @EventHandler
-    fun onPlayerMove(event: PlayerMoveBlockEvent) {
+    fun onExtentEnter(event: ExtentEnterEvent) {
+        if (event.extent !in data.points || !isSession(event)) return
         val bp = event.blurPlayer
         var current = this.playerCheckpoint.getOrDefault(bp, 0)
 
@@ -47,7 +55,7 @@ class CheckpointsModule(manager: ModuleManager, val data: CheckpointsData) : Mod
         // Precaution in case this method gets fired before this listener unregisters.
         if (current < this.data.points.size) {
             val checkpoint = this.data.points[current]
-            if (checkpoint.contains(bp)) {
+            if (checkpoint === event.extent) {
                 current++
                 this.playerCheckpoint.put(bp, current)
                 bp.message("${ChatColor.GREEN}Checkpoint reached, ${this.data.points.size - current} left")
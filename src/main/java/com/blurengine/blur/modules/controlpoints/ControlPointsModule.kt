@@ -17,6 +17,7 @@
 package com.blurengine.blur.modules.controlpoints
 
 import com.blurengine.blur.Blur
+import com.blurengine.blur.components.shared.ExtentTracker
 import com.blurengine.blur.events.players.PlayerLeaveSessionEvent
 import com.blurengine.blur.framework.Module
 import com.blurengine.blur.framework.ModuleData
@@ -27,26 +28,31 @@ import com.blurengine.blur.framework.WorldModule
 import com.blurengine.blur.framework.ticking.Tick
 import com.blurengine.blur.modules.controlpoints.ControlPointsModule.ControlPointEntry
 import com.blurengine.blur.modules.controlpoints.ControlPointsModule.ControlPointsData
-import com.blurengine.blur.modules.extents.AutoCircleExtent.MutableAutoCircleExtent
 import com.blurengine.blur.modules.extents.CylinderExtent
 import com.blurengine.blur.modules.extents.Extent
+import com.blurengine.blur.modules.extents.ExtentEnterEvent
+import com.blurengine.blur.modules.extents.ExtentExitEvent
 import com.blurengine.blur.modules.filters.Filter
 import com.blurengine.blur.modules.filters.Filters
+import com.blurengine.blur.modules.filters.SubjectKind
 import com.blurengine.blur.modules.teams.BlurTeam
+import com.blurengine.blur.modules.teams.events.PlayerChangeTeamEvent
 import com.blurengine.blur.session.BlurPlayer
-import com.blurengine.blur.utils.allMaxBy
-import com.blurengine.blur.utils.getTeam
+import com.blurengine.blur.utils.blocks.BlockKeySet
+import com.blurengine.blur.utils.blocks.BlockKeys
+import com.blurengine.blur.utils.callEventIfListened
+import com.blurengine.blur.utils.getSharedComponent
 import com.google.common.collect.ImmutableList
 import com.supaham.commons.relatives.RelativeDuration
 import com.supaham.commons.relatives.RelativeNumber
 import org.bukkit.ChatColor
+import org.bukkit.Chunk
+import org.bukkit.Location
 import org.bukkit.Material
 import org.bukkit.Particle
-import org.bukkit.block.Block
 import org.bukkit.event.EventHandler
 import org.bukkit.event.EventPriority
 import org.bukkit.event.player.AsyncPlayerChatEvent
-import org.bukkit.event.player.PlayerMoveEvent
 import org.bukkit.util.Vector
 import pluginbase.config.annotation.Name
 import java.time.Duration
@@ -61,33 +67,46 @@ class ControlPointsModule(manager: ModuleManager, val data: ControlPointsData) :
 
     private var controlPoints = ArrayList<ControlPoint>()
     private var playerControlPoints = HashMap<BlurPlayer, ControlPoint>() // Serves as a cache of players inside a control point
+    private val captureExtents = HashMap<Extent, ControlPoint>()
+    private val tracker = session.getSharedComponent { ExtentTracker(session) }
 
     init {
         data.controlPoints.forEach {
-            controlPoints.add(ControlPoint(this, it))
+            val controlPoint = ControlPoint(this, it)
+            controlPoints.add(controlPoint)
+            captureExtents[controlPoint.captureExtent] = controlPoint
+            tracker.track(controlPoint.captureExtent)
         }
     }
 
-    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
-    fun onPlayerMove(event: PlayerMoveEvent) {
-        val blurPlayer = getPlayer(event.player)
-        val controlPoint = playerControlPoints[blurPlayer]
-        if (controlPoint != null) {
-            // Player is still inside the capture point, terminate code
-            if (controlPoint.captureExtent.contains(blurPlayer.player.location)) return
+    @EventHandler
+    fun onExtentEnter(event: ExtentEnterEvent) {
+        val controlPoint = captureExtents[event.extent] ?: return
+        if (!isSession(event)) return
+        // A player is only ever capturing one control point at a time.
+        if (event.blurPlayer in playerControlPoints) return
+        enterControlPoint(event.blurPlayer, controlPoint)
+    }
 
-            // Player is no longer in their previous control point, remove them from the cache.
-            controlPoint.removePlayer(blurPlayer)
-            playerControlPoints.remove(blurPlayer)
-            this.session.callEvent(ControlPointExitEvent(blurPlayer, controlPoint))
-        }
+    private fun enterControlPoint(blurPlayer: BlurPlayer, controlPoint: ControlPoint) {
+        controlPoint.addPlayer(blurPlayer)
+        playerControlPoints.put(blurPlayer, controlPoint)
+        this.session.callEventIfListened { ControlPointEnterEvent(blurPlayer, controlPoint) }
+    }
 
-        // If the player is in a control point, cache it.
-        getControlPoint(event.to!!.toVector()).ifPresent {
-            it.addPlayer(blurPlayer)
-            playerControlPoints.put(blurPlayer, it)
-            this.session.callEvent(ControlPointEnterEvent(blurPlayer, it))
-        }
+    @EventHandler
+    fun onExtentExit(event: ExtentExitEvent) {
+        val controlPoint = captureExtents[event.extent] ?: return
+        if (!isSession(event)) return
+        val blurPlayer = event.blurPlayer
+        if (playerControlPoints[blurPlayer] != controlPoint) return
+
+        controlPoint.removePlayer(blurPlayer)
+        playerControlPoints.remove(blurPlayer)
+        this.session.callEventIfListened { ControlPointExitEvent(blurPlayer, controlPoint) }
+
+        // Start capturing any other control point the player is still inside of, as its enter was skipped while this one was held.
+        tracker.getExtents(blurPlayer).firstNotNullOfOrNull { captureExtents[it] }?.let { enterControlPoint(blurPlayer, it) }
     }
 
     @EventHandler
@@ -97,10 +116,17 @@ class ControlPointsModule(manager: ModuleManager, val data: ControlPointsData) :
         if (controlPoint != null) {
             controlPoint.removePlayer(event.blurPlayer)
             playerControlPoints.remove(event.blurPlayer)
-            this.session.callEvent(ControlPointExitEvent(event.blurPlayer, controlPoint))
+            this.session.callEventIfListened { ControlPointExitEvent(event.blurPlayer, controlPoint) }
         }
     }
 
+    // MONITOR because the team only changes once no listener has cancelled the event.
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    fun onPlayerChangeTeam(event: PlayerChangeTeamEvent) {
+        if (!isSession(event)) return
+        playerControlPoints[event.blurPlayer]?.changePlayerTeam(event.blurPlayer, event.newTeam.orElse(null))
+    }
+
     @EventHandler(priority = EventPriority.HIGH, ignoreCancelled = true)
     fun onAsyncPlayerChat(event: AsyncPlayerChatEvent) {
         if (logger.debugLevel == 0) return
@@ -169,15 +195,25 @@ class ControlPointsModule(manager: ModuleManager, val data: ControlPointsData) :
 
             serialized.load(this)
             check(controlPoints.isNotEmpty(), "At least one control point must be specified.")
+            checkMaterialFilter(visualMaterials!!, "visual-materials")
+            // Control points are looked up by their capture extent, identical anonymous extents are deserialized to the same instance.
+            val captures = HashSet<Extent>()
             controlPoints.forEach {
                 checkNotNullLateInit({ it.id }, "All control points need to specify an id.")
-                checkNotNull({ it.capture }, "${it.id} must specify a capture extent.")
+                checkNotNullLateInit({ it.capture }, "${it.id} must specify a capture extent.")
+                check(captures.add(it.capture), "${it.id} shares its capture extent with another control point.")
                 if (it.name.isNullOrEmpty()) {
                     it.name = it.id
                 }
+                it.visualMaterials?.let { filter -> checkMaterialFilter(filter, "${it.id} visual-materials") }
             }
             return ControlPointsModule(moduleManager, this)
         }
+
+        private fun checkMaterialFilter(filter: Filter, name: String) {
+            check(Filters.canMatch(filter, SubjectKind.BLOCK, SubjectKind.MATERIAL, SubjectKind.MATERIAL_DATA),
+                    "$name filter can never match a material.")
+        }
     }
 
     open class CommonData {
@@ -254,11 +290,13 @@ class ControlPoint(val module: ControlPointsModule, private val data: ControlPoi
     val minCaptureTime: Duration
 
     private val teamManager = module.teamManager
-    private val _players: MutableSet<BlurPlayer> = HashSet()
+    private val _players = HashMap<BlurPlayer, BlurTeam?>() // Players on this point and the team each one is counted under in occupancy
+    private val occupancy = TeamOccupancy<BlurTeam>()
     val players: MutableSet<BlurPlayer>
-        get() = Collections.unmodifiableSet(_players)
+        get() = Collections.unmodifiableSet(_players.keys)
 
-    private val indicatorBlocks: List<Block>?
+    private val indicatorBlocks: LongArray? // Chunk-sorted BlockKeys
+    private var indicatorMaterial: Material? = null // Material the indicator blocks were last set to
 
     private var _owner: BlurTeam? = null
     var owner: BlurTeam?
@@ -286,12 +324,15 @@ class ControlPoint(val module: ControlPointsModule, private val data: ControlPoi
         timeModifierPerPlayer = data.timeModifierPerPlayer ?: module.getTimeModifierPerPlayer()!!
         minCaptureTime = handleRelDuration(data.minCaptureTime, module.getMinCaptureTime()!!)
 
-        indicatorBlocks = if (data.indicator != null) {
-            data.indicator!!.map { b -> module.world.getBlockAt(b.blockX, b.blockY, b.blockZ) }
-                    .filter { b -> b.blockData.material == data.neutralMaterial }
-                    .toList()
-        } else {
-            null
+        indicatorMaterial = data.neutralMaterial
+        indicatorBlocks = data.indicator?.let { indicator ->
+            val keys = BlockKeySet()
+            indicator.forEachBlock { x, y, z ->
+                if (module.world.getBlockAt(x, y, z).type == data.neutralMaterial) {
+                    keys.add(x, y, z)
+                }
+            }
+            keys.toArray().apply { sort() }
         }
 
         progress = Progress(1F / module.session.millisecondsToTicks(captureDuration.toMillis()))
@@ -300,6 +341,29 @@ class ControlPoint(val module: ControlPointsModule, private val data: ControlPoi
         module.addTickable(progress)
     }
 
+    /**
+     * Sets the indicator blocks to [material]. Only blocks that are not already of that material are written, and the chunk-sorted keys let each
+     * chunk be looked up once for all of its blocks.
+     */
+    private fun setIndicatorMaterial(material: Material) {
+        val keys = indicatorBlocks ?: return
+        if (material == indicatorMaterial) return
+        indicatorMaterial = material
+        val blockData = material.createBlockData()
+        var chunkKey = 0L
+        var chunk: Chunk? = null
+        for (key in keys) {
+            if (chunk == null || BlockKeys.chunkKey(key) != chunkKey) {
+                chunkKey = BlockKeys.chunkKey(key)
+                chunk = module.world.getChunkAt(BlockKeys.chunkKeyX(chunkKey), BlockKeys.chunkKeyZ(chunkKey))
+            }
+            val block = chunk!!.getBlock(BlockKeys.x(key) and 15, BlockKeys.y(key), BlockKeys.z(key) and 15)
+            if (block.type != material) {
+                block.blockData = blockData
+            }
+        }
+    }
+
     private fun handleRelNumber(rel: RelativeNumber?, moduleRel: RelativeNumber): Double {
         if (rel == null) return moduleRel.number
         return if (rel.isRelative) rel.apply(moduleRel.number) else rel.number
@@ -311,19 +375,28 @@ class ControlPoint(val module: ControlPointsModule, private val data: ControlPoi
     }
 
     fun addPlayer(blurPlayer: BlurPlayer): Boolean {
-        if (_players.add(blurPlayer)) {
-            reevaluate()
-            return true
-        }
-        return false
+        if (blurPlayer in _players) return false
+        val team = teamManager.getPlayerTeam(blurPlayer)
+        _players[blurPlayer] = team
+        occupancy.add(team)
+        reevaluate()
+        return true
     }
 
     fun removePlayer(blurPlayer: BlurPlayer): Boolean {
-        if (_players.remove(blurPlayer)) {
-            reevaluate()
-            return true
-        }
-        return false
+        if (blurPlayer !in _players) return false
+        occupancy.remove(_players.remove(blurPlayer))
+        reevaluate()
+        return true
+    }
+
+    /**
+     * Moves a player on this point to another team's occupant count.
+     */
+    internal fun changePlayerTeam(blurPlayer: BlurPlayer, newTeam: BlurTeam?) {
+        if (blurPlayer !in _players) return
+        occupancy.change(_players.put(blurPlayer, newTeam), newTeam)
+        reevaluate()
     }
 
     fun getProgress(): Float {
@@ -340,16 +413,16 @@ class ControlPoint(val module: ControlPointsModule, private val data: ControlPoi
 
     private fun reevaluate() {
         // No players to capture this control point, terminate code
-        if (_players.isEmpty()) {
+        if (occupancy.total == 0) {
             progress.resetProgress() // Ensure we clear any previous progress data
             return
         }
-        val countTeams = countTeams()
 
         // Only one team is capturing, no need to check capture rules.
-        if (countTeams == 1) {
-            progress.capturingTeam = teamManager.getPlayerTeam(_players.first())
-            if (teamManager.getPlayerTeam(_players.first()) == owner) {
+        if (occupancy.teamCount == 1) {
+            val team = occupancy.soleTeam
+            progress.capturingTeam = team
+            if (team == owner) {
                 progress.resetProgress()  // Make sure it doesn't get stuck partway through defending.
             }
             return
@@ -359,50 +432,19 @@ class ControlPoint(val module: ControlPointsModule, private val data: ControlPoi
         /*
          * EXCLUSIVE
          */
-            CaptureRule.EXCLUSIVE -> {
-                // If there's more than one team capturing, halt progress but don't reset it
-                if (countTeams > 1) {
-                    progress.capturing = false
-                    return
-                }
-                progress.capturingTeam = teamManager.getPlayerTeam(_players.first())
-            }
+            // More than one team is capturing, halt progress but don't reset it
+            CaptureRule.EXCLUSIVE -> progress.capturing = false
         /*
          * MAJORITY
          */
-            CaptureRule.MAJORITY -> {
-                val teamSizes = ArrayList<Pair<BlurTeam, Int>>()
-                teamManager.teams.map { teamSizes.add(Pair(it, it.playerCount)) }
-                var found: BlurTeam? = null
-                teamSizes.forEach { it1 ->
-                    val sum = teamSizes.filter { it.first != it1.first }.sumBy { it.second }
-                    found = if (it1.first.playerCount > sum) it1.first else null
-                }
-                if (found != null) {
-                    progress.capturingTeam = found
-                } else {
-                    progress.capturingTeam = null
-                }
-            }
+            CaptureRule.MAJORITY -> progress.capturingTeam = occupancy.majorityTeam
         /*
          * LEAD
          */
-            CaptureRule.LEAD -> {
-                val largest = teamManager.teams.allMaxBy { it.playerCount }
-                if (largest.size == 1) {
-                    progress.capturingTeam = largest[0]
-                } else {
-                    // 2 or more teams with the most yet same amount of players
-                    progress.capturingTeam = null
-                }
-            }
+            CaptureRule.LEAD -> progress.capturingTeam = occupancy.leadingTeam
         }
     }
 
-    private fun countTeams(): Int {
-        return _players.map { teamManager.getPlayerTeam(it) }.distinct().count()
-    }
-
     /**
      * @param progressIncr how much to increment per tick
      */
@@ -437,13 +479,16 @@ class ControlPoint(val module: ControlPointsModule, private val data: ControlPoi
             get() = _progress
             private set(value) {
                 _progress = Math.max(0F, Math.min(value, 1F)) // min value of 0, max value of 1
-                module.session.callEvent(ControlPointProgressTickEvent(this@ControlPoint))
+                module.session.callEventIfListened { ControlPointProgressTickEvent(this@ControlPoint) }
                 module.logger.finest("Progress $_progress progressTeam ${progressTeam?.id} captureTeam ${capturingTeam?.id} " +
                         "owner ${_owner?.id} players ${_players.size}")
             }
 
-        private val particlesExtent = if (captureExtent is CylinderExtent && particles)
-            MutableAutoCircleExtent(captureExtent.base.add(0.0, 0.2, 0.0).toVector(), captureExtent.radius, 20, 0.0) else null
+        private val ring = if (captureExtent is CylinderExtent && particles)
+            captureExtent.base.let { ProgressRing(it.x, it.y + 0.2, it.z, captureExtent.radius, RING_POINTS) } else null
+        private var ticksSinceParticles = 0
+        private var dust: Particle.DustOptions? = null
+        private val viewerLocation = Location(null, 0.0, 0.0, 0.0)
 
         @Tick
         fun tick() {
@@ -467,7 +512,9 @@ class ControlPoint(val module: ControlPointsModule, private val data: ControlPoi
                         var previousOwner = owner!!
                         setOwner(null)
                         module.session.callEvent(ControlPointLostEvent(this@ControlPoint, previousOwner))
-                        indicatorBlocks?.forEach { it.blockData = data.neutralMaterial!!.createBlockData() }  // This is null safe because we only get any indicator blocks if neutralBlockData is non-null.
+                        if (indicatorBlocks != null) {
+                            setIndicatorMaterial(data.neutralMaterial!!)  // This is null safe because we only get any indicator blocks if neutralBlockData is non-null.
+                        }
                     }
                     progressTeam = null  // There is no progress to have.
                     reevaluate()
@@ -478,7 +525,7 @@ class ControlPoint(val module: ControlPointsModule, private val data: ControlPoi
                 progressTeam = capturingTeam
 
                 // Only count players that are making a difference (i.e. if the capturing team has 3 players, and the other has 2, then only 1 of the capturing team players actually matters for this).
-                val numCapturingPlayers = 2 * _players.count { it.getTeam() == progressTeam } - _players.size  // Equivalent to progressTeamPlayers - (playersOnPoint - progressTeamPlayers).
+                val numCapturingPlayers = 2 * occupancy.getCount(progressTeam) - occupancy.total  // Equivalent to progressTeamPlayers - (playersOnPoint - progressTeamPlayers).
 
                 var thisTotalCaptureTime = captureDuration.toMillis().toDouble()  // This is how long it would take to capture the whole thing with this many players on point.
                 for (i in 2..numCapturingPlayers) {  // Only modify if there is more than 1 capturing player.
@@ -497,31 +544,40 @@ class ControlPoint(val module: ControlPointsModule, private val data: ControlPoi
                 if (progress == 1F) {
                     setOwner(progressTeam)
                     module.session.callEvent(ControlPointCapturedEvent(this@ControlPoint))
-                    indicatorBlocks?.forEach { it.blockData = data.teamMaterials?.firstOrNull { m -> m.id == owner!!.id }?.material?.createBlockData() ?: it.blockData }
+                    data.teamMaterials?.firstOrNull { m -> m.id == owner!!.id }?.material?.let { setIndicatorMaterial(it) }
                     timesCaptured++
                 }
             }
         }
 
         fun showParticles() {
-            if (particlesExtent == null) return
-            var radius = progress * (captureExtent as CylinderExtent).radius
-
-            if (radius <= 0) {
+            val ring = ring ?: return
+            if (progress <= 0) {
                 return
             }
-
-            particlesExtent.radius = radius
-            particlesExtent.offsetRadians = progress * (Math.PI * 2)
-            particlesExtent.regenerate()
+            // Only redraw when progress moves, and otherwise periodically so that a steady ring stays visible.
+            if (!ring.update(progress) && ++ticksSinceParticles < PARTICLES_REFRESH_TICKS) {
+                return
+            }
+            ticksSinceParticles = 0
 
             val particleColor = if (owner == null && 0 < progress && progress < 1) {
                 progressTeam!!.color
             } else {
                 owner!!.color
             }
-            particlesExtent.pointsList.forEach {
-                module.world.spawnParticle(Particle.DUST, it.toLocation(module.world), 2, 0.0, 0.0, 0.0, 0.0, Particle.DustOptions(particleColor, 1F))
+            val dust = dust.takeIf { it?.color == particleColor } ?: Particle.DustOptions(particleColor, 1F).also { dust = it }
+
+            for (blurPlayer in module.players) {
+                val player = blurPlayer.player
+                if (player.world != module.world) continue
+                val location = player.getLocation(viewerLocation)
+                val dx = location.x - ring.centerX
+                val dz = location.z - ring.centerZ
+                if (dx * dx + dz * dz > PARTICLES_VIEW_DISTANCE_SQUARED) continue
+                for (i in 0 until ring.size()) {
+                    player.spawnParticle(Particle.DUST, ring.getX(i), ring.getY(), ring.getZ(i), 2, 0.0, 0.0, 0.0, 0.0, dust)
+                }
             }
         }
 
@@ -554,4 +610,16 @@ class ControlPoint(val module: ControlPointsModule, private val data: ControlPoi
             capturing = false
         }
     }
+
+    companion object {
+        private const val RING_POINTS = 20
+        /**
+         * Ticks between redraws of a progress ring whose progress has not changed.
+         */
+        private const val PARTICLES_REFRESH_TICKS = 10
+        /**
+         * Horizontal distance within which players are sent progress ring particles, matching the client's particle render distance.
+         */
+        private const val PARTICLES_VIEW_DISTANCE_SQUARED = 32.0 * 32.0
+    }
 }
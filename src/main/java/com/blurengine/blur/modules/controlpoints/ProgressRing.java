@@ -0,0 +1,122 @@
+/*
+ * Copyright 2026 Ali Moghnieh
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.blurengine.blur.modules.controlpoints;
+
+import com.google.common.base.Preconditions;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Represents the particle ring drawn around a cylindrical {@link ControlPoint} to show its progress. The ring's radius and rotation both grow
+ * with progress. Unit circle geometry is computed once per point count and shared, so updating a ring takes a single sin/cos pair and no
+ * allocation.
+ */
+public final class ProgressRing {
+
+    private static final ConcurrentMap<Integer, double[]> UNIT_TABLES = new ConcurrentHashMap<>();
+
+    private final double[] unit;
+    private final double centerX, y, centerZ, maxRadius;
+    private final double[] xs, zs;
+    private float progress = Float.NaN;
+
+    public ProgressRing(double centerX, double y, double centerZ, double maxRadius, int points) {
+        Preconditions.checkArgument(points > 0, "points must be greater than 0.");
+        this.unit = unitTable(points);
+        this.centerX = centerX;
+        this.y = y;
+        this.centerZ = centerZ;
+        this.maxRadius = maxRadius;
+        this.xs = new double[points];
+        this.zs = new double[points];
+    }
+
+    /**
+     * Returns the cos and sin, interleaved, of {@code points} angles evenly spaced around a circle starting at 0 radians. Tables are shared.
+     *
+     * @param points amount of points
+     *
+     * @return unit circle table of length {@code points * 2}
+     */
+    static double[] unitTable(int points) {
+        return UNIT_TABLES.computeIfAbsent(points, n -> {
+            double[] table = new double[n * 2];
+            for (int i = 0; i < n; i++) {
+                double angle = ((double) i / n) * Math.PI * 2;
+                table[i * 2] = Math.cos(angle);
+                table[i * 2 + 1] = Math.sin(angle);
+            }
+            return table;
+        });
+    }
+
+    /**
+     * Moves the points of this ring to the given progress. Does nothing if the progress is unchanged.
+     *
+     * @param progress progress between 0 and 1
+     *
+     * @return whether the points moved
+     */
+    public boolean update(float progress) {
+        if (this.progress == progress) {
+            return false;
+        }
+        this.progress = progress;
+        double radius = progress * maxRadius;
+        double offset = progress * (Math.PI * 2);
+        // Rotate every unit point by the offset using the angle sum identities, scaled by the radius.
+        double cos = Math.cos(offset) * radius;
+        double sin = Math.sin(offset) * radius;
+        for (int i = 0; i < xs.length; i++) {
+            double unitCos = unit[i * 2];
+            double unitSin = unit[i * 2 + 1];
+            xs[i] = centerX + unitCos * cos - unitSin * sin;
+            zs[i] = centerZ + unitSin * cos + unitCos * sin;
+        }
+        return true;
+    }
+
+    public float getProgress() {
+        return progress;
+    }
+
+    public int size() {
+        return xs.length;
+    }
+
+    public double getX(int index) {
+        return xs[index];
+    }
+
+    public double getY() {
+        return y;
+    }
+
+    public double getZ(int index) {
+        return zs[index];
+    }
+
+    public double getCenterX() {
+        return centerX;
+    }
+
+    public double getCenterZ() {
+        return centerZ;
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright 2026 Ali Moghnieh
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.blurengine.blur.modules.controlpoints;
+
+import com.google.common.base.Preconditions;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+import javax.annotation.Nullable;
+
+/**
+ * Represents per-team occupant counters of a {@link ControlPoint}. Counters are updated as players enter and leave the point, so evaluating a
+ * {@link CaptureRule} is O(teams) without allocating. Players without a team are counted under {@code null}, which counts as a team of its own
+ * when checking whether a point is contested but never captures.
+ *
+ * @param <T> team type
+ */
+public final class TeamOccupancy<T> {
+
+    private Object[] teams = new Object[4];
+    private int[] counts = new int[4];
+    private int size;
+    private int total;
+
+    /**
+     * Counts a player of a team entering.
+     *
+     * @param team team of the player, nullable
+     */
+    public void add(@Nullable T team) {
+        int i = indexOf(team);
+        if (i < 0) {
+            if (size == teams.length) {
+                teams = Arrays.copyOf(teams, size * 2);
+                counts = Arrays.copyOf(counts, size * 2);
+            }
+            i = size++;
+            teams[i] = team;
+            counts[i] = 0;
+        }
+        counts[i]++;
+        total++;
+    }
+
+    /**
+     * Counts a player of a team leaving.
+     *
+     * @param team team of the player, nullable
+     *
+     * @throws IllegalStateException thrown if no player of the team is counted
+     */
+    public void remove(@Nullable T team) {
+        int i = indexOf(team);
+        Preconditions.checkState(i >= 0, "No occupants of team %s.", team);
+        total--;
+        if (--counts[i] == 0) {
+            // Teams with no occupants are dropped so that size is always the number of teams present.
+            size--;
+            teams[i] = teams[size];
+            counts[i] = counts[size];
+            teams[size] = null;
+        }
+    }
+
+    /**
+     * Moves a counted player from one team to another.
+     *
+     * @param oldTeam team the player was counted under, nullable
+     * @param newTeam team to count the player under, nullable
+     */
+    public void change(@Nullable T oldTeam, @Nullable T newTeam) {
+        if (!Objects.equals(oldTeam, newTeam)) {
+            remove(oldTeam);
+            add(newTeam);
+        }
+    }
+
+    public void clear() {
+        Arrays.fill(teams, 0, size, null);
+        size = 0;
+        total = 0;
+    }
+
+    /**
+     * Returns the amount of players counted.
+     *
+     * @return total players
+     */
+    public int getTotal() {
+        return total;
+    }
+
+    /**
+     * Returns the amount of distinct teams with at least one player counted, including {@code null} for players without a team.
+     *
+     * @return distinct team count
+     */
+    public int getTeamCount() {
+        return size;
+    }
+
+    /**
+     * Returns the amount of players counted for a team.
+     *
+     * @param team team, nullable
+     *
+     * @return amount of players
+     */
+    public int getCount(@Nullable T team) {
+        int i = indexOf(team);
+        return i < 0 ? 0 : counts[i];
+    }
+
+    /**
+     * Returns the only team present, if exactly one team is present.
+     *
+     * @return sole team, or null if none, more than one, or only players without a team are present
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public T getSoleTeam() {
+        return size == 1 ? (T) teams[0] : null;
+    }
+
+    /**
+     * Returns the capturing team according to {@link CaptureRule#MAJORITY}: the team with more players than all other occupants combined.
+     *
+     * @return majority team, or null if no team has a majority
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public T getMajorityTeam() {
+        for (int i = 0; i < size; i++) {
+            if (teams[i] != null && counts[i] > total - counts[i]) {
+                return (T) teams[i];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the capturing team according to {@link CaptureRule#LEAD}: the team with more players than any other single team.
+     *
+     * @return leading team, or null if two or more teams share the most players
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public T getLeadingTeam() {
+        int best = -1;
+        boolean tied = false;
+        for (int i = 0; i < size; i++) {
+            if (teams[i] == null) {
+                continue;
+            }
+            if (best < 0 || counts[i] > counts[best]) {
+                best = i;
+                tied = false;
+            } else if (counts[i] == counts[best]) {
+                tied = true;
+            }
+        }
+        return best < 0 || tied ? null : (T) teams[best];
+    }
+
+    private int indexOf(@Nullable T team) {
+        for (int i = 0; i < size; i++) {
+            if (Objects.equals(teams[i], team)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -19,10 +19,13 @@ package com.blurengine.blur.modules.extents;
 import com.google.common.base.Preconditions;
 
 import com.blurengine.blur.modules.extents.ExtentDirection.NullExtentDirection;
+import com.blurengine.blur.utils.IntTriConsumer;
+import com.blurengine.blur.utils.blocks.BlockKeySet;
 import com.supaham.commons.bukkit.utils.ImmutableVector;
-import com.supaham.commons.bukkit.utils.VectorUtils;
 
 import org.bukkit.util.BlockVector;
+import org.bukkit.util.BoundingBox;
+import org.bukkit.util.NumberConversions;
 import org.bukkit.util.Vector;
 import org.jetbrains.annotations.NotNull;
 
@@ -50,6 +53,8 @@ public class AutoCircleExtent implements Extent, DirectionalExtent {
     protected List<Vector> pointsList;
     protected int lastPoint;
     protected List<BlockVector> bvCache;
+    private BlockKeySet pointKeys;
+    private List<Vector> pointKeysSource;
 
     public AutoCircleExtent(@Nonnull Vector base, int points, double radius, double offsetRadians) {
         this(base, points, radius, offsetRadians, null);
@@ -72,8 +77,24 @@ public class AutoCircleExtent implements Extent, DirectionalExtent {
 
     @Override
     public boolean contains(double x, double y, double z) {
-        Vector test = new Vector(x, y, z);
-        return pointsList.stream().filter(v -> VectorUtils.isSameBlock(test, v)).count() > 0;
+        return getPointKeys().contains(NumberConversions.floor(x), NumberConversions.floor(y), NumberConversions.floor(z));
+    }
+
+    /**
+     * Returns the {@link BlockKeySet} of the blocks of {@link #pointsList}, rebuilding it whenever the points list has been replaced.
+     */
+    private BlockKeySet getPointKeys() {
+        List<Vector> points = this.pointsList;
+        if (this.pointKeysSource != points) {
+            BlockKeySet keys = new BlockKeySet(points.size());
+            for (int i = 0, size = points.size(); i < size; i++) {
+                Vector point = points.get(i);
+                keys.add(point.getBlockX(), point.getBlockY(), point.getBlockZ());
+            }
+            this.pointKeys = keys;
+            this.pointKeysSource = points;
+        }
+        return this.pointKeys;
     }
 
     @Override
@@ -111,6 +132,28 @@ public class AutoCircleExtent implements Extent, DirectionalExtent {
         return this.bvCache.iterator();
     }
 
+    @Override
+    public void forEachBlock(@Nonnull IntTriConsumer consumer) {
+        Preconditions.checkNotNull(consumer, "consumer cannot be null.");
+        List<Vector> points = this.pointsList;
+        for (int i = 0, size = points.size(); i < size; i++) {
+            Vector point = points.get(i);
+            consumer.accept(point.getBlockX(), point.getBlockY(), point.getBlockZ());
+        }
+    }
+
+    @Nullable
+    @Override
+    public BoundingBox getBounds() {
+        BoundingBox bounds = null;
+        for (Vector point : this.pointsList) {
+            BoundingBox block = new BoundingBox(point.getBlockX(), point.getBlockY(), point.getBlockZ(),
+                point.getBlockX() + 1, point.getBlockY() + 1, point.getBlockZ() + 1);
+            bounds = bounds == null ? block : bounds.union(block);
+        }
+        return bounds;
+    }
+
     @Override
     public boolean isInfinite() {
         return false;
@@ -209,6 +252,15 @@ public class AutoCircleExtent implements Extent, DirectionalExtent {
             }
         }
 
+        /**
+         * Returns null as the points of this extent may change at any time.
+         */
+        @Nullable
+        @Override
+        public BoundingBox getBounds() {
+            return null;
+        }
+
         public void regenerate() {
             if (dirty) {
                 this.pointsList = generatePoints();
@@ -19,10 +19,12 @@ package com.blurengine.blur.modules.extents;
 import com.google.common.base.Preconditions;
 
 import com.blurengine.blur.modules.extents.ExtentDirection.NullExtentDirection;
+import com.blurengine.blur.utils.IntTriConsumer;
 import com.supaham.commons.bukkit.utils.ImmutableBlockVector;
 import com.supaham.commons.bukkit.utils.ImmutableVector;
 
 import org.bukkit.util.BlockVector;
+import org.bukkit.util.BoundingBox;
 import org.bukkit.util.Vector;
 
 import java.util.Iterator;
@@ -87,6 +89,19 @@ public class BlockExtent implements Extent, DirectionalExtent {
         };
     }
 
+    @Override
+    public void forEachBlock(@Nonnull IntTriConsumer consumer) {
+        Preconditions.checkNotNull(consumer, "consumer cannot be null.");
+        consumer.accept(vector.getBlockX(), vector.getBlockY(), vector.getBlockZ());
+    }
+
+    @Nonnull
+    @Override
+    public BoundingBox getBounds() {
+        return new BoundingBox(vector.getBlockX(), vector.getBlockY(), vector.getBlockZ(),
+            vector.getBlockX() + 1, vector.getBlockY() + 1, vector.getBlockZ() + 1);
+    }
+
     @Override
     public boolean isInfinite() {
         return false;
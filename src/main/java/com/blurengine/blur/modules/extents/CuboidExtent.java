@@ -19,6 +19,7 @@ package com.blurengine.blur.modules.extents;
 import com.google.common.base.Preconditions;
 
 import com.blurengine.blur.modules.extents.ExtentDirection.NullExtentDirection;
+import com.blurengine.blur.utils.IntTriConsumer;
 import com.supaham.commons.bukkit.utils.VectorUtils;
 import com.supaham.commons.utils.RandomUtils;
 
@@ -82,6 +83,31 @@ public class CuboidExtent implements Extent, DirectionalExtent {
         return new CuboidIterator();
     }
 
+    /**
+     * Visits every block in this cuboid one chunk column at a time, bottom to top within each column.
+     */
+    @Override
+    public void forEachBlock(@Nonnull IntTriConsumer consumer) {
+        Preconditions.checkNotNull(consumer, "consumer cannot be null.");
+        int minX = min.getBlockX(), minY = min.getBlockY(), minZ = min.getBlockZ();
+        int maxX = max.getBlockX(), maxY = max.getBlockY(), maxZ = max.getBlockZ();
+        for (int chunkZ = minZ >> 4; chunkZ <= maxZ >> 4; chunkZ++) {
+            int fromZ = Math.max(minZ, chunkZ << 4);
+            int toZ = Math.min(maxZ, (chunkZ << 4) + 15);
+            for (int chunkX = minX >> 4; chunkX <= maxX >> 4; chunkX++) {
+                int fromX = Math.max(minX, chunkX << 4);
+                int toX = Math.min(maxX, (chunkX << 4) + 15);
+                for (int y = minY; y <= maxY; y++) {
+                    for (int z = fromZ; z <= toZ; z++) {
+                        for (int x = fromX; x <= toX; x++) {
+                            consumer.accept(x, y, z);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
     @Override
     public boolean isInfinite() {
         return false;
@@ -105,6 +131,12 @@ public class CuboidExtent implements Extent, DirectionalExtent {
         return BoundingBox.of(min, max);
     }
 
+    @Nonnull
+    @Override
+    public BoundingBox getBounds() {
+        return asBoundingBox();
+    }
+
     private class CuboidIterator implements Iterator<BlockVector> {
 
         private int nextX = min.getBlockX();
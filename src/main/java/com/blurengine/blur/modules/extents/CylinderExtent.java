@@ -19,9 +19,11 @@ package com.blurengine.blur.modules.extents;
 import com.google.common.base.Preconditions;
 
 import com.blurengine.blur.modules.extents.ExtentDirection.NullExtentDirection;
+import com.blurengine.blur.utils.IntTriConsumer;
 import com.supaham.commons.bukkit.utils.ImmutableVector;
 
 import org.bukkit.util.BlockVector;
+import org.bukkit.util.BoundingBox;
 import org.bukkit.util.Vector;
 import org.jetbrains.annotations.NotNull;
 
@@ -38,6 +40,8 @@ import javax.annotation.Nullable;
  */
 public class CylinderExtent implements Extent, DirectionalExtent {
 
+    private static final int OUTLINE_SPACING = 20;
+
     private final ImmutableVector base;
     private final double radius;
     private final double height;
@@ -83,21 +87,35 @@ public class CylinderExtent implements Extent, DirectionalExtent {
 
     @Override
     public Iterator<BlockVector> iterator() {
-        int spacing = 20;
-        List<BlockVector> result = new ArrayList<>(spacing);
+        List<BlockVector> result = new ArrayList<>((OUTLINE_SPACING + 1) * ((int) this.height + 1));
+        forEachBlock((x, y, z) -> result.add(new BlockVector(x, y, z)));
+        return result.iterator();
+    }
+
+    /**
+     * Visits the outline of this cylinder, walking the circumference so that consecutive blocks share a chunk.
+     */
+    @Override
+    public void forEachBlock(@Nonnull IntTriConsumer consumer) {
+        Preconditions.checkNotNull(consumer, "consumer cannot be null.");
         double PI2 = Math.PI * 2.0;
-        for (int i = 0; i <= spacing; i++) {
-            double angle = ((double) i / spacing) * PI2;
-            double dX = Math.cos(angle) * this.radius + this.base.getX();
-            double dZ = Math.sin(angle) * this.radius + this.base.getZ();
+        for (int i = 0; i <= OUTLINE_SPACING; i++) {
+            double angle = ((double) i / OUTLINE_SPACING) * PI2;
+            int x = (int) Math.floor(Math.cos(angle) * this.radius + this.base.getX());
+            int z = (int) Math.floor(Math.sin(angle) * this.radius + this.base.getZ());
 
             // TODO Height 1 currently counts two separate heights, should it stay like that?
             for (int j = 0; j <= (int) this.height; j++) {
-                result.add(new BlockVector(dX, this.base.getY() + j, dZ));
-
+                consumer.accept(x, (int) Math.floor(this.base.getY() + j), z);
             }
         }
-        return result.iterator();
+    }
+
+    @Nonnull
+    @Override
+    public BoundingBox getBounds() {
+        return new BoundingBox(base.getX() - radius, base.getY(), base.getZ() - radius,
+            base.getX() + radius, base.getY() + height, base.getZ() + radius);
     }
 
     @Override
@@ -19,7 +19,9 @@ package com.blurengine.blur.modules.extents;
 import com.google.common.base.Preconditions;
 
 import com.blurengine.blur.modules.filters.Filter;
+import com.blurengine.blur.modules.filters.SubjectKind;
 import com.blurengine.blur.session.BlurPlayer;
+import com.blurengine.blur.utils.IntTriConsumer;
 import com.supaham.commons.bukkit.utils.ImmutableVector;
 import com.supaham.commons.utils.RandomUtils;
 
@@ -27,12 +29,15 @@ import org.bukkit.Location;
 import org.bukkit.block.Block;
 import org.bukkit.entity.Entity;
 import org.bukkit.util.BlockVector;
+import org.bukkit.util.BoundingBox;
 import org.bukkit.util.Vector;
 
 import java.util.Iterator;
 import java.util.Random;
+import java.util.Set;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 /**
  * Represents an extent typically contained in a world. Extent extends {@link Filter} which allows for very convenient filter tests. Extent also has
@@ -41,6 +46,12 @@ import javax.annotation.Nonnull;
  */
 public interface Extent extends Filter, Iterable<BlockVector> {
 
+    /**
+     * Kinds of positioned subjects every extent applies to.
+     */
+    Set<SubjectKind> SUBJECT_KINDS = SubjectKind.setOf(SubjectKind.PLAYER, SubjectKind.ENTITY, SubjectKind.BLOCK, SubjectKind.VECTOR,
+        SubjectKind.IMMUTABLE_VECTOR, SubjectKind.LOCATION, SubjectKind.BLUR_PLAYER);
+
     /**
      * Returns whether an {@link BlurPlayer} is within this {@link Extent}.
      *
@@ -149,21 +160,59 @@ public interface Extent extends Filter, Iterable<BlockVector> {
         return true;
     }
 
+    /**
+     * Returns a box that encloses every point this {@link Extent} may contain, used for spatial lookups. This returns null if the extent is
+     * infinite, moves, or its bounds are otherwise unknown, in which case it must always be tested.
+     *
+     * @return bounding box, or null if unknown
+     */
+    @Nullable
+    default BoundingBox getBounds() {
+        return null;
+    }
+
+    /**
+     * Visits the block coordinates of every {@link BlockVector} this {@link Extent} covers, the same blocks as {@link #iterator()}, without allocating
+     * a vector per block. Implementations visit blocks in chunk order where their shape allows it, so consumers that touch the world load each chunk
+     * once. The default implementation falls back to {@link #iterator()}.
+     *
+     * @param consumer consumer to accept each block's x, y, and z coordinates
+     */
+    default void forEachBlock(@Nonnull IntTriConsumer consumer) {
+        Preconditions.checkNotNull(consumer, "consumer cannot be null.");
+        for (BlockVector bv : this) {
+            consumer.accept(bv.getBlockX(), bv.getBlockY(), bv.getBlockZ());
+        }
+    }
+
     @Override
     default FilterResponse test(Object object) {
-        if (object instanceof Entity) {
-            return FilterResponse.from(contains((Entity) object));
-        } else if (object instanceof Block) {
-            return FilterResponse.from(contains((Block) object));
-        } else if (object instanceof Vector) {
-            return FilterResponse.from(contains((Vector) object));
-        } else if (object instanceof ImmutableVector) {
-            return FilterResponse.from(contains((ImmutableVector) object));
-        } else if (object instanceof Location) {
-            return FilterResponse.from(contains((Location) object));
-        } else if (object instanceof BlurPlayer) {
-            return FilterResponse.from(contains(((BlurPlayer) object).getPlayer()));
+        return test(object, SubjectKind.of(object));
+    }
+
+    @Override
+    default FilterResponse test(Object object, SubjectKind kind) {
+        switch (kind) {
+            case PLAYER:
+            case ENTITY:
+                return FilterResponse.from(contains((Entity) object));
+            case BLOCK:
+                return FilterResponse.from(contains((Block) object));
+            case VECTOR:
+                return FilterResponse.from(contains((Vector) object));
+            case IMMUTABLE_VECTOR:
+                return FilterResponse.from(contains((ImmutableVector) object));
+            case LOCATION:
+                return FilterResponse.from(contains((Location) object));
+            case BLUR_PLAYER:
+                return FilterResponse.from(contains(((BlurPlayer) object).getPlayer()));
+            default:
+                return FilterResponse.ABSTAIN;
         }
-        return FilterResponse.ABSTAIN;
+    }
+
+    @Override
+    default Set<SubjectKind> getSubjectKinds() {
+        return SUBJECT_KINDS;
     }
 }
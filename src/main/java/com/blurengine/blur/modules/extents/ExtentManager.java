@@ -35,7 +35,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
-import java.util.UUID;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
@@ -51,7 +50,13 @@ public class ExtentManager extends Module {
 
     public static final String FILTER_PREFIX = "extent-";
 
+    /**
+     * Prefix of the ids given to extents added without an id.
+     */
+    public static final String ANONYMOUS_PREFIX = "#";
+
     private Map<String, Extent> extents = new HashMap<>();
+    private int anonymousCount;
 
     static {
         ModuleLoader.register(ExtentsModule.class);
@@ -64,10 +69,9 @@ public class ExtentManager extends Module {
     public void addExtent(String id, Extent extent) {
         // FIXME use a mutable union region instead?
         if (id == null) {
-            id = UUID.randomUUID().toString();
-            while (this.extents.containsKey(id)) {
-                id = UUID.randomUUID().toString();
-            }
+            do {
+                id = ANONYMOUS_PREFIX + ++this.anonymousCount;
+            } while (this.extents.containsKey(id));
         } else {
             Preconditions.checkArgument(!this.extents.containsKey(id), "Extent with id '%s' already exists.", id);
             // Add filter reference by default for convenience.
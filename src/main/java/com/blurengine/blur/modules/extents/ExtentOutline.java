@@ -0,0 +1,198 @@
+/*
+ * Copyright 2026 Ali Moghnieh
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blurengine.blur.modules.extents;
+
+import com.google.common.base.Preconditions;
+
+import com.supaham.commons.bukkit.utils.ImmutableVector;
+
+import org.bukkit.util.Vector;
+
+import java.util.Arrays;
+import java.util.List;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Generates the outline of an {@link Extent} as points spaced along its edges, as opposed to every block it covers. Points are returned packed as
+ * consecutive x, y, z triples in a {@code double[]}.
+ * <ul>
+ *     <li>{@link CuboidExtent} and {@link BlockExtent}: the twelve edges of the blocks they cover.</li>
+ *     <li>{@link CylinderExtent}: the bottom and top circles.</li>
+ *     <li>{@link AutoCircleExtent}: its points.</li>
+ *     <li>{@link UnionExtent}: the outlines of all its extents.</li>
+ *     <li>{@link AbstractRemoteExtent}: the outline of its extent at its current offset.</li>
+ * </ul>
+ * Any other extent falls back to every block from {@link Extent#forEachBlock}.
+ */
+public final class ExtentOutline {
+
+    private ExtentOutline() {}
+
+    /**
+     * Returns whether the outline of the given {@link Extent} may change over time and therefore must not be cached.
+     *
+     * @param extent extent to check
+     *
+     * @return whether the extent may move
+     */
+    public static boolean isMoving(@Nonnull Extent extent) {
+        if (extent instanceof UnionExtent) {
+            for (Extent child : ((UnionExtent) extent).getExtents()) {
+                if (isMoving(child)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        return extent instanceof RemoteExtent || extent instanceof MutableExtent;
+    }
+
+    /**
+     * Generates the outline of the given {@link Extent}.
+     *
+     * @param extent extent to outline
+     * @param spacing maximum distance between two consecutive points along an edge
+     *
+     * @return packed x, y, z triples
+     */
+    @Nonnull
+    public static double[] generate(@Nonnull Extent extent, double spacing) {
+        Preconditions.checkNotNull(extent, "extent cannot be null.");
+        Preconditions.checkArgument(spacing > 0, "spacing must be greater than 0.");
+        Points points = new Points();
+        generate(extent, spacing, points, 0, 0, 0);
+        return points.toArray();
+    }
+
+    private static void generate(Extent extent, double spacing, Points points, double offsetX, double offsetY, double offsetZ) {
+        if (extent instanceof CuboidExtent) {
+            // Outline the blocks the cuboid covers, the same as forEachBlock and BlockExtent, so the maximum block is included.
+            Vector min = ((CuboidExtent) extent).getMinimumPoint();
+            Vector max = ((CuboidExtent) extent).getMaximumPoint();
+            box(points, spacing, min.getBlockX() + offsetX, min.getBlockY() + offsetY, min.getBlockZ() + offsetZ,
+                max.getBlockX() + 1 + offsetX, max.getBlockY() + 1 + offsetY, max.getBlockZ() + 1 + offsetZ);
+        } else if (extent instanceof BlockExtent) {
+            ImmutableVector vector = ((BlockExtent) extent).getVector();
+            double x = vector.getBlockX() + offsetX;
+            double y = vector.getBlockY() + offsetY;
+            double z = vector.getBlockZ() + offsetZ;
+            box(points, spacing, x, y, z, x + 1, y + 1, z + 1);
+        } else if (extent instanceof CylinderExtent) {
+            CylinderExtent cylinder = (CylinderExtent) extent;
+            ImmutableVector base = cylinder.getBase();
+            double x = base.getX() + offsetX;
+            double y = base.getY() + offsetY;
+            double z = base.getZ() + offsetZ;
+            circle(points, spacing, x, y, z, cylinder.getRadius());
+            if (cylinder.getHeight() > 0) {
+                circle(points, spacing, x, y + cylinder.getHeight(), z, cylinder.getRadius());
+            }
+        } else if (extent instanceof AutoCircleExtent) {
+            List<Vector> list = ((AutoCircleExtent) extent).getPointsList();
+            for (int i = 0, size = list.size(); i < size; i++) {
+                Vector point = list.get(i);
+                points.add(point.getX() + offsetX, point.getY() + offsetY, point.getZ() + offsetZ);
+            }
+        } else if (extent instanceof UnionExtent) {
+            for (Extent child : ((UnionExtent) extent).getExtents()) {
+                generate(child, spacing, points, offsetX, offsetY, offsetZ);
+            }
+        } else if (extent instanceof AbstractRemoteExtent) {
+            AbstractRemoteExtent remote = (AbstractRemoteExtent) extent;
+            ImmutableVector initial = remote.getInitial();
+            ImmutableVector offset = remote.getOffset();
+            generate(remote.getExtent(), spacing, points, offsetX + offset.getX() - initial.getX(), offsetY + offset.getY() - initial.getY(),
+                offsetZ + offset.getZ() - initial.getZ());
+        } else {
+            extent.forEachBlock((x, y, z) -> points.add(x + offsetX, y + offsetY, z + offsetZ));
+        }
+    }
+
+    /**
+     * Adds the twelve edges of a box. Corners are shared between edges, and only added once. Flat boxes collapse their duplicate edges.
+     */
+    private static void box(Points points, double spacing, double minX, double minY, double minZ, double maxX, double maxY, double maxZ) {
+        double[] xs = corners(minX, maxX);
+        double[] ys = corners(minY, maxY);
+        double[] zs = corners(minZ, maxZ);
+        int segmentsX = segments(maxX - minX, spacing);
+        int segmentsY = segments(maxY - minY, spacing);
+        int segmentsZ = segments(maxZ - minZ, spacing);
+
+        // Edges along x include the corners
+        for (double y : ys) {
+            for (double z : zs) {
+                for (int i = 0; i <= segmentsX; i++) {
+                    points.add(lerp(minX, maxX, i, segmentsX), y, z);
+                }
+            }
+        }
+        // Edges along y and z exclude the corners
+        for (double x : xs) {
+            for (double z : zs) {
+                for (int i = 1; i < segmentsY; i++) {
+                    points.add(x, lerp(minY, maxY, i, segmentsY), z);
+                }
+            }
+            for (double y : ys) {
+                for (int i = 1; i < segmentsZ; i++) {
+                    points.add(x, y, lerp(minZ, maxZ, i, segmentsZ));
+                }
+            }
+        }
+    }
+
+    private static void circle(Points points, double spacing, double x, double y, double z, double radius) {
+        int count = Math.max(3, (int) Math.ceil(Math.PI * 2 * radius / spacing));
+        for (int i = 0; i < count; i++) {
+            double angle = ((double) i / count) * Math.PI * 2;
+            points.add(x + Math.cos(angle) * radius, y, z + Math.sin(angle) * radius);
+        }
+    }
+
+    private static double[] corners(double min, double max) {
+        return min == max ? new double[]{min} : new double[]{min, max};
+    }
+
+    private static int segments(double length, double spacing) {
+        return length <= 0 ? 0 : Math.max(1, (int) Math.ceil(length / spacing));
+    }
+
+    private static double lerp(double min, double max, int i, int segments) {
+        return segments == 0 ? min : min + (max - min) * i / segments;
+    }
+
+    private static final class Points {
+
+        private double[] array = new double[96];
+        private int size;
+
+        void add(double x, double y, double z) {
+            if (size + 3 > array.length) {
+                array = Arrays.copyOf(array, array.length * 2);
+            }
+            array[size++] = x;
+            array[size++] = y;
+            array[size++] = z;
+        }
+
+        double[] toArray() {
+            return Arrays.copyOf(array, size);
+        }
+    }
+}
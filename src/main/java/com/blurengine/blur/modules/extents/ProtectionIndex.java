@@ -0,0 +1,197 @@
+/*
+ * Copyright 2026 Ali Moghnieh
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.blurengine.blur.modules.extents;
+
+import com.google.common.base.Preconditions;
+
+import org.bukkit.util.BoundingBox;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Represents an immutable chunk to {@link ProtectionRule} lookup table. Chunks covered by protected extents are laid out in a dense grid holding the
+ * rules and the union of their flags per chunk, so testing whether a chunk is protected at all is a single array read.
+ * <p>
+ * Rules with unknown bounds, or spanning too many chunks, are tested everywhere instead.
+ */
+public final class ProtectionIndex {
+
+    /**
+     * Rules spanning more chunks than this are tested everywhere rather than indexed per chunk.
+     */
+    public static final int MAX_INDEXED_CHUNKS = 4096;
+    /**
+     * Largest grid the index lays out. If the indexed rules are spread further apart than this, every rule is tested everywhere.
+     */
+    public static final int MAX_GRID_CHUNKS = 1 << 18;
+    private static final ProtectionRule[] NO_RULES = new ProtectionRule[0];
+
+    private final int minChunkX, minChunkZ, width, depth;
+    private final int[] chunkFlags;
+    private final ProtectionRule[][] chunkRules;
+    private final ProtectionRule[] unindexed;
+    private final int unindexedFlags;
+
+    public ProtectionIndex(@Nonnull Collection<ProtectionRule> rules) {
+        Preconditions.checkNotNull(rules, "rules cannot be null.");
+        List<ProtectionRule> indexed = new ArrayList<>();
+        List<int[]> ranges = new ArrayList<>();
+        List<ProtectionRule> unindexed = new ArrayList<>();
+        int minX = Integer.MAX_VALUE, minZ = Integer.MAX_VALUE, maxX = Integer.MIN_VALUE, maxZ = Integer.MIN_VALUE;
+        for (ProtectionRule rule : rules) {
+            int[] range = chunkRange(rule.getExtent().getBounds());
+            if (range == null) {
+                unindexed.add(rule);
+                continue;
+            }
+            indexed.add(rule);
+            ranges.add(range);
+            minX = Math.min(minX, range[0]);
+            minZ = Math.min(minZ, range[1]);
+            maxX = Math.max(maxX, range[2]);
+            maxZ = Math.max(maxZ, range[3]);
+        }
+        if (!indexed.isEmpty() && (long) (maxX - minX + 1) * (maxZ - minZ + 1) > MAX_GRID_CHUNKS) {
+            unindexed.addAll(indexed);
+            indexed.clear();
+        }
+
+        if (indexed.isEmpty()) {
+            this.minChunkX = this.minChunkZ = this.width = this.depth = 0;
+            this.chunkFlags = new int[0];
+            this.chunkRules = new ProtectionRule[0][];
+        } else {
+            this.minChunkX = minX;
+            this.minChunkZ = minZ;
+            this.width = maxX - minX + 1;
+            this.depth = maxZ - minZ + 1;
+            this.chunkFlags = new int[width * depth];
+            this.chunkRules = new ProtectionRule[width * depth][];
+            for (int i = 0; i < indexed.size(); i++) {
+                ProtectionRule rule = indexed.get(i);
+                int[] range = ranges.get(i);
+                for (int chunkX = range[0]; chunkX <= range[2]; chunkX++) {
+                    for (int chunkZ = range[1]; chunkZ <= range[3]; chunkZ++) {
+                        int cell = (chunkX - minX) * depth + (chunkZ - minZ);
+                        chunkFlags[cell] |= rule.getFlags();
+                        ProtectionRule[] cellRules = chunkRules[cell];
+                        if (cellRules == null) {
+                            cellRules = new ProtectionRule[]{rule};
+                        } else {
+                            cellRules = Arrays.copyOf(cellRules, cellRules.length + 1);
+                            cellRules[cellRules.length - 1] = rule;
+                        }
+                        chunkRules[cell] = cellRules;
+                    }
+                }
+            }
+        }
+
+        this.unindexed = unindexed.toArray(NO_RULES);
+        int flags = 0;
+        for (ProtectionRule rule : this.unindexed) {
+            flags |= rule.getFlags();
+        }
+        this.unindexedFlags = flags;
+    }
+
+    /**
+     * Returns the chunk range {minX, minZ, maxX, maxZ} of some bounds, or null if the bounds are unknown or span too many chunks to index.
+     */
+    @Nullable
+    private static int[] chunkRange(@Nullable BoundingBox bounds) {
+        if (bounds == null) {
+            return null;
+        }
+        int minX = (int) Math.floor(bounds.getMinX()) >> 4;
+        int minZ = (int) Math.floor(bounds.getMinZ()) >> 4;
+        int maxX = (int) Math.floor(bounds.getMaxX()) >> 4;
+        int maxZ = (int) Math.floor(bounds.getMaxZ()) >> 4;
+        if ((long) (maxX - minX + 1) * (maxZ - minZ + 1) > MAX_INDEXED_CHUNKS) {
+            return null;
+        }
+        return new int[]{minX, minZ, maxX, maxZ};
+    }
+
+    /**
+     * Returns the union of the flags of every rule that may apply in a chunk. A result without a given flag means no block in the chunk is protected
+     * against that action.
+     *
+     * @param chunkX chunk x
+     * @param chunkZ chunk z
+     *
+     * @return protection flags
+     */
+    public int getFlags(int chunkX, int chunkZ) {
+        int dx = chunkX - minChunkX;
+        int dz = chunkZ - minChunkZ;
+        if (dx >= 0 && dz >= 0 && dx < width && dz < depth) {
+            return chunkFlags[dx * depth + dz] | unindexedFlags;
+        }
+        return unindexedFlags;
+    }
+
+    /**
+     * Returns whether any rule prevents an action at the given block by the given subject.
+     *
+     * @param flag action
+     * @param x block x
+     * @param y block y
+     * @param z block z
+     * @param subject subject performing the action, nullable
+     *
+     * @return whether the action is prevented
+     */
+    public boolean isProtected(int flag, int x, int y, int z, @Nullable Object subject) {
+        if ((getFlags(x >> 4, z >> 4) & flag) == 0) {
+            return false;
+        }
+        int dx = (x >> 4) - minChunkX;
+        int dz = (z >> 4) - minChunkZ;
+        if (dx >= 0 && dz >= 0 && dx < width && dz < depth) {
+            ProtectionRule[] rules = chunkRules[dx * depth + dz];
+            if (rules != null) {
+                for (ProtectionRule rule : rules) {
+                    if (rule.prevents(flag, x, y, z, subject)) {
+                        return true;
+                    }
+                }
+            }
+        }
+        for (ProtectionRule rule : unindexed) {
+            if (rule.prevents(flag, x, y, z, subject)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public int getIndexedChunks() {
+        return width * depth;
+    }
+
+    public int getUnindexedRules() {
+        return unindexed.length;
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2026 Ali Moghnieh
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.blurengine.blur.modules.extents;
+
+import com.google.common.base.Preconditions;
+
+import com.blurengine.blur.modules.filters.Filter;
+import com.blurengine.blur.modules.filters.Filter.FilterResponse;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Represents a rule protecting an {@link Extent} against a set of actions, enforced by
+ * {@link com.blurengine.blur.components.shared.ExtentGuard}. Subjects allowed by the rule's exception {@link Filter} are exempt.
+ */
+public final class ProtectionRule {
+
+    public static final int BREAK = 1;
+    public static final int PLACE = 1 << 1;
+    public static final int INTERACT = 1 << 2;
+    public static final int FLUID = 1 << 3;
+    public static final int EXPLOSION = 1 << 4;
+    public static final int ALL = BREAK | PLACE | INTERACT | FLUID | EXPLOSION;
+
+    private final Extent extent;
+    private final int flags;
+    private final Filter exceptions;
+
+    /**
+     * @param extent extent to protect
+     * @param flags actions to protect against, any of {@link #BREAK}, {@link #PLACE}, {@link #INTERACT}, {@link #FLUID} and {@link #EXPLOSION}
+     * @param exceptions filter allowing subjects that are exempt from this rule, nullable
+     */
+    public ProtectionRule(@Nonnull Extent extent, int flags, @Nullable Filter exceptions) {
+        Preconditions.checkArgument((flags & ~ALL) == 0, "Unknown protection flags %s.", flags);
+        this.extent = Preconditions.checkNotNull(extent, "extent cannot be null.");
+        this.flags = flags;
+        this.exceptions = exceptions;
+    }
+
+    /**
+     * Returns whether this rule prevents an action at the given block by the given subject.
+     *
+     * @param flag action
+     * @param x block x
+     * @param y block y
+     * @param z block z
+     * @param subject subject performing the action, tested against the exception filter
+     *
+     * @return whether the action is prevented
+     */
+    public boolean prevents(int flag, int x, int y, int z, @Nullable Object subject) {
+        if ((flags & flag) == 0 || !extent.contains(x, y, z)) {
+            return false;
+        }
+        return exceptions == null || subject == null || exceptions.test(subject) != FilterResponse.ALLOW;
+    }
+
+    @Nonnull
+    public Extent getExtent() {
+        return extent;
+    }
+
+    public int getFlags() {
+        return flags;
+    }
+
+    @Nullable
+    public Filter getExceptions() {
+        return exceptions;
+    }
+}
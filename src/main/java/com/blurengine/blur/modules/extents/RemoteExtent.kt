@@ -16,6 +16,7 @@
 
 package com.blurengine.blur.modules.extents
 
+import com.blurengine.blur.utils.IntTriConsumer
 import com.blurengine.blur.utils.add
 import com.supaham.commons.bukkit.utils.ImmutableVector
 import org.bukkit.entity.Entity
@@ -55,6 +56,14 @@ abstract class AbstractRemoteExtent(val extent: Extent) : RemoteExtent {
         return result
     }
 
+    override fun forEachBlock(consumer: IntTriConsumer) {
+        val current = offset
+        val diffX = current.blockX - initial.blockX
+        val diffY = current.blockY - initial.blockY
+        val diffZ = current.blockZ - initial.blockZ
+        extent.forEachBlock { x, y, z -> consumer.accept(x + diffX, y + diffY, z + diffZ) }
+    }
+
     override fun iterator(): MutableIterator<BlockVector> {
         val it = extent.iterator()
 
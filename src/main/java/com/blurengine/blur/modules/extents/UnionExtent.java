@@ -16,9 +16,13 @@
 
 package com.blurengine.blur.modules.extents;
 
+import com.google.common.base.Preconditions;
+
+import com.blurengine.blur.utils.IntTriConsumer;
 import com.supaham.commons.utils.CollectionUtils;
 
 import org.bukkit.util.BlockVector;
+import org.bukkit.util.BoundingBox;
 import org.bukkit.util.Vector;
 
 import java.util.Arrays;
@@ -28,6 +32,9 @@ import java.util.Iterator;
 import java.util.NoSuchElementException;
 import java.util.Random;
 
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
 /**
  * Represents a Union of {@link Extent}s which helps for grouping multiple Extents in one. 
  */
@@ -103,6 +110,31 @@ public class UnionExtent implements Extent {
         };
     }
 
+    /**
+     * Returns the union of all child bounds, or null if any child has unknown bounds.
+     */
+    @Nullable
+    @Override
+    public BoundingBox getBounds() {
+        BoundingBox bounds = null;
+        for (Extent extent : extents) {
+            BoundingBox childBounds = extent.getBounds();
+            if (childBounds == null) {
+                return null;
+            }
+            bounds = bounds == null ? childBounds.clone() : bounds.union(childBounds);
+        }
+        return bounds;
+    }
+
+    @Override
+    public void forEachBlock(@Nonnull IntTriConsumer consumer) {
+        Preconditions.checkNotNull(consumer, "consumer cannot be null.");
+        for (Extent extent : extents) {
+            extent.forEachBlock(consumer);
+        }
+    }
+
     /**
      * Returns an immutable collection of {@link Extent}s that this Union consists of.
      * 
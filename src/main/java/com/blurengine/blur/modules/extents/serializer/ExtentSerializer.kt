@@ -21,11 +21,13 @@ import com.blurengine.blur.framework.BlurSerializer
 import com.blurengine.blur.framework.ModuleLoader
 import com.blurengine.blur.modules.extents.Extent
 import com.blurengine.blur.modules.extents.ExtentManager
+import com.blurengine.blur.modules.extents.ProtectionRule
 import com.blurengine.blur.modules.extents.serializer.ExtentSerializers.AutoCircle
 import com.blurengine.blur.modules.extents.serializer.ExtentSerializers.Block
 import com.blurengine.blur.modules.extents.serializer.ExtentSerializers.Cuboid
 import com.blurengine.blur.modules.extents.serializer.ExtentSerializers.Cylinder
 import com.blurengine.blur.modules.extents.serializer.ExtentSerializers.Union
+import com.blurengine.blur.modules.filters.Filter
 import com.blurengine.blur.utils.getSharedComponent
 import com.google.common.base.Preconditions
 import com.google.common.collect.ImmutableMap
@@ -42,6 +44,14 @@ import java.util.HashMap
  */
 class ExtentSerializer(private val moduleLoader: ModuleLoader) : BlurSerializer<Extent> {
     private val serializers: Map<String, ExtentTypeSerializer<*>>
+    // Anonymous definitions to the extent they were deserialized to. Modules that look up state by extent must reject shared extents.
+    private val anonymousExtents = HashMap<Map<String, Any>, Extent>()
+
+    /** Number of anonymous extents defined in config that were deserialized once. */
+    val anonymousCount: Int get() = anonymousExtents.size
+    /** Number of anonymous extent definitions that were identical to an earlier definition and reused its extent instead. */
+    var deduplicatedCount = 0
+        private set
 
     val manager: ExtentManager
         get() = this.moduleLoader.moduleManager.extentManager
@@ -87,10 +97,13 @@ class ExtentSerializer(private val moduleLoader: ModuleLoader) : BlurSerializer<
 
         val id = map.entries.firstOrNull { e -> e.key.equals("id", ignoreCase = true) }
                 ?.value?.toString()
+        if (id == null) {
+            anonymousExtents[map]?.let {
+                deduplicatedCount++
+                return it
+            }
+        }
         val protect = map.entries.firstOrNull { e -> e.key.equals("protect", ignoreCase = true) }?.value
-                ?.let {
-                    StringUtils.parseBoolean(it.toString()).orElseThrow { IllegalArgumentException("$it is not valid for protect") }
-                } ?: false
 
         var extent: Extent? = null
         for ((key, value) in map) {
@@ -117,16 +130,48 @@ class ExtentSerializer(private val moduleLoader: ModuleLoader) : BlurSerializer<
             extent = manager.getExtentByString(extentId)
         } else { // Extent was defined, add it.
             manager.addExtent(id, extent)
+            if (id == null) {
+                // Copy the key as the given map may be modified by its owner later.
+                anonymousExtents[HashMap(map)] = extent
+            }
 
             // Extent specified to be protected
-            if (protect) {
-                extentGuard.extents.add(extent)
+            if (protect != null) {
+                deserializeProtection(extent, protect)?.let { extentGuard.protect(it) }
             }
         }
         return extent
     }
 
+    /**
+     * Deserializes the protect property of an extent, either a boolean protecting against every action, or a map of [PROTECTION_FLAGS] to
+     * booleans, protecting against only the enabled ones, and an optional `except` filter of subjects exempt from protection.
+     *
+     * @return the protection rule, or null if the extent is not protected
+     */
+    private fun deserializeProtection(extent: Extent, protect: Any): ProtectionRule? {
+        if (protect !is Map<*, *>) {
+            val enabled = StringUtils.parseBoolean(protect.toString()).orElseThrow { IllegalArgumentException("$protect is not valid for protect") }
+            return if (enabled) ProtectionRule(extent, ProtectionRule.ALL, null) else null
+        }
+        var flags = 0
+        var exceptions: Filter? = null
+        for ((key, value) in protect) {
+            val name = key.toString().toLowerCase()
+            if (name == "except") {
+                exceptions = moduleLoader.filterSerializer.deserialize(value, Filter::class.java)
+                continue
+            }
+            val flag = PROTECTION_FLAGS[name] ?: throw IllegalArgumentException("Unknown protect flag $key, expected one of ${PROTECTION_FLAGS.keys}")
+            val enabled = StringUtils.parseBoolean(value.toString()).orElseThrow { IllegalArgumentException("$value is not valid for protect $key") }
+            if (enabled) flags = flags or flag
+        }
+        return if (flags != 0) ProtectionRule(extent, flags, exceptions) else null
+    }
+
     companion object {
+        private val PROTECTION_FLAGS = mapOf("break" to ProtectionRule.BREAK, "place" to ProtectionRule.PLACE,
+                "interact" to ProtectionRule.INTERACT, "fluid" to ProtectionRule.FLUID, "explosion" to ProtectionRule.EXPLOSION)
         private val RESERVED_SERIALIZERS = arrayOf("cuboid", "union", "cylinder", "block")
         private val EXTENT_SERIALIZERS = HashMap<String, Class<out ExtentTypeSerializer<*>>>()
 
@@ -16,6 +16,8 @@
 
 package com.blurengine.blur.modules.filters;
 
+import java.util.Set;
+
 /**
  * Represents a {@link Filter} that is used to represent a condition to control tasks.
  */
@@ -23,37 +25,82 @@ public interface Filter {
 
     FilterResponse test(Object object);
 
+    /**
+     * Tests the given object whose {@link SubjectKind} has already been resolved. Compound filters resolve the kind once and pass it to every
+     * filter they contain. Implementations that switch on the kind should override this and have {@link #test(Object)} delegate to it.
+     *
+     * @param object object to test
+     * @param kind kind of {@code object}, see {@link SubjectKind#of(Object)}
+     *
+     * @return filter response
+     */
+    default FilterResponse test(Object object, SubjectKind kind) {
+        return test(object);
+    }
+
+    /**
+     * Returns the {@link SubjectKind}s this filter may return something other than {@link FilterResponse#ABSTAIN} for. Compound filters skip
+     * filters that do not apply to a subject, and modules reject filters that can never match the subjects they test. A kind also covers the
+     * kinds it {@link SubjectKind#includes(SubjectKind) includes}, e.g. declaring {@link SubjectKind#ENTITY} covers players. Filters that are not
+     * sure which subjects they handle should not override this, so that they are tested against every subject.
+     *
+     * @return subject kinds, {@link SubjectKind#ALL} unless overridden
+     */
+    default Set<SubjectKind> getSubjectKinds() {
+        return SubjectKind.ALL;
+    }
+
     default Filter inverse() {
         return Filters.inverse(this);
     }
 
+    /**
+     * Returns a {@link Filter} that denies if either filter denies, otherwise allows if either filter allows. Evaluation stops at the first
+     * {@link FilterResponse#DENY}.
+     *
+     * @param other filter to combine with
+     *
+     * @return combined filter
+     *
+     * @see Filters#and(Filter...)
+     */
     default Filter and(Filter other) {
-        return (object) -> {
-            FilterResponse first = test(object);
-            FilterResponse second = other.test(object);
-            if (first == FilterResponse.ABSTAIN) {
-                return second;
-            } else if (second == FilterResponse.ABSTAIN) {
-                return first;
-            } else {
-                return first.isAllowed() && second.isAllowed() ? FilterResponse.ALLOW : FilterResponse.DENY;
-            }
-        };
+        return Filters.and(this, other);
     }
 
+    /**
+     * Returns a {@link Filter} that allows if either filter allows, otherwise denies if either filter denies. Evaluation stops at the first
+     * {@link FilterResponse#ALLOW}.
+     *
+     * @param other filter to combine with
+     *
+     * @return combined filter
+     *
+     * @see Filters#or(Filter...)
+     */
     default Filter or(Filter other) {
-        return (object) -> {
-            FilterResponse first = test(object);
-            if (first == FilterResponse.ALLOW) {
-                return first;
-            }
-            FilterResponse second = other.test(object);
-            if (second == FilterResponse.ABSTAIN) {
-                return first;
-            }
-            // OR disregards `first` output if it is not ALLOW, and moves directly to whatever `second` is
-            return second;
-        };
+        return Filters.or(this, other);
+    }
+
+    /**
+     * Returns an estimate of how expensive {@link #test(Object)} is. Compound filters test cheaper filters first so that they can stop
+     * without testing the expensive ones.
+     *
+     * @return relative cost, {@link Filters#COST_DEFAULT} unless overridden
+     */
+    default int getCost() {
+        return Filters.COST_DEFAULT;
+    }
+
+    /**
+     * Returns whether this filter is pure: its response depends only on the subject, never on game state such as scores, teams or positions, and
+     * testing it has no side effects. Only deterministic filters have their results memoized by
+     * {@link com.blurengine.blur.components.shared.FilterMemo}, so filters must opt in by overriding this.
+     *
+     * @return whether this filter is deterministic, false unless overridden
+     */
+    default boolean isDeterministic() {
+        return false;
     }
 
     enum FilterResponse {
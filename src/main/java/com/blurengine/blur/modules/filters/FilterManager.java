@@ -29,7 +29,6 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.UUID;
 
 /**
  * Represents a {@link Filter} manager. This manager contains all filters registered by a {@link ModuleManager} meaning these same filters can be 
@@ -39,7 +38,13 @@ import java.util.UUID;
 @InternalModule
 public class FilterManager extends Module {
 
+    /**
+     * Prefix of the ids given to filters added without an id.
+     */
+    public static final String ANONYMOUS_PREFIX = "#";
+
     private Map<String, Filter> filters = new HashMap<>();
+    private int anonymousCount;
 
     static {
         ModuleLoader.register(FiltersModule.class);
@@ -56,10 +61,9 @@ public class FilterManager extends Module {
     public void addFilter(String id, Filter filter) {
         checkNonExistant(id);
         if (id == null) {
-            id = UUID.randomUUID().toString();
-            while (this.filters.containsKey(id)) {
-                id = UUID.randomUUID().toString();
-            }
+            do {
+                id = ANONYMOUS_PREFIX + ++this.anonymousCount;
+            } while (this.filters.containsKey(id));
         }
         this.filters.put(id, filter);
     }
@@ -31,8 +31,15 @@ import org.bukkit.event.entity.EntityDamageEvent.DamageCause;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.material.MaterialData;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
 import java.util.Objects;
 import java.util.Random;
+import java.util.Set;
 import java.util.function.Predicate;
 
 import javax.annotation.Nonnull;
@@ -48,6 +55,45 @@ public class Filters {
     public static final Filter ALWAYS_DENY = new StaticFilter(FilterResponse.DENY);
     public static final Filter ALWAYS_ABSTAIN = new StaticFilter(FilterResponse.ABSTAIN);
 
+    /** Cost of filters that return a constant response. */
+    public static final int COST_CONSTANT = 0;
+    /** Cost of filters that only compare a field of the tested object. */
+    public static final int COST_CHEAP = 1;
+    /** Cost of filters that do not declare their own cost. */
+    public static final int COST_DEFAULT = 10;
+
+    /**
+     * Returns the constant {@link Filter} that always returns the given {@link FilterResponse}.
+     *
+     * @param response response to return
+     *
+     * @return constant filter
+     */
+    public static Filter constant(@Nonnull FilterResponse response) {
+        Preconditions.checkNotNull(response, "response cannot be null.");
+        return response == FilterResponse.ALLOW ? ALWAYS_ALLOW : response == FilterResponse.DENY ? ALWAYS_DENY : ALWAYS_ABSTAIN;
+    }
+
+    /**
+     * Returns whether the given {@link Filter} applies to any of the given {@link SubjectKind}s, meaning it could return something other than
+     * {@link FilterResponse#ABSTAIN} for them. Modules use this to reject filters that can never match the subjects they test when loading.
+     *
+     * @param filter filter to check
+     * @param kinds kinds of subjects the filter is tested against
+     *
+     * @return whether the filter can match any of the kinds
+     */
+    public static boolean canMatch(@Nonnull Filter filter, @Nonnull SubjectKind... kinds) {
+        Preconditions.checkNotNull(filter, "filter cannot be null.");
+        Set<SubjectKind> subjectKinds = SubjectKind.withIncluded(filter.getSubjectKinds());
+        for (SubjectKind kind : kinds) {
+            if (subjectKinds.contains(kind)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Inverts a given {@link Filter}. If the given filter is already inverted, the original (not inverted) {@link Filter} is returned.
      *
@@ -59,11 +105,78 @@ public class Filters {
         Preconditions.checkNotNull(filter, "filter cannot be null.");
         if (filter instanceof InverseFilter) {
             return ((InverseFilter) filter).filter;
-        } else { // TODO handle StaticFilters?
+        } else if (filter instanceof StaticFilter) {
+            return constant(((StaticFilter) filter).filterResponse.inverse());
+        } else {
             return new InverseFilter(filter);
         }
     }
 
+    /**
+     * Creates a filter that returns {@link FilterResponse#DENY} if any of the given {@link Filter}s deny, otherwise {@link FilterResponse#ALLOW}
+     * if any of them allow, otherwise {@link FilterResponse#ABSTAIN}.
+     * <p>
+     * The result is compiled: nested and filters are flattened into one, constant filters are folded, and the remaining filters are tested in
+     * order of {@link Filter#getCost()}, stopping at the first DENY.
+     *
+     * @param filters filters to combine
+     *
+     * @return and filter
+     */
+    public static Filter and(@Nonnull Filter... filters) {
+        return compound(FilterResponse.DENY, filters);
+    }
+
+    /**
+     * Creates a filter that returns {@link FilterResponse#ALLOW} if any of the given {@link Filter}s allow, otherwise {@link FilterResponse#DENY}
+     * if any of them deny, otherwise {@link FilterResponse#ABSTAIN}.
+     * <p>
+     * The result is compiled: nested or filters are flattened into one, constant filters are folded, and the remaining filters are tested in
+     * order of {@link Filter#getCost()}, stopping at the first ALLOW.
+     *
+     * @param filters filters to combine
+     *
+     * @return or filter
+     */
+    public static Filter or(@Nonnull Filter... filters) {
+        return compound(FilterResponse.ALLOW, filters);
+    }
+
+    /**
+     * Compiles an and ({@code absorbing} DENY) or an or ({@code absorbing} ALLOW) filter. Both are commutative and associative, with ABSTAIN as
+     * their identity, which is what makes flattening and reordering safe.
+     */
+    private static Filter compound(FilterResponse absorbing, Filter[] filters) {
+        Preconditions.checkNotNull(filters, "filters cannot be null.");
+        FilterResponse other = absorbing.inverse();
+        List<Filter> operands = new ArrayList<>(filters.length);
+        // Whether a constant of the non-absorbing response was given, which replaces ABSTAIN as the result when no operand decides.
+        boolean folded = false;
+        for (Filter filter : filters) {
+            Preconditions.checkNotNull(filter, "filter cannot be null.");
+            if (filter instanceof StaticFilter) {
+                FilterResponse response = ((StaticFilter) filter).filterResponse;
+                if (response == absorbing) {
+                    return filter;
+                }
+                folded |= response == other;
+            } else if (filter instanceof CompoundFilter && ((CompoundFilter) filter).absorbing == absorbing) {
+                CompoundFilter compound = (CompoundFilter) filter;
+                Collections.addAll(operands, compound.filters);
+                folded |= compound.fallback == other;
+            } else {
+                operands.add(filter);
+            }
+        }
+        if (operands.isEmpty()) {
+            return constant(folded ? other : FilterResponse.ABSTAIN);
+        } else if (operands.size() == 1 && !folded) {
+            return operands.get(0);
+        }
+        operands.sort(Comparator.comparingInt(Filter::getCost));
+        return new CompoundFilter(absorbing, operands.toArray(new Filter[operands.size()]), folded ? other : FilterResponse.ABSTAIN);
+    }
+
     /**
      * Creates a filter that returns {@link FilterResponse#ALLOW} only when the given {@link Filter} returns ALLOW. Otherwise, {@link
      * FilterResponse#DENY} is returned.
@@ -128,6 +241,107 @@ public class Filters {
         public FilterResponse test(Object object) {
             return this.filter.test(object).inverse();
         }
+
+        @Override
+        public FilterResponse test(Object object, SubjectKind kind) {
+            return this.filter.test(object, kind).inverse();
+        }
+
+        @Override
+        public Set<SubjectKind> getSubjectKinds() {
+            return this.filter.getSubjectKinds();
+        }
+
+        @Override
+        public int getCost() {
+            return this.filter.getCost();
+        }
+
+        @Override
+        public boolean isDeterministic() {
+            return this.filter.isDeterministic();
+        }
+    }
+
+    private static final class CompoundFilter implements Filter {
+
+        private final FilterResponse absorbing;
+        private final Filter[] filters;
+        private final FilterResponse fallback;
+        private final int cost;
+        private final boolean deterministic;
+        private final Set<SubjectKind> subjectKinds;
+        // Filters that apply to each kind, indexed by ordinal and in the same order as filters.
+        private final Filter[][] filtersByKind;
+
+        private CompoundFilter(FilterResponse absorbing, Filter[] filters, FilterResponse fallback) {
+            this.absorbing = absorbing;
+            this.filters = filters;
+            this.fallback = fallback;
+            int cost = 0;
+            boolean deterministic = true;
+            EnumSet<SubjectKind> subjectKinds = EnumSet.noneOf(SubjectKind.class);
+            for (Filter filter : filters) {
+                cost += filter.getCost();
+                deterministic &= filter.isDeterministic();
+                subjectKinds.addAll(filter.getSubjectKinds());
+            }
+            this.cost = cost;
+            this.deterministic = deterministic;
+            // A fallback other than ABSTAIN is returned for any subject.
+            this.subjectKinds = fallback == FilterResponse.ABSTAIN ? Collections.unmodifiableSet(subjectKinds) : SubjectKind.ALL;
+
+            // Filters declaring a kind also apply to the kinds it includes, e.g. entity filters to players.
+            List<Set<SubjectKind>> applicable = new ArrayList<>(filters.length);
+            for (Filter filter : filters) {
+                applicable.add(SubjectKind.withIncluded(filter.getSubjectKinds()));
+            }
+            SubjectKind[] kinds = SubjectKind.values();
+            this.filtersByKind = new Filter[kinds.length][];
+            for (SubjectKind kind : kinds) {
+                List<Filter> found = new ArrayList<>();
+                for (int i = 0; i < filters.length; i++) {
+                    if (applicable.get(i).contains(kind)) {
+                        found.add(filters[i]);
+                    }
+                }
+                this.filtersByKind[kind.ordinal()] = found.toArray(new Filter[0]);
+            }
+        }
+
+        @Override
+        public FilterResponse test(Object object) {
+            return test(object, SubjectKind.of(object));
+        }
+
+        @Override
+        public FilterResponse test(Object object, SubjectKind kind) {
+            FilterResponse result = this.fallback;
+            for (Filter filter : this.filtersByKind[kind.ordinal()]) {
+                FilterResponse response = filter.test(object, kind);
+                if (response == this.absorbing) {
+                    return response;
+                } else if (response != FilterResponse.ABSTAIN) {
+                    result = response;
+                }
+            }
+            return result;
+        }
+
+        @Override
+        public int getCost() {
+            return this.cost;
+        }
+
+        @Override
+        public boolean isDeterministic() {
+            return this.deterministic;
+        }
+
+        @Override
+        public Set<SubjectKind> getSubjectKinds() {
+            return this.subjectKinds;
+        }
     }
 
     private static final class OneFilter implements Filter {
@@ -156,6 +370,16 @@ public class Filters {
             // allowCount can only be either 1 or 0, more than 1 terminates code in for-loop.
             return allowCount == 1 ? FilterResponse.ALLOW : result;
         }
+
+        @Override
+        public boolean isDeterministic() {
+            for (Filter filter : this.filters) {
+                if (!filter.isDeterministic()) {
+                    return false;
+                }
+            }
+            return true;
+        }
     }
 
     private static final class AllowFilter implements Filter {
@@ -170,6 +394,21 @@ public class Filters {
         public FilterResponse test(Object object) {
             return this.filter.test(object) == FilterResponse.ALLOW ? FilterResponse.ALLOW : FilterResponse.DENY;
         }
+
+        @Override
+        public FilterResponse test(Object object, SubjectKind kind) {
+            return this.filter.test(object, kind) == FilterResponse.ALLOW ? FilterResponse.ALLOW : FilterResponse.DENY;
+        }
+
+        @Override
+        public int getCost() {
+            return this.filter.getCost();
+        }
+
+        @Override
+        public boolean isDeterministic() {
+            return this.filter.isDeterministic();
+        }
     }
 
     private static final class DenyFilter implements Filter {
@@ -185,6 +424,26 @@ public class Filters {
             FilterResponse res = this.filter.test(object);
             return res == FilterResponse.ALLOW ? FilterResponse.DENY : FilterResponse.ABSTAIN;
         }
+
+        @Override
+        public FilterResponse test(Object object, SubjectKind kind) {
+            return this.filter.test(object, kind) == FilterResponse.ALLOW ? FilterResponse.DENY : FilterResponse.ABSTAIN;
+        }
+
+        @Override
+        public Set<SubjectKind> getSubjectKinds() {
+            return this.filter.getSubjectKinds();
+        }
+
+        @Override
+        public int getCost() {
+            return this.filter.getCost();
+        }
+
+        @Override
+        public boolean isDeterministic() {
+            return this.filter.isDeterministic();
+        }
     }
 
     private static final class StaticFilter implements Filter {
@@ -199,10 +458,22 @@ public class Filters {
         public FilterResponse test(Object object) {
             return this.filterResponse;
         }
+
+        @Override
+        public int getCost() {
+            return COST_CONSTANT;
+        }
+
+        @Override
+        public boolean isDeterministic() {
+            return true;
+        }
     }
 
     private static final class EntityTypeFilter implements Filter {
 
+        private static final Set<SubjectKind> SUBJECT_KINDS = SubjectKind.setOf(SubjectKind.PLAYER, SubjectKind.ENTITY, SubjectKind.ENTITY_TYPE);
+
         private final EntityType entityType;
 
         public EntityTypeFilter(EntityType entityType) {
@@ -211,14 +482,36 @@ public class Filters {
 
         @Override
         public FilterResponse test(Object object) {
-            if (object instanceof Entity) {
-                return FilterResponse.from(((Entity) object).getType() == this.entityType);
-            } else if (object instanceof EntityType) {
-                return FilterResponse.from(object == this.entityType);
-            } else {
-                return FilterResponse.ABSTAIN;
+            return test(object, SubjectKind.of(object));
+        }
+
+        @Override
+        public FilterResponse test(Object object, SubjectKind kind) {
+            switch (kind) {
+                case PLAYER:
+                case ENTITY:
+                    return FilterResponse.from(((Entity) object).getType() == this.entityType);
+                case ENTITY_TYPE:
+                    return FilterResponse.from(object == this.entityType);
+                default:
+                    return FilterResponse.ABSTAIN;
             }
         }
+
+        @Override
+        public Set<SubjectKind> getSubjectKinds() {
+            return SUBJECT_KINDS;
+        }
+
+        @Override
+        public int getCost() {
+            return COST_CHEAP;
+        }
+
+        @Override
+        public boolean isDeterministic() {
+            return true;
+        }
     }
 
     private static final class RandomFilter implements Filter {
@@ -238,10 +531,17 @@ public class Filters {
             float f = this.random.nextFloat();
             return FilterResponse.from(this.minPredicate.test(f) && this.maxPredicate.test(f));
         }
+
+        @Override
+        public int getCost() {
+            return COST_CHEAP;
+        }
     }
 
     private static final class DamageCauseFilter implements Filter {
 
+        private static final Set<SubjectKind> SUBJECT_KINDS = SubjectKind.setOf(SubjectKind.DAMAGE_CAUSE, SubjectKind.DAMAGE_EVENT);
+
         private final DamageCause damageCause;
 
         public DamageCauseFilter(DamageCause damageCause) {
@@ -250,42 +550,101 @@ public class Filters {
 
         @Override
         public FilterResponse test(Object object) {
-            if (object instanceof DamageCause) {
-                return FilterResponse.from(damageCause == object);
-            } else if (object instanceof EntityDamageEvent) {
-                return FilterResponse.from(damageCause == ((EntityDamageEvent) object).getCause());
-            } else {
-                return FilterResponse.ABSTAIN;
+            return test(object, SubjectKind.of(object));
+        }
+
+        @Override
+        public FilterResponse test(Object object, SubjectKind kind) {
+            switch (kind) {
+                case DAMAGE_CAUSE:
+                    return FilterResponse.from(damageCause == object);
+                case DAMAGE_EVENT:
+                    return FilterResponse.from(damageCause == ((EntityDamageEvent) object).getCause());
+                default:
+                    return FilterResponse.ABSTAIN;
             }
         }
+
+        @Override
+        public Set<SubjectKind> getSubjectKinds() {
+            return SUBJECT_KINDS;
+        }
+
+        @Override
+        public int getCost() {
+            return COST_CHEAP;
+        }
+
+        @Override
+        public boolean isDeterministic() {
+            return true;
+        }
     }
 
+    /**
+     * Matches the material type and legacy data of a subject against a {@link MaterialData}, without creating one per test. A negative data value
+     * matches any data.
+     */
     private static final class MaterialFilter implements Filter {
 
+        private static final Set<SubjectKind> SUBJECT_KINDS = SubjectKind.setOf(SubjectKind.MATERIAL_DATA, SubjectKind.BLOCK, SubjectKind.BLOCK_STATE,
+            SubjectKind.ITEM_STACK, SubjectKind.MATERIAL);
+
         private final MaterialData materialData;
+        private final Material type;
+        private final byte data;
 
         public MaterialFilter(MaterialData materialData) {
             this.materialData = materialData;
+            this.type = materialData.getItemType();
+            this.data = materialData.getData();
         }
 
         @Override
         public FilterResponse test(Object object) {
-            if (object instanceof MaterialData) {
-                return FilterResponse.from(Objects.equals(materialData, object));
-            } else if (object instanceof Block) {
-                MaterialData materialData = new MaterialData(((Block) object).getType(), ((Block) object).getData());
-                return FilterResponse.from(Objects.equals(materialData, this.materialData));
-            } else if (object instanceof BlockState) {
-                BlockState state = (BlockState) object;
-                MaterialData materialData = new MaterialData(state.getType(), ((Block) object).getData());
-                return FilterResponse.from(Objects.equals(materialData, this.materialData));
-            } else if (object instanceof ItemStack) {
-                return FilterResponse.from(Objects.equals(((ItemStack) object).getData(), this.materialData));
-            } else if (object instanceof Material && this.materialData.getData() <= 0) {
-                return FilterResponse.from(object == this.materialData.getItemType());
-            } else {
-                return FilterResponse.ABSTAIN;
+            return test(object, SubjectKind.of(object));
+        }
+
+        @Override
+        public FilterResponse test(Object object, SubjectKind kind) {
+            switch (kind) {
+                case MATERIAL_DATA:
+                    MaterialData materialData = (MaterialData) object;
+                    return FilterResponse.from(matches(materialData.getItemType(), materialData.getData()));
+                case BLOCK:
+                    Block block = (Block) object;
+                    return FilterResponse.from(matches(block.getType(), block.getData()));
+                case BLOCK_STATE:
+                    BlockState state = (BlockState) object;
+                    return FilterResponse.from(matches(state.getType(), state.getRawData()));
+                case ITEM_STACK:
+                    ItemStack itemStack = (ItemStack) object;
+                    return FilterResponse.from(itemStack.getType() == this.type
+                        && (this.data < 0 || Objects.equals(itemStack.getData(), this.materialData)));
+                case MATERIAL:
+                    return this.data <= 0 ? FilterResponse.from(object == this.type) : FilterResponse.ABSTAIN;
+                default:
+                    return FilterResponse.ABSTAIN;
             }
         }
+
+        private boolean matches(Material type, byte data) {
+            return type == this.type && (this.data < 0 || data == this.data);
+        }
+
+        @Override
+        public int getCost() {
+            return COST_CHEAP;
+        }
+
+        @Override
+        public boolean isDeterministic() {
+            return true;
+        }
+
+        @Override
+        public Set<SubjectKind> getSubjectKinds() {
+            return SUBJECT_KINDS;
+        }
     }
 }
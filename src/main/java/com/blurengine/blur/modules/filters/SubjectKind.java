@@ -0,0 +1,156 @@
+/*
+ * Copyright 2026 Ali Moghnieh
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blurengine.blur.modules.filters;
+
+import com.blurengine.blur.session.BlurPlayer;
+import com.supaham.commons.bukkit.utils.ImmutableVector;
+
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.block.Block;
+import org.bukkit.block.BlockState;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.EntityType;
+import org.bukkit.entity.Player;
+import org.bukkit.event.entity.EntityDamageEvent;
+import org.bukkit.event.entity.EntityDamageEvent.DamageCause;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.material.MaterialData;
+import org.bukkit.util.Vector;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Represents the kind of a subject tested by a {@link Filter}. The kind of a subject is resolved once per class and cached, so that filters can
+ * switch on it instead of running their own {@code instanceof} chains. Subjects of no known kind, including null, are {@link #OTHER}.
+ *
+ * @see Filter#getSubjectKinds()
+ */
+public enum SubjectKind {
+    PLAYER(Player.class),
+    BLUR_PLAYER(BlurPlayer.class),
+    ENTITY(Entity.class),
+    BLOCK(Block.class),
+    BLOCK_STATE(BlockState.class),
+    LOCATION(Location.class),
+    VECTOR(Vector.class),
+    IMMUTABLE_VECTOR(ImmutableVector.class),
+    ITEM_STACK(ItemStack.class),
+    MATERIAL(Material.class),
+    MATERIAL_DATA(MaterialData.class),
+    ENTITY_TYPE(EntityType.class),
+    DAMAGE_CAUSE(DamageCause.class),
+    DAMAGE_EVENT(EntityDamageEvent.class),
+    UUID(java.util.UUID.class),
+    STRING(String.class),
+    OTHER(Object.class);
+
+    /** Every kind, the subject kinds of filters that can match anything. */
+    public static final Set<SubjectKind> ALL = Collections.unmodifiableSet(EnumSet.allOf(SubjectKind.class));
+
+    private static final SubjectKind[] VALUES = values();
+    private static final ClassValue<SubjectKind> KINDS = new ClassValue<SubjectKind>() {
+        @Override
+        protected SubjectKind computeValue(Class<?> type) {
+            // Declaration order puts subtypes, e.g. Player, before their supertypes, e.g. Entity.
+            for (SubjectKind kind : VALUES) {
+                if (kind.type.isAssignableFrom(type)) {
+                    return kind;
+                }
+            }
+            return OTHER;
+        }
+    };
+
+    private final Class<?> type;
+
+    SubjectKind(Class<?> type) {
+        this.type = type;
+    }
+
+    /**
+     * Returns the {@link SubjectKind} of the given subject.
+     *
+     * @param subject subject to get kind of
+     *
+     * @return subject kind
+     */
+    @Nonnull
+    public static SubjectKind of(@Nullable Object subject) {
+        return subject == null ? OTHER : KINDS.get(subject.getClass());
+    }
+
+    /**
+     * Returns an unmodifiable set of the given kinds.
+     *
+     * @param first first kind
+     * @param rest other kinds
+     *
+     * @return set of kinds
+     */
+    @Nonnull
+    public static Set<SubjectKind> setOf(@Nonnull SubjectKind first, @Nonnull SubjectKind... rest) {
+        return Collections.unmodifiableSet(EnumSet.of(first, rest));
+    }
+
+    /**
+     * Returns the given kinds and every kind they include, see {@link #includes(SubjectKind)}. These are the kinds of subjects a filter declaring
+     * the given kinds may return something other than abstain for.
+     *
+     * @param kinds kinds to expand
+     *
+     * @return unmodifiable set of kinds
+     */
+    @Nonnull
+    public static Set<SubjectKind> withIncluded(@Nonnull Set<SubjectKind> kinds) {
+        EnumSet<SubjectKind> result = EnumSet.noneOf(SubjectKind.class);
+        for (SubjectKind kind : kinds) {
+            for (SubjectKind other : VALUES) {
+                if (kind.includes(other)) {
+                    result.add(other);
+                }
+            }
+        }
+        return Collections.unmodifiableSet(result);
+    }
+
+    /**
+     * Returns whether subjects of the given kind are also subjects of this kind. Subjects are resolved to their most specific kind, so e.g.
+     * {@link #ENTITY} includes {@link #PLAYER} as every player is an entity, and {@link #OTHER} includes every kind.
+     *
+     * @param kind kind to check
+     *
+     * @return whether this kind includes the given kind
+     */
+    public boolean includes(@Nonnull SubjectKind kind) {
+        return this.type.isAssignableFrom(kind.type);
+    }
+
+    /**
+     * Returns the type of subjects of this kind.
+     *
+     * @return subject type
+     */
+    public Class<?> getType() {
+        return type;
+    }
+}
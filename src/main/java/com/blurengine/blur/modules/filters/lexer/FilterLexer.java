@@ -16,29 +16,65 @@
 
 package com.blurengine.blur.modules.filters.lexer;
 
+import com.google.common.base.Preconditions;
+
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.List;
-import java.util.regex.Matcher;
 
 /**
- * Represents a simple lexer that simply creates tokens matching {@link TokenType}.
+ * Represents a simple lexer that simply creates tokens matching {@link TokenType}. The input is scanned once, character by character.
  */
 public class FilterLexer {
 
-    public Collection<Token> lex(String input) {
+    private static final Token TRUE = new Token(TokenType.TRUE, null);
+    private static final Token FALSE = new Token(TokenType.FALSE, null);
+    private static final Token AND = new Token(TokenType.AND, null);
+    private static final Token OR = new Token(TokenType.OR, null);
+    private static final Token NOT = new Token(TokenType.NOT, null);
+    private static final Token LEFTPAREN = new Token(TokenType.LEFTPAREN, null);
+    private static final Token RIGHTPAREN = new Token(TokenType.RIGHTPAREN, null);
+
+    public List<Token> lex(String input) {
+        Preconditions.checkNotNull(input, "input cannot be null.");
         List<Token> result = new ArrayList<>();
-        Matcher matcher = TokenType.getFinalPattern().matcher(input);
-        tokenIteration:
-        while (matcher.find()) {
-            for (TokenType tk : TokenType.values()) {
-                String group = matcher.group(tk.name());
-                if (group != null && tk != TokenType.WHITESPACE) {
-                    result.add(tk.toToken(group));
-                    continue tokenIteration;
-                }
+        int length = input.length();
+        int i = 0;
+        while (i < length) {
+            char c = input.charAt(i);
+            switch (c) {
+                case '&':
+                    result.add(AND);
+                    break;
+                case '|':
+                    result.add(OR);
+                    break;
+                case '!':
+                    result.add(NOT);
+                    break;
+                case '(':
+                    result.add(LEFTPAREN);
+                    break;
+                case ')':
+                    result.add(RIGHTPAREN);
+                    break;
+                default:
+                    if (Character.isWhitespace(c)) {
+                        break;
+                    }
+                    Preconditions.checkArgument(isPlainText(c), "Unexpected character '%s' at %s in filter expression: %s", c, i, input);
+                    int start = i;
+                    while (i + 1 < length && isPlainText(input.charAt(i + 1))) {
+                        i++;
+                    }
+                    String text = input.substring(start, i + 1);
+                    result.add(text.equals("true") ? TRUE : text.equals("false") ? FALSE : new Token(TokenType.PLAINTEXT, text));
             }
+            i++;
         }
         return result;
     }
+
+    private static boolean isPlainText(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9');
+    }
 }
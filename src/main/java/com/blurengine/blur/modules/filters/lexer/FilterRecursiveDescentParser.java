@@ -18,105 +18,117 @@ package com.blurengine.blur.modules.filters.lexer;
 
 import com.google.common.base.Function;
 import com.google.common.base.Preconditions;
-import com.google.common.collect.Iterators;
 
 import com.blurengine.blur.modules.filters.Filters;
 import com.blurengine.blur.modules.filters.serializer.FilterSerializer;
 import com.blurengine.blur.framework.ModuleLoader;
 import com.blurengine.blur.modules.filters.Filter;
 
-import java.util.Collection;
-import java.util.Iterator;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.Callable;
 
 /**
  * Represents a {@link Filter} parser where everything is done recursively. Please refrain from using this class directly and instead use 
  * {@link FilterSerializer} accessible through {@link ModuleLoader#getFilterSerializer()}.
+ * <p>
+ * Operands of a chain of {@code &} or {@code |} are compiled at once through {@link Filters#and(Filter...)} and {@link Filters#or(Filter...)}.
  */
 public class FilterRecursiveDescentParser implements Callable<Filter> {
 
     private final Function<String, Filter> filterIdGetter;
     private final String input;
-    private final Collection<Token> tokens;
-    private final Iterator<Token> iterator;
+    private final List<Token> tokens;
 
-    private int index = -1;
-    private Token current;
+    private int index;
 
     public FilterRecursiveDescentParser(Function<String, Filter> filterIdGetter, String input) {
         this.filterIdGetter = filterIdGetter;
         this.input = input;
         this.tokens = new FilterLexer().lex(input);
-        this.iterator = tokens.iterator();
+    }
+
+    private Token peek() {
+        return index < tokens.size() ? tokens.get(index) : null;
     }
 
     private Token next() {
-        Token token = iterator.hasNext() ? iterator.next() : null;
-        index++;
+        Token token = peek();
         if (token != null) {
-            current = token;
+            index++;
+        }
+        return token;
+    }
+
+    private boolean accept(TokenType type) {
+        Token token = peek();
+        if (token != null && token.getType() == type) {
+            index++;
+            return true;
         }
-        return current;
+        return false;
     }
 
     @Override
     public Filter call() {
-        return expression();
+        Filter result = expression();
+        check(peek() == null, "Unexpected token " + peek() + ".");
+        return result;
     }
 
     public Filter expression() {
         Filter term = term();
-        while (current.getType() == TokenType.OR) {
-            term = term.or(term());
+        if (peek() == null || peek().getType() != TokenType.OR) {
+            return term;
         }
-        return term;
+        List<Filter> terms = new ArrayList<>();
+        terms.add(term);
+        while (accept(TokenType.OR)) {
+            terms.add(term());
+        }
+        return Filters.or(terms.toArray(new Filter[terms.size()]));
     }
 
     private Filter term() {
         Filter factor = factor();
-        while (current.getType() == TokenType.AND) {
-            factor = factor.and(factor());
+        if (peek() == null || peek().getType() != TokenType.AND) {
+            return factor;
+        }
+        List<Filter> factors = new ArrayList<>();
+        factors.add(factor);
+        while (accept(TokenType.AND)) {
+            factors.add(factor());
         }
-        return factor;
+        return Filters.and(factors.toArray(new Filter[factors.size()]));
     }
 
     private Filter factor() {
-        Filter result = null;
-
-        next();
+        Token current = next();
         if (current == null) {
             throw new RuntimeException("Expression Malformed: " + this.input);
         }
+        Filter result;
         switch (current.getType()) {
             case PLAINTEXT:
-                String filterId = current.getData().trim();
-                check(!filterId.isEmpty(), "Filter name is somehow empty.");
-
-                if (this.index < this.tokens.size() - 1) {
-                    // Peek to make sure syntax is correct.
-                    Token token = Iterators.get(this.tokens.iterator(), index + 1);
-                    check(token.getType() != TokenType.PLAINTEXT, "A token must follow a filter.");
-                }
+                String filterId = current.getData();
+                // Peek to make sure syntax is correct.
+                check(peek() == null || peek().getType() != TokenType.PLAINTEXT, "A token must follow a filter.");
                 result = filterIdGetter.apply(filterId);
                 Preconditions.checkArgument(result != null, "Filter id '%s' not found.", filterId);
-                next();
                 return result;
             case TRUE:
-                result = Filters.ALWAYS_ALLOW;
-                next();
-                return result;
+                return Filters.ALWAYS_ALLOW;
             case FALSE:
-                result = Filters.ALWAYS_DENY;
-                next();
-                return result;
+                return Filters.ALWAYS_DENY;
             case NOT:
-                return factor().inverse();
+                return Filters.inverse(factor());
             case LEFTPAREN:
                 result = expression();
-                next();
+                check(accept(TokenType.RIGHTPAREN), "Missing closing parenthesis.");
                 return result;
+            default:
+                throw new SyntaxException("Unexpected token " + current + " AT " + (index - 1));
         }
-        return result;
     }
 
     private void check(boolean b, String message) {
@@ -16,55 +16,16 @@
 
 package com.blurengine.blur.modules.filters.lexer;
 
-import com.google.common.base.Function;
-
-import java.util.regex.Pattern;
-
+/**
+ * Represents the types of {@link Token}s produced by the {@link FilterLexer}.
+ */
 public enum TokenType {
-    TRUE("true"),
-    FALSE("false"),
-    AND("&"),
-    OR("\\|"),
-    NOT("!"),
-    LEFTPAREN("\\("),
-    RIGHTPAREN("\\)"),
-    WHITESPACE("\\s+"),
-    PLAINTEXT("[A-Za-z0-9]+", true);
-
-    private static Pattern FINAL_PATTERN;
-
-    private final String pattern;
-    private final Function<String, Token> tokenProducer;
-
-    public static Pattern getFinalPattern() {
-        if (FINAL_PATTERN == null) {
-            constructPattern();
-        }
-        return FINAL_PATTERN;
-    }
-
-    private static void constructPattern() {
-        StringBuffer tokenPatternsBuffer = new StringBuffer();
-        for (TokenType tokenType : TokenType.values()) {
-            tokenPatternsBuffer.append(String.format("|(?<%s>%s)", tokenType.name(), tokenType.pattern));
-        }
-        FINAL_PATTERN = Pattern.compile(tokenPatternsBuffer.substring(1));
-    }
-
-    TokenType(String pattern) {
-        this(pattern, false);
-    }
-
-    TokenType(String pattern, boolean symbol) {
-        this.pattern = pattern;
-        if (symbol) {
-            this.tokenProducer = (s) -> new Token(this, s);
-        } else {
-            this.tokenProducer = (s) -> new Token(this, null);
-        }
-    }
-
-    public Token toToken(String s) {
-        return tokenProducer.apply(s);
-    }
+    TRUE,
+    FALSE,
+    AND,
+    OR,
+    NOT,
+    LEFTPAREN,
+    RIGHTPAREN,
+    PLAINTEXT
 }
@@ -50,6 +50,9 @@ public class FilterSerializer implements BlurSerializer<Filter> {
     private final ModuleLoader moduleLoader;
     private final Map<String, FilterTypeSerializer<?>> serializers;
     private final Function<String, Filter> filterGetter = s -> getManager().getFilterById(s);
+    // Anonymous definitions, string expressions or maps, to the deterministic filter they were deserialized to.
+    private final Map<Object, Filter> anonymousFilters = new HashMap<>();
+    private int deduplicatedCount;
 
     static {
         FILTER_SERIALIZERS.put("material", Material.class);
@@ -91,7 +94,20 @@ public class FilterSerializer implements BlurSerializer<Filter> {
         if (serialized == null) {
             return null;
         } else if (serialized instanceof Map) {
-            return deserializeMapToFilter((Map<String, Object>) serialized);
+            Map<String, Object> map = (Map<String, Object>) serialized;
+            if (!isAnonymous(map)) {
+                return deserializeMapToFilter(map);
+            }
+            Filter found = this.anonymousFilters.get(map);
+            if (found != null) {
+                this.deduplicatedCount++;
+                return found;
+            }
+            // Copy the key as the given map may be modified by its owner later.
+            Map<String, Object> key = new HashMap<>(map);
+            found = deserializeMapToFilter(map);
+            rememberAnonymous(key, found);
+            return found;
         } else if (serialized instanceof String) {
             String str = serialized.toString().trim();
             Preconditions.checkArgument(!str.isEmpty(), "Filter String is empty.");
@@ -116,12 +132,42 @@ public class FilterSerializer implements BlurSerializer<Filter> {
     }
 
     public Filter deserializeStringToFilter(String id, String string) {
+        if (id == null) {
+            Filter found = this.anonymousFilters.get(string);
+            if (found != null) {
+                this.deduplicatedCount++;
+                return found;
+            }
+        }
         getManager().checkNonExistant(id);
         Filter filter = new FilterRecursiveDescentParser(this.filterGetter, string).call();
         getManager().addFilter(id, filter);
+        if (id == null) {
+            rememberAnonymous(string, filter);
+        }
         return filter;
     }
 
+    /**
+     * Remembers an anonymous filter so that identical definitions share it. Only {@link Filter#isDeterministic() deterministic} filters are
+     * shared, the rest may hold state that each definition expects to own.
+     */
+    private void rememberAnonymous(Object definition, Filter filter) {
+        if (filter.isDeterministic()) {
+            this.anonymousFilters.put(definition, filter);
+        }
+    }
+
+    /**
+     * Returns whether the given map defines a filter without giving it an id, either directly or through a single {@code id: {definition}} entry.
+     */
+    private boolean isAnonymous(Map<String, Object> map) {
+        if (map.isEmpty() || map.keySet().stream().anyMatch(k -> k.equalsIgnoreCase("id"))) {
+            return false;
+        }
+        return map.size() > 1 || this.serializers.containsKey(map.keySet().iterator().next());
+    }
+
     public Filter deserializeMapToFilter(Map<String, Object> map) {
         Preconditions.checkArgument(!map.isEmpty(), "given map is empty.");
 
@@ -193,6 +239,24 @@ public class FilterSerializer implements BlurSerializer<Filter> {
         return filter;
     }
 
+    /**
+     * Returns the number of anonymous filters defined in config that were deserialized once.
+     *
+     * @return number of distinct anonymous filters
+     */
+    public int getAnonymousCount() {
+        return this.anonymousFilters.size();
+    }
+
+    /**
+     * Returns the number of anonymous filter definitions that were identical to an earlier definition and reused its filter instead.
+     *
+     * @return number of deduplicated definitions
+     */
+    public int getDeduplicatedCount() {
+        return this.deduplicatedCount;
+    }
+
     public FilterManager getManager() {
         return this.moduleLoader.getModuleManager().getFilterManager();
     }
@@ -25,12 +25,12 @@ import java.util.Map;
 import javax.annotation.Nonnull;
 
 /**
- * Represents an abstract {@link Filter} implementation for handling {@link ScoreComponent}.
+ * Represents an abstract {@link Filter} implementation for handling {@link ScoreComponent}. Scorers may be players, teams or any other object,
+ * so these filters keep the default {@link Filter#getSubjectKinds()} of every kind.
  */
 public abstract class AbstractScoreFilter implements Filter {
 
     private final GoalModule goalModule;
-    private Map<Object, Double> winnersCache;
 
     public AbstractScoreFilter(@Nonnull GoalModule goalModule) {
         this.goalModule = Preconditions.checkNotNull(goalModule, "goalModule cannot be null.");
@@ -38,14 +38,20 @@ public abstract class AbstractScoreFilter implements Filter {
 
     protected abstract Map<Object, Double> getWinners(Map<Object, Double> scorers);
 
+    /**
+     * Returns the current winners. By default this passes a snapshot of all scores to {@link #getWinners(Map)}; implementations that can ask the
+     * {@link GoalModule} for their winners directly should override this.
+     *
+     * @return map of winning scorers to their scores
+     */
+    protected Map<Object, Double> getWinners() {
+        return getWinners(goalModule.getScores());
+    }
+
     @Override
     public FilterResponse test(Object object) {
-        if (object instanceof Score) {
-            Map<Object, Double> winners = this.winnersCache;
-            if (winners == null) {
-                winners = this.winnersCache = getWinners(goalModule.getScores());
-            }
-            return FilterResponse.from(winners.containsKey(object));
+        if (object != null && goalModule.getScore(object).isPresent()) {
+            return FilterResponse.from(getWinners().containsKey(object));
         }
         return FilterResponse.ABSTAIN;
     }
@@ -53,6 +53,7 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.OptionalDouble;
+import java.util.OptionalInt;
 import java.util.stream.Collectors;
 
 import javax.annotation.Nonnull;
@@ -114,6 +115,26 @@ public class GoalModule extends Module implements SupervisorContext {
         scoring.resetScore(scorer);
     }
 
+    public OptionalInt getRank(@Nonnull Object scorer) {
+        return scoring.getRank(scorer);
+    }
+
+    public List<Object> getTopScorers(int k) {
+        return scoring.getTopScorers(k);
+    }
+
+    public List<Object> getBottomScorers(int k) {
+        return scoring.getBottomScorers(k);
+    }
+
+    public Map<Object, Double> getHighestScores() {
+        return scoring.getHighestScores();
+    }
+
+    public Map<Object, Double> getLowestScores() {
+        return scoring.getLowestScores();
+    }
+
     public GoalModuleData getData() {
         return data;
     }
@@ -23,12 +23,11 @@ import com.blurengine.blur.framework.WorldModule;
 import com.blurengine.blur.modules.stages.StageChangeData;
 import com.blurengine.blur.modules.stages.StageChangeReasons;
 import com.blurengine.blur.session.BlurPlayer;
-import com.blurengine.blur.session.BlurSession.Predicates;
 
 import org.bukkit.event.EventHandler;
 
 import java.util.Collections;
-import java.util.List;
+import java.util.Set;
 
 @ModuleInfo(name = "LastPlayerAliveWinner")
 public class LastPlayerAliveWinnerModule extends WorldModule {
@@ -38,7 +37,7 @@ public class LastPlayerAliveWinnerModule extends WorldModule {
     }
 
     void check() {
-        List<BlurPlayer> players = getSession().getPlayers(Predicates.ALIVE);
+        Set<BlurPlayer> players = getSession().getAlivePlayers();
         if (players.size() == 1) {
             StageChangeData changeData = new StageChangeData(StageChangeReasons.OBJECTIVE_SUCCESS);
 
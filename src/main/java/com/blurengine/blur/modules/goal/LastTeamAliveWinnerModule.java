@@ -23,13 +23,14 @@ import com.blurengine.blur.framework.WorldModule;
 import com.blurengine.blur.modules.stages.StageChangeData;
 import com.blurengine.blur.modules.stages.StageChangeReasons;
 import com.blurengine.blur.modules.teams.BlurTeam;
+import com.blurengine.blur.session.AliveTracker;
 import com.blurengine.blur.session.BlurPlayer;
-import com.blurengine.blur.session.BlurSession.Predicates;
 
 import org.bukkit.event.EventHandler;
 
 import java.util.Collections;
-import java.util.List;
+import java.util.HashSet;
+import java.util.Set;
 
 @ModuleInfo(name = "LastTeamAliveWinner")
 public class LastTeamAliveWinnerModule extends WorldModule {
@@ -39,10 +40,22 @@ public class LastTeamAliveWinnerModule extends WorldModule {
     }
 
     void check() {
-        List<BlurPlayer> players = getSession().getPlayers(Predicates.ALIVE);
-        BlurTeam blurTeam = getTeamManager().getPlayerTeam(players.get(0));
-        boolean allAliveAreSameTeam = getPlayersStream().allMatch(p -> getTeamManager().getPlayerTeam(p).equals(blurTeam));
-        if (allAliveAreSameTeam) {
+        // Alive players without a team show up as a null team, so a single non-null team means every alive player is on it.
+        AliveTracker<BlurPlayer, BlurTeam> tracker = getSession().getAliveTracker();
+        Set<BlurTeam> aliveTeams;
+        if (tracker.hasAwayPlayers()) {
+            aliveTeams = new HashSet<>();
+            for (BlurPlayer blurPlayer : getSession().getAlivePlayers()) {
+                aliveTeams.add(getTeamManager().getPlayerTeam(blurPlayer));
+            }
+        } else {
+            aliveTeams = tracker.getAliveTeams();
+        }
+        if (aliveTeams.size() != 1) {
+            return;
+        }
+        BlurTeam blurTeam = aliveTeams.iterator().next();
+        if (blurTeam != null && !blurTeam.equals(getTeamManager().getSpectatorTeam())) {
             StageChangeData changeData = new StageChangeData(StageChangeReasons.OBJECTIVE_SUCCESS);
 
             GoalWinnersStageChangeData winnersData = changeData.getOrCreate(GoalWinnersStageChangeData.class);
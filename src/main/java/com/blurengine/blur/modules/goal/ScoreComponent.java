@@ -17,60 +17,85 @@
 package com.blurengine.blur.modules.goal;
 
 import com.google.common.base.Preconditions;
-import com.google.common.collect.Maps;
 
+import com.blurengine.blur.components.shared.FilterMemo;
 import com.blurengine.blur.framework.AbstractComponent;
 import com.blurengine.blur.framework.ModuleManager;
 import com.blurengine.blur.modules.filters.Filter.FilterResponse;
+import com.blurengine.blur.modules.goal.GoalModule.ScoreGoalCase;
 import com.blurengine.blur.modules.goal.GoalModule.ScoreGoalData;
 import com.blurengine.blur.modules.stages.StageChangeData;
 import com.blurengine.blur.modules.stages.StageChangeReason;
 import com.blurengine.blur.modules.stages.StageChangeReasons;
+import com.blurengine.blur.utils.relationalops.RelationalOperator;
+import com.blurengine.blur.utils.relationalops.Relationals;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.function.IntPredicate;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
+/**
+ * Keeps score for arbitrary scorers, e.g. players or teams, and moves to the next stage when a scorer meets one of its goals. Scores are held in a
+ * {@link ScoreTable}, which also keeps scorers ranked for leaderboard and winner queries.
+ */
 public class ScoreComponent extends AbstractComponent {
 
-    private final Map<Object, Score> scores = new HashMap<>();
+    private final ScoreTable table = new ScoreTable();
+    private ScoreGoalData[] goalData = new ScoreGoalData[16]; // Indexed by ScoreTable id.
     private final List<ScoreGoalData> goals;
-    private final Map<Object, ScoreGoalData> scorersGoals = new HashMap<>();
 
     public ScoreComponent(@Nonnull ModuleManager moduleManager, @Nullable List<ScoreGoalData> data) {
         super(moduleManager);
         this.goals = data == null ? Collections.emptyList() : data;
     }
 
-    public boolean checkForStageChange(@Nonnull Score score) {
-        Preconditions.checkNotNull(score, "score cannot be null.");
-
-        Optional<StageChangeReason> stageChangeReason = score.checkGoalMet();
-        stageChangeReason.ifPresent(r -> {
-            StageChangeData changeData = new StageChangeData(r);
-            if (r == StageChangeReasons.OBJECTIVE_SUCCESS) {
+    private boolean checkForStageChange(int id) {
+        StageChangeReason stageChangeReason = checkGoalMet(id);
+        if (stageChangeReason != null) {
+            StageChangeData changeData = new StageChangeData(stageChangeReason);
+            if (stageChangeReason == StageChangeReasons.OBJECTIVE_SUCCESS) {
                 GoalWinnersStageChangeData winnersData = changeData.getOrCreate(GoalWinnersStageChangeData.class);
-                winnersData.getWinners().add(score.getObject());
+                winnersData.getWinners().add(table.getParticipant(id));
             }
             getStageManager().nextStage(changeData);
-        });
-        return stageChangeReason.isPresent();
+        }
+        return stageChangeReason != null;
+    }
+
+    @Nullable
+    private StageChangeReason checkGoalMet(int id) {
+        double score = table.getScore(id);
+        for (ScoreGoalCase _case : goalData[id].getCases()) {
+            if (Relationals.applyDouble(_case.getGoalRelational(), score, RelationalOperator.EQUAL)) {
+                return _case.getResult();
+            }
+        }
+        return null;
     }
 
     /**
-     * Returns an immutable map of objects with a score represented by a {@code double} value.
+     * Returns an immutable map of objects with a score represented by a {@code double} value. The map is a snapshot ordered from highest to
+     * lowest score.
      *
      * @return immutable map of object -> score
      */
     @Nonnull
     public Map<Object, Double> getScores() {
-        return Collections.unmodifiableMap(Maps.transformValues(scores, Score::getScore));
+        Map<Object, Double> result = new LinkedHashMap<>();
+        table.forEachDescending(id -> {
+            result.put(table.getParticipant(id), table.getScore(id));
+            return true;
+        });
+        return Collections.unmodifiableMap(result);
     }
 
     /**
@@ -81,9 +106,62 @@ public class ScoreComponent extends AbstractComponent {
      */
     @Nonnull
     public OptionalDouble getScore(@Nonnull Object scorer) {
-        return Optional.ofNullable(this.scores.get(scorer))
-            .map(score -> OptionalDouble.of(score.getScore()))
-            .orElse(OptionalDouble.empty());
+        int id = table.getId(scorer);
+        return id < 0 ? OptionalDouble.empty() : OptionalDouble.of(table.getScore(id));
+    }
+
+    /**
+     * Returns the rank of a scorer, 0 being the highest score. Scorers with equal scores are ranked by who scored first.
+     *
+     * @param scorer object that may hold a score
+     * @return OptionalInt, empty if the scorer has no score
+     */
+    @Nonnull
+    public OptionalInt getRank(@Nonnull Object scorer) {
+        int id = table.getId(scorer);
+        return id < 0 ? OptionalInt.empty() : OptionalInt.of(table.getRank(id));
+    }
+
+    /**
+     * Returns up to {@code k} scorers with the highest scores, highest first.
+     *
+     * @param k maximum number of scorers
+     * @return list of scorers
+     */
+    @Nonnull
+    public List<Object> getTopScorers(int k) {
+        return participants(table.top(k));
+    }
+
+    /**
+     * Returns up to {@code k} scorers with the lowest scores, lowest first.
+     *
+     * @param k maximum number of scorers
+     * @return list of scorers
+     */
+    @Nonnull
+    public List<Object> getBottomScorers(int k) {
+        return participants(table.bottom(k));
+    }
+
+    /**
+     * Returns every scorer tied for the highest score.
+     *
+     * @return immutable map of object -> score
+     */
+    @Nonnull
+    public Map<Object, Double> getHighestScores() {
+        return tiedScores(true);
+    }
+
+    /**
+     * Returns every scorer tied for the lowest score.
+     *
+     * @return immutable map of object -> score
+     */
+    @Nonnull
+    public Map<Object, Double> getLowestScores() {
+        return tiedScores(false);
     }
 
     /**
@@ -95,9 +173,9 @@ public class ScoreComponent extends AbstractComponent {
      * @return {@code scorer}'s new score
      */
     public double addScore(@Nonnull Object scorer, double score) {
-        Score scoreObj = getOrCreate(scorer);
-        double newScore = scoreObj.add(score);
-        checkForStageChange(scoreObj);
+        int id = getOrCreate(scorer);
+        double newScore = table.addScore(id, score);
+        checkForStageChange(id);
         return newScore;
     }
 
@@ -110,9 +188,9 @@ public class ScoreComponent extends AbstractComponent {
      * @return {@code scorer}'s new score
      */
     public double deductScore(@Nonnull Object scorer, double score) {
-        Score scoreObj = getOrCreate(scorer);
-        double newScore = scoreObj.subtract(score);
-        checkForStageChange(scoreObj);
+        int id = getOrCreate(scorer);
+        double newScore = table.addScore(id, -score);
+        checkForStageChange(id);
         return newScore;
     }
 
@@ -124,21 +202,60 @@ public class ScoreComponent extends AbstractComponent {
     public void resetScore(@Nonnull Object scorer) {
         // Don't call getOrCreate as it is unnecessary for resetting an already null score.
         Preconditions.checkNotNull(scorer, "scorer cannot be null.");
-        Optional.ofNullable(this.scores.get(scorer)).ifPresent(Score::reset);
+        int id = table.getId(scorer);
+        if (id >= 0) {
+            table.setScore(id, goalData[id].getInitialScore());
+        }
     }
 
-    private Score getOrCreate(@Nonnull Object scorer) {
+    private int getOrCreate(@Nonnull Object scorer) {
         Preconditions.checkNotNull(scorer, "scorer cannot be null.");
-        Score foundScore = this.scores.get(scorer);
-        if (foundScore == null) {
+        int id = table.getId(scorer);
+        if (id < 0) {
             ScoreGoalData data = getGoalDataFor(scorer);
-            this.scores.put(scorer, foundScore = new Score(scorer, data));
+            id = table.add(scorer, data.getInitialScore());
+            if (id == goalData.length) {
+                goalData = Arrays.copyOf(goalData, id * 2);
+            }
+            goalData[id] = data;
+        }
+        return id;
+    }
+
+    private List<Object> participants(int[] ids) {
+        List<Object> result = new ArrayList<>(ids.length);
+        for (int id : ids) {
+            result.add(table.getParticipant(id));
         }
-        return foundScore;
+        return result;
+    }
+
+    private Map<Object, Double> tiedScores(boolean highest) {
+        Map<Object, Double> result = new LinkedHashMap<>();
+        if (table.size() > 0) {
+            double score = table.getScore(highest ? table.top(1)[0] : table.bottom(1)[0]);
+            IntPredicate collect = id -> {
+                if (Double.compare(table.getScore(id), score) != 0) {
+                    return false;
+                }
+                result.put(table.getParticipant(id), score);
+                return true;
+            };
+            if (highest) {
+                table.forEachDescending(collect);
+            } else {
+                table.forEachAscending(collect);
+            }
+        }
+        return Collections.unmodifiableMap(result);
     }
 
     private ScoreGoalData getGoalDataFor(@Nonnull Object object) {
-        return goals.stream().filter(gd -> gd.getFilter() == null || gd.getFilter().test(object) == FilterResponse.ALLOW).findFirst()
-            .orElse(NullScoreGoalData.INSTANCE); // Return NullScoreGoalData as a safety precaution to not require goals to be set to keep score.
+        for (ScoreGoalData gd : goals) {
+            if (gd.getFilter() == null || FilterMemo.test(getSession(), gd.getFilter(), object) == FilterResponse.ALLOW) {
+                return gd;
+            }
+        }
+        return NullScoreGoalData.INSTANCE; // Return NullScoreGoalData as a safety precaution to not require goals to be set to keep score.
     }
 }
@@ -39,6 +39,11 @@ public class ScoreFilters {
             return scores.entrySet().stream().filter(e -> e.getValue() == highestScore)
                 .collect(Collectors.toMap(Entry::getKey, Entry::getValue));
         }
+
+        @Override
+        protected Map<Object, Double> getWinners() {
+            return getGoalModule().getLowestScores();
+        }
     }
 
     public static class HighestScoreFilter extends AbstractScoreFilter {
@@ -53,5 +58,10 @@ public class ScoreFilters {
             return scores.entrySet().stream().filter(e -> e.getValue() == highestScore)
                 .collect(Collectors.toMap(Entry::getKey, Entry::getValue));
         }
+
+        @Override
+        protected Map<Object, Double> getWinners() {
+            return getGoalModule().getHighestScores();
+        }
     }
 }
@@ -0,0 +1,357 @@
+/*
+ * Copyright 2026 Ali Moghnieh
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blurengine.blur.modules.goal;
+
+import com.google.common.base.Preconditions;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.IntPredicate;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Represents a table of participant scores. Each participant is given a dense id on {@link #add(Object, double)}, which indexes a primitive
+ * {@code double} array holding its score, so reading and updating a score never boxes.
+ * <p />
+ * Participants are also kept ranked from highest to lowest score, with ties going to the participant added first. The ranking is an array-backed
+ * treap keyed by participant id, so a score update costs O(log n) and reading the top or bottom k participants costs O(k) plus the depth of the
+ * tree, without sorting.
+ */
+public final class ScoreTable {
+
+    private static final int NIL = -1;
+
+    private final Map<Object, Integer> ids = new HashMap<>();
+    private Object[] participants = new Object[16];
+    private double[] scores = new double[16];
+    private int size;
+
+    // Treap nodes, indexed by participant id.
+    private int[] left = new int[16];
+    private int[] right = new int[16];
+    private int[] subtreeSizes = new int[16];
+    private int[] priorities = new int[16];
+    private int root = NIL;
+    private int seed = 0x2545F491;
+
+    // Results of split(), kept in fields to avoid allocating a pair per call.
+    private int splitLeft;
+    private int splitRight;
+
+    private int[] stack = new int[32];
+
+    /**
+     * Returns the number of participants in this table.
+     *
+     * @return participant count
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the id of a participant.
+     *
+     * @param participant participant to look up
+     *
+     * @return the participant's id, or -1 if the participant has no score
+     */
+    public int getId(@Nonnull Object participant) {
+        Integer id = ids.get(participant);
+        return id == null ? NIL : id;
+    }
+
+    /**
+     * Adds a participant to this table with an initial score.
+     *
+     * @param participant participant to add
+     * @param score initial score
+     *
+     * @return the participant's new id
+     *
+     * @throws IllegalArgumentException thrown if the participant is already in this table
+     */
+    public int add(@Nonnull Object participant, double score) {
+        Preconditions.checkNotNull(participant, "participant cannot be null.");
+        Preconditions.checkArgument(!ids.containsKey(participant), "participant %s already has a score.", participant);
+        if (size == participants.length) {
+            int capacity = size * 2;
+            participants = Arrays.copyOf(participants, capacity);
+            scores = Arrays.copyOf(scores, capacity);
+            left = Arrays.copyOf(left, capacity);
+            right = Arrays.copyOf(right, capacity);
+            subtreeSizes = Arrays.copyOf(subtreeSizes, capacity);
+            priorities = Arrays.copyOf(priorities, capacity);
+        }
+        int id = size++;
+        ids.put(participant, id);
+        participants[id] = participant;
+        scores[id] = score;
+        left[id] = right[id] = NIL;
+        subtreeSizes[id] = 1;
+        priorities[id] = nextPriority();
+        attach(id);
+        return id;
+    }
+
+    public Object getParticipant(int id) {
+        checkId(id);
+        return participants[id];
+    }
+
+    public double getScore(int id) {
+        checkId(id);
+        return scores[id];
+    }
+
+    /**
+     * Sets a participant's score and moves it to its new rank.
+     *
+     * @param id participant id
+     * @param score new score
+     */
+    public void setScore(int id, double score) {
+        checkId(id);
+        if (Double.compare(scores[id], score) == 0) {
+            return;
+        }
+        detach(id);
+        scores[id] = score;
+        attach(id);
+    }
+
+    /**
+     * Adds to a participant's score and moves it to its new rank.
+     *
+     * @param id participant id
+     * @param delta amount to add, may be negative
+     *
+     * @return the participant's new score
+     */
+    public double addScore(int id, double delta) {
+        checkId(id);
+        double score = scores[id] + delta;
+        setScore(id, score);
+        return score;
+    }
+
+    /**
+     * Returns a participant's rank, 0 being the highest score.
+     *
+     * @param id participant id
+     *
+     * @return zero-based rank
+     */
+    public int getRank(int id) {
+        checkId(id);
+        int rank = 0;
+        int node = root;
+        while (node != id) {
+            if (before(id, node)) {
+                node = left[node];
+            } else {
+                rank += sizeOf(left[node]) + 1;
+                node = right[node];
+            }
+        }
+        return rank + sizeOf(left[id]);
+    }
+
+    /**
+     * Returns the ids of the {@code k} highest scoring participants, highest first.
+     *
+     * @param k maximum number of participants
+     *
+     * @return array of at most {@code k} ids
+     */
+    @Nonnull
+    public int[] top(int k) {
+        Preconditions.checkArgument(k >= 0, "k cannot be negative.");
+        int[] result = new int[Math.min(k, size)];
+        if (result.length == 0) {
+            return result;
+        }
+        int[] count = {0};
+        forEachDescending(id -> {
+            result[count[0]++] = id;
+            return count[0] < result.length;
+        });
+        return result;
+    }
+
+    /**
+     * Returns the ids of the {@code k} lowest scoring participants, lowest first.
+     *
+     * @param k maximum number of participants
+     *
+     * @return array of at most {@code k} ids
+     */
+    @Nonnull
+    public int[] bottom(int k) {
+        Preconditions.checkArgument(k >= 0, "k cannot be negative.");
+        int[] result = new int[Math.min(k, size)];
+        if (result.length == 0) {
+            return result;
+        }
+        int[] count = {0};
+        forEachAscending(id -> {
+            result[count[0]++] = id;
+            return count[0] < result.length;
+        });
+        return result;
+    }
+
+    /**
+     * Visits participant ids from highest to lowest score until {@code action} returns false.
+     *
+     * @param action action to perform on each id, returning whether to continue
+     */
+    public void forEachDescending(@Nonnull IntPredicate action) {
+        walk(action, true);
+    }
+
+    /**
+     * Visits participant ids from lowest to highest score until {@code action} returns false.
+     *
+     * @param action action to perform on each id, returning whether to continue
+     */
+    public void forEachAscending(@Nonnull IntPredicate action) {
+        walk(action, false);
+    }
+
+    /* ================================
+     * >> TREAP
+     * ================================ */
+
+    /**
+     * In-order walk; descending visits the left (higher) side first.
+     */
+    private void walk(IntPredicate action, boolean descending) {
+        Preconditions.checkNotNull(action, "action cannot be null.");
+        int depth = 0;
+        int node = root;
+        while (node != NIL || depth > 0) {
+            while (node != NIL) {
+                if (depth == stack.length) {
+                    stack = Arrays.copyOf(stack, depth * 2);
+                }
+                stack[depth++] = node;
+                node = descending ? left[node] : right[node];
+            }
+            node = stack[--depth];
+            if (!action.test(node)) {
+                return;
+            }
+            node = descending ? right[node] : left[node];
+        }
+    }
+
+    /**
+     * Returns whether participant {@code a} ranks before participant {@code b}: a higher score, or the same score and added earlier.
+     */
+    private boolean before(int a, int b) {
+        int compare = Double.compare(scores[b], scores[a]);
+        return compare < 0 || (compare == 0 && a < b);
+    }
+
+    private void attach(int id) {
+        split(root, id);
+        root = merge(merge(splitLeft, id), splitRight);
+    }
+
+    private void detach(int id) {
+        root = remove(root, id);
+        left[id] = right[id] = NIL;
+        subtreeSizes[id] = 1;
+    }
+
+    private int remove(int node, int id) {
+        if (node == id) {
+            return merge(left[node], right[node]);
+        }
+        if (before(id, node)) {
+            left[node] = remove(left[node], id);
+        } else {
+            right[node] = remove(right[node], id);
+        }
+        update(node);
+        return node;
+    }
+
+    /**
+     * Splits the subtree at {@code node} into the nodes ranking before {@code id} ({@link #splitLeft}) and the rest ({@link #splitRight}).
+     */
+    private void split(int node, int id) {
+        if (node == NIL) {
+            splitLeft = splitRight = NIL;
+        } else if (before(node, id)) {
+            split(right[node], id);
+            right[node] = splitLeft;
+            update(node);
+            splitLeft = node;
+        } else {
+            split(left[node], id);
+            left[node] = splitRight;
+            update(node);
+            splitRight = node;
+        }
+    }
+
+    /**
+     * Merges two subtrees where every node in {@code a} ranks before every node in {@code b}.
+     */
+    private int merge(int a, int b) {
+        if (a == NIL) {
+            return b;
+        }
+        if (b == NIL) {
+            return a;
+        }
+        if (priorities[a] > priorities[b]) {
+            right[a] = merge(right[a], b);
+            update(a);
+            return a;
+        } else {
+            left[b] = merge(a, left[b]);
+            update(b);
+            return b;
+        }
+    }
+
+    private void update(int node) {
+        subtreeSizes[node] = sizeOf(left[node]) + sizeOf(right[node]) + 1;
+    }
+
+    private int sizeOf(int node) {
+        return node == NIL ? 0 : subtreeSizes[node];
+    }
+
+    private int nextPriority() {
+        // xorshift32, deterministic so rankings are reproducible between runs.
+        int x = seed;
+        x ^= x << 13;
+        x ^= x >>> 17;
+        x ^= x << 5;
+        return seed = x;
+    }
+
+    private void checkId(int id) {
+        Preconditions.checkElementIndex(id, size, "id");
+    }
+}
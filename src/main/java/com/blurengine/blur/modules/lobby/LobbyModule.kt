@@ -163,8 +163,8 @@ class LobbyModule(moduleManager: ModuleManager, private val data: LobbyData) : W
             childSession.load()
             childSession.enable()
 
-            // Add current lobby players to the new session immediately
-            players.forEach(childSession::addPlayer)
+            // Add current lobby players to the new session immediately, as one batch
+            childSession.addPlayers(players)
 
             if (!data.delay.isZero) {
                 newUnregisteredTask { childSession.start() }.delay(data.delay).build()
@@ -16,20 +16,23 @@
 
 package com.blurengine.blur.modules.message
 
+import com.blurengine.blur.components.shared.SessionTimers
 import com.blurengine.blur.framework.InternalModule
 import com.blurengine.blur.framework.Module
 import com.blurengine.blur.framework.ModuleInfo
 import com.blurengine.blur.framework.ModuleManager
+import com.blurengine.blur.framework.ticking.TimingWheel
 import com.blurengine.blur.session.BlurPlayer
 import com.blurengine.blur.utils.getMetadata
+import com.blurengine.blur.utils.getSharedComponent
 import com.blurengine.blur.utils.registerClassKt
 import java.time.Duration
-import java.time.Instant
 
 @ModuleInfo(name = "Messages")
 @InternalModule
 class MessagesManager(moduleManager: ModuleManager) : Module(moduleManager) {
     private val _messages = HashMap<String, Message>()
+    private val timers: SessionTimers get() = session.getSharedComponent { SessionTimers(session) }
     val messages: Map<String, Message> get() = _messages
 
     init {
@@ -38,7 +41,7 @@ class MessagesManager(moduleManager: ModuleManager) : Module(moduleManager) {
 
     fun clearMessages() {
         _messages.clear()
-        players.map { it.getMetadata<PlayerMessageData>()!! }.forEach { it.messagesCooldownMs.clear() }
+        players.map { it.getMetadata<PlayerMessageData>()!! }.forEach { it.clearCooldowns() }
     }
     fun isRegistered(message: Message) = _messages.containsValue(message)
     fun isRegistered(messageNode: String) = messageNode in _messages
@@ -50,11 +53,7 @@ class MessagesManager(moduleManager: ModuleManager) : Module(moduleManager) {
     fun getMessage(messageNode: String) = _messages[messageNode]
 
     fun isOnCooldown(blurPlayer: BlurPlayer, messageNode: String): Boolean {
-        val lastMessage = blurPlayer.getMetadata<PlayerMessageData>()!!.messagesCooldownMs[messageNode]
-        if (lastMessage != null && lastMessage.isAfter(Instant.now())) {
-            return true
-        }
-        return false
+        return messageNode in blurPlayer.getMetadata<PlayerMessageData>()!!.messageCooldowns
     }
 
     fun sendMessage(blurPlayer: BlurPlayer, messageNode: String, vararg args: Any, cooldown: Duration? = null): Boolean {
@@ -67,12 +66,21 @@ class MessagesManager(moduleManager: ModuleManager) : Module(moduleManager) {
 
         if (cooldown != null) {
             require(!cooldown.isNegative) { "cooldown must not be negative." }
-            data.messagesCooldownMs[message.messageNode] = Instant.now().plus(cooldown)
+            if (!cooldown.isZero) {
+                val messageNode = message.messageNode
+                // Entries remove themselves once they expire, rather than piling up for the rest of the session.
+                data.messageCooldowns[messageNode] = timers.schedule(cooldown) { data.messageCooldowns.remove(messageNode) }
+            }
         }
         return true
     }
 
     class PlayerMessageData {
-        val messagesCooldownMs = HashMap<String, Instant>()
+        val messageCooldowns = HashMap<String, TimingWheel.Timer>()
+
+        fun clearCooldowns() {
+            messageCooldowns.values.forEach { it.cancel() }
+            messageCooldowns.clear()
+        }
     }
 }
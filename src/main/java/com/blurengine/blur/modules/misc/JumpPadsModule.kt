@@ -16,14 +16,16 @@
 
 package com.blurengine.blur.modules.misc
 
-import com.blurengine.blur.events.players.PlayerMoveBlockEvent
+import com.blurengine.blur.components.shared.ExtentTracker
 import com.blurengine.blur.framework.Module
 import com.blurengine.blur.framework.ModuleData
 import com.blurengine.blur.framework.ModuleInfo
 import com.blurengine.blur.framework.ModuleManager
 import com.blurengine.blur.framework.SerializedModule
 import com.blurengine.blur.modules.extents.Extent
+import com.blurengine.blur.modules.extents.ExtentEnterEvent
 import com.blurengine.blur.modules.misc.JumpPadsModule.JumpPadsModuleData
+import com.blurengine.blur.utils.getSharedComponent
 import com.blurengine.blur.utils.withMultiply
 import com.supaham.commons.bukkit.utils.RelativeVector
 import org.bukkit.event.EventHandler
@@ -31,18 +33,25 @@ import pluginbase.config.annotation.Name
 
 @ModuleInfo(name = "JumpPads", dataClass = JumpPadsModuleData::class)
 class JumpPadsModule(moduleManager: ModuleManager, val data: JumpPadsModuleData) : Module(moduleManager) {
+    private val jumpPads = HashMap<Extent, JumpPadEntry>()
 
-    @EventHandler
-    fun onPlayerMoveBlock(event: PlayerMoveBlockEvent) {
+    init {
+        val tracker = session.getSharedComponent { ExtentTracker(session) }
         for (jumpPad in data.jumpPads) {
-            if (jumpPad.extent.contains(event.blurPlayer)) {
-                val dir = event.blurPlayer.player.location.direction
-                val jumpPadData = jumpPad.velocity ?: data.velocity!!
-                event.blurPlayer.player.velocity = jumpPadData.withMultiply(dir)
-            }
+            jumpPads[jumpPad.extent] = jumpPad
+            tracker.track(jumpPad.extent)
         }
     }
 
+    @EventHandler
+    fun onExtentEnter(event: ExtentEnterEvent) {
+        val jumpPad = jumpPads[event.extent] ?: return
+        if (!isSession(event)) return
+        val dir = event.blurPlayer.player.location.direction
+        val jumpPadData = jumpPad.velocity ?: data.velocity!!
+        event.blurPlayer.player.velocity = jumpPadData.withMultiply(dir)
+    }
+
     class JumpPadsModuleData : CommonJumpPadData(), ModuleData {
         @Name("jump-pads")
         var jumpPads = ArrayList<JumpPadEntry>()
@@ -53,8 +62,11 @@ class JumpPadsModule(moduleManager: ModuleManager, val data: JumpPadsModuleData)
 
             serialized.load(this)
 
+            // Jump pads are looked up by their extent, identical anonymous extents are deserialized to the same instance.
+            val extents = HashSet<Extent>()
             for (jumpPad in jumpPads) {
                 checkNotNullLateInit({ jumpPad.extent }, "JumpPad location must be set")
+                check(extents.add(jumpPad.extent), "JumpPads cannot share an extent")
             }
             return JumpPadsModule(moduleManager, this)
         }
@@ -22,39 +22,61 @@ import com.blurengine.blur.framework.ModuleInfo
 import com.blurengine.blur.framework.ModuleManager
 import com.blurengine.blur.framework.SerializedModule
 import com.blurengine.blur.framework.WorldModule
-import com.blurengine.blur.modules.extents.CuboidExtent
-import com.blurengine.blur.modules.extents.CylinderExtent
 import com.blurengine.blur.modules.extents.Extent
-import com.blurengine.blur.modules.extents.UnionExtent
+import com.blurengine.blur.modules.extents.ExtentOutline
 import com.blurengine.blur.modules.misc.SimpleParticlesModule.SimpleParticlesData
-import com.google.common.collect.ArrayListMultimap
-import com.google.common.collect.ListMultimap
 import com.supaham.commons.Enums
-import com.supaham.commons.bukkit.utils.ImmutableBlockVector
-import com.supaham.commons.bukkit.utils.ImmutableVector
-import org.bukkit.Effect
 import org.bukkit.Particle
-import org.bukkit.util.BlockVector
+import org.bukkit.entity.Player
+import pluginbase.config.annotation.Name
 import java.time.Duration
-import java.util.ArrayList
 
 @ModuleInfo(name = "SimpleParticles", dataClass = SimpleParticlesData::class)
 class SimpleParticlesModule(manager: ModuleManager, val data: SimpleParticlesData) : WorldModule(manager) {
-    private val outlines: ListMultimap<Extent, BlockVector> = ArrayListMultimap.create()
+    // Keyed by extent and spacing, as the same extent may be drawn with different spacings.
+    private val outlines = HashMap<Pair<Extent, Double>, DoubleArray>()
 
     init {
-        first@data.particles.forEach { pdata ->
-            outlines.putAll(pdata.extent, doExtent(pdata.extent))
+        data.particles.forEach { pdata ->
+            val extent = pdata.extent!!
+            val moving = ExtentOutline.isMoving(extent)
+            val cached = if (moving) null else outlines.getOrPut(extent to pdata.spacing) { ExtentOutline.generate(extent, pdata.spacing) }
             newTask({
-                outlines.get(pdata.extent).forEach {
-                    world.spawnParticle(pdata.particle!!, it.toLocation(this.world), 2, 0.0, 0.0, 0.0, 0.0)
+                val outline = cached ?: ExtentOutline.generate(extent, pdata.spacing)
+                for (player in world.players) {
+                    spawnParticles(player, pdata, outline)
                 }
             }).interval(pdata.interval).build()
         }
     }
-    
-    fun doExtent(extent: Extent?): List<BlockVector> {
-        return extent!!.toList()
+
+    /**
+     * Spawns the particles of the given outline that the [Player] can see. Points further than [ExtentParticles.viewDistance] are skipped, and so
+     * are points behind the player if [ExtentParticles.viewCulling] is enabled.
+     */
+    private fun spawnParticles(player: Player, pdata: ExtentParticles, outline: DoubleArray) {
+        val eye = player.eyeLocation
+        val direction = eye.direction
+        val maxDistanceSquared = pdata.viewDistance * pdata.viewDistance
+        var i = 0
+        while (i < outline.size) {
+            val x = outline[i]
+            val y = outline[i + 1]
+            val z = outline[i + 2]
+            i += 3
+            val dx = x - eye.x
+            val dy = y - eye.y
+            val dz = z - eye.z
+            val distanceSquared = dx * dx + dy * dy + dz * dz
+            if (distanceSquared > maxDistanceSquared) continue
+            // Points right around the player are always visible when turning around.
+            if (pdata.viewCulling && distanceSquared > NEAR_DISTANCE_SQUARED && dx * direction.x + dy * direction.y + dz * direction.z < 0) continue
+            player.spawnParticle(pdata.particle!!, x, y, z, 2, 0.0, 0.0, 0.0, 0.0)
+        }
+    }
+
+    companion object {
+        private const val NEAR_DISTANCE_SQUARED = 4.0
     }
 
     class SimpleParticlesData : ModuleData {
@@ -78,5 +100,11 @@ class SimpleParticlesModule(manager: ModuleManager, val data: SimpleParticlesDat
         var particle: Particle? = null
         var interval: Duration = Duration.ofSeconds(1)
         var extent: Extent? = null
+        /** Maximum distance between two particles along an edge of the extent. */
+        var spacing: Double = 1.0
+        /** Maximum distance from a player at which particles are sent to them. */
+        @Name("view-distance") var viewDistance: Double = 48.0
+        /** Whether to skip particles behind players. */
+        @Name("view-culling") var viewCulling: Boolean = true
     }
 }
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2026 Ali Moghnieh
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.blurengine.blur.modules.spawns;
+
+import com.google.common.base.Preconditions;
+
+import com.blurengine.blur.utils.blocks.BlockKeySet;
+
+import org.bukkit.util.BoundingBox;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongConsumer;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Represents the blocks that changed around scanned spawn extents since their {@link SpawnPositions} were last updated. Only blocks within the
+ * watched bounds, extended by a block above and below, are kept; no other block can change whether a position is standable. Nothing is kept while
+ * no bounds are watched, so blocks don't pile up when there is nothing to update.
+ */
+final class ChangedBlocks {
+
+    private final List<int[]> watched = new ArrayList<>();
+    private final BlockKeySet blocks = new BlockKeySet();
+
+    /**
+     * Starts keeping changed blocks within the given bounds.
+     *
+     * @param bounds bounds of a scanned extent
+     */
+    public void watch(@Nonnull BoundingBox bounds) {
+        Preconditions.checkNotNull(bounds, "bounds cannot be null.");
+        // A block is the floor of the position above it and the head of the position below it.
+        watched.add(new int[]{floor(bounds.getMinX()), floor(bounds.getMinY()) - 1, floor(bounds.getMinZ()),
+            floor(bounds.getMaxX()), floor(bounds.getMaxY()) + 1, floor(bounds.getMaxZ())});
+    }
+
+    public boolean isWatching() {
+        return !watched.isEmpty();
+    }
+
+    /**
+     * Keeps a changed block if it is within the watched bounds.
+     *
+     * @param x block x
+     * @param y block y
+     * @param z block z
+     *
+     * @return whether the block was kept
+     */
+    public boolean add(int x, int y, int z) {
+        for (int[] bounds : watched) {
+            if (x >= bounds[0] && y >= bounds[1] && z >= bounds[2] && x <= bounds[3] && y <= bounds[4] && z <= bounds[5]) {
+                return blocks.add(x, y, z);
+            }
+        }
+        return false;
+    }
+
+    public int size() {
+        return blocks.size();
+    }
+
+    public boolean isEmpty() {
+        return blocks.isEmpty();
+    }
+
+    /**
+     * Passes every kept block to the given action and forgets them.
+     *
+     * @param action action to pass {@link com.blurengine.blur.utils.blocks.BlockKeys} to
+     */
+    public void drain(@Nonnull LongConsumer action) {
+        blocks.forEach(action);
+        blocks.clear();
+    }
+
+    /**
+     * Stops watching every bounds and forgets every kept block.
+     */
+    public void clear() {
+        watched.clear();
+        blocks.clear();
+    }
+
+    private static int floor(double value) {
+        return (int) Math.floor(value);
+    }
+}
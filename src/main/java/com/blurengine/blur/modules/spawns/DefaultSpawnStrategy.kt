@@ -16,13 +16,18 @@
 
 package com.blurengine.blur.modules.spawns
 
+import com.blurengine.blur.components.shared.FilterMemo
+import com.blurengine.blur.session.BlurSession
 import org.bukkit.entity.Entity
 import java.util.function.Supplier
 
 
-class DefaultSpawnStrategy(override val spawns: Supplier<Collection<Spawn>>, val defaultSpawn: Spawn) : SpawnStrategy {
+class DefaultSpawnStrategy @JvmOverloads constructor(override val spawns: Supplier<Collection<Spawn>>, val defaultSpawn: Spawn,
+                                                     val session: BlurSession? = null) : SpawnStrategy {
     override fun getSpawn(entity: Entity): Spawn? {
         val spawns = spawns.get()
-        return spawns.firstOrNull { s -> s.filter.test(entity).isAllowed } ?: defaultSpawn
+        return spawns.firstOrNull { s -> test(s, entity).isAllowed } ?: defaultSpawn
     }
+
+    private fun test(spawn: Spawn, entity: Entity) = if (session != null) FilterMemo.test(session, spawn.filter, entity) else spawn.filter.test(entity)
 }
@@ -0,0 +1,281 @@
+/*
+ * Copyright 2026 Ali Moghnieh
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blurengine.blur.modules.spawns;
+
+import com.google.common.base.Preconditions;
+
+import com.blurengine.blur.utils.blocks.BlockKeyMap;
+import com.blurengine.blur.utils.blocks.BlockKeySet;
+import com.blurengine.blur.utils.blocks.BlockKeys;
+
+import org.bukkit.Material;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.OptionalLong;
+import java.util.Random;
+import java.util.Set;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Represents the standable positions of a spawn extent. Positions are {@link BlockKeys} of the block a player's feet occupy, kept in a flat
+ * {@code long} array so that picking a random safe position is a single array read.
+ * <p />
+ * Only blocks of the extent, its candidates, can ever be positions. After the initial scan, positions are kept up to date through
+ * {@link #blockChanged(int, int, int, BlockTypes)} as blocks in and around the extent change. Blocks changed without an event are caught when a
+ * picked position is checked again in {@link #pick(Random, BlockTypes)}, and positions removed that way are checked again by
+ * {@link #recheck(BlockTypes)} until they are standable again.
+ * <p />
+ * This class is not thread-safe.
+ */
+public final class SpawnPositions {
+
+    /**
+     * Picked positions that turn out not to be standable are removed and picked again, up to this many times.
+     */
+    private static final int PICK_ATTEMPTS = 8;
+    private static final Set<Material> HAZARDS = EnumSet.of(Material.LAVA, Material.FIRE, Material.SOUL_FIRE, Material.CACTUS,
+        Material.MAGMA_BLOCK, Material.SWEET_BERRY_BUSH, Material.POWDER_SNOW, Material.WITHER_ROSE, Material.CAMPFIRE, Material.SOUL_CAMPFIRE);
+
+    private final BlockKeySet candidates;
+    private final BlockKeyMap<Integer> indices = new BlockKeyMap<>();
+    private long[] positions = new long[16];
+    private int size;
+    // Candidates pick found unstandable. They changed without an event, so they may change back without one too.
+    private final BlockKeySet rejected = new BlockKeySet();
+
+    /**
+     * Returns whether a player can stand with their feet in a block, given the block below, the block itself and the block above.
+     *
+     * @param floor block below the feet
+     * @param feet block the feet occupy
+     * @param head block the head occupies
+     *
+     * @return whether the position is safe to spawn at
+     */
+    public static boolean isStandable(@Nonnull Material floor, @Nonnull Material feet, @Nonnull Material head) {
+        return floor.isSolid() && !HAZARDS.contains(floor) && isClear(feet) && isClear(head);
+    }
+
+    /**
+     * Returns whether a player can stand with their feet in the given block.
+     *
+     * @param types block types to check
+     * @param x block x
+     * @param y block y
+     * @param z block z
+     *
+     * @return whether the position is safe to spawn at, false if any of the blocks is unknown
+     */
+    public static boolean isStandable(@Nonnull BlockTypes types, int x, int y, int z) {
+        Material floor = types.getType(x, y - 1, z);
+        Material feet = types.getType(x, y, z);
+        Material head = types.getType(x, y + 1, z);
+        return floor != null && feet != null && head != null && isStandable(floor, feet, head);
+    }
+
+    private static boolean isClear(Material material) {
+        return !material.isSolid() && !HAZARDS.contains(material);
+    }
+
+    /**
+     * Finds the standable positions among the given candidates.
+     *
+     * @param candidates every block of the spawn extent
+     * @param types block types to check
+     *
+     * @return new positions
+     */
+    @Nonnull
+    public static SpawnPositions scan(@Nonnull BlockKeySet candidates, @Nonnull BlockTypes types) {
+        Preconditions.checkNotNull(types, "types cannot be null.");
+        SpawnPositions positions = new SpawnPositions(candidates);
+        candidates.forEach(key -> {
+            int x = BlockKeys.x(key), y = BlockKeys.y(key), z = BlockKeys.z(key);
+            if (isStandable(types, x, y, z)) {
+                positions.update(x, y, z, true);
+            }
+        });
+        return positions;
+    }
+
+    /**
+     * @param candidates every block of the spawn extent
+     */
+    public SpawnPositions(@Nonnull BlockKeySet candidates) {
+        this.candidates = Preconditions.checkNotNull(candidates, "candidates cannot be null.");
+    }
+
+    public boolean isCandidate(int x, int y, int z) {
+        return candidates.contains(x, y, z);
+    }
+
+    /**
+     * Adds or removes a position based on whether it is standable. Blocks that are not candidates are ignored.
+     *
+     * @param x block x
+     * @param y block y
+     * @param z block z
+     * @param standable whether the block is standable
+     *
+     * @return whether the positions changed
+     */
+    public boolean update(int x, int y, int z, boolean standable) {
+        long key = BlockKeys.pack(x, y, z);
+        if (!candidates.contains(key)) {
+            return false;
+        }
+        Integer index = indices.get(key);
+        if (standable && index == null) {
+            rejected.remove(key);
+            if (size == positions.length) {
+                positions = Arrays.copyOf(positions, size * 2);
+            }
+            indices.put(key, size);
+            positions[size++] = key;
+            return true;
+        } else if (!standable && index != null) {
+            // Swap the last position into the removed slot to keep the array dense.
+            indices.remove(key);
+            long last = positions[--size];
+            if (index != size) {
+                positions[index] = last;
+                indices.put(last, index);
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Updates the positions a changed block can affect. A block is the floor of the position above it, the feet of its own position and the head
+     * of the position below it.
+     *
+     * @param x block x
+     * @param y block y
+     * @param z block z
+     * @param types current block types
+     */
+    public void blockChanged(int x, int y, int z, @Nonnull BlockTypes types) {
+        for (int feetY = y - 1; feetY <= y + 1; feetY++) {
+            if (isCandidate(x, feetY, z)) {
+                update(x, feetY, z, isStandable(types, x, feetY, z));
+            }
+        }
+    }
+
+    /**
+     * Checks every position removed by {@link #pick(Random, BlockTypes)} again, adding back those that are standable again.
+     *
+     * @param types current block types
+     */
+    public void recheck(@Nonnull BlockTypes types) {
+        if (rejected.isEmpty()) {
+            return;
+        }
+        for (long key : rejected.toArray()) {
+            int x = BlockKeys.x(key), y = BlockKeys.y(key), z = BlockKeys.z(key);
+            if (isStandable(types, x, y, z)) {
+                update(x, y, z, true);
+            }
+        }
+    }
+
+    public boolean contains(int x, int y, int z) {
+        return indices.containsKey(x, y, z);
+    }
+
+    /**
+     * Returns the number of positions removed by {@link #pick(Random, BlockTypes)} that are waiting to be standable again.
+     *
+     * @return number of rejected positions
+     */
+    public int rejectedSize() {
+        return rejected.size();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public long get(int index) {
+        Preconditions.checkElementIndex(index, size, "index");
+        return positions[index];
+    }
+
+    /**
+     * Returns a random position.
+     *
+     * @param random random to pick with
+     *
+     * @return {@link BlockKeys} of the position
+     *
+     * @throws IllegalStateException thrown if there are no positions
+     */
+    public long pick(@Nonnull Random random) {
+        Preconditions.checkState(size > 0, "There are no positions to pick from.");
+        return positions[random.nextInt(size)];
+    }
+
+    /**
+     * Returns a random position that is still standable. Blocks can change without an event, for example when a plugin sets them, so each picked
+     * position is checked again and removed if it is no longer standable, until {@link #recheck(BlockTypes)} finds it standable again.
+     *
+     * @param random random to pick with
+     * @param types current block types
+     *
+     * @return {@link BlockKeys} of the position, empty if no standable position was found
+     */
+    @Nonnull
+    public OptionalLong pick(@Nonnull Random random, @Nonnull BlockTypes types) {
+        for (int attempt = 0; attempt < PICK_ATTEMPTS && size > 0; attempt++) {
+            long key = pick(random);
+            int x = BlockKeys.x(key), y = BlockKeys.y(key), z = BlockKeys.z(key);
+            if (isStandable(types, x, y, z)) {
+                return OptionalLong.of(key);
+            }
+            update(x, y, z, false);
+            rejected.add(key);
+        }
+        return OptionalLong.empty();
+    }
+
+    /**
+     * Looks up the types of blocks, such as from the world or from chunk snapshots.
+     */
+    @FunctionalInterface
+    public interface BlockTypes {
+
+        /**
+         * Returns the type of a block.
+         *
+         * @param x block x
+         * @param y block y
+         * @param z block z
+         *
+         * @return block type, null if unknown, such as outside of the world
+         */
+        @Nullable
+        Material getType(int x, int y, int z);
+    }
+}
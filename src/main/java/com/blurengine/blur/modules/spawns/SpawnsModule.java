@@ -19,9 +19,11 @@ package com.blurengine.blur.modules.spawns;
 import com.blurengine.blur.modules.teams.StrategyPriority;
 import com.google.common.base.Preconditions;
 
+import com.blurengine.blur.components.shared.FilterMemo;
 import com.blurengine.blur.events.players.BlurPlayerRespawnEvent;
 import com.blurengine.blur.events.players.PlayerJoinSessionEvent;
 import com.blurengine.blur.events.session.SessionStartEvent;
+import com.blurengine.blur.framework.ComponentState;
 import com.blurengine.blur.framework.Module;
 import com.blurengine.blur.framework.ModuleData;
 import com.blurengine.blur.framework.ModuleInfo;
@@ -29,32 +31,56 @@ import com.blurengine.blur.framework.ModuleManager;
 import com.blurengine.blur.framework.ModuleParseException;
 import com.blurengine.blur.framework.SerializedModule;
 import com.blurengine.blur.framework.WorldModule;
+import com.blurengine.blur.framework.ticking.Tick;
 import com.blurengine.blur.modules.extents.BlockExtent;
 import com.blurengine.blur.modules.extents.DirectionalExtent;
 import com.blurengine.blur.modules.extents.Extent;
 import com.blurengine.blur.modules.extents.ExtentNotFoundException;
 import com.blurengine.blur.modules.extents.UnionExtent;
+import com.blurengine.blur.modules.spawns.SpawnPositions.BlockTypes;
 import com.blurengine.blur.modules.spawns.SpawnsModule.SpawnsData;
 import com.blurengine.blur.modules.spawns.serializer.SpawnSerializer;
 import com.blurengine.blur.session.BlurPlayer;
+import com.blurengine.blur.utils.blocks.BlockKeySet;
+import com.blurengine.blur.utils.blocks.BlockKeys;
 import com.supaham.commons.utils.CollectionUtils;
 import com.supaham.commons.utils.StringUtils;
 import com.supaham.commons.utils.WeakSet;
 
+import org.bukkit.ChunkSnapshot;
 import org.bukkit.Location;
 import org.bukkit.World;
+import org.bukkit.block.Block;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
+import org.bukkit.event.block.BlockBreakEvent;
+import org.bukkit.event.block.BlockBurnEvent;
+import org.bukkit.event.block.BlockExplodeEvent;
+import org.bukkit.event.block.BlockFadeEvent;
+import org.bukkit.event.block.BlockFormEvent;
+import org.bukkit.event.block.BlockFromToEvent;
+import org.bukkit.event.block.BlockPistonExtendEvent;
+import org.bukkit.event.block.BlockPistonRetractEvent;
+import org.bukkit.event.block.BlockPlaceEvent;
+import org.bukkit.event.entity.EntityChangeBlockEvent;
+import org.bukkit.event.entity.EntityExplodeEvent;
 import org.bukkit.event.player.PlayerRespawnEvent;
+import org.bukkit.util.BoundingBox;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.function.Function;
 
 import javax.annotation.Nonnull;
@@ -65,6 +91,11 @@ import pluginbase.config.annotation.SerializeWith;
 @ModuleInfo(name = "Spawns", dataClass = SpawnsData.class)
 public class SpawnsModule extends WorldModule {
 
+    /**
+     * Extents with more blocks than this are not scanned for safe positions and keep using {@link Extent#getRandomLocation()}.
+     */
+    private static final double MAX_SCAN_VOLUME = 1 << 16;
+
     public final SpawnsData data;
     /**
      * Contains a list of players respawning forcefully by this module. See spawnPlayer method with spigot respawn call.
@@ -72,6 +103,14 @@ public class SpawnsModule extends WorldModule {
     private final WeakSet<Player> validRespawningPlayers = new WeakSet<>();
     public final Map<SpawnStrategy, StrategyPriority> spawnStrategies = new HashMap<>();
     private final SpawnStrategy fallbackSpawnStrategy;
+    /**
+     * Standable positions of every scanned spawn extent, null until the scan started at load completes.
+     */
+    private Map<Extent, SpawnPositions> safePositions;
+    /**
+     * Blocks around scanned extents that changed since safe positions were last updated.
+     */
+    private final ChangedBlocks changedBlocks = new ChangedBlocks();
 
     public static Location getLocationFromSpawn(Spawn spawn, World world, Entity entity) {
         Preconditions.checkNotNull(spawn, "spawn cannot be null.");
@@ -91,24 +130,81 @@ public class SpawnsModule extends WorldModule {
     public SpawnsModule(ModuleManager moduleManager, SpawnsData data) {
         super(moduleManager);
         this.data = data;
-        fallbackSpawnStrategy = new DefaultSpawnStrategy(this::getSpawns, data.defaultSpawn);
+        fallbackSpawnStrategy = new DefaultSpawnStrategy(this::getSpawns, data.defaultSpawn, getSession());
     }
 
     public Collection<Spawn> getSpawns() {
         return Collections.unmodifiableCollection(data.spawns);
     }
 
+    @Override
+    public void load() {
+        super.load();
+        scanSafePositions();
+    }
+
+    @Override
+    public void unload() {
+        super.unload();
+        this.safePositions = null;
+        this.changedBlocks.clear();
+    }
+
+    /**
+     * Returns a location to spawn an entity at. If the spawn's extent has been scanned, this is a random standable position in it, checked
+     * against the world as it is now; otherwise, or if the extent has no standable positions, it is {@link Extent#getRandomLocation()}.
+     *
+     * @param spawn spawn to get a location from
+     * @param entity entity being spawned, used for the spawn's direction
+     *
+     * @return spawn location
+     */
+    @Nonnull
+    public Location getSpawnLocation(@Nonnull Spawn spawn, @Nonnull Entity entity) {
+        Preconditions.checkNotNull(spawn, "spawn cannot be null.");
+        Preconditions.checkNotNull(entity, "entity cannot be null.");
+        Extent extent = spawn.getExtent();
+        if (extent instanceof UnionExtent) {
+            extent = CollectionUtils.getRandomElement(((UnionExtent) extent).getExtents());
+        }
+        SpawnPositions positions = safePositions == null ? null : safePositions.get(extent);
+        OptionalLong key = positions == null ? OptionalLong.empty() : positions.pick(ThreadLocalRandom.current(), worldBlockTypes());
+        Location location;
+        if (key.isPresent()) {
+            long position = key.getAsLong();
+            location = new Location(getWorld(), BlockKeys.x(position) + 0.5, BlockKeys.y(position), BlockKeys.z(position) + 0.5);
+        } else {
+            location = extent.getRandomLocation().toLocation(getWorld());
+        }
+        if (extent instanceof DirectionalExtent) {
+            ((DirectionalExtent) extent).getDirection().applyTo(location, entity);
+        }
+        return location;
+    }
+
     @EventHandler
     public void onSessionStart(SessionStartEvent event) {
         if (isSession(event)) {
-
-            newTask(() -> getPlayers().forEach(p -> {
-                Spawn spawn = data.spawnOnStart;
-                if (spawn == null) {
-                    spawn = getNextSpawnForEntity(p.getPlayer());
+            // Spread the start spawns over as many ticks as needed so a full game isn't teleported in a single tick.
+            Deque<BlurPlayer> pending = new ArrayDeque<>(getPlayers());
+            int perTick = Math.max(1, data.startSpawnsPerTick);
+            newTask().run(task -> {
+                for (int spawned = 0; spawned < perTick && !pending.isEmpty(); ) {
+                    BlurPlayer p = pending.poll();
+                    if (!getSession().getPlayer(p.getUuid()).isPresent()) {
+                        continue; // Left before their turn.
+                    }
+                    Spawn spawn = data.spawnOnStart;
+                    if (spawn == null) {
+                        spawn = getNextSpawnForEntity(p.getPlayer());
+                    }
+                    p.respawn(getSpawnLocation(spawn, p.getPlayer()));
+                    spawned++;
                 }
-                p.respawn(getLocationFromSpawn(spawn, getWorld(), p.getPlayer()));
-            })).delay(0).build();
+                if (pending.isEmpty()) {
+                    removeTask(task);
+                }
+            }).delay(0).interval(50).build();
         }
     }
 
@@ -131,7 +227,7 @@ public class SpawnsModule extends WorldModule {
             if (event.getSpawnLocation() == null) {
                 Player player = event.getBlurPlayer().getPlayer();
                 Spawn spawn = getNextSpawnForEntity(player);
-                Location spawnLocation = getLocationFromSpawn(spawn, getWorld(), player);
+                Location spawnLocation = getSpawnLocation(spawn, player);
                 event.setSpawnLocation(spawnLocation);
             }
         }
@@ -153,7 +249,7 @@ public class SpawnsModule extends WorldModule {
         }
         BlurPlayer blurPlayer = getSession().getPlayer(event.getPlayer());
         if (isSession(blurPlayer.getSession())) {
-            Location location = getLocationFromSpawn(getNextSpawnForEntity(event.getPlayer()), getWorld(), event.getPlayer());
+            Location location = getSpawnLocation(getNextSpawnForEntity(event.getPlayer()), event.getPlayer());
             getLogger().finer("Spawning %s at %s", blurPlayer.getName(), location);
             event.setRespawnLocation(location);
         }
@@ -172,7 +268,7 @@ public class SpawnsModule extends WorldModule {
             this.validRespawningPlayers.remove(blurPlayer.getPlayer());
         }
 
-        Location location = getLocationFromSpawn(spawn, getWorld(), blurPlayer.getPlayer());
+        Location location = getSpawnLocation(spawn, blurPlayer.getPlayer());
         spawnPlayer(blurPlayer, location);
     }
 
@@ -199,7 +295,7 @@ public class SpawnsModule extends WorldModule {
             }
         }
 
-        if (foundSpawn == null || foundSpawn.getFilter().test(entity).isDenied()) {
+        if (foundSpawn == null || FilterMemo.test(getSession(), foundSpawn.getFilter(), entity).isDenied()) {
             if (this.spawnStrategies.size() > 0) {
                 getLogger().finer("Failed to find player from assignmentStrategies");
             }
@@ -209,6 +305,179 @@ public class SpawnsModule extends WorldModule {
         return foundSpawn;
     }
 
+    /* ================================
+     * >> SAFE POSITIONS
+     * ================================ */
+
+    /**
+     * Snapshots the chunks under every spawn extent on the main thread, then finds their standable positions on a worker thread so that respawns
+     * never have to probe blocks.
+     */
+    private void scanSafePositions() {
+        Set<Extent> extents = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<Spawn> spawns = new ArrayList<>(data.spawns);
+        spawns.add(data.defaultSpawn);
+        if (data.spawnOnStart != null) {
+            spawns.add(data.spawnOnStart);
+        }
+        for (Spawn spawn : spawns) {
+            if (spawn.getExtent() instanceof UnionExtent) {
+                extents.addAll(((UnionExtent) spawn.getExtent()).getExtents());
+            } else {
+                extents.add(spawn.getExtent());
+            }
+        }
+        // Extents that move or have no known bounds can't be scanned ahead of time.
+        extents.removeIf(e -> e.getBounds() == null || e.getVolume() > MAX_SCAN_VOLUME);
+        if (extents.isEmpty()) {
+            return;
+        }
+        extents.forEach(e -> changedBlocks.watch(e.getBounds()));
+
+        World world = getWorld();
+        Map<Long, ChunkSnapshot> snapshots = new HashMap<>();
+        for (Extent extent : extents) {
+            BoundingBox bounds = extent.getBounds();
+            for (int cx = floor(bounds.getMinX()) >> 4; cx <= floor(bounds.getMaxX()) >> 4; cx++) {
+                for (int cz = floor(bounds.getMinZ()) >> 4; cz <= floor(bounds.getMaxZ()) >> 4; cz++) {
+                    long chunkKey = BlockKeys.chunkKey(cx, cz);
+                    if (!snapshots.containsKey(chunkKey)) {
+                        snapshots.put(chunkKey, world.getChunkAt(cx, cz).getChunkSnapshot(false, false, false));
+                    }
+                }
+            }
+        }
+        int minY = world.getMinHeight();
+        int maxY = world.getMaxHeight();
+
+        newUnregisteredTask(() -> {
+            long start = System.nanoTime();
+            Map<Extent, SpawnPositions> result = new IdentityHashMap<>();
+            for (Extent extent : extents) {
+                result.put(extent, scan(extent, snapshots, minY, maxY));
+            }
+            getLogger().fine("Found safe spawn positions in %d extent(s) in %dms", result.size(), (System.nanoTime() - start) / 1_000_000);
+            newUnregisteredTask(() -> {
+                if (getState() != ComponentState.UNLOADED) {
+                    this.safePositions = result;
+                    updateChangedBlocks(); // Catch up with anything that changed while scanning.
+                }
+            }).build();
+        }).async().build();
+    }
+
+    private static SpawnPositions scan(Extent extent, Map<Long, ChunkSnapshot> snapshots, int minY, int maxY) {
+        BlockKeySet candidates = new BlockKeySet();
+        extent.forEachBlock(candidates::add);
+        return SpawnPositions.scan(candidates, (x, y, z) -> {
+            ChunkSnapshot snapshot = snapshots.get(BlockKeys.chunkKey(x >> 4, z >> 4));
+            return snapshot == null || y < minY || y >= maxY ? null : snapshot.getBlockType(x & 15, y, z & 15);
+        });
+    }
+
+    private BlockTypes worldBlockTypes() {
+        World world = getWorld();
+        int minY = world.getMinHeight();
+        int maxY = world.getMaxHeight();
+        return (x, y, z) -> y < minY || y >= maxY ? null : world.getBlockAt(x, y, z).getType();
+    }
+
+    private static int floor(double value) {
+        return (int) Math.floor(value);
+    }
+
+    @Tick
+    public void updateChangedBlocks() {
+        if (safePositions == null) {
+            return;
+        }
+        BlockTypes types = worldBlockTypes();
+        if (!changedBlocks.isEmpty()) {
+            changedBlocks.drain(key -> {
+                int x = BlockKeys.x(key), y = BlockKeys.y(key), z = BlockKeys.z(key);
+                for (SpawnPositions positions : safePositions.values()) {
+                    positions.blockChanged(x, y, z, types);
+                }
+            });
+        }
+        // Positions removed when picked changed without an event, so no event will tell when they change back either.
+        for (SpawnPositions positions : safePositions.values()) {
+            positions.recheck(types);
+        }
+    }
+
+    private void blockChanged(Block block) {
+        if (changedBlocks.isWatching() && block.getWorld().equals(getWorld())) {
+            changedBlocks.add(block.getX(), block.getY(), block.getZ());
+        }
+    }
+
+    private void blocksChanged(Collection<Block> blocks) {
+        blocks.forEach(this::blockChanged);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockPlace(BlockPlaceEvent event) {
+        blockChanged(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockBreak(BlockBreakEvent event) {
+        blockChanged(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockBurn(BlockBurnEvent event) {
+        blockChanged(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockFade(BlockFadeEvent event) {
+        blockChanged(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockForm(BlockFormEvent event) {
+        blockChanged(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockFromTo(BlockFromToEvent event) {
+        blockChanged(event.getToBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onEntityChangeBlock(EntityChangeBlockEvent event) {
+        blockChanged(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockExplode(BlockExplodeEvent event) {
+        blocksChanged(event.blockList());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onEntityExplode(EntityExplodeEvent event) {
+        blocksChanged(event.blockList());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockPistonExtend(BlockPistonExtendEvent event) {
+        blockChanged(event.getBlock().getRelative(event.getDirection()));
+        for (Block block : event.getBlocks()) {
+            blockChanged(block);
+            blockChanged(block.getRelative(event.getDirection()));
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockPistonRetract(BlockPistonRetractEvent event) {
+        for (Block block : event.getBlocks()) {
+            blockChanged(block);
+            blockChanged(block.getRelative(event.getDirection()));
+        }
+    }
+
     public static final class SpawnsData implements ModuleData {
 
         public static final String DEFAULT_SPAWN = "default-spawn";
@@ -221,6 +490,8 @@ public class SpawnsModule extends WorldModule {
         private Spawn spawnOnStart;
         @Name("handle-late-join-spawn")
         public boolean handleLateJoinSpawn = true;
+        @Name("start-spawns-per-tick")
+        public int startSpawnsPerTick = 10;
 
         @Override
         public Module parse(ModuleManager moduleManager, SerializedModule serialized) throws ModuleParseException {
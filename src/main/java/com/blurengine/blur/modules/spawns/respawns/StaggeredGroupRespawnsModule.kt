@@ -16,6 +16,7 @@
 
 package com.blurengine.blur.modules.spawns.respawns
 
+import com.blurengine.blur.components.shared.ExtentTracker
 import com.blurengine.blur.events.players.BlurPlayerDeathEvent
 import com.blurengine.blur.events.players.BlurPlayerRespawnEvent
 import com.blurengine.blur.events.players.PlayerLeaveSessionEvent
@@ -28,12 +29,14 @@ import com.blurengine.blur.framework.WorldModule
 import com.blurengine.blur.framework.ticking.Tick
 import com.blurengine.blur.modules.extents.DirectionalExtent
 import com.blurengine.blur.modules.extents.Extent
+import com.blurengine.blur.modules.extents.ExtentExitEvent
 import com.blurengine.blur.modules.extents.UnionExtent
 import com.blurengine.blur.modules.spawns.SpawnsModule
 import com.blurengine.blur.modules.spawns.respawns.StaggeredGroupRespawnsModule.StaggeredGroupRespawnsData
 import com.blurengine.blur.modules.teams.BlurTeam
 import com.blurengine.blur.session.BlurPlayer
 import com.blurengine.blur.utils.getModule
+import com.blurengine.blur.utils.getSharedComponent
 import com.blurengine.blur.utils.getTeam
 import com.google.common.collect.HashMultimap
 import com.supaham.commons.utils.CollectionUtils
@@ -55,6 +58,10 @@ class StaggeredGroupRespawnsModule(moduleManager: ModuleManager, val data: Stagg
     val theDead = WeakHashMap<BlurPlayer, Long>()
     private val spawnerBossBar by lazy { SpawnerBossBar() }
 
+    init {
+        data.deathbox?.let { deathbox -> session.getSharedComponent { ExtentTracker(session) }.track(deathbox) }
+    }
+
     override fun load() {
         super.load()
         // Disable SpawnsModule join handling.
@@ -110,6 +117,14 @@ class StaggeredGroupRespawnsModule(moduleManager: ModuleManager, val data: Stagg
         spawnerBossBar.remove(blurPlayer)
     }
 
+    @EventHandler
+    fun onExtentExit(event: ExtentExitEvent) {
+        // Keep dead players inside of the deathbox.
+        if (event.extent === data.deathbox && event.blurPlayer in theDead && isSession(event)) {
+            sendToDeathbox(event.blurPlayer, false)
+        }
+    }
+
     @EventHandler
     fun onPlayerLeaveSession(event: PlayerLeaveSessionEvent) {
         if (isSession(event.session)) {
@@ -127,6 +142,7 @@ class StaggeredGroupRespawnsModule(moduleManager: ModuleManager, val data: Stagg
 
         // Remove invalid/offline players
         for (blurPlayer in theDead.keys.toMutableSet()) {
+            // Exits are handled as they happen, this catches dead players who were never inside of the deathbox to begin with.
             if (data.deathbox?.contains(blurPlayer) == false) {
                 sendToDeathbox(blurPlayer, false)
             }
@@ -24,6 +24,7 @@ import com.blurengine.blur.modules.extents.Extent;
 import com.blurengine.blur.modules.extents.ExtentNotFoundException;
 import com.blurengine.blur.modules.filters.Filter;
 import com.blurengine.blur.modules.filters.Filters;
+import com.blurengine.blur.modules.filters.SubjectKind;
 import com.blurengine.blur.modules.spawns.Spawn;
 
 import java.util.List;
@@ -70,6 +71,8 @@ public class SpawnSerializer implements BlurSerializer<Spawn> {
         SpawnData destination = new SpawnData(extent);
         if (map.containsKey("filter")) {
             destination.filter = this.moduleLoader.getFilterSerializer().deserialize(map.get("filter"), Filter.class);
+            Preconditions.checkArgument(Filters.canMatch(destination.filter, SubjectKind.PLAYER, SubjectKind.ENTITY),
+                "Spawn filter '%s' can never match a player or entity.", map.get("filter"));
         }
         moduleLoader.deserializeTo(map, destination);
         return destination.toSpawn();
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2026 Ali Moghnieh
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blurengine.blur.modules.teams;
+
+import com.google.common.base.Preconditions;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.ToIntFunction;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Splits a batch of members across groups so that group sizes end up as even as possible. Each member goes to the group that is currently the
+ * smallest, ties going to the earliest group, which is what assigning the members one at a time through
+ * {@link RoundRobinBalancedTeamAssignmentStrategy} would produce, without rescanning every group per member.
+ */
+public final class BalancedPartition {
+
+    private BalancedPartition() {}
+
+    /**
+     * Partitions {@code members} across {@code groups}.
+     *
+     * @param groups groups to fill, in tie-breaking order
+     * @param sizes function returning the current size of a group
+     * @param members members to distribute, in assignment order
+     * @param <G> group type
+     * @param <M> member type
+     *
+     * @return map of every group, in the given order, to the members assigned to it
+     */
+    @Nonnull
+    public static <G, M> Map<G, List<M>> partition(@Nonnull List<G> groups, @Nonnull ToIntFunction<? super G> sizes,
+                                                   @Nonnull Collection<M> members) {
+        Preconditions.checkNotNull(groups, "groups cannot be null.");
+        Preconditions.checkNotNull(sizes, "sizes cannot be null.");
+        Preconditions.checkNotNull(members, "members cannot be null.");
+        Preconditions.checkArgument(!groups.isEmpty() || members.isEmpty(), "groups cannot be empty when there are members.");
+
+        Map<G, List<M>> result = new LinkedHashMap<>();
+        // Each slot is {size, group index}, ordered by size then by index for stable tie-breaking.
+        PriorityQueue<int[]> smallest = new PriorityQueue<>(Math.max(1, groups.size()),
+            (a, b) -> a[0] != b[0] ? Integer.compare(a[0], b[0]) : Integer.compare(a[1], b[1]));
+        for (int i = 0; i < groups.size(); i++) {
+            G group = groups.get(i);
+            result.put(group, new ArrayList<>());
+            smallest.add(new int[]{sizes.applyAsInt(group), i});
+        }
+        for (M member : members) {
+            int[] slot = smallest.poll();
+            result.get(groups.get(slot[1])).add(member);
+            slot[0]++;
+            smallest.add(slot);
+        }
+        return result;
+    }
+}
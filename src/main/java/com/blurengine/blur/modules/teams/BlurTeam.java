@@ -21,6 +21,7 @@ import com.google.common.base.Preconditions;
 
 import com.blurengine.blur.framework.metadata.MetadataHolder;
 import com.blurengine.blur.modules.filters.Filter;
+import com.blurengine.blur.modules.filters.SubjectKind;
 import com.blurengine.blur.modules.teams.events.TeamRenameEvent;
 import com.blurengine.blur.session.BlurPlayer;
 import com.supaham.commons.utils.StringUtils;
@@ -36,7 +37,6 @@ import org.bukkit.scoreboard.Team.Option;
 import pluginbase.config.annotation.SerializeWith;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -46,6 +46,8 @@ import javax.annotation.Nullable;
  */
 public class BlurTeam implements Comparable<BlurTeam>, Filter, MetadataHolder {
 
+    private static final Set<SubjectKind> SUBJECT_KINDS = SubjectKind.setOf(SubjectKind.BLUR_PLAYER, SubjectKind.PLAYER, SubjectKind.OTHER);
+
     private final String id;
     private String name;
     private final net.md_5.bungee.api.ChatColor chatColor;
@@ -60,6 +62,7 @@ public class BlurTeam implements Comparable<BlurTeam>, Filter, MetadataHolder {
 
     private final transient TeamManager manager;
     final transient Set<BlurPlayer> players = new HashSet<>();
+    private final transient List<TeamScoreboardSync> scoreboardSyncs = new ArrayList<>();
 
     public static Builder builder() {
         return new Builder();
@@ -110,40 +113,103 @@ public class BlurTeam implements Comparable<BlurTeam>, Filter, MetadataHolder {
 
     @Override
     public FilterResponse test(Object object) {
-        if (object instanceof BlurTeam) {
-            return FilterResponse.from(this.equals(object));
-        } else if (object instanceof BlurPlayer) {
-            return FilterResponse.from(this.players.contains(object));
-        } else if (object instanceof Player) {
-            return FilterResponse.from(this.players.contains(manager.getPlayer((Player) object)));
+        return test(object, SubjectKind.of(object));
+    }
+
+    @Override
+    public FilterResponse test(Object object, SubjectKind kind) {
+        switch (kind) {
+            case BLUR_PLAYER:
+                return FilterResponse.from(this.players.contains(object));
+            case PLAYER:
+                return FilterResponse.from(this.players.contains(manager.getPlayer((Player) object)));
+            case OTHER:
+                return object instanceof BlurTeam ? FilterResponse.from(this.equals(object)) : FilterResponse.ABSTAIN;
+            default:
+                return FilterResponse.ABSTAIN;
         }
-        return FilterResponse.ABSTAIN;
     }
 
+    @Override
+    public Set<SubjectKind> getSubjectKinds() {
+        return SUBJECT_KINDS;
+    }
+
+    /**
+     * Brings the given scoreboard team up to date with this team immediately. Prefer {@link #addScoreboardTeam(Team)}, which only sends what
+     * changed and does so once per tick.
+     *
+     * @param team scoreboard team to update
+     * @param updatePlayers whether to update the team's entries to this team's players
+     */
     public void updateTeamFields(@Nonnull Team team, boolean updatePlayers) {
-        if (!team.getDisplayName().equals(getName())) {
-            team.setDisplayName(getName());
-        }
-        if (!team.getPrefix().equals(getChatPrefixLegacy())) {
-            team.setPrefix(getChatPrefixLegacy());
+        newScoreboardSync(team, updatePlayers).flush();
+    }
+
+    /**
+     * Keeps the given scoreboard team in sync with this team, including its entries. Changes are buffered and sent by the {@link TeamManager}
+     * at most once per tick.
+     *
+     * @param team scoreboard team to keep in sync
+     *
+     * @return the sync for the scoreboard team
+     */
+    @Nonnull
+    public TeamScoreboardSync addScoreboardTeam(@Nonnull Team team) {
+        Preconditions.checkNotNull(team, "team cannot be null.");
+        for (TeamScoreboardSync sync : scoreboardSyncs) {
+            if (sync.getTeam().equals(team)) {
+                return sync;
+            }
         }
-        if (!team.getOption(Option.NAME_TAG_VISIBILITY).equals(getNametagVisibility().getBukkit())) {
-            team.setOption(Option.NAME_TAG_VISIBILITY, getNametagVisibility().getBukkit());
+        TeamScoreboardSync sync = newScoreboardSync(team, true);
+        scoreboardSyncs.add(sync);
+        return sync;
+    }
+
+    public boolean removeScoreboardTeam(@Nonnull Team team) {
+        Preconditions.checkNotNull(team, "team cannot be null.");
+        return scoreboardSyncs.removeIf(sync -> sync.getTeam().equals(team));
+    }
+
+    /**
+     * Sends all buffered changes to this team's scoreboard teams.
+     *
+     * @return the number of scoreboard operations issued
+     */
+    public int flushScoreboardTeams() {
+        int operations = 0;
+        for (TeamScoreboardSync sync : scoreboardSyncs) {
+            operations += sync.flush();
         }
-        if (!team.getOption(Option.DEATH_MESSAGE_VISIBILITY).equals(getDeathMessageVisibility().getBukkit())) {
-            team.setOption(Option.DEATH_MESSAGE_VISIBILITY, getDeathMessageVisibility().getBukkit());
+        return operations;
+    }
+
+    private TeamScoreboardSync newScoreboardSync(Team team, boolean syncEntries) {
+        TeamScoreboardSync sync = new TeamScoreboardSync(team, syncEntries);
+        sync.setDisplayName(getName());
+        sync.setPrefix(getChatPrefixLegacy());
+        sync.setColor(ChatColor.valueOf(getChatColor().getName().toUpperCase()));
+        sync.setOption(Option.NAME_TAG_VISIBILITY, getNametagVisibility().getBukkit());
+        sync.setOption(Option.DEATH_MESSAGE_VISIBILITY, getDeathMessageVisibility().getBukkit());
+        sync.setOption(Option.COLLISION_RULE, getCollisionRule().getBukkit());
+        for (BlurPlayer blurPlayer : players) {
+            sync.addEntry(blurPlayer.getName());
         }
-        if (!team.getOption(Option.COLLISION_RULE).equals(getCollisionRule().getBukkit())) {
-            team.setOption(Option.COLLISION_RULE, getCollisionRule().getBukkit());
+        return sync;
+    }
+
+    void onPlayerAdded(BlurPlayer blurPlayer) {
+        players.add(blurPlayer);
+        for (TeamScoreboardSync sync : scoreboardSyncs) {
+            sync.addEntry(blurPlayer.getName());
         }
-        team.setColor(ChatColor.valueOf(getChatColor().getName().toUpperCase()));
-        if (updatePlayers) {
-            Set<String> oldEntries = players.stream().map(BlurPlayer::getName).collect(Collectors.toSet());
-            oldEntries.removeAll(team.getEntries());
-            oldEntries.forEach(team::removeEntry);
-            for (BlurPlayer blurPlayer : players) {
-                team.addEntry(blurPlayer.getName());
-            }
+    }
+
+    void onPlayerRemoved(BlurPlayer blurPlayer) {
+        players.remove(blurPlayer);
+        for (TeamScoreboardSync sync : scoreboardSyncs) {
+            sync.removeEntry(blurPlayer.getName());
         }
     }
 
@@ -183,6 +249,9 @@ public class BlurTeam implements Comparable<BlurTeam>, Filter, MetadataHolder {
             return;
         }
         this.name = name;
+        for (TeamScoreboardSync sync : scoreboardSyncs) {
+            sync.setDisplayName(getName());
+        }
         getManager().getSession().callEvent(new TeamRenameEvent(this, oldName, name));
     }
 
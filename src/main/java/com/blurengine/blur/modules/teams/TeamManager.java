@@ -23,6 +23,7 @@ import com.blurengine.blur.framework.SharedComponent;
 import com.blurengine.blur.session.RootBlurSession;
 import com.blurengine.blur.events.players.PlayerJoinSessionEvent;
 import com.blurengine.blur.events.players.PlayerLeaveSessionEvent;
+import com.blurengine.blur.events.players.PlayersJoinSessionEvent;
 import com.blurengine.blur.framework.Component;
 import com.blurengine.blur.framework.InternalModule;
 import com.blurengine.blur.framework.Module;
@@ -32,6 +33,7 @@ import com.blurengine.blur.framework.ModuleManager;
 import com.blurengine.blur.framework.metadata.BasicMetadataStorage;
 import com.blurengine.blur.framework.metadata.MetadataStorage;
 import com.blurengine.blur.framework.metadata.teamdata.TeamData;
+import com.blurengine.blur.framework.ticking.Tick;
 import com.blurengine.blur.modules.teams.events.PlayerChangeTeamEvent;
 import com.blurengine.blur.session.BlurPlayer;
 import com.blurengine.blur.session.BlurSession;
@@ -147,15 +149,16 @@ public class TeamManager extends Module implements SupervisorContext {
             return false;
         }
         if (oldTeam != null) {
-            oldTeam.players.remove(blurPlayer);
+            oldTeam.onPlayerRemoved(blurPlayer);
         }
         blurTeam = event.getNewTeam().orElse(null);
         if (blurTeam != null) {
             this.playerTeams.put(blurPlayer, blurTeam);
-            blurTeam.players.add(blurPlayer);
+            blurTeam.onPlayerAdded(blurPlayer);
         } else {
             this.playerTeams.remove(blurPlayer);
         }
+        getSession().getAliveTracker().setTeam(blurPlayer, blurTeam);
         return true;
     }
 
@@ -190,31 +193,78 @@ public class TeamManager extends Module implements SupervisorContext {
         return assignmentStrategies;
     }
 
+    /**
+     * Sends the scoreboard changes buffered by every team this tick, see {@link BlurTeam#addScoreboardTeam(org.bukkit.scoreboard.Team)}.
+     */
+    @Tick
+    public void flushScoreboardTeams() {
+        for (BlurTeam team : this.teams.values()) {
+            team.flushScoreboardTeams();
+        }
+        if (this.spectatorTeam != null) {
+            this.spectatorTeam.flushScoreboardTeams();
+        }
+    }
+
     @EventHandler
-    public void onPlayerJoinSession(PlayerJoinSessionEvent event) {
-        // TODO make initial team setting optional. E.g. if they game has already started, set them to spectators only.
+    public void onPlayersJoinSession(PlayersJoinSessionEvent event) {
         if (isSession(event.getSession()) && !(getSession() instanceof RootBlurSession)) {
-            BlurTeam foundTeam = null;
-            StrategyPriority foundPriority = null;
-            for (TeamAssignmentStrategy assignmentStrategy : assignmentStrategies.keySet()) {
-                BlurTeam team = assignmentStrategy.getTeam(event.getBlurPlayer());
-                if (team != null && (foundPriority == null || assignmentStrategies.get(assignmentStrategy).getSlot() < foundPriority.getSlot())) {
-                    foundTeam = team;
-                    foundPriority = assignmentStrategies.get(assignmentStrategy);
+            List<BlurTeam> teams = new ArrayList<>(getTeams());
+            if (teams.isEmpty()) {
+                return; // Leave the players to onPlayerJoinSession.
+            }
+            List<BlurPlayer> unassigned = new ArrayList<>();
+            for (BlurPlayer blurPlayer : event.getBlurPlayers()) {
+                BlurTeam team = getStrategyTeam(blurPlayer);
+                if (team != null) {
+                    addToTeam(blurPlayer, team);
+                } else {
+                    unassigned.add(blurPlayer);
                 }
             }
 
+            // Spread the remaining players across the teams in one pass rather than asking the fallback strategy for each player.
+            BalancedPartition.partition(teams, BlurTeam::getPlayerCount, unassigned)
+                .forEach((team, players) -> players.forEach(p -> addToTeam(p, team)));
+        }
+    }
+
+    @EventHandler
+    public void onPlayerJoinSession(PlayerJoinSessionEvent event) {
+        // TODO make initial team setting optional. E.g. if they game has already started, set them to spectators only.
+        if (isSession(event.getSession()) && !(getSession() instanceof RootBlurSession)) {
+            // Already assigned by onPlayersJoinSession when joining as part of a batch.
+            if (!event.isRejoin() && this.playerTeams.containsKey(event.getBlurPlayer())) {
+                return;
+            }
+            BlurTeam foundTeam = getStrategyTeam(event.getBlurPlayer());
             if (foundTeam == null) {
-                if (this.assignmentStrategies.size() > 0) {
-                    getLogger().finer("Failed to find player from assignmentStrategies");
-                }
                 foundTeam = fallbackAssignmentStrategy.getTeam(event.getBlurPlayer());
             }
+            addToTeam(event.getBlurPlayer(), foundTeam);
+        }
+    }
 
-            getLogger().fine("Adding %s to team %s with size %s", event.getBlurPlayer().getDisplayName(),foundTeam.getId(),
-                foundTeam.getPlayerCount());
-            foundTeam.addPlayer(event.getBlurPlayer());
+    @Nullable
+    private BlurTeam getStrategyTeam(BlurPlayer blurPlayer) {
+        BlurTeam foundTeam = null;
+        StrategyPriority foundPriority = null;
+        for (TeamAssignmentStrategy assignmentStrategy : assignmentStrategies.keySet()) {
+            BlurTeam team = assignmentStrategy.getTeam(blurPlayer);
+            if (team != null && (foundPriority == null || assignmentStrategies.get(assignmentStrategy).getSlot() < foundPriority.getSlot())) {
+                foundTeam = team;
+                foundPriority = assignmentStrategies.get(assignmentStrategy);
+            }
+        }
+        if (foundTeam == null && this.assignmentStrategies.size() > 0) {
+            getLogger().finer("Failed to find player from assignmentStrategies");
         }
+        return foundTeam;
+    }
+
+    private void addToTeam(BlurPlayer blurPlayer, BlurTeam team) {
+        getLogger().fine("Adding %s to team %s with size %s", blurPlayer.getDisplayName(), team.getId(), team.getPlayerCount());
+        team.addPlayer(blurPlayer);
     }
 
     @EventHandler
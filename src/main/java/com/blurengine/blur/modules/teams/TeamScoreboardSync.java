@@ -0,0 +1,215 @@
+/*
+ * Copyright 2026 Ali Moghnieh
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blurengine.blur.modules.teams;
+
+import com.google.common.base.Preconditions;
+
+import org.bukkit.ChatColor;
+import org.bukkit.scoreboard.Team;
+import org.bukkit.scoreboard.Team.Option;
+import org.bukkit.scoreboard.Team.OptionStatus;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Buffers the state of a {@link BlurTeam} for a Bukkit scoreboard {@link Team}. Every scoreboard mutation is sent to all viewers of the
+ * scoreboard, so changes are recorded as dirty flags and entry deltas and only applied on {@link #flush()}, which issues the smallest set of
+ * scoreboard operations that brings the team up to date. An entry added and removed between two flushes costs nothing.
+ * <p />
+ * The first flush reconciles against the scoreboard team's current state, as it may have been created or modified elsewhere.
+ */
+public final class TeamScoreboardSync {
+
+    private enum Field {
+        DISPLAY_NAME, PREFIX, COLOR
+    }
+
+    private final Team team;
+    private final boolean syncEntries;
+
+    private String displayName;
+    private String prefix;
+    private ChatColor color;
+    private final Map<Option, OptionStatus> options = new EnumMap<>(Option.class);
+    private final Set<String> entries = new HashSet<>();
+
+    private boolean reconcile = true;
+    private final EnumSet<Field> dirtyFields = EnumSet.noneOf(Field.class);
+    private final EnumSet<Option> dirtyOptions = EnumSet.noneOf(Option.class);
+    private final Set<String> addedEntries = new LinkedHashSet<>();
+    private final Set<String> removedEntries = new LinkedHashSet<>();
+
+    /**
+     * Creates a sync for the given scoreboard team.
+     *
+     * @param team scoreboard team to update
+     * @param syncEntries whether this sync manages the team's entries, if false entries are left untouched
+     */
+    public TeamScoreboardSync(@Nonnull Team team, boolean syncEntries) {
+        this.team = Preconditions.checkNotNull(team, "team cannot be null.");
+        this.syncEntries = syncEntries;
+    }
+
+    @Nonnull
+    public Team getTeam() {
+        return team;
+    }
+
+    public void setDisplayName(@Nonnull String displayName) {
+        if (!Objects.equals(this.displayName, displayName)) {
+            this.displayName = displayName;
+            this.dirtyFields.add(Field.DISPLAY_NAME);
+        }
+    }
+
+    public void setPrefix(@Nonnull String prefix) {
+        if (!Objects.equals(this.prefix, prefix)) {
+            this.prefix = prefix;
+            this.dirtyFields.add(Field.PREFIX);
+        }
+    }
+
+    public void setColor(@Nonnull ChatColor color) {
+        if (this.color != color) {
+            this.color = color;
+            this.dirtyFields.add(Field.COLOR);
+        }
+    }
+
+    public void setOption(@Nonnull Option option, @Nonnull OptionStatus status) {
+        if (this.options.put(option, status) != status) {
+            this.dirtyOptions.add(option);
+        }
+    }
+
+    public void addEntry(@Nonnull String entry) {
+        if (this.syncEntries && this.entries.add(entry) && !this.removedEntries.remove(entry)) {
+            this.addedEntries.add(entry);
+        }
+    }
+
+    public void removeEntry(@Nonnull String entry) {
+        if (this.syncEntries && this.entries.remove(entry) && !this.addedEntries.remove(entry)) {
+            this.removedEntries.add(entry);
+        }
+    }
+
+    public boolean isDirty() {
+        return reconcile || !dirtyFields.isEmpty() || !dirtyOptions.isEmpty() || !addedEntries.isEmpty() || !removedEntries.isEmpty();
+    }
+
+    /**
+     * Applies all changes recorded since the last flush to the scoreboard team.
+     *
+     * @return the number of scoreboard operations issued
+     */
+    public int flush() {
+        if (!isDirty()) {
+            return 0;
+        }
+        int operations = reconcile ? reconcile() : applyChanges();
+        this.reconcile = false;
+        this.dirtyFields.clear();
+        this.dirtyOptions.clear();
+        this.addedEntries.clear();
+        this.removedEntries.clear();
+        return operations;
+    }
+
+    private int applyChanges() {
+        int operations = 0;
+        for (Field field : dirtyFields) {
+            applyField(field);
+            operations++;
+        }
+        for (Option option : dirtyOptions) {
+            team.setOption(option, options.get(option));
+            operations++;
+        }
+        // Removals first so a name moving between teams never shows up in both.
+        for (String entry : removedEntries) {
+            team.removeEntry(entry);
+            operations++;
+        }
+        for (String entry : addedEntries) {
+            team.addEntry(entry);
+            operations++;
+        }
+        return operations;
+    }
+
+    private int reconcile() {
+        int operations = 0;
+        if (displayName != null && !displayName.equals(team.getDisplayName())) {
+            applyField(Field.DISPLAY_NAME);
+            operations++;
+        }
+        if (prefix != null && !prefix.equals(team.getPrefix())) {
+            applyField(Field.PREFIX);
+            operations++;
+        }
+        if (color != null && color != team.getColor()) {
+            applyField(Field.COLOR);
+            operations++;
+        }
+        for (Map.Entry<Option, OptionStatus> entry : options.entrySet()) {
+            if (team.getOption(entry.getKey()) != entry.getValue()) {
+                team.setOption(entry.getKey(), entry.getValue());
+                operations++;
+            }
+        }
+        if (syncEntries) {
+            Set<String> current = team.getEntries();
+            for (String entry : new ArrayList<>(current)) {
+                if (!entries.contains(entry)) {
+                    team.removeEntry(entry);
+                    operations++;
+                }
+            }
+            for (String entry : entries) {
+                if (!current.contains(entry)) {
+                    team.addEntry(entry);
+                    operations++;
+                }
+            }
+        }
+        return operations;
+    }
+
+    private void applyField(Field field) {
+        switch (field) {
+            case DISPLAY_NAME:
+                team.setDisplayName(displayName);
+                break;
+            case PREFIX:
+                team.setPrefix(prefix);
+                break;
+            case COLOR:
+                team.setColor(color);
+                break;
+        }
+    }
+}
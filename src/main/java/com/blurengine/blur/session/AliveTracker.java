@@ -0,0 +1,170 @@
+/*
+ * Copyright 2026 Ali Moghnieh
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blurengine.blur.session;
+
+import com.google.common.base.Preconditions;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Represents a live view of which players are alive and how many alive players each team has. The view is updated as players die, respawn,
+ * change team and leave, rather than being computed by filtering every player, so that questions such as "is there one player or team left?" are
+ * answered in constant time.
+ * <p />
+ * Players without a team are counted under the {@code null} team.
+ * <p />
+ * A player in a child session is alive or dead according to the child session, which does not update this tracker. Such players are marked
+ * {@link #setAway(Object, boolean) away}, and while any player is away the views of this tracker may be stale.
+ *
+ * @param <P> player type
+ * @param <T> team type
+ * @see BlurSession#getAliveTracker()
+ */
+public final class AliveTracker<P, T> {
+
+    private final Set<P> alivePlayers = new LinkedHashSet<>();
+    private final Set<P> alivePlayersView = Collections.unmodifiableSet(alivePlayers);
+    private final Map<P, T> playerTeams = new HashMap<>();
+    private final Map<T, Integer> aliveCounts = new HashMap<>();
+    private final Set<T> aliveTeams = new LinkedHashSet<>();
+    private final Set<T> aliveTeamsView = Collections.unmodifiableSet(aliveTeams);
+    private final Set<P> awayPlayers = new HashSet<>();
+
+    /**
+     * Sets whether a player is alive.
+     *
+     * @param player player
+     * @param alive whether the player is alive
+     */
+    public void setAlive(@Nonnull P player, boolean alive) {
+        Preconditions.checkNotNull(player, "player cannot be null.");
+        if (alive ? alivePlayers.add(player) : alivePlayers.remove(player)) {
+            count(playerTeams.get(player), alive ? 1 : -1);
+        }
+    }
+
+    /**
+     * Sets a player's team. If the player is alive, the alive count moves from their previous team to the new one.
+     *
+     * @param player player
+     * @param team new team, nullable
+     */
+    public void setTeam(@Nonnull P player, @Nullable T team) {
+        Preconditions.checkNotNull(player, "player cannot be null.");
+        T oldTeam = team == null ? playerTeams.remove(player) : playerTeams.put(player, team);
+        if (alivePlayers.contains(player) && !Objects.equals(oldTeam, team)) {
+            count(oldTeam, -1);
+            count(team, 1);
+        }
+    }
+
+    /**
+     * Forgets a player, as when they leave the session.
+     *
+     * @param player player
+     */
+    public void remove(@Nonnull P player) {
+        setAlive(player, false);
+        playerTeams.remove(player);
+        awayPlayers.remove(player);
+    }
+
+    /**
+     * Sets whether a player is away, in a session whose alive state this tracker is not told about.
+     *
+     * @param player player
+     * @param away whether the player is away
+     */
+    public void setAway(@Nonnull P player, boolean away) {
+        Preconditions.checkNotNull(player, "player cannot be null.");
+        if (away) {
+            awayPlayers.add(player);
+        } else {
+            awayPlayers.remove(player);
+        }
+    }
+
+    /**
+     * Returns whether any player is {@link #setAway(Object, boolean) away}, in which case the views of this tracker may be stale and alive
+     * players have to be found by testing each player instead.
+     *
+     * @return whether any player is away
+     */
+    public boolean hasAwayPlayers() {
+        return !awayPlayers.isEmpty();
+    }
+
+    public boolean isAlive(@Nonnull P player) {
+        return alivePlayers.contains(player);
+    }
+
+    /**
+     * Returns a live, unmodifiable view of the alive players in the order they came alive.
+     *
+     * @return alive players
+     */
+    @Nonnull
+    public Set<P> getAlivePlayers() {
+        return alivePlayersView;
+    }
+
+    public int getAliveCount() {
+        return alivePlayers.size();
+    }
+
+    /**
+     * Returns the number of alive players in a team.
+     *
+     * @param team team, or null for players without a team
+     *
+     * @return alive player count
+     */
+    public int getAliveCount(@Nullable T team) {
+        return aliveCounts.getOrDefault(team, 0);
+    }
+
+    /**
+     * Returns a live, unmodifiable view of the teams with at least one alive player. If alive players without a team exist, this includes
+     * {@code null}.
+     *
+     * @return teams with alive players
+     */
+    @Nonnull
+    public Set<T> getAliveTeams() {
+        return aliveTeamsView;
+    }
+
+    private void count(T team, int delta) {
+        int count = aliveCounts.getOrDefault(team, 0) + delta;
+        if (count > 0) {
+            aliveCounts.put(team, count);
+            aliveTeams.add(team);
+        } else {
+            aliveCounts.remove(team);
+            aliveTeams.remove(team);
+        }
+    }
+}
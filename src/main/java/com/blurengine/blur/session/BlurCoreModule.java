@@ -28,6 +28,7 @@ import com.blurengine.blur.inventory.InventoryLayout;
 import java.time.Instant;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 @ModuleInfo(name = "BlurCore")
 @InternalModule
@@ -35,12 +36,13 @@ public class BlurCoreModule extends Module {
 
     public BlurCoreModule(ModuleManager moduleManager) {
         super(moduleManager);
-        getPlayerMetadataCreator().registerClass(BlurPlayerCoreData.class);
+        getPlayerMetadataCreator().registerClass(BlurPlayerCoreData.class, blurPlayer -> new BlurPlayerCoreData(blurPlayer, getSession()));
     }
 
     public static final class BlurPlayerCoreData implements PlayerData {
 
         private final BlurPlayer blurPlayer;
+        private final BlurSession session;
         private boolean alive;
         private InventoryLayout inventoryLayout;
         private int kills;
@@ -48,8 +50,17 @@ public class BlurCoreModule extends Module {
         private final Instant sessionJoinTime;
 
         public BlurPlayerCoreData(@Nonnull BlurPlayer blurPlayer) {
+            this(blurPlayer, null);
+        }
+
+        /**
+         * @param blurPlayer player this data belongs to
+         * @param session session whose {@link AliveTracker} is kept up to date with {@link #setAlive(boolean)}, nullable
+         */
+        public BlurPlayerCoreData(@Nonnull BlurPlayer blurPlayer, @Nullable BlurSession session) {
             Preconditions.checkNotNull(blurPlayer, "blurPlayer cannot be null.");
             this.blurPlayer = blurPlayer;
+            this.session = session;
             this.inventoryLayout = new InventoryLayout(blurPlayer.getPlayer().getInventory());
 
             // Assumes this class is created as soon as the player joins the session. Can be placed better.
@@ -62,6 +73,9 @@ public class BlurCoreModule extends Module {
 
         public void setAlive(boolean alive) {
             this.alive = alive;
+            if (session != null) {
+                session.getAliveTracker().setAlive(blurPlayer, alive);
+            }
         }
 
         public InventoryLayout getInventoryLayout() {
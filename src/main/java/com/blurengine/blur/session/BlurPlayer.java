@@ -25,6 +25,7 @@ import com.blurengine.blur.events.players.PlayerKilledEvent;
 import com.blurengine.blur.framework.metadata.MetadataHolder;
 import com.blurengine.blur.inventory.InventoryLayout;
 import com.blurengine.blur.modules.filters.Filter;
+import com.blurengine.blur.modules.filters.SubjectKind;
 import com.blurengine.blur.session.BlurCoreModule.BlurPlayerCoreData;
 import com.supaham.commons.bukkit.players.BukkitPlayerManager;
 import com.supaham.commons.bukkit.players.CommonPlayer;
@@ -39,6 +40,7 @@ import org.bukkit.event.Event;
 
 import java.time.Duration;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 import javax.annotation.Nonnull;
@@ -50,6 +52,8 @@ import javax.annotation.Nullable;
  */
 public class BlurPlayer extends CommonPlayer implements Filter, MetadataHolder {
 
+    private static final Set<SubjectKind> SUBJECT_KINDS = SubjectKind.setOf(SubjectKind.PLAYER, SubjectKind.UUID, SubjectKind.STRING);
+
     private final BukkitPlayerManager manager;
     BlurSession blurSession;
     private boolean quitting;
@@ -119,14 +123,31 @@ public class BlurPlayer extends CommonPlayer implements Filter, MetadataHolder {
 
     @Override
     public FilterResponse test(Object object) {
-        if (object instanceof Player) {
-            return FilterResponse.from(getPlayer() == object);
-        } else if (object instanceof UUID) {
-            return FilterResponse.from(getUuid().equals(object));
-        } else if (object instanceof String) {
-            return FilterResponse.from(getName().equals(object));
+        return test(object, SubjectKind.of(object));
+    }
+
+    @Override
+    public FilterResponse test(Object object, SubjectKind kind) {
+        switch (kind) {
+            case PLAYER:
+                return FilterResponse.from(getPlayer() == object);
+            case UUID:
+                return FilterResponse.from(getUuid().equals(object));
+            case STRING:
+                return FilterResponse.from(getName().equals(object));
+            default:
+                return FilterResponse.ABSTAIN;
         }
-        return FilterResponse.ABSTAIN;
+    }
+
+    @Override
+    public Set<SubjectKind> getSubjectKinds() {
+        return SUBJECT_KINDS;
+    }
+
+    @Override
+    public boolean isDeterministic() {
+        return true;
     }
 
     /**
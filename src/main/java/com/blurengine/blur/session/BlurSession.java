@@ -19,11 +19,13 @@ package com.blurengine.blur.session;
 import com.google.common.base.Preconditions;
 
 import com.blurengine.blur.Blur;
+import com.blurengine.blur.events.EventListeners;
 import com.blurengine.blur.events.players.PlayerJoinSessionEvent;
 import com.blurengine.blur.events.players.PlayerLeaveSessionEvent;
 import com.blurengine.blur.events.players.PlayerPostLeaveSessionEvent;
 import com.blurengine.blur.events.players.PlayerPreJoinSessionEvent;
 import com.blurengine.blur.events.players.PlayerSwitchSessionEvent;
+import com.blurengine.blur.events.players.PlayersJoinSessionEvent;
 import com.blurengine.blur.events.session.SessionEnableEvent;
 import com.blurengine.blur.events.session.SessionLoadEvent;
 import com.blurengine.blur.events.session.SessionPreLoadEvent;
@@ -36,8 +38,10 @@ import com.blurengine.blur.framework.ModuleManager;
 import com.blurengine.blur.framework.SharedComponent;
 import com.blurengine.blur.framework.metadata.BasicMetadataStorage;
 import com.blurengine.blur.framework.metadata.MetadataStorage;
+import com.blurengine.blur.framework.metadata.playerdata.PlayerAutoMetadataCreator;
 import com.blurengine.blur.framework.metadata.playerdata.PlayerData;
 import com.blurengine.blur.modules.stages.StageChangeData;
+import com.blurengine.blur.modules.teams.BlurTeam;
 import com.supaham.commons.CommonCollectors;
 import com.supaham.commons.bukkit.TickerTask;
 import com.supaham.commons.bukkit.utils.EventUtils;
@@ -58,12 +62,14 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -112,6 +118,7 @@ public abstract class BlurSession {
 
     private final Map<UUID, BlurPlayer> players = new HashMap<>();
     private final Map<BlurPlayer, Instant> removingPlayers = new HashMap<>();
+    private final AliveTracker<BlurPlayer, BlurTeam> aliveTracker = new AliveTracker<>();
     //    private final Table<BlurPlayer, Class, Object> customData = HashBasedTable.create();
     private final MetadataStorage<BlurPlayer> playerMetadata = new BasicMetadataStorage<>();
 
@@ -273,39 +280,85 @@ public abstract class BlurSession {
             }
             getLogger().finer("Adding %s to %s", blurPlayer.getName(), getName());
             this.players.put(blurPlayer.getUuid(), blurPlayer);
-            blurPlayer.blurSession = this;
+            setCurrentSession(blurPlayer);
 
             callEvent(new PlayerPreJoinSessionEvent(blurPlayer, this));
-            initializePlayerDataClasses(blurPlayer);
+            initializePlayerDataClasses(Collections.singletonList(blurPlayer));
             callEvent(new PlayerJoinSessionEvent(blurPlayer, this, false));
         }
     }
 
-    private void initializePlayerDataClasses(BlurPlayer blurPlayer) {
-        getLogger().fine("Initializing player data classes for %s", blurPlayer.getName());
+    /**
+     * Adds a batch of {@link BlurPlayer}s to this session, such as a lobby's players moving into a new game. Player metadata is initialised for
+     * the whole batch at once and a single {@link PlayersJoinSessionEvent} is fired before each player's {@link PlayerJoinSessionEvent}, letting
+     * listeners such as team assignment treat the batch as a whole.
+     *
+     * @param blurPlayers players to add, players already in this session are ignored
+     */
+    public void addPlayers(@Nonnull Collection<BlurPlayer> blurPlayers) {
+        Preconditions.checkNotNull(blurPlayers, "blurPlayers cannot be null.");
+        long start = System.nanoTime();
+        List<BlurPlayer> joining = new ArrayList<>(blurPlayers.size());
+        for (BlurPlayer blurPlayer : blurPlayers) {
+            Preconditions.checkNotNull(blurPlayer, "blurPlayers cannot contain null.");
+            if (this.players.containsKey(blurPlayer.getUuid())) {
+                continue;
+            }
+            if (blurPlayer.blurSession != null && !(blurPlayer.blurSession instanceof RootBlurSession)) {
+                PlayerSwitchSessionEvent switchEvent = callEvent(new PlayerSwitchSessionEvent(blurPlayer, this));
+                if (switchEvent.isCancelled()) {
+                    continue;
+                }
+                if (switchEvent.getNextSession() != null && switchEvent.getNextSession() != this) {
+                    switchEvent.getNextSession().addPlayer(blurPlayer);
+                    continue;
+                }
+            }
+            this.players.put(blurPlayer.getUuid(), blurPlayer);
+            setCurrentSession(blurPlayer);
+            callEvent(new PlayerPreJoinSessionEvent(blurPlayer, this));
+            joining.add(blurPlayer);
+        }
+        if (joining.isEmpty()) {
+            return;
+        }
+        getLogger().finer("Adding %d player(s) to %s", joining.size(), getName());
+
+        initializePlayerDataClasses(joining);
+        callEvent(new PlayersJoinSessionEvent(this, joining));
+        for (BlurPlayer blurPlayer : joining) {
+            callEvent(new PlayerJoinSessionEvent(blurPlayer, this, false));
+        }
+        getLogger().fine("Added %d player(s) to %s in %dms", joining.size(), getName(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void initializePlayerDataClasses(Collection<BlurPlayer> blurPlayers) {
+        getLogger().fine("Initializing player data classes for %d player(s)", blurPlayers.size());
+        // Walk the component tree once and initialise every player at each component rather than walking it again per player.
         for (Class<? extends Module> clazz : moduleManager.getModules().keySet()) {
             Module module = moduleManager.getModules().get(clazz).iterator().next();
-            initializeComponentPlayerDataClasses(module, blurPlayer);
+            initializeComponentPlayerDataClasses(module, blurPlayers);
         }
         for (SharedComponent component : sharedComponents.values()) {
-            initializeComponentPlayerDataClasses(component, blurPlayer);
+            initializeComponentPlayerDataClasses(component, blurPlayers);
         }
     }
 
-    private void initializeComponentPlayerDataClasses(Component component, BlurPlayer blurPlayer) {
-        List<Object> dataInstances = component.getPlayerMetadataCreator().initialize(blurPlayer);
-
-        // Initialise data instances
-        for (Object data : dataInstances) {
-            addPlayerData(component, blurPlayer, data);
+    private void initializeComponentPlayerDataClasses(Component component, Collection<BlurPlayer> blurPlayers) {
+        PlayerAutoMetadataCreator metadataCreator = component.getPlayerMetadataCreator();
+        for (BlurPlayer blurPlayer : blurPlayers) {
+            // Initialise data instances
+            for (Object data : metadataCreator.initialize(blurPlayer)) {
+                addPlayerData(component, blurPlayer, data);
+            }
         }
         if (component instanceof Module) {
             for (Module submodule : ((Module) component).getSubmodules()) {
-                initializeComponentPlayerDataClasses(submodule, blurPlayer);
+                initializeComponentPlayerDataClasses(submodule, blurPlayers);
             }
         }
         for (Component subcomponent : component.getSubcomponents()) {
-            initializeComponentPlayerDataClasses(subcomponent, blurPlayer);
+            initializeComponentPlayerDataClasses(subcomponent, blurPlayers);
         }
     }
 
@@ -358,13 +411,18 @@ public abstract class BlurSession {
                 // If a player is removed from this session, all children should not have the same player.
                 this.childrenSessions.forEach(s -> s.removePlayer(blurPlayer));
                 this.players.remove(blurPlayer.getUuid());
+                this.aliveTracker.remove(blurPlayer);
                 callEvent(new PlayerPostLeaveSessionEvent(blurPlayer, this));
 
                 if (blurPlayer.isQuitting()) {
-                    blurPlayer.blurSession = getParentSession();
+                    if (getParentSession() != null) {
+                        getParentSession().setCurrentSession(blurPlayer);
+                    } else {
+                        blurPlayer.blurSession = null;
+                    }
                 } else if (nextSession != null) {
                     if (nextSession.getPlayer(blurPlayer.getUuid()).isPresent()) {
-                        blurPlayer.blurSession = nextSession;
+                        nextSession.setCurrentSession(blurPlayer);
                         callEvent(new PlayerJoinSessionEvent(blurPlayer, nextSession, true));
                     } else {
                         nextSession.addPlayer(blurPlayer);
@@ -395,6 +453,20 @@ public abstract class BlurSession {
         broadcastMessage(new net.md_5.bungee.api.chat.TextComponent(components));
     }
 
+    /**
+     * Makes this session the given player's current session. The player stays in every parent session, but {@link Predicates#ALIVE} now reads
+     * this session's core data, which does not update the parents' {@link AliveTracker}s, so they mark the player as away.
+     */
+    private void setCurrentSession(BlurPlayer blurPlayer) {
+        blurPlayer.blurSession = this;
+        this.aliveTracker.setAway(blurPlayer, false);
+        for (BlurSession session = getParentSession(); session != null; session = session.getParentSession()) {
+            if (session.players.containsKey(blurPlayer.getUuid())) {
+                session.aliveTracker.setAway(blurPlayer, true);
+            }
+        }
+    }
+
     /**
      * Returns a {@link Set} of {@link BlurPlayer} after applying the given predicate to this session's players.
      *
@@ -403,9 +475,37 @@ public abstract class BlurSession {
      * @return filtered set of players
      */
     public List<BlurPlayer> getPlayers(Predicate<BlurPlayer> predicate) {
+        if (predicate == Predicates.ALIVE) {
+            return new ArrayList<>(getAlivePlayers());
+        }
         return getPlayersStream().filter(predicate).collect(Collectors.toList());
     }
 
+    /**
+     * Returns an unmodifiable set of this session's alive players. This is a live view unless some players are in a child session, in which case
+     * it is a copy made by testing every player with {@link Predicates#ALIVE}.
+     *
+     * @return alive players
+     */
+    @Nonnull
+    public Set<BlurPlayer> getAlivePlayers() {
+        if (aliveTracker.hasAwayPlayers()) {
+            return Collections.unmodifiableSet(getPlayersStream().filter(Predicates.ALIVE).collect(Collectors.toCollection(LinkedHashSet::new)));
+        }
+        return aliveTracker.getAlivePlayers();
+    }
+
+    /**
+     * Returns the {@link AliveTracker} of this session, which keeps alive players and alive counts per team up to date as players die, respawn,
+     * change team and leave. Players in a child session are marked as away, see {@link AliveTracker#hasAwayPlayers()}.
+     *
+     * @return alive tracker
+     */
+    @Nonnull
+    public AliveTracker<BlurPlayer, BlurTeam> getAliveTracker() {
+        return aliveTracker;
+    }
+
     /**
      * Returns a random {@link BlurPlayer} that belongs
      *
@@ -556,6 +656,35 @@ public abstract class BlurSession {
         return EventUtils.callEvent(Preconditions.checkNotNull(event, "event cannot be null."));
     }
 
+    /**
+     * Returns whether any listener is registered for an event class. Used to skip building events on hot paths.
+     *
+     * @param eventClass event class
+     *
+     * @return whether the event has listeners
+     */
+    public boolean hasListeners(@Nonnull Class<? extends Event> eventClass) {
+        return EventListeners.hasListeners(eventClass);
+    }
+
+    /**
+     * Builds and calls an event only if it has listeners.
+     *
+     * @param eventClass event class
+     * @param supplier event supplier, only invoked if the event has listeners
+     * @param <T> event type
+     *
+     * @return the called event, or null if the event has no listeners
+     */
+    @Nullable
+    public <T extends Event> T callEvent(@Nonnull Class<T> eventClass, @Nonnull Supplier<? extends T> supplier) {
+        Preconditions.checkNotNull(supplier, "supplier cannot be null.");
+        if (!EventListeners.hasListeners(eventClass)) {
+            return null;
+        }
+        return callEvent(supplier.get());
+    }
+
     public PluginLogger getLogger() {
         return getBlur().getLogger();
     }
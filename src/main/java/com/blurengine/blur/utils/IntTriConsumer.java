@@ -0,0 +1,34 @@
+/*
+ * Copyright 2026 Ali Moghnieh
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blurengine.blur.utils;
+
+/**
+ * Represents an operation that accepts three {@code int} arguments and returns no result. This is the primitive specialization used for visiting
+ * block coordinates without allocating a vector per block.
+ */
+@FunctionalInterface
+public interface IntTriConsumer {
+
+    /**
+     * Performs this operation on the given arguments.
+     *
+     * @param x first argument, typically the block x coordinate
+     * @param y second argument, typically the block y coordinate
+     * @param z third argument, typically the block z coordinate
+     */
+    void accept(int x, int y, int z);
+}
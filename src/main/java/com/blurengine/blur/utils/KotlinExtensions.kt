@@ -35,6 +35,7 @@ import org.bukkit.Location
 import org.bukkit.Particle
 import org.bukkit.World
 import org.bukkit.entity.Player
+import org.bukkit.event.Event
 import org.bukkit.util.Vector
 import java.time.Duration
 import java.time.Instant
@@ -68,6 +69,12 @@ fun Position.toLocation(world: World) = Location(world, x, y, z, yaw, pitch)
  * >> Framework
  * ================================ */
 
+/**
+ * Builds and calls an event only if it has listeners, without allocating the supplier.
+ */
+inline fun <reified T : Event> BlurSession.callEventIfListened(supplier: () -> T): T? =
+        if (hasListeners(T::class.java)) callEvent(supplier()) else null
+
 inline fun <reified T : Any> AbstractAutoMetadataCreator<*>.registerClassKt() = this.registerClass(T::class.java)
 
 inline fun <reified T : Any, M: MetadataHolder> AbstractAutoMetadataCreator<M>.registerClassKt(noinline creator: (M) -> T) {
@@ -0,0 +1,348 @@
+/*
+ * Copyright 2026 Ali Moghnieh
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blurengine.blur.utils.blocks;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Represents a map of {@link BlockKeys} to values that each expire at a deadline. Entries are kept in a binary min-heap ordered by deadline,
+ * meaning that {@link #poll(long, BlockKeyMap.EntryPredicate)} only ever visits expired entries rather than every entry.
+ * <p />
+ * The queue also counts its entries per chunk, including chunks that merely border an entry, so that
+ * {@link #containsOrAdjacent(int, int, int)} rejects blocks in unrelated chunks with a single lookup.
+ * <p />
+ * Deadlines are arbitrary {@code long} values, typically {@link System#nanoTime()}, compared with each other directly. This queue does not permit
+ * null values. It is not thread-safe.
+ *
+ * @param <V> type of values
+ */
+public class BlockExpiryQueue<V> {
+
+    private final BlockKeyMap<Entry<V>> entries = new BlockKeyMap<>();
+    private final BlockKeyMap<ChunkCount> chunks = new BlockKeyMap<>();
+    @SuppressWarnings("unchecked")
+    private Entry<V>[] heap = new Entry[16];
+    private int size;
+    // Entry being visited by poll, cleared if the poll action removes or replaces it.
+    private Entry<V> polling;
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public V get(int x, int y, int z) {
+        return get(BlockKeys.pack(x, y, z));
+    }
+
+    public V get(long key) {
+        Entry<V> entry = entries.get(key);
+        return entry != null ? entry.value : null;
+    }
+
+    public boolean containsKey(int x, int y, int z) {
+        return entries.containsKey(x, y, z);
+    }
+
+    public boolean containsKey(long key) {
+        return entries.containsKey(key);
+    }
+
+    /**
+     * Returns the deadline of the given key.
+     *
+     * @param key key
+     *
+     * @return deadline, or {@link Long#MAX_VALUE} if the key is not in this queue
+     */
+    public long getDeadline(long key) {
+        Entry<V> entry = entries.get(key);
+        return entry != null ? entry.deadline : Long.MAX_VALUE;
+    }
+
+    /**
+     * Returns the earliest deadline in this queue.
+     *
+     * @return earliest deadline, or {@link Long#MAX_VALUE} if this queue is empty
+     */
+    public long peekDeadline() {
+        return size > 0 ? heap[0].deadline : Long.MAX_VALUE;
+    }
+
+    /**
+     * Associates the given value and deadline with the given key, replacing any existing value and deadline.
+     *
+     * @param key key
+     * @param value non-null value
+     * @param deadline deadline after which the entry is expired
+     *
+     * @return the previous value, or null if there was none
+     */
+    public V put(long key, V value, long deadline) {
+        if (value == null) {
+            throw new NullPointerException("value cannot be null.");
+        }
+        Entry<V> entry = entries.get(key);
+        if (entry != null) {
+            if (entry == polling) {
+                polling = null;
+            }
+            V old = entry.value;
+            entry.value = value;
+            long oldDeadline = entry.deadline;
+            entry.deadline = deadline;
+            if (deadline < oldDeadline) {
+                siftUp(entry.index, entry);
+            } else if (deadline > oldDeadline) {
+                siftDown(entry.index, entry);
+            }
+            return old;
+        }
+        entry = new Entry<>(key, value, deadline);
+        entries.put(key, entry);
+        if (size == heap.length) {
+            heap = Arrays.copyOf(heap, size << 1);
+        }
+        siftUp(size++, entry);
+        updateChunks(key, 1);
+        return null;
+    }
+
+    public V remove(int x, int y, int z) {
+        return remove(BlockKeys.pack(x, y, z));
+    }
+
+    public V remove(long key) {
+        Entry<V> entry = entries.remove(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry == polling) {
+            polling = null;
+        }
+        removeAt(entry.index);
+        updateChunks(key, -1);
+        return entry.value;
+    }
+
+    public void clear() {
+        polling = null;
+        entries.clear();
+        chunks.clear();
+        Arrays.fill(heap, 0, size, null);
+        size = 0;
+    }
+
+    /**
+     * Performs the given action for each value in this queue, in no particular order. The queue must not be modified by the action.
+     *
+     * @param action action to perform
+     */
+    public void forEachValue(Consumer<? super V> action) {
+        entries.forEachValue(entry -> action.accept(entry.value));
+    }
+
+    /**
+     * Visits every entry whose deadline is no later than {@code now}, earliest first. Entries for which the action returns true are removed. The
+     * others are deferred until {@code now + 1}, so that they are visited again by the next poll after now.
+     * <p />
+     * The action may modify the queue, e.g. a restored block adding itself again. If it removes or replaces the entry it was given, the entry is
+     * left as the action made it regardless of what the action returns. Entries it adds or replaces with a deadline no later than {@code now} are
+     * visited by this same poll.
+     *
+     * @param now current time, in the same unit as the deadlines
+     * @param action action to perform, returning whether to remove the entry
+     *
+     * @return number of entries removed because the action returned true
+     */
+    public int poll(long now, BlockKeyMap.EntryPredicate<? super V> action) {
+        int removed = 0;
+        try {
+            while (size > 0) {
+                Entry<V> head = heap[0];
+                if (head.deadline > now) {
+                    break;
+                }
+                polling = head;
+                boolean remove = action.test(head.key, head.value);
+                if (polling != head) {
+                    continue;
+                }
+                if (remove) {
+                    remove(head.key);
+                    removed++;
+                } else {
+                    // The action may have added earlier entries, so the head is not necessarily at the root anymore.
+                    head.deadline = now + 1;
+                    siftDown(head.index, head);
+                }
+            }
+        } finally {
+            polling = null;
+        }
+        return removed;
+    }
+
+    /**
+     * Returns whether the block at the given coordinates, or any of its six neighbours, is in this queue. Blocks in chunks that neither contain nor
+     * border an entry are rejected without probing each neighbour.
+     *
+     * @param x block x
+     * @param y block y
+     * @param z block z
+     *
+     * @return whether the block or a neighbour is in this queue
+     */
+    public boolean containsOrAdjacent(int x, int y, int z) {
+        if (size == 0 || !chunks.containsKey(BlockKeys.chunkKey(x >> 4, z >> 4))) {
+            return false;
+        }
+        BlockKeyMap<Entry<V>> entries = this.entries;
+        return entries.containsKey(x, y, z)
+            || entries.containsKey(x + 1, y, z) || entries.containsKey(x - 1, y, z)
+            || entries.containsKey(x, y + 1, z) || entries.containsKey(x, y - 1, z)
+            || entries.containsKey(x, y, z + 1) || entries.containsKey(x, y, z - 1);
+    }
+
+    /**
+     * Returns whether the given chunk contains or borders an entry in this queue.
+     *
+     * @param chunkX chunk x
+     * @param chunkZ chunk z
+     *
+     * @return whether the chunk may be affected by this queue
+     */
+    public boolean isChunkTracked(int chunkX, int chunkZ) {
+        return chunks.containsKey(BlockKeys.chunkKey(chunkX, chunkZ));
+    }
+
+    /**
+     * Returns a new array of all keys in this queue, sorted so that keys of the same chunk are adjacent.
+     *
+     * @return sorted array of keys
+     */
+    public long[] sortedKeys() {
+        long[] keys = entries.keys();
+        Arrays.sort(keys);
+        return keys;
+    }
+
+    /**
+     * Counts an entry in its own chunk, and in each horizontally adjacent chunk its block borders, since neighbours of a block on the edge of a
+     * chunk lie in the next chunk.
+     */
+    private void updateChunks(long key, int delta) {
+        int chunkX = BlockKeys.chunkX(key);
+        int chunkZ = BlockKeys.chunkZ(key);
+        int localX = BlockKeys.x(key) & 15;
+        int localZ = BlockKeys.z(key) & 15;
+        updateChunk(chunkX, chunkZ, delta);
+        if (localX == 0) {
+            updateChunk(chunkX - 1, chunkZ, delta);
+        } else if (localX == 15) {
+            updateChunk(chunkX + 1, chunkZ, delta);
+        }
+        if (localZ == 0) {
+            updateChunk(chunkX, chunkZ - 1, delta);
+        } else if (localZ == 15) {
+            updateChunk(chunkX, chunkZ + 1, delta);
+        }
+    }
+
+    private void updateChunk(int chunkX, int chunkZ, int delta) {
+        long chunkKey = BlockKeys.chunkKey(chunkX, chunkZ);
+        ChunkCount count = chunks.get(chunkKey);
+        if (count == null) {
+            chunks.put(chunkKey, count = new ChunkCount());
+        }
+        if ((count.value += delta) == 0) {
+            chunks.remove(chunkKey);
+        }
+    }
+
+    private void removeAt(int index) {
+        Entry<V> last = heap[--size];
+        heap[size] = null;
+        if (index == size) {
+            return;
+        }
+        siftDown(index, last);
+        if (heap[index] == last) {
+            siftUp(index, last);
+        }
+    }
+
+    private void siftUp(int index, Entry<V> entry) {
+        Entry<V>[] heap = this.heap;
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            Entry<V> parentEntry = heap[parent];
+            if (entry.deadline >= parentEntry.deadline) {
+                break;
+            }
+            heap[index] = parentEntry;
+            parentEntry.index = index;
+            index = parent;
+        }
+        heap[index] = entry;
+        entry.index = index;
+    }
+
+    private void siftDown(int index, Entry<V> entry) {
+        Entry<V>[] heap = this.heap;
+        int half = size >>> 1;
+        while (index < half) {
+            int child = (index << 1) + 1;
+            Entry<V> childEntry = heap[child];
+            int right = child + 1;
+            if (right < size && heap[right].deadline < childEntry.deadline) {
+                childEntry = heap[child = right];
+            }
+            if (entry.deadline <= childEntry.deadline) {
+                break;
+            }
+            heap[index] = childEntry;
+            childEntry.index = index;
+            index = child;
+        }
+        heap[index] = entry;
+        entry.index = index;
+    }
+
+    private static final class Entry<V> {
+
+        final long key;
+        V value;
+        long deadline;
+        int index;
+
+        Entry(long key, V value, long deadline) {
+            this.key = key;
+            this.value = value;
+            this.deadline = deadline;
+        }
+    }
+
+    private static final class ChunkCount {
+
+        int value;
+    }
+}
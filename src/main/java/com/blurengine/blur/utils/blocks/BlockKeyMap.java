@@ -0,0 +1,320 @@
+/*
+ * Copyright 2026 Ali Moghnieh
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blurengine.blur.utils.blocks;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Represents an open-addressing hash map of {@code long} keys, typically {@link BlockKeys}, to object values. Unlike a {@code HashMap<Block, V>},
+ * lookups neither allocate a key nor hash a world, and entries are stored in two flat arrays rather than one node object per entry.
+ * <p />
+ * This map does not permit null values. It is not thread-safe.
+ *
+ * @param <V> type of values
+ */
+public class BlockKeyMap<V> {
+
+    private static final float LOAD_FACTOR = 0.6F;
+    /**
+     * Marks an unused slot. The key that equals this value is stored outside of the tables.
+     */
+    private static final long FREE = 0;
+
+    private long[] keys;
+    private Object[] values;
+    private int mask;
+    private int size;
+    private int resizeAt;
+    private V freeKeyValue;
+
+    public BlockKeyMap() {
+        this(16);
+    }
+
+    public BlockKeyMap(int expectedSize) {
+        allocate(tableSizeFor(expectedSize));
+    }
+
+    public int size() {
+        return size + (freeKeyValue != null ? 1 : 0);
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public V get(int x, int y, int z) {
+        return get(BlockKeys.pack(x, y, z));
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        if (key == FREE) {
+            return freeKeyValue;
+        }
+        long[] keys = this.keys;
+        int slot = slot(key);
+        long existing;
+        while ((existing = keys[slot]) != FREE) {
+            if (existing == key) {
+                return (V) values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return null;
+    }
+
+    public boolean containsKey(int x, int y, int z) {
+        return containsKey(BlockKeys.pack(x, y, z));
+    }
+
+    public boolean containsKey(long key) {
+        return get(key) != null;
+    }
+
+    public V put(int x, int y, int z, V value) {
+        return put(BlockKeys.pack(x, y, z), value);
+    }
+
+    /**
+     * Associates the given value with the given key.
+     *
+     * @param key key
+     * @param value non-null value
+     *
+     * @return the previous value, or null if there was none
+     */
+    @SuppressWarnings("unchecked")
+    public V put(long key, V value) {
+        if (value == null) {
+            throw new NullPointerException("value cannot be null.");
+        }
+        if (key == FREE) {
+            V old = freeKeyValue;
+            freeKeyValue = value;
+            return old;
+        }
+        int slot = slot(key);
+        long existing;
+        while ((existing = keys[slot]) != FREE) {
+            if (existing == key) {
+                V old = (V) values[slot];
+                values[slot] = value;
+                return old;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size >= resizeAt) {
+            rehash(keys.length << 1);
+        }
+        return null;
+    }
+
+    public V remove(int x, int y, int z) {
+        return remove(BlockKeys.pack(x, y, z));
+    }
+
+    @SuppressWarnings("unchecked")
+    public V remove(long key) {
+        if (key == FREE) {
+            V old = freeKeyValue;
+            freeKeyValue = null;
+            return old;
+        }
+        int slot = slot(key);
+        long existing;
+        while ((existing = keys[slot]) != FREE) {
+            if (existing == key) {
+                V old = (V) values[slot];
+                size--;
+                shiftKeys(slot);
+                return old;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return null;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, FREE);
+        Arrays.fill(values, null);
+        size = 0;
+        freeKeyValue = null;
+    }
+
+    /**
+     * Performs the given action for each entry in this map. The map must not be modified by the action.
+     *
+     * @param action action to perform
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(EntryConsumer<? super V> action) {
+        if (freeKeyValue != null) {
+            action.accept(FREE, freeKeyValue);
+        }
+        long[] keys = this.keys;
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != FREE) {
+                action.accept(keys[i], (V) values[i]);
+            }
+        }
+    }
+
+    /**
+     * Performs the given action for each value in this map. The map must not be modified by the action.
+     *
+     * @param action action to perform
+     */
+    @SuppressWarnings("unchecked")
+    public void forEachValue(Consumer<? super V> action) {
+        if (freeKeyValue != null) {
+            action.accept(freeKeyValue);
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != FREE) {
+                action.accept((V) values[i]);
+            }
+        }
+    }
+
+    /**
+     * Removes every entry matching the given predicate. The predicate must not modify this map.
+     *
+     * @param predicate predicate to test each entry with
+     *
+     * @return number of removed entries
+     */
+    @SuppressWarnings("unchecked")
+    public int removeIf(EntryPredicate<? super V> predicate) {
+        int removed = 0;
+        if (freeKeyValue != null && predicate.test(FREE, freeKeyValue)) {
+            freeKeyValue = null;
+            removed++;
+        }
+        long[] matches = null;
+        int matchCount = 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != FREE && predicate.test(keys[i], (V) values[i])) {
+                if (matches == null) {
+                    matches = new long[Math.min(size, 16)];
+                } else if (matchCount == matches.length) {
+                    matches = Arrays.copyOf(matches, matchCount << 1);
+                }
+                matches[matchCount++] = keys[i];
+            }
+        }
+        // Removing shifts entries between slots, so removal is deferred until after the scan.
+        for (int i = 0; i < matchCount; i++) {
+            remove(matches[i]);
+        }
+        return removed + matchCount;
+    }
+
+    /**
+     * Returns a new array of all keys in this map.
+     *
+     * @return array of keys
+     */
+    public long[] keys() {
+        long[] result = new long[size()];
+        int i = 0;
+        if (freeKeyValue != null) {
+            result[i++] = FREE;
+        }
+        for (long key : keys) {
+            if (key != FREE) {
+                result[i++] = key;
+            }
+        }
+        return result;
+    }
+
+    private int slot(long key) {
+        return BlockKeySet.mix(key) & mask;
+    }
+
+    /**
+     * Backward-shift deletion for linear probing, keeping every remaining key reachable from its ideal slot without tombstones.
+     */
+    private void shiftKeys(int pos) {
+        long[] keys = this.keys;
+        int last;
+        int slot;
+        long key;
+        while (true) {
+            pos = ((last = pos) + 1) & mask;
+            while (true) {
+                if ((key = keys[pos]) == FREE) {
+                    keys[last] = FREE;
+                    values[last] = null;
+                    return;
+                }
+                slot = slot(key);
+                if (last <= pos ? last >= slot || slot > pos : last >= slot && slot > pos) {
+                    break;
+                }
+                pos = (pos + 1) & mask;
+            }
+            keys[last] = key;
+            values[last] = values[pos];
+        }
+    }
+
+    private void rehash(int newCapacity) {
+        long[] oldKeys = this.keys;
+        Object[] oldValues = this.values;
+        allocate(newCapacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            long key = oldKeys[i];
+            if (key != FREE) {
+                int slot = slot(key);
+                while (keys[slot] != FREE) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = key;
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        this.keys = new long[capacity];
+        this.values = new Object[capacity];
+        this.mask = capacity - 1;
+        this.resizeAt = Math.max(1, (int) (capacity * LOAD_FACTOR));
+    }
+
+    static int tableSizeFor(int expectedSize) {
+        int capacity = (int) Math.ceil(Math.max(expectedSize, 2) / LOAD_FACTOR);
+        return Math.max(4, Integer.highestOneBit(capacity - 1) << 1);
+    }
+
+    @FunctionalInterface
+    public interface EntryConsumer<V> {
+
+        void accept(long key, V value);
+    }
+
+    @FunctionalInterface
+    public interface EntryPredicate<V> {
+
+        boolean test(long key, V value);
+    }
+}
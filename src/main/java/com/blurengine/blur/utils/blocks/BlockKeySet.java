@@ -0,0 +1,242 @@
+/*
+ * Copyright 2026 Ali Moghnieh
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blurengine.blur.utils.blocks;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * Represents an open-addressing hash set of {@code long} values, typically {@link BlockKeys}. Lookups do not allocate, and values are stored in a
+ * single flat array.
+ * <p />
+ * This set is not thread-safe.
+ */
+public class BlockKeySet {
+
+    private static final float LOAD_FACTOR = 0.6F;
+    private static final long FREE = 0;
+
+    private long[] keys;
+    private int mask;
+    private int size;
+    private int resizeAt;
+    private boolean containsFreeKey;
+
+    public BlockKeySet() {
+        this(16);
+    }
+
+    public BlockKeySet(int expectedSize) {
+        allocate(BlockKeyMap.tableSizeFor(expectedSize));
+    }
+
+    public int size() {
+        return size + (containsFreeKey ? 1 : 0);
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public boolean contains(int x, int y, int z) {
+        return contains(BlockKeys.pack(x, y, z));
+    }
+
+    public boolean contains(long key) {
+        if (key == FREE) {
+            return containsFreeKey;
+        }
+        long[] keys = this.keys;
+        int slot = mix(key) & mask;
+        long existing;
+        while ((existing = keys[slot]) != FREE) {
+            if (existing == key) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    public boolean add(int x, int y, int z) {
+        return add(BlockKeys.pack(x, y, z));
+    }
+
+    public boolean add(long key) {
+        if (key == FREE) {
+            boolean added = !containsFreeKey;
+            containsFreeKey = true;
+            return added;
+        }
+        int slot = mix(key) & mask;
+        long existing;
+        while ((existing = keys[slot]) != FREE) {
+            if (existing == key) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        if (++size >= resizeAt) {
+            rehash(keys.length << 1);
+        }
+        return true;
+    }
+
+    public boolean remove(int x, int y, int z) {
+        return remove(BlockKeys.pack(x, y, z));
+    }
+
+    public boolean remove(long key) {
+        if (key == FREE) {
+            boolean removed = containsFreeKey;
+            containsFreeKey = false;
+            return removed;
+        }
+        int slot = mix(key) & mask;
+        long existing;
+        while ((existing = keys[slot]) != FREE) {
+            if (existing == key) {
+                size--;
+                shiftKeys(slot);
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, FREE);
+        size = 0;
+        containsFreeKey = false;
+    }
+
+    /**
+     * Performs the given action for each key in this set. The set must not be modified by the action.
+     *
+     * @param action action to perform
+     */
+    public void forEach(LongConsumer action) {
+        if (containsFreeKey) {
+            action.accept(FREE);
+        }
+        for (long key : keys) {
+            if (key != FREE) {
+                action.accept(key);
+            }
+        }
+    }
+
+    /**
+     * Returns a new array of all keys in this set.
+     *
+     * @return array of keys
+     */
+    public long[] toArray() {
+        long[] result = new long[size()];
+        int i = 0;
+        if (containsFreeKey) {
+            result[i++] = FREE;
+        }
+        for (long key : keys) {
+            if (key != FREE) {
+                result[i++] = key;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Groups the {@link BlockKeys} in this set by the chunk they belong to.
+     *
+     * @return map of {@link BlockKeys#chunkKey(long)} to the block keys in that chunk
+     */
+    public BlockKeyMap<BlockKeySet> groupByChunk() {
+        BlockKeyMap<BlockKeySet> result = new BlockKeyMap<>();
+        forEach(key -> {
+            long chunkKey = BlockKeys.chunkKey(key);
+            BlockKeySet chunk = result.get(chunkKey);
+            if (chunk == null) {
+                result.put(chunkKey, chunk = new BlockKeySet());
+            }
+            chunk.add(key);
+        });
+        return result;
+    }
+
+    /**
+     * Returns the set of chunks the {@link BlockKeys} in this set belong to.
+     *
+     * @return set of {@link BlockKeys#chunkKey(long)}
+     */
+    public BlockKeySet chunkKeys() {
+        BlockKeySet result = new BlockKeySet();
+        forEach(key -> result.add(BlockKeys.chunkKey(key)));
+        return result;
+    }
+
+    private void shiftKeys(int pos) {
+        long[] keys = this.keys;
+        int last;
+        int slot;
+        long key;
+        while (true) {
+            pos = ((last = pos) + 1) & mask;
+            while (true) {
+                if ((key = keys[pos]) == FREE) {
+                    keys[last] = FREE;
+                    return;
+                }
+                slot = mix(key) & mask;
+                if (last <= pos ? last >= slot || slot > pos : last >= slot && slot > pos) {
+                    break;
+                }
+                pos = (pos + 1) & mask;
+            }
+            keys[last] = key;
+        }
+    }
+
+    private void rehash(int newCapacity) {
+        long[] oldKeys = this.keys;
+        allocate(newCapacity);
+        for (long key : oldKeys) {
+            if (key != FREE) {
+                int slot = mix(key) & mask;
+                while (keys[slot] != FREE) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = key;
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        this.keys = new long[capacity];
+        this.mask = capacity - 1;
+        this.resizeAt = Math.max(1, (int) (capacity * LOAD_FACTOR));
+    }
+
+    /**
+     * Scrambles the bits of a key so that neighbouring blocks, which only differ in their low bits, spread across the table.
+     */
+    static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32) ^ (h >>> 16));
+    }
+}
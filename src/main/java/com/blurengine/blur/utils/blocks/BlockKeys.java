@@ -0,0 +1,128 @@
+/*
+ * Copyright 2026 Ali Moghnieh
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blurengine.blur.utils.blocks;
+
+/**
+ * Utility methods for packing block coordinates into a single {@code long} key. Keys are laid out so that every block of a chunk shares the same
+ * high bits, meaning that sorting keys groups blocks by chunk and {@link #chunkKey(long)} is a single shift. The layout, from most significant bit,
+ * is:
+ * <ul>
+ *     <li>22 bits chunk x</li>
+ *     <li>22 bits chunk z</li>
+ *     <li>12 bits y</li>
+ *     <li>4 bits x within the chunk</li>
+ *     <li>4 bits z within the chunk</li>
+ * </ul>
+ * This covers the whole vanilla world border on x and z, and y values from -2048 to 2047.
+ */
+public final class BlockKeys {
+
+    private static final int CHUNK_BITS = 22;
+    private static final int Y_BITS = 12;
+    private static final int LOCAL_BITS = 8;
+
+    private static final int Y_SHIFT = LOCAL_BITS;
+    private static final int CHUNK_Z_SHIFT = Y_SHIFT + Y_BITS;
+    private static final int CHUNK_X_SHIFT = CHUNK_Z_SHIFT + CHUNK_BITS;
+
+    private static final long CHUNK_MASK = (1L << CHUNK_BITS) - 1;
+    private static final long Y_MASK = (1L << Y_BITS) - 1;
+
+    private BlockKeys() {}
+
+    /**
+     * Packs the given block coordinates into a key.
+     *
+     * @param x block x
+     * @param y block y
+     * @param z block z
+     *
+     * @return packed key
+     */
+    public static long pack(int x, int y, int z) {
+        return ((long) (x >> 4) << CHUNK_X_SHIFT)
+            | (((long) (z >> 4) & CHUNK_MASK) << CHUNK_Z_SHIFT)
+            | (((long) y & Y_MASK) << Y_SHIFT)
+            | ((x & 15) << 4)
+            | (z & 15);
+    }
+
+    public static int x(long key) {
+        return (chunkX(key) << 4) | (int) ((key >>> 4) & 15);
+    }
+
+    public static int y(long key) {
+        return (int) (key << (64 - Y_SHIFT - Y_BITS) >> (64 - Y_BITS));
+    }
+
+    public static int z(long key) {
+        return (chunkZ(key) << 4) | (int) (key & 15);
+    }
+
+    /**
+     * Returns the key of the chunk the given block key belongs to. All blocks of the same chunk return the same value.
+     *
+     * @param key block key
+     *
+     * @return chunk key
+     */
+    public static long chunkKey(long key) {
+        return key >> CHUNK_Z_SHIFT;
+    }
+
+    /**
+     * Returns the chunk key of the given chunk coordinates, equal to {@link #chunkKey(long)} of any block in that chunk.
+     *
+     * @param chunkX chunk x
+     * @param chunkZ chunk z
+     *
+     * @return chunk key
+     */
+    public static long chunkKey(int chunkX, int chunkZ) {
+        return ((long) chunkX << CHUNK_BITS) | ((long) chunkZ & CHUNK_MASK);
+    }
+
+    public static int chunkX(long key) {
+        return (int) (key >> CHUNK_X_SHIFT);
+    }
+
+    public static int chunkZ(long key) {
+        return (int) (key << (64 - CHUNK_X_SHIFT) >> (64 - CHUNK_BITS));
+    }
+
+    /**
+     * Returns the chunk x of the given chunk key, as returned by {@link #chunkKey(long)}.
+     *
+     * @param chunkKey chunk key
+     *
+     * @return chunk x
+     */
+    public static int chunkKeyX(long chunkKey) {
+        return (int) (chunkKey >> CHUNK_BITS);
+    }
+
+    /**
+     * Returns the chunk z of the given chunk key, as returned by {@link #chunkKey(long)}.
+     *
+     * @param chunkKey chunk key
+     *
+     * @return chunk z
+     */
+    public static int chunkKeyZ(long chunkKey) {
+        return (int) (chunkKey << (64 - CHUNK_BITS) >> (64 - CHUNK_BITS));
+    }
+}
@@ -76,6 +76,28 @@ public class Relationals {
         return new NumberRelational(Preconditions.checkNotNull(number, "number cannot be null."));
     }
 
+    /**
+     * Applies a number {@link Relational} to a primitive {@code double}. Relationals created by this class, including static and inversed ones,
+     * are evaluated without boxing {@code value}; any other relational falls back to {@link Relational#apply(Object, Object)}.
+     *
+     * @param relational relational to apply
+     * @param value value to test
+     * @param operator operator to test with, ignored by static relationals
+     * @return result of the relational
+     */
+    @SuppressWarnings("unchecked")
+    public static boolean applyDouble(@Nonnull Relational<Number> relational, double value, RelationalOperator operator) {
+        if (relational instanceof NumberRelational) {
+            return operator.fromCompare(Double.compare(value, ((NumberRelational) relational).d));
+        } else if (relational instanceof RelationalStaticOp) {
+            RelationalStaticOp<Number> staticOp = (RelationalStaticOp<Number>) relational;
+            return applyDouble(staticOp.original, value, staticOp.operator);
+        } else if (relational instanceof InversedRelational) {
+            return applyDouble(((InversedRelational<Number>) relational).original, value, operator.inverse());
+        }
+        return relational.apply(value, operator);
+    }
+
     /* ================================
      * >> MODIFIERS
      * ================================ */
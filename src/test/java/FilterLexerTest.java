@@ -14,14 +14,21 @@
  * limitations under the License.
  */
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import com.blurengine.blur.modules.filters.Filter;
 import com.blurengine.blur.modules.filters.Filter.FilterResponse;
+import com.blurengine.blur.modules.filters.lexer.FilterLexer;
 import com.blurengine.blur.modules.filters.lexer.FilterRecursiveDescentParser;
+import com.blurengine.blur.modules.filters.lexer.Token;
+import com.blurengine.blur.modules.filters.lexer.TokenType;
 
 import org.junit.Test;
 
+import java.util.List;
+
 /**
  * Tests the filter lexer.
  */
@@ -53,6 +60,31 @@ public class FilterLexerTest {
         assertTrue(filter.test(null) == FilterResponse.DENY);
     }
 
+    @Test
+    public void testTokens() throws Exception {
+        List<Token> tokens = new FilterLexer().lex("  myFilter2&(!true |false)\t");
+        TokenType[] expected = {TokenType.PLAINTEXT, TokenType.AND, TokenType.LEFTPAREN, TokenType.NOT, TokenType.TRUE, TokenType.OR,
+            TokenType.FALSE, TokenType.RIGHTPAREN};
+        assertEquals(expected.length, tokens.size());
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], tokens.get(i).getType());
+        }
+        assertEquals("myFilter2", tokens.get(0).getData());
+        // Keywords are only matched as whole words.
+        assertEquals(TokenType.PLAINTEXT, new FilterLexer().lex("trueish").get(0).getType());
+    }
+
+    @Test
+    public void testMalformed() throws Exception {
+        for (String malformed : new String[]{"true &", "(true | false", "true false", "true )", "true; false", ""}) {
+            try {
+                parse(malformed);
+                fail("Expected failure for '" + malformed + "'");
+            } catch (RuntimeException expected) {
+            }
+        }
+    }
+
     public Filter parse(String str) {
         return new FilterRecursiveDescentParser(a -> null, str).call(); // FIXME First param is a null supplier for filter references by id.
     }
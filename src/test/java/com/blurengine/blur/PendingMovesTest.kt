@@ -0,0 +1,93 @@
+/*
+ * Copyright 2026 Ali Moghnieh
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blurengine.blur
+
+import com.blurengine.blur.events.players.PlayerMoveBlockEvent
+import org.bukkit.Location
+import org.junit.Assert
+import org.junit.Test
+
+class PendingMovesTest {
+    private val locations = HashMap<String, Location>()
+    private val flushed = ArrayList<Triple<String, Location, Location>>()
+    private val moves = PendingMoves<String>()
+
+    @Test
+    fun movesWithinTickCoalesce() {
+        val start = Location(null, 0.5, 64.0, 0.5)
+        // Only block changes are recorded, but a player may cross several blocks and wander within them before the tick ends.
+        move("alice", start, Location(null, 1.2, 64.0, 0.5))
+        move("alice", Location(null, 1.2, 64.0, 0.5), Location(null, 2.1, 64.0, 0.5))
+        locations["alice"] = Location(null, 2.7, 64.0, 0.9)
+        flush()
+
+        Assert.assertEquals(1, flushed.size)
+        val (player, from, to) = flushed[0]
+        Assert.assertEquals("alice", player)
+        Assert.assertSame(start, from)
+        Assert.assertSame(locations["alice"], to)
+
+        // Nothing is left over for the next tick.
+        flush()
+        Assert.assertEquals(1, flushed.size)
+    }
+
+    @Test
+    fun returningToStartFiresNothing() {
+        val start = Location(null, 0.5, 64.0, 0.5)
+        move("alice", start, Location(null, 1.5, 64.0, 0.5))
+        locations["alice"] = Location(null, 0.9, 64.0, 0.1)
+        flush()
+        Assert.assertTrue(flushed.isEmpty())
+        Assert.assertEquals(0, moves.size)
+    }
+
+    @Test
+    fun blockCrossingFiresOncePerTick() {
+        move("alice", Location(null, 0.5, 64.0, 0.5), Location(null, 1.5, 64.0, 0.5))
+        move("bob", Location(null, 5.5, 64.0, 5.5), Location(null, 5.5, 65.0, 5.5))
+        flush()
+        Assert.assertEquals(setOf("alice", "bob"), flushed.map { it.first }.toSet())
+        Assert.assertEquals(2, flushed.size)
+
+        // A later tick crossing back fires again, once.
+        move("alice", Location(null, 1.5, 64.0, 0.5), Location(null, 0.5, 64.0, 0.5))
+        flush()
+        Assert.assertEquals(3, flushed.size)
+        Assert.assertEquals(0, flushed[2].third.blockX)
+    }
+
+    @Test
+    fun removeForgetsMove() {
+        move("alice", Location(null, 0.5, 64.0, 0.5), Location(null, 1.5, 64.0, 0.5))
+        moves.remove("alice")
+        flush()
+        Assert.assertTrue(flushed.isEmpty())
+    }
+
+    /**
+     * Moves [player] as BlurListener does, recording only moves that cross a block boundary.
+     */
+    private fun move(player: String, from: Location, to: Location) {
+        locations[player] = to
+        if (PlayerMoveBlockEvent.isBlockChange(from, to)) {
+            moves.add(player, from)
+        }
+    }
+
+    private fun flush() = moves.flush({ locations.getValue(it) }) { player, from, to -> flushed.add(Triple(player, from, to)) }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2026 Ali Moghnieh
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blurengine.blur.components.cooldown;
+
+import com.blurengine.blur.framework.ticking.TimingWheel;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+public class CooldownTableTest {
+
+    private final TimingWheel wheel = new TimingWheel();
+    private final List<String> completed = new ArrayList<>();
+    private final CooldownTable<String, String, String> table = new CooldownTable<>(wheel,
+        (player, cooldown, entry) -> completed.add(player + ":" + cooldown + ":" + entry));
+
+    private void advance(int ticks) {
+        for (int i = 0; i < ticks; i++) {
+            wheel.advance();
+        }
+    }
+
+    @Test
+    public void testExpiresAfterTicks() throws Exception {
+        Assert.assertNull(table.put("alice", "dash", "a", 10));
+        Assert.assertTrue(table.contains("alice", "dash"));
+        Assert.assertEquals(10, table.getRemainingTicks("alice", "dash"));
+        Assert.assertEquals(10, table.getExpiry("alice", "dash"));
+
+        advance(9);
+        Assert.assertTrue(table.contains("alice", "dash"));
+        Assert.assertEquals(1, table.getRemainingTicks("alice", "dash"));
+        Assert.assertTrue(completed.isEmpty());
+
+        advance(1);
+        Assert.assertFalse(table.contains("alice", "dash"));
+        Assert.assertEquals(0, table.getRemainingTicks("alice", "dash"));
+        Assert.assertEquals(List.of("alice:dash:a"), completed);
+        Assert.assertTrue(table.isEmpty());
+    }
+
+    @Test
+    public void testNonPositiveTicksExpireNextTick() throws Exception {
+        table.put("alice", "dash", "a", 0);
+        Assert.assertTrue(table.contains("alice", "dash"));
+        advance(1);
+        Assert.assertEquals(List.of("alice:dash:a"), completed);
+    }
+
+    @Test
+    public void testPutReplaces() throws Exception {
+        table.put("alice", "dash", "a", 5);
+        advance(3);
+        Assert.assertEquals("a", table.put("alice", "dash", "b", 5));
+        Assert.assertEquals(1, table.size());
+        Assert.assertEquals("b", table.get("alice", "dash"));
+        Assert.assertEquals(List.of("b"), table.get("alice"));
+
+        advance(4);
+        Assert.assertTrue(completed.isEmpty());
+        advance(1);
+        Assert.assertEquals(List.of("alice:dash:b"), completed);
+    }
+
+    @Test
+    public void testReschedule() throws Exception {
+        table.put("alice", "dash", "a", 5);
+        Assert.assertTrue(table.reschedule("alice", "dash", 20));
+        Assert.assertFalse(table.reschedule("bob", "dash", 20));
+        advance(19);
+        Assert.assertEquals(1, table.getRemainingTicks("alice", "dash"));
+        advance(1);
+        Assert.assertEquals(List.of("alice:dash:a"), completed);
+    }
+
+    @Test
+    public void testRemoveDoesNotComplete() throws Exception {
+        table.put("alice", "dash", "a", 5);
+        table.put("alice", "heal", "b", 5);
+        table.put("bob", "dash", "c", 5);
+        Assert.assertEquals("a", table.remove("alice", "dash"));
+        Assert.assertNull(table.remove("alice", "dash"));
+        Assert.assertEquals(Set.of("bob"), table.getPlayers("dash"));
+
+        Assert.assertEquals(List.of("b"), new ArrayList<>(table.removeAll("alice")));
+        Assert.assertTrue(table.get("alice").isEmpty());
+        Assert.assertTrue(table.getPlayers("heal").isEmpty());
+        Assert.assertEquals(1, table.size());
+
+        advance(5);
+        Assert.assertEquals(List.of("bob:dash:c"), completed);
+        Assert.assertTrue(table.getPlayers("dash").isEmpty());
+        Assert.assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void testIndexes() throws Exception {
+        table.put("alice", "dash", "a", 5);
+        table.put("alice", "heal", "b", 10);
+        table.put("bob", "dash", "c", 15);
+        Assert.assertEquals(Set.of("alice", "bob"), table.getPlayers("dash"));
+        Assert.assertEquals(Set.of("alice"), table.getPlayers("heal"));
+        Assert.assertEquals(2, table.get("alice").size());
+        Assert.assertEquals(3, table.values().size());
+
+        advance(5);
+        Assert.assertEquals(Set.of("bob"), table.getPlayers("dash"));
+        Assert.assertEquals(List.of("b"), table.get("alice"));
+        table.clear();
+        Assert.assertTrue(table.isEmpty());
+        Assert.assertEquals(0, wheel.size());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testHandlerMayPutAgain() throws Exception {
+        CooldownTable<String, String, Integer>[] holder = new CooldownTable[1];
+        List<Integer> runs = new ArrayList<>();
+        holder[0] = new CooldownTable<>(wheel, (player, cooldown, entry) -> {
+            // The completed entry is gone by the time its handler runs.
+            Assert.assertFalse(holder[0].contains(player, cooldown));
+            runs.add(entry);
+            if (entry < 3) {
+                holder[0].put(player, cooldown, entry + 1, 2);
+            }
+        });
+        holder[0].put("alice", "regen", 1, 2);
+        advance(10);
+        Assert.assertEquals(List.of(1, 2, 3), runs);
+        Assert.assertTrue(holder[0].isEmpty());
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2026 Ali Moghnieh
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blurengine.blur.components.shared
+
+import com.blurengine.blur.modules.extents.CuboidExtent
+import org.bukkit.block.data.BlockData
+import org.bukkit.util.Vector
+import org.junit.Assert
+import org.junit.Test
+import org.mockito.Mockito
+import java.util.concurrent.TimeUnit
+
+class BlockPlacementQueueTest {
+    private val stone = Mockito.mock(BlockData::class.java)
+
+    @Test
+    fun placesEveryBlockOncePerChunk() {
+        val queue = BlockPlacementQueue()
+        val world = StandInWorld()
+        val first = CuboidExtent(Vector(-20, 0, -20), Vector(20, 3, 20))
+        val overlapping = CuboidExtent(Vector(0, 0, 0), Vector(30, 3, 30))
+        val future = queue.submit(world, listOf(first, overlapping), stone, false, TimeUnit.SECONDS.toNanos(10))
+
+        queue.process()
+
+        Assert.assertTrue(future.isDone)
+        Assert.assertTrue(queue.isEmpty)
+        val expected = 41 * 4 * 41 + 31 * 4 * 31 - 21 * 4 * 21
+        Assert.assertEquals(expected, world.writes)
+        Assert.assertEquals(expected, world.distinctWrites)
+        Assert.assertEquals(world.distinctChunks, world.chunkSwitches)
+    }
+
+    @Test
+    fun respectsTickBudget() {
+        // Every write advances the clock by its cost, so the time spent per tick is exact.
+        var now = 0L
+        val queue = BlockPlacementQueue { now }
+        val writeCost = 1_000L
+        val world = StandInWorld { now += writeCost }
+        val budget = 100 * writeCost
+        val extent = CuboidExtent(Vector(0, 0, 0), Vector(9, 9, 9)) // 1,000 blocks
+        val future = queue.submit(world, listOf(extent), stone, false, budget)
+
+        var ticks = 0
+        while (!future.isDone) {
+            val tickStart = now
+            val placed = queue.process()
+            Assert.assertTrue("Tick took ${now - tickStart}ns", now - tickStart < budget + 64 * writeCost)
+            Assert.assertEquals(minOf(128, 1_000 - ticks * 128), placed)
+            ticks++
+        }
+
+        Assert.assertEquals(1_000, world.writes)
+        Assert.assertEquals(8, ticks)
+    }
+
+    @Test
+    fun failedPlacementDoesNotBlockQueue() {
+        val queue = BlockPlacementQueue()
+        val failing = queue.submit({ _, _, _, _, _ -> throw IllegalStateException() }, listOf(CuboidExtent(Vector(0, 0, 0), Vector(1, 1, 1))),
+                stone, true, TimeUnit.SECONDS.toNanos(1))
+        val world = StandInWorld()
+        val next = queue.submit(world, listOf(CuboidExtent(Vector(0, 0, 0), Vector(1, 1, 1))), stone, true, TimeUnit.SECONDS.toNanos(1))
+
+        queue.process()
+
+        Assert.assertTrue(failing.isCompletedExceptionally)
+        Assert.assertTrue(next.isDone && !next.isCompletedExceptionally)
+        Assert.assertEquals(8, world.writes)
+    }
+
+    /**
+     * Stand-in for a Bukkit world that records writes, calling [onWrite] after each one.
+     */
+    private class StandInWorld(val onWrite: () -> Unit = {}) : BlockWriter {
+        var writes = 0
+        var chunkSwitches = 0
+        private val blocks = HashSet<Triple<Int, Int, Int>>()
+        private val chunks = HashSet<Pair<Int, Int>>()
+        private var lastChunk: Pair<Int, Int>? = null
+
+        val distinctWrites get() = blocks.size
+        val distinctChunks get() = chunks.size
+
+        override fun setBlock(x: Int, y: Int, z: Int, blockData: BlockData, physics: Boolean) {
+            writes++
+            blocks.add(Triple(x, y, z))
+            val chunk = Pair(x shr 4, z shr 4)
+            chunks.add(chunk)
+            if (chunk != lastChunk) {
+                chunkSwitches++
+                lastChunk = chunk
+            }
+            onWrite()
+        }
+    }
+}
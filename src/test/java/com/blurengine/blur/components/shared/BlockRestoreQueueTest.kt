@@ -0,0 +1,107 @@
+/*
+ * Copyright 2026 Ali Moghnieh
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blurengine.blur.components.shared
+
+import org.bukkit.World
+import org.junit.Assert
+import org.junit.Test
+import org.mockito.Mockito
+
+class BlockRestoreQueueTest {
+    private val world = Mockito.mock(World::class.java)
+    private val otherWorld = Mockito.mock(World::class.java)
+
+    @Test
+    fun keepsWorldsApart() {
+        val queue = BlockRestoreQueue<String>()
+        queue.put(world, 1, 64, 1, "first", 10)
+        queue.put(otherWorld, 1, 64, 1, "second", 20)
+
+        Assert.assertEquals(2, queue.size)
+        Assert.assertEquals("first", queue.get(world, 1, 64, 1))
+        Assert.assertEquals("second", queue.get(otherWorld, 1, 64, 1))
+
+        Assert.assertEquals("second", queue.remove(otherWorld, 1, 64, 1))
+        Assert.assertNull(queue.remove(otherWorld, 1, 64, 1))
+        Assert.assertEquals("first", queue.get(world, 1, 64, 1))
+        Assert.assertEquals(1, queue.size)
+    }
+
+    @Test
+    fun adjacentLookupsOnlyMatchTheBlocksWorld() {
+        val queue = BlockRestoreQueue<String>()
+        queue.put(world, 10, 64, 10, "pending", 10)
+
+        Assert.assertTrue(queue.containsOrAdjacent(world, 10, 64, 10))
+        Assert.assertTrue(queue.containsOrAdjacent(world, 11, 64, 10))
+        Assert.assertTrue(queue.containsOrAdjacent(world, 10, 65, 10))
+        Assert.assertFalse(queue.containsOrAdjacent(world, 12, 64, 10))
+        // Physics and breaks at the same coordinates in another world must not be cancelled.
+        Assert.assertFalse(queue.containsOrAdjacent(otherWorld, 10, 64, 10))
+        Assert.assertFalse(queue.containsOrAdjacent(otherWorld, 11, 64, 10))
+
+        queue.put(otherWorld, 11, 64, 10, "pending", 10)
+        Assert.assertTrue(queue.containsOrAdjacent(otherWorld, 10, 64, 10))
+        queue.remove(world, 10, 64, 10)
+        Assert.assertFalse(queue.containsOrAdjacent(world, 10, 64, 10))
+        Assert.assertFalse(queue.containsOrAdjacent(world, 11, 64, 10))
+    }
+
+    @Test
+    fun pollsAndDrainsEveryWorld() {
+        val queue = BlockRestoreQueue<String>()
+        queue.put(world, 0, 64, 0, "a", 10)
+        queue.put(otherWorld, 0, 64, 0, "b", 10)
+        queue.put(otherWorld, 100, 64, 100, "c", 30)
+
+        val polled = ArrayList<String>()
+        queue.poll(20) { polled.add(it) }
+        Assert.assertEquals(setOf("a", "b"), polled.toSet())
+        Assert.assertEquals(1, queue.size)
+
+        queue.put(world, 5, 64, 5, "d", 40)
+        Assert.assertEquals(setOf("c", "d"), queue.drainSorted().toSet())
+        Assert.assertTrue(queue.isEmpty)
+        Assert.assertNull(queue.get(world, 5, 64, 5))
+    }
+
+    @Test
+    fun pollAllowsRestoredBlocksToBeAddedAgain() {
+        val queue = BlockRestoreQueue<String>()
+        queue.put(world, 0, 64, 0, "a", 10)
+        queue.put(world, 1, 64, 0, "b", 10)
+
+        // Like BlockRestoreListener.onRestore callbacks, which may place blocks again, in this world or another.
+        queue.poll(20) {
+            if (it == "a") {
+                queue.remove(world, 1, 64, 0)
+                queue.put(otherWorld, 0, 64, 0, "c", 30)
+            }
+            true
+        }
+        Assert.assertEquals(1, queue.size)
+        Assert.assertNull(queue.get(world, 0, 64, 0))
+        Assert.assertEquals("c", queue.get(otherWorld, 0, 64, 0))
+
+        queue.poll(30) {
+            queue.put(otherWorld, 0, 64, 0, "d", 50)
+            true
+        }
+        Assert.assertEquals("d", queue.get(otherWorld, 0, 64, 0))
+        Assert.assertFalse(queue.isEmpty)
+    }
+}
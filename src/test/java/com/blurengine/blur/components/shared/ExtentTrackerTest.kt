@@ -0,0 +1,130 @@
+/*
+ * Copyright 2026 Ali Moghnieh
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blurengine.blur.components.shared
+
+import com.blurengine.blur.modules.extents.CuboidExtent
+import com.blurengine.blur.modules.extents.Extent
+import org.bukkit.util.Vector
+import org.junit.Assert
+import org.junit.Test
+
+class ExtentTrackerTest {
+    private val transitions = RecordingTransitions()
+    private val index = ExtentIndex(transitions)
+
+    @Test
+    fun entersAndExits() {
+        val extent = CuboidExtent(Vector(0, 0, 0), Vector(4, 4, 4))
+        index.track(extent)
+
+        index.update(PLAYER, 10.0, 1.0, 10.0)
+        Assert.assertEquals(emptyList<String>(), transitions.take())
+
+        index.update(PLAYER, 2.0, 1.0, 2.0)
+        Assert.assertEquals(listOf("enter $extent"), transitions.take())
+        Assert.assertTrue(index.isInside(PLAYER, extent))
+
+        // Moving within the extent is not a transition.
+        index.update(PLAYER, 3.0, 2.0, 3.0)
+        Assert.assertEquals(emptyList<String>(), transitions.take())
+
+        index.update(PLAYER, 2.0, 10.0, 2.0)
+        Assert.assertEquals(listOf("exit $extent"), transitions.take())
+        Assert.assertFalse(index.isInside(PLAYER, extent))
+    }
+
+    @Test
+    fun crossesChunks() {
+        // Spans chunks -1 to 1 on both axes.
+        val extent = CuboidExtent(Vector(-20, 0, -20), Vector(20, 4, 20))
+        index.track(extent)
+
+        index.update(PLAYER, -18.0, 1.0, -18.0)
+        Assert.assertEquals(listOf("enter $extent"), transitions.take())
+        index.update(PLAYER, 18.0, 1.0, 18.0)
+        Assert.assertEquals(emptyList<String>(), transitions.take())
+        // Leaving into a chunk the extent is not indexed in must still be noticed.
+        index.update(PLAYER, 40.0, 1.0, 18.0)
+        Assert.assertEquals(listOf("exit $extent"), transitions.take())
+        index.update(PLAYER, -60.0, 1.0, -60.0)
+        Assert.assertEquals(emptyList<String>(), transitions.take())
+    }
+
+    @Test
+    fun tracksOverlappingExtents() {
+        val first = CuboidExtent(Vector(0, 0, 0), Vector(10, 4, 10))
+        val second = CuboidExtent(Vector(5, 0, 5), Vector(15, 4, 15))
+        index.track(first)
+        index.track(second)
+
+        index.update(PLAYER, 2.0, 1.0, 2.0)
+        Assert.assertEquals(listOf("enter $first"), transitions.take())
+        index.update(PLAYER, 7.0, 1.0, 7.0)
+        Assert.assertEquals(listOf("enter $second"), transitions.take())
+        Assert.assertEquals(setOf(first, second), index.getExtents(PLAYER).toSet())
+
+        // Exits are reported before enters.
+        index.update(PLAYER, 12.0, 1.0, 12.0)
+        Assert.assertEquals(listOf("exit $first"), transitions.take())
+        index.update(PLAYER, 2.0, 1.0, 2.0)
+        Assert.assertEquals(listOf("exit $second", "enter $first"), transitions.take())
+
+        index.update(OTHER_PLAYER, 7.0, 1.0, 7.0)
+        Assert.assertEquals(listOf("enter $first", "enter $second"), transitions.take())
+        Assert.assertEquals(listOf(first), index.getExtents(PLAYER).toList())
+    }
+
+    @Test
+    fun untrackAndRemove() {
+        val first = CuboidExtent(Vector(0, 0, 0), Vector(10, 4, 10))
+        val second = CuboidExtent(Vector(5, 0, 5), Vector(15, 4, 15))
+        index.track(first)
+        index.track(second)
+        index.update(PLAYER, 7.0, 1.0, 7.0)
+        transitions.take()
+
+        Assert.assertTrue(index.untrack(first))
+        Assert.assertFalse(index.untrack(first))
+        Assert.assertEquals(listOf(second), index.getExtents(PLAYER).toList())
+        index.update(PLAYER, 2.0, 1.0, 2.0)
+        Assert.assertEquals(listOf("exit $second"), transitions.take())
+
+        index.update(PLAYER, 7.0, 1.0, 7.0)
+        index.remove(PLAYER)
+        Assert.assertEquals(listOf("enter $second", "exit $second"), transitions.take())
+        Assert.assertTrue(index.getExtents(PLAYER).isEmpty())
+    }
+
+    private class RecordingTransitions : ExtentIndex.Transitions<String> {
+        private val recorded = ArrayList<String>()
+
+        override fun entered(player: String, extent: Extent) {
+            recorded.add("enter $extent")
+        }
+
+        override fun exited(player: String, extent: Extent) {
+            recorded.add("exit $extent")
+        }
+
+        fun take(): List<String> = ArrayList(recorded).also { recorded.clear() }
+    }
+
+    companion object {
+        private const val PLAYER = "player"
+        private const val OTHER_PLAYER = "other"
+    }
+}
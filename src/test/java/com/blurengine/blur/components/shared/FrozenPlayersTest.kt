@@ -0,0 +1,100 @@
+/*
+ * Copyright 2026 Ali Moghnieh
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blurengine.blur.components.shared
+
+import com.blurengine.blur.session.BlurPlayer
+import org.bukkit.World
+import org.bukkit.entity.Player
+import org.junit.Assert
+import org.junit.Test
+import org.mockito.Mockito
+
+class FrozenPlayersTest {
+    private val world = Mockito.mock(World::class.java)
+    private val otherWorld = Mockito.mock(World::class.java)
+    private val modifiers = RecordingModifiers()
+
+    @Test
+    fun removeTakesOffModifiers() {
+        val frozen = FrozenPlayers<String>(modifiers)
+        val blurPlayer = blurPlayer(world)
+        frozen.add(blurPlayer, "frozen")
+
+        Assert.assertTrue(blurPlayer in frozen)
+        Assert.assertTrue(frozen.isFrozen(blurPlayer.player))
+        Assert.assertEquals(setOf(blurPlayer.player), modifiers.applied)
+
+        Assert.assertEquals("frozen", frozen.remove(blurPlayer))
+        Assert.assertNull(frozen.remove(blurPlayer))
+        Assert.assertFalse(frozen.isFrozen(blurPlayer.player))
+        Assert.assertTrue(modifiers.applied.isEmpty())
+    }
+
+    @Test
+    fun removeAllTakesOffEveryModifier() {
+        // EntityFreezer.disable() unfreezes everyone through this when the session ends, as its timers never fire.
+        val frozen = FrozenPlayers<String>(modifiers)
+        val first = blurPlayer(world)
+        val second = blurPlayer(otherWorld)
+        frozen.add(first, "first")
+        frozen.add(second, "second")
+
+        val unfrozen = ArrayList<String>()
+        frozen.removeAll { _, data -> unfrozen.add(data) }
+
+        Assert.assertEquals(setOf("first", "second"), unfrozen.toSet())
+        Assert.assertTrue(modifiers.applied.isEmpty())
+        Assert.assertEquals(0, frozen.size)
+        Assert.assertFalse(frozen.isFrozen(first.player))
+        Assert.assertFalse(frozen.isFrozen(second.player))
+    }
+
+    @Test
+    fun followsWorldChanges() {
+        val frozen = FrozenPlayers<String>(modifiers)
+        val blurPlayer = blurPlayer(world)
+        frozen.add(blurPlayer, "frozen")
+
+        Mockito.`when`(blurPlayer.player.world).thenReturn(otherWorld)
+        frozen.changedWorld(blurPlayer, world)
+        Assert.assertTrue(frozen.isFrozen(blurPlayer.player))
+
+        frozen.remove(blurPlayer)
+        Assert.assertFalse(frozen.isFrozen(blurPlayer.player))
+        Assert.assertTrue(modifiers.applied.isEmpty())
+    }
+
+    private fun blurPlayer(world: World): BlurPlayer {
+        val player = Mockito.mock(Player::class.java)
+        Mockito.`when`(player.world).thenReturn(world)
+        val blurPlayer = Mockito.mock(BlurPlayer::class.java)
+        Mockito.`when`(blurPlayer.player).thenReturn(player)
+        return blurPlayer
+    }
+
+    private class RecordingModifiers : FreezeModifiers {
+        val applied = HashSet<Player>()
+
+        override fun apply(player: Player) {
+            applied.add(player)
+        }
+
+        override fun remove(player: Player) {
+            applied.remove(player)
+        }
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright 2026 Ali Moghnieh
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blurengine.blur.components.shared
+
+import com.blurengine.blur.modules.extents.CuboidExtent
+import com.blurengine.blur.modules.extents.ProtectionRule
+import com.blurengine.blur.modules.filters.Filter
+import com.blurengine.blur.modules.filters.Filter.FilterResponse
+import org.bukkit.GameMode
+import org.bukkit.Material
+import org.bukkit.World
+import org.bukkit.block.Block
+import org.bukkit.block.BlockFace
+import org.bukkit.block.BlockState
+import org.bukkit.entity.Player
+import org.bukkit.event.Event
+import org.bukkit.event.EventHandler
+import org.bukkit.event.block.Action
+import org.bukkit.event.block.BlockBreakEvent
+import org.bukkit.event.block.BlockFromToEvent
+import org.bukkit.event.block.BlockPlaceEvent
+import org.bukkit.event.player.PlayerBucketEmptyEvent
+import org.bukkit.event.player.PlayerBucketFillEvent
+import org.bukkit.event.player.PlayerInteractEvent
+import org.bukkit.inventory.EquipmentSlot
+import org.bukkit.inventory.ItemStack
+import org.bukkit.util.Vector
+import org.junit.Assert
+import org.junit.Test
+import org.mockito.Mockito
+
+class ProtectionGuardTest {
+    private val world = Mockito.mock(World::class.java)
+    private val otherWorld = Mockito.mock(World::class.java)
+    private val player = Mockito.mock(Player::class.java)
+    private val inside = block(world, 5, 5, 5)
+    private val outside = block(world, 20, 5, 20)
+
+    @Test
+    fun breakIsPrevented() {
+        val guard = guard(ProtectionRule.BREAK)
+        Assert.assertTrue(dispatch(guard, BlockBreakEvent(inside, player)).isCancelled)
+        Assert.assertFalse(dispatch(guard, BlockBreakEvent(outside, player)).isCancelled)
+        Assert.assertFalse(dispatch(guard, placeEvent(inside)).isCancelled)
+    }
+
+    @Test
+    fun placeIsPrevented() {
+        val guard = guard(ProtectionRule.PLACE)
+        Assert.assertTrue(dispatch(guard, placeEvent(inside)).isCancelled)
+        Assert.assertFalse(dispatch(guard, placeEvent(outside)).isCancelled)
+        Assert.assertFalse(dispatch(guard, BlockBreakEvent(inside, player)).isCancelled)
+    }
+
+    @Test
+    fun bucketsArePlacingAndBreaking() {
+        val place = guard(ProtectionRule.PLACE)
+        Assert.assertTrue(dispatch(place, emptyEvent(inside)).isCancelled)
+        Assert.assertFalse(dispatch(place, emptyEvent(outside)).isCancelled)
+        Assert.assertFalse(dispatch(place, fillEvent(inside)).isCancelled)
+
+        val breaking = guard(ProtectionRule.BREAK)
+        Assert.assertTrue(dispatch(breaking, fillEvent(inside)).isCancelled)
+        Assert.assertFalse(dispatch(breaking, fillEvent(outside)).isCancelled)
+        Assert.assertFalse(dispatch(breaking, emptyEvent(inside)).isCancelled)
+    }
+
+    @Test
+    fun interactIsPrevented() {
+        val guard = guard(ProtectionRule.INTERACT)
+        Assert.assertEquals(Event.Result.DENY, dispatch(guard, interactEvent(inside)).useInteractedBlock())
+        Assert.assertEquals(Event.Result.ALLOW, dispatch(guard, interactEvent(outside)).useInteractedBlock())
+        Assert.assertFalse(dispatch(guard, BlockBreakEvent(inside, player)).isCancelled)
+    }
+
+    @Test
+    fun fluidIsPrevented() {
+        val guard = guard(ProtectionRule.FLUID)
+        Assert.assertTrue(dispatch(guard, BlockFromToEvent(outside, inside)).isCancelled)
+        Assert.assertFalse(dispatch(guard, BlockFromToEvent(inside, outside)).isCancelled)
+        Assert.assertFalse(dispatch(guard(ProtectionRule.ALL and ProtectionRule.FLUID.inv()), BlockFromToEvent(outside, inside)).isCancelled)
+    }
+
+    @Test
+    fun explosionKeepsUnprotectedBlocks() {
+        val guard = guard(ProtectionRule.EXPLOSION)
+        val next = block(world, 6, 5, 5)
+        val far = block(world, -40, 5, -40)
+        val blocks = mutableListOf(inside, outside, next, far)
+        guard.filterExplosion(blocks)
+        Assert.assertEquals(listOf(outside, far), blocks)
+
+        val blocksNotProtected = mutableListOf(inside, outside)
+        guard(ProtectionRule.ALL and ProtectionRule.EXPLOSION.inv()).filterExplosion(blocksNotProtected)
+        Assert.assertEquals(listOf(inside, outside), blocksNotProtected)
+    }
+
+    @Test
+    fun creativeAndExceptionsAreAllowed() {
+        val guard = guard(ProtectionRule.BREAK)
+        val creative = Mockito.mock(Player::class.java)
+        Mockito.`when`(creative.gameMode).thenReturn(GameMode.CREATIVE)
+        Assert.assertFalse(dispatch(guard, BlockBreakEvent(inside, creative)).isCancelled)
+
+        val builder = Mockito.mock(Player::class.java)
+        val excepting = ProtectionGuard(world) { it }
+        excepting.protect(ProtectionRule(cuboid(), ProtectionRule.BREAK, Filter { FilterResponse.from(it === builder) }))
+        Assert.assertFalse(dispatch(excepting, BlockBreakEvent(inside, builder)).isCancelled)
+        Assert.assertTrue(dispatch(excepting, BlockBreakEvent(inside, player)).isCancelled)
+    }
+
+    @Test
+    fun otherWorldsAreIgnored() {
+        val guard = guard(ProtectionRule.ALL)
+        val elsewhere = block(otherWorld, 5, 5, 5)
+        Assert.assertFalse(dispatch(guard, BlockBreakEvent(elsewhere, player)).isCancelled)
+        Assert.assertFalse(dispatch(guard, BlockFromToEvent(outside, elsewhere)).isCancelled)
+        Assert.assertTrue(dispatch(guard, BlockBreakEvent(inside, player)).isCancelled)
+    }
+
+    @Test
+    fun unprotectRemovesRules() {
+        val guard = guard(ProtectionRule.BREAK)
+        Assert.assertTrue(guard.isProtected(ProtectionRule.BREAK, inside))
+        Assert.assertTrue(guard.unprotect(guard.rules[0].extent))
+        Assert.assertFalse(guard.isProtected(ProtectionRule.BREAK, inside))
+        Assert.assertFalse(dispatch(guard, BlockBreakEvent(inside, player)).isCancelled)
+    }
+
+    private fun guard(flags: Int): ProtectionGuard {
+        val guard = ProtectionGuard(world) { it }
+        guard.protect(ProtectionRule(cuboid(), flags, null))
+        return guard
+    }
+
+    private fun cuboid() = CuboidExtent(Vector(0, 0, 0), Vector(10, 10, 10))
+
+    private fun placeEvent(block: Block) = BlockPlaceEvent(block, Mockito.mock(BlockState::class.java), outside, item(), player, true,
+        EquipmentSlot.HAND)
+
+    private fun emptyEvent(block: Block) = PlayerBucketEmptyEvent(player, block, outside, BlockFace.UP, Material.WATER_BUCKET, item(),
+        EquipmentSlot.HAND)
+
+    private fun fillEvent(block: Block) = PlayerBucketFillEvent(player, block, block, BlockFace.UP, Material.BUCKET, item(), EquipmentSlot.HAND)
+
+    private fun interactEvent(block: Block) = PlayerInteractEvent(player, Action.RIGHT_CLICK_BLOCK, null, block, BlockFace.UP)
+
+    private fun item() = Mockito.mock(ItemStack::class.java)
+
+    private fun block(world: World, x: Int, y: Int, z: Int): Block {
+        val block = Mockito.mock(Block::class.java)
+        Mockito.`when`(block.world).thenReturn(world)
+        Mockito.`when`(block.x).thenReturn(x)
+        Mockito.`when`(block.y).thenReturn(y)
+        Mockito.`when`(block.z).thenReturn(z)
+        return block
+    }
+
+    /**
+     * Calls every handler of the guard's listener that accepts the given event, as the plugin manager would.
+     */
+    private fun <E : Event> dispatch(guard: ProtectionGuard, event: E): E {
+        for (method in guard.listener.javaClass.declaredMethods) {
+            if (method.isAnnotationPresent(EventHandler::class.java) && method.parameterTypes[0].isInstance(event)) {
+                method.isAccessible = true
+                method.invoke(guard.listener, event)
+            }
+        }
+        return event
+    }
+}
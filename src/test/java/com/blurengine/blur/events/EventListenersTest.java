@@ -0,0 +1,76 @@
+/*
+ * Copyright 2026 Ali Moghnieh
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.blurengine.blur.events;
+
+import org.bukkit.event.Event;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.RegisteredListener;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+public class EventListenersTest {
+
+    @Test
+    public void testHandlerListLookup() throws Exception {
+        Assert.assertSame(TestEvent.getHandlerList(), EventListeners.getHandlerList(TestEvent.class));
+        // Subclasses without their own handler list share their parent's, as with Bukkit's registration.
+        Assert.assertSame(TestEvent.getHandlerList(), EventListeners.getHandlerList(TestSubEvent.class));
+    }
+
+    @Test
+    public void testRegistrationChanges() throws Exception {
+        Assert.assertFalse(EventListeners.hasListeners(TestEvent.class));
+        RegisteredListener listener = new RegisteredListener(new Listener() {}, (l, e) -> {}, EventPriority.NORMAL,
+            Mockito.mock(Plugin.class), false);
+        TestEvent.getHandlerList().register(listener);
+        try {
+            Assert.assertTrue(EventListeners.hasListeners(TestEvent.class));
+            Assert.assertTrue(EventListeners.hasListeners(TestSubEvent.class));
+        } finally {
+            TestEvent.getHandlerList().unregister(listener);
+        }
+        Assert.assertFalse(EventListeners.hasListeners(TestEvent.class));
+    }
+
+    @Test
+    public void testNoListenersNoEvent() throws Exception {
+        int[] built = {0};
+        Assert.assertNull(EventListeners.callEvent(TestEvent.class, () -> {
+            built[0]++;
+            return new TestEvent();
+        }));
+        // Without listeners the event is never built at all.
+        Assert.assertEquals(0, built[0]);
+    }
+
+    public static class TestEvent extends Event {
+
+        private static final HandlerList handlerList = new HandlerList();
+
+        @Override
+        public HandlerList getHandlers() { return handlerList; }
+
+        public static HandlerList getHandlerList() { return handlerList; }
+    }
+
+    public static class TestSubEvent extends TestEvent {}
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2026 Ali Moghnieh
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.blurengine.blur.events.players;
+
+import com.blurengine.blur.session.BlurPlayer;
+import com.blurengine.blur.session.BlurSession;
+
+import org.bukkit.Location;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.Random;
+
+public class PlayerMoveBlockEventTest {
+
+    @Test
+    public void testIsBlockChange() throws Exception {
+        Assert.assertFalse(PlayerMoveBlockEvent.isBlockChange(new Location(null, 0.1, 64, 0.1), new Location(null, 0.9, 64.5, 0.9)));
+        Assert.assertFalse(PlayerMoveBlockEvent.isBlockChange(new Location(null, 3.5, 64, 3.5, 90, 0), new Location(null, 3.5, 64, 3.5, 0, 45)));
+        Assert.assertTrue(PlayerMoveBlockEvent.isBlockChange(new Location(null, 0.9, 64, 0), new Location(null, 1.1, 64, 0)));
+        Assert.assertTrue(PlayerMoveBlockEvent.isBlockChange(new Location(null, 0, 64.9, 0), new Location(null, 0, 65, 0)));
+        // Negative coordinates floor away from zero.
+        Assert.assertTrue(PlayerMoveBlockEvent.isBlockChange(new Location(null, 0.2, 64, 0), new Location(null, -0.2, 64, 0)));
+        Assert.assertFalse(PlayerMoveBlockEvent.isBlockChange(new Location(null, -0.2, 64, -0.9), new Location(null, -0.8, 64, -0.1)));
+    }
+
+    @Test
+    public void testSetTo() throws Exception {
+        BlurPlayer blurPlayer = Mockito.mock(BlurPlayer.class);
+        Mockito.when(blurPlayer.getSession()).thenReturn(Mockito.mock(BlurSession.class));
+        PlayerMoveBlockEvent event = new PlayerMoveBlockEvent(blurPlayer, new Location(null, 0.5, 64, 0.5), new Location(null, 1.5, 64, 0.5));
+        Assert.assertEquals(1, event.getToBlockX());
+
+        Location to = new Location(null, -3.5, 70, 2.5);
+        event.setTo(to);
+        Assert.assertSame(to, event.getTo());
+        Assert.assertEquals(-4, event.getToBlockX());
+        Assert.assertEquals(70, event.getToBlockY());
+        Assert.assertEquals(2, event.getToBlockZ());
+        Assert.assertEquals(0, event.getFromBlockX());
+    }
+
+    /*
+     * Replays a player walking with jitter. Only packets crossing a block boundary are block changes, unlike the previous vector equality check
+     * which fired for every packet.
+     */
+    @Test
+    public void testWalkingPath() throws Exception {
+        int packets = 1_000;
+        Random random = new Random(0);
+        double x = 0, z = 0;
+        Location previous = new Location(null, x, 64, z);
+        int blockEvents = 0;
+        int expected = 0;
+        for (int i = 0; i < packets; i++) {
+            x += 0.2 + random.nextDouble() * 0.05;
+            z += random.nextDouble() * 0.1 - 0.05;
+            Location next = new Location(null, x, 64, z, random.nextFloat() * 360, 0);
+            if (PlayerMoveBlockEvent.isBlockChange(previous, next)) {
+                blockEvents++;
+            }
+            if (Math.floor(previous.getX()) != Math.floor(x) || Math.floor(previous.getZ()) != Math.floor(z)) {
+                expected++;
+            }
+            previous = next;
+        }
+
+        Assert.assertEquals(expected, blockEvents);
+        // Roughly one block boundary every four to five packets.
+        Assert.assertTrue(blockEvents < packets / 3);
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2026 Ali Moghnieh
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blurengine.blur.framework.ticking;
+
+import com.blurengine.blur.framework.ticking.TimingWheel.Timer;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+public class TimingWheelTest {
+
+    @Test
+    public void testExpiresOnTime() throws Exception {
+        Random random = new Random(0);
+        TimingWheel wheel = new TimingWheel();
+        Map<Timer, Long> expected = new IdentityHashMap<>();
+        List<Timer> timers = new ArrayList<>();
+        long[] late = new long[1];
+        TimingWheel.Handler handler = timer -> {
+            Long expiry = expected.remove(timer);
+            if (expiry == null || expiry != wheel.getTick()) {
+                late[0]++;
+            }
+        };
+
+        for (int tick = 0; tick < 300_000; tick++) {
+            for (int i = random.nextInt(4); i > 0; i--) {
+                // Mix of short delays and delays that span several levels.
+                long delay = random.nextBoolean() ? random.nextInt(100) : random.nextInt(500_000);
+                switch (timers.isEmpty() ? 0 : random.nextInt(3)) {
+                    case 0:
+                        Timer timer = wheel.schedule(delay, handler);
+                        timers.add(timer);
+                        expected.put(timer, wheel.getTick() + Math.max(1, delay));
+                        break;
+                    case 1:
+                        Timer cancelled = timers.get(random.nextInt(timers.size()));
+                        Assert.assertEquals(expected.remove(cancelled) != null, cancelled.cancel());
+                        break;
+                    default:
+                        Timer rescheduled = timers.get(random.nextInt(timers.size()));
+                        rescheduled.reschedule(delay);
+                        expected.put(rescheduled, wheel.getTick() + Math.max(1, delay));
+                }
+            }
+            Assert.assertEquals(expected.size(), wheel.size());
+            wheel.advance();
+        }
+        while (!expected.isEmpty()) {
+            wheel.advance();
+        }
+        Assert.assertEquals(0, late[0]);
+        Assert.assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void testRemainingTicks() throws Exception {
+        TimingWheel wheel = new TimingWheel();
+        Timer timer = wheel.schedule(100, t -> {});
+        for (int i = 0; i < 40; i++) {
+            wheel.advance();
+        }
+        Assert.assertEquals(60, timer.getRemainingTicks());
+        Assert.assertEquals(100, timer.getExpiry());
+        Assert.assertTrue(timer.cancel());
+        Assert.assertFalse(timer.cancel());
+        Assert.assertEquals(0, timer.getRemainingTicks());
+        Assert.assertFalse(timer.isScheduled());
+    }
+
+    @Test
+    public void testBatchHandlersMayModifyWheel() throws Exception {
+        TimingWheel wheel = new TimingWheel();
+        List<String> delivered = new ArrayList<>();
+        Timer[] second = new Timer[1];
+        wheel.schedule(5, timer -> {
+            delivered.add("first");
+            // Cancels a timer in the same batch that has not been delivered yet.
+            second[0].cancel();
+            wheel.schedule(0, t -> delivered.add("next tick"));
+        });
+        second[0] = wheel.schedule(5, timer -> delivered.add("second"));
+        wheel.schedule(5, timer -> {
+            delivered.add("third");
+            if (delivered.size() == 2) {
+                timer.reschedule(2);
+            }
+        });
+
+        for (int i = 0; i < 5; i++) {
+            wheel.advance();
+        }
+        Assert.assertEquals(List.of("first", "third"), delivered);
+        wheel.advance();
+        Assert.assertEquals(List.of("first", "third", "next tick"), delivered);
+        wheel.advance();
+        Assert.assertEquals(List.of("first", "third", "next tick", "third"), delivered);
+        Assert.assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void testDistantTimers() throws Exception {
+        TimingWheel wheel = new TimingWheel();
+        Timer forever = wheel.schedule(Long.MAX_VALUE, timer -> Assert.fail());
+        Assert.assertEquals(Long.MAX_VALUE, forever.getExpiry());
+        for (int i = 0; i < 10_000; i++) {
+            wheel.advance();
+        }
+        Assert.assertTrue(forever.isScheduled());
+        wheel.clear();
+        Assert.assertFalse(forever.isScheduled());
+        Assert.assertEquals(0, wheel.size());
+    }
+
+    /**
+     * Checks a wheel of rescheduling timers against polling every deadline every tick, as components did before.
+     */
+    @Test
+    public void testMatchesPolling() throws Exception {
+        int timers = 1_000;
+        int ticks = 500;
+        Random random = new Random(1);
+        TimingWheel wheel = new TimingWheel();
+        int[] polled = new int[timers];
+        int[] expired = new int[2];
+        for (int i = 0; i < timers; i++) {
+            int delay = 1 + random.nextInt(ticks * 10);
+            wheel.schedule(delay, timer -> {
+                expired[0]++;
+                timer.reschedule(ticks);
+            });
+            polled[i] = delay;
+        }
+
+        for (int tick = 0; tick < ticks * 2; tick++) {
+            wheel.advance();
+            for (int i = 0; i < timers; i++) {
+                if (--polled[i] <= 0) {
+                    expired[1]++;
+                    polled[i] = ticks;
+                }
+            }
+            Assert.assertEquals(expired[1], expired[0]);
+        }
+        Assert.assertTrue(expired[0] > 0);
+        Assert.assertEquals(timers, wheel.size());
+    }
+}
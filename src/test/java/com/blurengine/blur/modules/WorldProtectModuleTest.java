@@ -0,0 +1,136 @@
+/*
+ * Copyright 2026 Ali Moghnieh
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.blurengine.blur.modules;
+
+import com.blurengine.blur.modules.WorldProtectModule.WorldProtectData;
+
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.block.data.BlockData;
+import org.bukkit.event.Event;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.BlockFromToEvent;
+import org.bukkit.event.block.BlockPhysicsEvent;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+public class WorldProtectModuleTest {
+
+    /**
+     * Handlers the module registered before it was split into one listener per flag, regardless of which flags were enabled.
+     */
+    private static final int PREVIOUS_HANDLERS = 33;
+
+    private final World world = Mockito.mock(World.class);
+    private final World otherWorld = Mockito.mock(World.class);
+
+    @Test
+    public void testRegisteredHandlers() throws Exception {
+        WorldProtectData data = new WorldProtectData();
+        int defaults = handlers(data, Event.class).size();
+
+        data.setInteractBlock(true);
+        int all = handlers(data, Event.class).size();
+
+        WorldProtectData none = new WorldProtectData();
+        for (Method method : WorldProtectData.class.getMethods()) {
+            if (method.getName().startsWith("set") && method.getParameterTypes().length == 1
+                && method.getParameterTypes()[0] == boolean.class) {
+                method.invoke(none, false);
+            }
+        }
+        int disabled = handlers(none, Event.class).size();
+
+        WorldProtectData quiet = new WorldProtectData();
+        quiet.setBlockFromTo(false);
+        quiet.setCactusPhysics(false);
+
+        Assert.assertEquals(PREVIOUS_HANDLERS, all);
+        Assert.assertEquals(all - 1, defaults);
+        Assert.assertEquals(0, disabled);
+        Assert.assertEquals(1, handlers(data, BlockPhysicsEvent.class).size());
+        Assert.assertEquals(0, handlers(quiet, BlockPhysicsEvent.class).size());
+        Assert.assertEquals(0, handlers(quiet, BlockFromToEvent.class).size());
+    }
+
+    @Test
+    public void testWorldCheck() throws Exception {
+        WorldProtectData data = new WorldProtectData();
+        BlockFromToEvent inWorld = new BlockFromToEvent(block(world, Material.WATER), block(world, Material.AIR));
+        dispatch(handlers(data, BlockFromToEvent.class), inWorld);
+        Assert.assertTrue(inWorld.isCancelled());
+
+        BlockFromToEvent elsewhere = new BlockFromToEvent(block(otherWorld, Material.WATER), block(otherWorld, Material.AIR));
+        dispatch(handlers(data, BlockFromToEvent.class), elsewhere);
+        Assert.assertFalse(elsewhere.isCancelled());
+
+        BlockPhysicsEvent stone = new BlockPhysicsEvent(block(world, Material.STONE), Mockito.mock(BlockData.class));
+        dispatch(handlers(data, BlockPhysicsEvent.class), stone);
+        Assert.assertFalse(stone.isCancelled());
+        BlockPhysicsEvent cactus = new BlockPhysicsEvent(block(world, Material.CACTUS), Mockito.mock(BlockData.class));
+        dispatch(handlers(data, BlockPhysicsEvent.class), cactus);
+        Assert.assertTrue(cactus.isCancelled());
+        BlockPhysicsEvent cactusElsewhere = new BlockPhysicsEvent(block(otherWorld, Material.CACTUS), Mockito.mock(BlockData.class));
+        dispatch(handlers(data, BlockPhysicsEvent.class), cactusElsewhere);
+        Assert.assertFalse(cactusElsewhere.isCancelled());
+    }
+
+    private Block block(World world, Material type) {
+        Block block = Mockito.mock(Block.class);
+        Mockito.when(block.getWorld()).thenReturn(world);
+        Mockito.when(block.getType()).thenReturn(type);
+        return block;
+    }
+
+    private List<Handler> handlers(WorldProtectData data, Class<? extends Event> eventClass) {
+        List<Handler> handlers = new ArrayList<>();
+        for (Listener listener : WorldProtectModule.createListeners(world, data)) {
+            for (Method method : listener.getClass().getDeclaredMethods()) {
+                if (method.isAnnotationPresent(EventHandler.class) && eventClass.isAssignableFrom(method.getParameterTypes()[0])) {
+                    method.setAccessible(true);
+                    handlers.add(new Handler(listener, method));
+                }
+            }
+        }
+        return handlers;
+    }
+
+    private static void dispatch(List<Handler> handlers, Event event) throws Exception {
+        for (int i = 0; i < handlers.size(); i++) {
+            handlers.get(i).method.invoke(handlers.get(i).listener, event);
+        }
+    }
+
+    private static final class Handler {
+
+        private final Listener listener;
+        private final Method method;
+
+        private Handler(Listener listener, Method method) {
+            this.listener = listener;
+            this.method = method;
+        }
+    }
+}
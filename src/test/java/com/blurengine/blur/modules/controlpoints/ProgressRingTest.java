@@ -0,0 +1,78 @@
+/*
+ * Copyright 2026 Ali Moghnieh
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.blurengine.blur.modules.controlpoints;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+
+public class ProgressRingTest {
+
+    @Test
+    public void testMatchesTrigonometry() throws Exception {
+        int points = 20;
+        double radius = 4.5;
+        ProgressRing ring = new ProgressRing(10.5, 64.2, -3.5, radius, points);
+        for (float progress = 0.01F; progress <= 1F; progress += 0.01F) {
+            Assert.assertTrue(ring.update(progress));
+            // The same geometry AutoCircleExtent generates for this radius and offset.
+            double offset = progress * (Math.PI * 2);
+            for (int i = 0; i < points; i++) {
+                double angle = ((double) i / points) * Math.PI * 2 + offset;
+                Assert.assertEquals(Math.cos(angle) * progress * radius + 10.5, ring.getX(i), 1e-9);
+                Assert.assertEquals(Math.sin(angle) * progress * radius - 3.5, ring.getZ(i), 1e-9);
+            }
+            Assert.assertEquals(64.2, ring.getY(), 0);
+        }
+    }
+
+    @Test
+    public void testUnchangedProgress() throws Exception {
+        ProgressRing ring = new ProgressRing(0, 0, 0, 1, 8);
+        Assert.assertTrue(ring.update(0.5F));
+        Assert.assertFalse(ring.update(0.5F));
+        Assert.assertTrue(ring.update(0.6F));
+    }
+
+    @Test
+    public void testSharedTables() throws Exception {
+        Assert.assertSame(ProgressRing.unitTable(20), ProgressRing.unitTable(20));
+        Assert.assertEquals(40, ProgressRing.unitTable(20).length);
+    }
+
+    @Test
+    public void testUpdateDoesNotAllocate() throws Exception {
+        ProgressRing ring = new ProgressRing(0, 0, 0, 5, 20);
+        com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        int updates = 10_000;
+        for (int i = 0; i < updates; i++) {
+            ring.update((i % 1000) / 1000F);
+        }
+
+        long before = bean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < updates; i++) {
+            ring.update((i % 1000) / 1000F);
+        }
+        long allocated = bean.getThreadAllocatedBytes(threadId) - before;
+
+        // Allow for the odd allocation by the runtime itself, but nothing per update.
+        Assert.assertTrue("allocated " + allocated + " bytes", allocated < updates);
+    }
+}
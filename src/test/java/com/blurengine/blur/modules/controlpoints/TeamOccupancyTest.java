@@ -0,0 +1,188 @@
+/*
+ * Copyright 2026 Ali Moghnieh
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.blurengine.blur.modules.controlpoints;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+public class TeamOccupancyTest {
+
+    private static final String RED = "red", BLUE = "blue", GREEN = "green";
+
+    @Test
+    public void testExclusive() throws Exception {
+        TeamOccupancy<String> occupancy = occupancy(RED, RED);
+        Assert.assertEquals(1, occupancy.getTeamCount());
+        Assert.assertEquals(RED, occupancy.getSoleTeam());
+
+        occupancy.add(BLUE);
+        Assert.assertEquals(2, occupancy.getTeamCount());
+        Assert.assertNull(occupancy.getSoleTeam());
+
+        occupancy.remove(RED);
+        occupancy.remove(RED);
+        Assert.assertEquals(BLUE, occupancy.getSoleTeam());
+
+        // Players without a team contest the point but never capture it.
+        occupancy.add(null);
+        Assert.assertEquals(2, occupancy.getTeamCount());
+        occupancy.remove(BLUE);
+        Assert.assertEquals(1, occupancy.getTeamCount());
+        Assert.assertNull(occupancy.getSoleTeam());
+    }
+
+    @Test
+    public void testMajority() throws Exception {
+        Assert.assertEquals(RED, occupancy(RED, RED, BLUE).getMajorityTeam());
+        Assert.assertNull(occupancy(RED, RED, BLUE, GREEN).getMajorityTeam());
+        Assert.assertEquals(RED, occupancy(RED, RED, RED, BLUE, GREEN).getMajorityTeam());
+        Assert.assertNull(occupancy(RED, BLUE).getMajorityTeam());
+        Assert.assertNull(occupancy(RED, null).getMajorityTeam());
+        Assert.assertEquals(RED, occupancy(RED, RED, null).getMajorityTeam());
+        Assert.assertNull(occupancy(null, null, RED).getMajorityTeam());
+    }
+
+    @Test
+    public void testLead() throws Exception {
+        Assert.assertEquals(RED, occupancy(RED, RED, BLUE).getLeadingTeam());
+        Assert.assertEquals(RED, occupancy(RED, RED, BLUE, GREEN).getLeadingTeam());
+        Assert.assertNull(occupancy(RED, RED, BLUE, BLUE, GREEN).getLeadingTeam());
+        Assert.assertNull(occupancy(RED, BLUE).getLeadingTeam());
+        // Players without a team are not a team to lead against.
+        Assert.assertEquals(RED, occupancy(RED, null, null).getLeadingTeam());
+        Assert.assertNull(occupancy(null, null).getLeadingTeam());
+    }
+
+    @Test
+    public void testChangeAndClear() throws Exception {
+        TeamOccupancy<String> occupancy = occupancy(RED, BLUE);
+        occupancy.change(BLUE, RED);
+        Assert.assertEquals(2, occupancy.getCount(RED));
+        Assert.assertEquals(0, occupancy.getCount(BLUE));
+        Assert.assertEquals(RED, occupancy.getSoleTeam());
+        occupancy.change(RED, RED);
+        Assert.assertEquals(2, occupancy.getTotal());
+
+        occupancy.clear();
+        Assert.assertEquals(0, occupancy.getTotal());
+        Assert.assertEquals(0, occupancy.getTeamCount());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testRemoveAbsent() throws Exception {
+        occupancy(RED).remove(BLUE);
+    }
+
+    /*
+     * Random enters, leaves and team changes, checked after every step against a recount of every occupant using the rules as documented on
+     * CaptureRule.
+     */
+    @Test
+    public void testMatchesRecount() throws Exception {
+        Random random = new Random(0);
+        String[] teams = {RED, BLUE, GREEN, "yellow", "purple", null};
+        TeamOccupancy<String> occupancy = new TeamOccupancy<>();
+        List<String> occupants = new ArrayList<>();
+        for (int i = 0; i < 200_000; i++) {
+            int op = random.nextInt(3);
+            if (op == 0 || occupants.isEmpty()) {
+                String team = teams[random.nextInt(teams.length)];
+                occupants.add(team);
+                occupancy.add(team);
+            } else if (op == 1) {
+                occupancy.remove(occupants.remove(random.nextInt(occupants.size())));
+            } else {
+                int index = random.nextInt(occupants.size());
+                String team = teams[random.nextInt(teams.length)];
+                occupancy.change(occupants.set(index, team), team);
+            }
+
+            Map<String, Integer> counts = new HashMap<>();
+            occupants.forEach(team -> counts.merge(team, 1, Integer::sum));
+            long distinct = occupants.stream().distinct().count();
+            Assert.assertEquals(occupants.size(), occupancy.getTotal());
+            Assert.assertEquals(distinct, occupancy.getTeamCount());
+            Assert.assertEquals(distinct == 1 ? occupants.get(0) : null, occupancy.getSoleTeam());
+            for (String team : teams) {
+                Assert.assertEquals((int) counts.getOrDefault(team, 0), occupancy.getCount(team));
+            }
+            Assert.assertEquals(recountMajority(counts, occupants.size()), occupancy.getMajorityTeam());
+            Assert.assertEquals(recountLead(counts), occupancy.getLeadingTeam());
+        }
+    }
+
+    @Test
+    public void testEvaluationDoesNotAllocate() throws Exception {
+        TeamOccupancy<String> occupancy = occupancy(RED, RED, BLUE, GREEN, GREEN, GREEN, null);
+        com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        int calls = 1_000_000;
+        int found = 0;
+        for (int i = 0; i < calls; i++) {
+            found += evaluate(occupancy);
+        }
+
+        long before = bean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < calls; i++) {
+            found += evaluate(occupancy);
+        }
+        long allocated = bean.getThreadAllocatedBytes(threadId) - before;
+
+        Assert.assertEquals(calls * 2 * 2, found);
+        // Allow for the odd allocation by the runtime itself, but nothing per call.
+        Assert.assertTrue("allocated " + allocated + " bytes", allocated < calls);
+    }
+
+    private static int evaluate(TeamOccupancy<String> occupancy) {
+        occupancy.remove(BLUE);
+        occupancy.add(BLUE);
+        return (occupancy.getSoleTeam() == null ? 1 : 0) + (occupancy.getMajorityTeam() == null ? 0 : 1)
+            + (occupancy.getLeadingTeam() == null ? 0 : 1);
+    }
+
+    private static String recountMajority(Map<String, Integer> counts, int total) {
+        return counts.entrySet().stream().filter(e -> e.getKey() != null && e.getValue() > total - e.getValue())
+            .map(Map.Entry::getKey).findFirst().orElse(null);
+    }
+
+    private static String recountLead(Map<String, Integer> counts) {
+        int max = counts.entrySet().stream().filter(e -> e.getKey() != null).mapToInt(Map.Entry::getValue).max().orElse(0);
+        List<String> largest = new ArrayList<>();
+        counts.forEach((team, count) -> {
+            if (team != null && count == max) {
+                largest.add(team);
+            }
+        });
+        return largest.size() == 1 ? largest.get(0) : null;
+    }
+
+    private static TeamOccupancy<String> occupancy(String... teams) {
+        TeamOccupancy<String> occupancy = new TeamOccupancy<>();
+        for (String team : teams) {
+            occupancy.add(team);
+        }
+        return occupancy;
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2026 Ali Moghnieh
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blurengine.blur.modules.extents;
+
+import com.supaham.commons.bukkit.utils.ImmutableBlockVector;
+
+import org.bukkit.util.BlockVector;
+import org.bukkit.util.Vector;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.HashSet;
+import java.util.Set;
+
+public class ExtentBlockIterationTest {
+
+    private static final CuboidExtent LARGE_CUBOID = new CuboidExtent(new Vector(-20, 10, -30), new Vector(79, 59, 69)); // 100x50x100
+
+    @Test
+    public void testCuboidVisitsSameBlocksAsIterator() throws Exception {
+        CuboidExtent extent = new CuboidExtent(new Vector(-17, 3, 5), new Vector(18, 6, 40));
+        assertSameBlocks(extent);
+    }
+
+    @Test
+    public void testCuboidChunkOrder() throws Exception {
+        long[] lastChunk = {Long.MIN_VALUE};
+        int[] chunkChanges = {0};
+        LARGE_CUBOID.forEachBlock((x, y, z) -> {
+            long chunk = ((long) (x >> 4) << 32) | ((z >> 4) & 0xFFFFFFFFL);
+            if (chunk != lastChunk[0]) {
+                lastChunk[0] = chunk;
+                chunkChanges[0]++;
+            }
+        });
+        // 100 blocks spanning -20..79 on x touch 7 chunks, and -30..69 on z touch 7 chunks. Each chunk must only be entered once.
+        Assert.assertEquals(7 * 7, chunkChanges[0]);
+    }
+
+    @Test
+    public void testBlockAndUnion() throws Exception {
+        BlockExtent block = new BlockExtent(new ImmutableBlockVector(4, 5, 6), null);
+        assertSameBlocks(block);
+        assertSameBlocks(new UnionExtent(block, new CuboidExtent(new Vector(0, 0, 0), new Vector(2, 2, 2))));
+    }
+
+    @Test
+    public void testCuboidAllocation() throws Exception {
+        long[] count = {0};
+        // Warm up so that class loading and lambda linkage are not counted.
+        LARGE_CUBOID.forEachBlock((x, y, z) -> count[0]++);
+
+        com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        long before = bean.getThreadAllocatedBytes(threadId);
+        LARGE_CUBOID.forEachBlock((x, y, z) -> count[0]++);
+        long visitorBytes = bean.getThreadAllocatedBytes(threadId) - before;
+
+        Assert.assertEquals(500_000 * 2, count[0]);
+        // The visitor must not allocate per block; allow a little slack for the measurement itself.
+        Assert.assertTrue("forEachBlock allocated " + visitorBytes + " bytes", visitorBytes < 64 * 1024);
+    }
+
+    private static void assertSameBlocks(Extent extent) {
+        Set<BlockVector> expected = new HashSet<>();
+        for (BlockVector bv : extent) {
+            expected.add(bv);
+        }
+        Set<BlockVector> actual = new HashSet<>();
+        int[] visits = {0};
+        extent.forEachBlock((x, y, z) -> {
+            actual.add(new BlockVector(x, y, z));
+            visits[0]++;
+        });
+        Assert.assertEquals(expected, actual);
+        Assert.assertEquals(expected.size(), visits[0]);
+    }
+}
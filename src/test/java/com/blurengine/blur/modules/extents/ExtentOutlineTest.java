@@ -0,0 +1,115 @@
+/*
+ * Copyright 2026 Ali Moghnieh
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blurengine.blur.modules.extents;
+
+import com.supaham.commons.bukkit.utils.ImmutableBlockVector;
+import com.supaham.commons.bukkit.utils.ImmutableVector;
+
+import org.bukkit.util.Vector;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+public class ExtentOutlineTest {
+
+    @Test
+    public void testCuboidEdges() throws Exception {
+        CuboidExtent extent = new CuboidExtent(new Vector(0, 0, 0), new Vector(10, 4, 6));
+        double[] outline = ExtentOutline.generate(extent, 1);
+        // The outline covers blocks 0 to 10 inclusive, so it spans 0 to 11.
+        // 4 edges of 12 points along x, then the points between the corners of 4 edges along y and 4 edges along z.
+        Assert.assertEquals(4 * 12 + 4 * 4 + 4 * 6, outline.length / 3);
+        assertDistinct(outline);
+        for (int i = 0; i < outline.length; i += 3) {
+            int onBounds = 0;
+            onBounds += outline[i] == 0 || outline[i] == 11 ? 1 : 0;
+            onBounds += outline[i + 1] == 0 || outline[i + 1] == 5 ? 1 : 0;
+            onBounds += outline[i + 2] == 0 || outline[i + 2] == 7 ? 1 : 0;
+            Assert.assertTrue("point is not on an edge", onBounds >= 2);
+        }
+    }
+
+    @Test
+    public void testSingleLayerCuboid() throws Exception {
+        CuboidExtent extent = new CuboidExtent(new Vector(0, 0, 0), new Vector(10, 0, 6));
+        double[] outline = ExtentOutline.generate(extent, 1);
+        // A single layer of blocks is still one block tall, with no points between the corners along y.
+        Assert.assertEquals(4 * 12 + 4 * 6, outline.length / 3);
+        assertDistinct(outline);
+    }
+
+    @Test
+    public void testCuboidMatchesBlocks() throws Exception {
+        // A cuboid of a single block outlines exactly like the block extent of the same coordinates.
+        CuboidExtent cuboid = new CuboidExtent(new Vector(4, 5, 6), new Vector(4, 5, 6));
+        BlockExtent block = new BlockExtent(new ImmutableBlockVector(4, 5, 6), null);
+        Assert.assertArrayEquals(ExtentOutline.generate(block, 0.5), ExtentOutline.generate(cuboid, 0.5), 0);
+    }
+
+    @Test
+    public void testSpacing() throws Exception {
+        CuboidExtent extent = new CuboidExtent(new Vector(0, 0, 0), new Vector(10, 4, 6));
+        // Segments are rounded up so that no two points are further apart than the spacing: 4, 2 and 3 segments.
+        Assert.assertEquals(4 * 5 + 4 * 1 + 4 * 2, ExtentOutline.generate(extent, 3).length / 3);
+    }
+
+    @Test
+    public void testBlock() throws Exception {
+        BlockExtent block = new BlockExtent(new ImmutableBlockVector(4, 5, 6), null);
+        Assert.assertEquals(8, ExtentOutline.generate(block, 1).length / 3);
+        Assert.assertEquals(4 * 3 + 4 + 4, ExtentOutline.generate(block, 0.5).length / 3);
+    }
+
+    @Test
+    public void testCylinderRings() throws Exception {
+        double[] outline = ExtentOutline.generate(new CylinderExtent(new ImmutableVector(0, 0, 0), 5, 3), 1);
+        // ceil(2 * PI * 5) points per ring, bottom and top.
+        Assert.assertEquals(2 * 32, outline.length / 3);
+        for (int i = 0; i < outline.length; i += 3) {
+            Assert.assertEquals(5, Math.sqrt(outline[i] * outline[i] + outline[i + 2] * outline[i + 2]), 1e-9);
+        }
+        Assert.assertEquals(32, ExtentOutline.generate(new CylinderExtent(new ImmutableVector(0, 0, 0), 5, 0), 1).length / 3);
+    }
+
+    @Test
+    public void testUnion() throws Exception {
+        BlockExtent block = new BlockExtent(new ImmutableBlockVector(4, 5, 6), null);
+        CuboidExtent cuboid = new CuboidExtent(new Vector(0, 0, 0), new Vector(10, 4, 6));
+        UnionExtent union = new UnionExtent(block, cuboid);
+        Assert.assertEquals(8 + 88, ExtentOutline.generate(union, 1).length / 3);
+        Assert.assertFalse(ExtentOutline.isMoving(union));
+    }
+
+    @Test
+    public void testOutlineIsSmallerThanBlocks() throws Exception {
+        CuboidExtent extent = new CuboidExtent(new Vector(-20, 10, -30), new Vector(79, 59, 69));
+        long[] blocks = {0};
+        extent.forEachBlock((x, y, z) -> blocks[0]++);
+        int points = ExtentOutline.generate(extent, 1).length / 3;
+        Assert.assertEquals(4 * 101 + 4 * 49 + 4 * 99, points);
+        Assert.assertTrue(points * 100 < blocks[0]);
+    }
+
+    private static void assertDistinct(double[] outline) {
+        Set<Vector> points = new HashSet<>();
+        for (int i = 0; i < outline.length; i += 3) {
+            Assert.assertTrue("duplicate point", points.add(new Vector(outline[i], outline[i + 1], outline[i + 2])));
+        }
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2026 Ali Moghnieh
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.blurengine.blur.modules.extents;
+
+import com.blurengine.blur.modules.filters.Filter;
+import com.blurengine.blur.modules.filters.Filter.FilterResponse;
+
+import org.bukkit.util.Vector;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+public class ProtectionIndexTest {
+
+    @Test
+    public void testFlagsPerChunk() throws Exception {
+        ProtectionIndex index = new ProtectionIndex(Arrays.asList(
+            rule(0, 0, 0, 20, 10, 20, ProtectionRule.BREAK | ProtectionRule.PLACE),
+            rule(100, 0, 100, 110, 10, 110, ProtectionRule.EXPLOSION)));
+
+        Assert.assertEquals(ProtectionRule.BREAK | ProtectionRule.PLACE, index.getFlags(0, 0));
+        Assert.assertEquals(ProtectionRule.BREAK | ProtectionRule.PLACE, index.getFlags(1, 1));
+        Assert.assertEquals(0, index.getFlags(2, 2));
+        Assert.assertEquals(ProtectionRule.EXPLOSION, index.getFlags(6, 6));
+        Assert.assertEquals(0, index.getFlags(-1, 0));
+        Assert.assertEquals(0, index.getFlags(1000, -1000));
+        Assert.assertEquals(0, index.getUnindexedRules());
+    }
+
+    @Test
+    public void testIsProtected() throws Exception {
+        ProtectionIndex index = new ProtectionIndex(Collections.singletonList(rule(-8, 0, -8, 8, 10, 8, ProtectionRule.ALL)));
+        Assert.assertTrue(index.isProtected(ProtectionRule.BREAK, 0, 5, 0, null));
+        Assert.assertTrue(index.isProtected(ProtectionRule.FLUID, -8, 0, 8, null));
+        Assert.assertFalse(index.isProtected(ProtectionRule.BREAK, 0, 11, 0, null));
+        // Same chunk as the extent, but outside of it.
+        Assert.assertFalse(index.isProtected(ProtectionRule.BREAK, 12, 5, 12, null));
+        Assert.assertFalse(index.isProtected(ProtectionRule.BREAK, -9, 5, 0, null));
+    }
+
+    @Test
+    public void testExceptions() throws Exception {
+        Filter builders = object -> FilterResponse.from("builder".equals(object));
+        ProtectionRule rule = new ProtectionRule(cuboid(0, 0, 0, 10, 10, 10), ProtectionRule.BREAK, builders);
+        ProtectionIndex index = new ProtectionIndex(Collections.singletonList(rule));
+        Assert.assertTrue(index.isProtected(ProtectionRule.BREAK, 5, 5, 5, "player"));
+        Assert.assertFalse(index.isProtected(ProtectionRule.BREAK, 5, 5, 5, "builder"));
+        Assert.assertFalse(index.isProtected(ProtectionRule.PLACE, 5, 5, 5, "player"));
+
+        // An overlapping rule without the exception still protects.
+        ProtectionIndex overlapping = new ProtectionIndex(Arrays.asList(rule, rule(5, 5, 5, 6, 6, 6, ProtectionRule.BREAK)));
+        Assert.assertFalse(overlapping.isProtected(ProtectionRule.BREAK, 1, 1, 1, "builder"));
+        Assert.assertTrue(overlapping.isProtected(ProtectionRule.BREAK, 5, 5, 5, "builder"));
+    }
+
+    @Test
+    public void testUnindexed() throws Exception {
+        // Spans more chunks than are indexed per rule.
+        ProtectionRule large = rule(-10_000, 0, -10_000, 10_000, 10, 10_000, ProtectionRule.FLUID);
+        ProtectionIndex index = new ProtectionIndex(Arrays.asList(large, rule(0, 0, 0, 1, 1, 1, ProtectionRule.BREAK)));
+        Assert.assertEquals(1, index.getUnindexedRules());
+        Assert.assertEquals(ProtectionRule.FLUID | ProtectionRule.BREAK, index.getFlags(0, 0));
+        Assert.assertEquals(ProtectionRule.FLUID, index.getFlags(500, 500));
+        Assert.assertTrue(index.isProtected(ProtectionRule.FLUID, 9_000, 5, -9_000, null));
+        Assert.assertFalse(index.isProtected(ProtectionRule.FLUID, 10_001, 5, 0, null));
+    }
+
+    /*
+     * Random rules and blocks, checked against testing every rule.
+     */
+    @Test
+    public void testMatchesLinearScan() throws Exception {
+        Random random = new Random(0);
+        List<ProtectionRule> rules = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            int x = random.nextInt(400) - 200, y = random.nextInt(50), z = random.nextInt(400) - 200;
+            rules.add(rule(x, y, z, x + random.nextInt(40), y + random.nextInt(20), z + random.nextInt(40), 1 << random.nextInt(5)));
+        }
+        ProtectionIndex index = new ProtectionIndex(rules);
+        for (int i = 0; i < 100_000; i++) {
+            int flag = 1 << random.nextInt(5);
+            int x = random.nextInt(500) - 250, y = random.nextInt(80), z = random.nextInt(500) - 250;
+            boolean expected = false;
+            for (ProtectionRule rule : rules) {
+                expected |= rule.prevents(flag, x, y, z, null);
+            }
+            Assert.assertEquals(expected, index.isProtected(flag, x, y, z, null));
+        }
+    }
+
+    @Test
+    public void testUnprotectedChunks() throws Exception {
+        List<ProtectionRule> rules = new ArrayList<>();
+        for (int i = 0; i < 64; i++) {
+            rules.add(rule(i * 64, 0, 0, i * 64 + 20, 30, 20, ProtectionRule.ALL));
+        }
+        ProtectionIndex index = new ProtectionIndex(rules);
+        // Chunks far from every rule have no flags, without testing any rule.
+        for (int chunkX = 0; chunkX < 256; chunkX++) {
+            Assert.assertEquals(0, index.getFlags(chunkX, 100));
+        }
+        Assert.assertEquals(ProtectionRule.ALL, index.getFlags(0, 0));
+    }
+
+    private static ProtectionRule rule(int x1, int y1, int z1, int x2, int y2, int z2, int flags) {
+        return new ProtectionRule(cuboid(x1, y1, z1, x2, y2, z2), flags, null);
+    }
+
+    private static CuboidExtent cuboid(int x1, int y1, int z1, int x2, int y2, int z2) {
+        return new CuboidExtent(new Vector(x1, y1, z1), new Vector(x2, y2, z2));
+    }
+}
@@ -0,0 +1,279 @@
+/*
+ * Copyright 2026 Ali Moghnieh
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blurengine.blur.modules.filters;
+
+import com.blurengine.blur.modules.filters.Filter.FilterResponse;
+import com.blurengine.blur.modules.filters.lexer.FilterRecursiveDescentParser;
+
+import org.bukkit.entity.EntityType;
+import org.bukkit.entity.Player;
+import org.bukkit.event.entity.EntityDamageEvent.DamageCause;
+import org.bukkit.util.BlockVector;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+public class CompiledFiltersTest {
+
+    private final Map<String, StubFilter> stubs = new HashMap<>();
+    private final StubFilter a = stub("a");
+    private final StubFilter b = stub("b");
+    private final StubFilter c = stub("c");
+    private final StubFilter d = stub("d");
+
+    @Test
+    public void testEquivalence() throws Exception {
+        assertEquivalent("a", () -> a);
+        assertEquivalent("a & b", () -> legacyAnd(a, b));
+        assertEquivalent("a | b", () -> legacyOr(a, b));
+        assertEquivalent("!a", () -> legacyNot(a));
+        assertEquivalent("!!a", () -> legacyNot(legacyNot(a)));
+        assertEquivalent("a & b & c", () -> legacyAnd(legacyAnd(a, b), c));
+        assertEquivalent("a | b | c | d", () -> legacyOr(legacyOr(legacyOr(a, b), c), d));
+        assertEquivalent("a | b & c", () -> legacyOr(a, legacyAnd(b, c)));
+        assertEquivalent("(a | b) & c", () -> legacyAnd(legacyOr(a, b), c));
+        assertEquivalent("!(a & b) | c", () -> legacyOr(legacyNot(legacyAnd(a, b)), c));
+        assertEquivalent("a & (b | (c & !d))", () -> legacyAnd(a, legacyOr(b, legacyAnd(c, legacyNot(d)))));
+        assertEquivalent("a&true", () -> legacyAnd(a, Filters.ALWAYS_ALLOW));
+        assertEquivalent("a | false", () -> legacyOr(a, Filters.ALWAYS_DENY));
+        assertEquivalent("a & false | b", () -> legacyOr(legacyAnd(a, Filters.ALWAYS_DENY), b));
+        assertEquivalent("true & (a | !b) & !(c | false)",
+            () -> legacyAnd(legacyAnd(Filters.ALWAYS_ALLOW, legacyOr(a, legacyNot(b))), legacyNot(legacyOr(c, Filters.ALWAYS_DENY))));
+        assertEquivalent("((a & b) & c) & (d & a) | ((b) | c)",
+            () -> legacyOr(legacyAnd(legacyAnd(legacyAnd(a, b), c), legacyAnd(d, a)), legacyOr(b, c)));
+    }
+
+    @Test
+    public void testConstantFolding() throws Exception {
+        Assert.assertSame(Filters.ALWAYS_DENY, parse("a & false"));
+        Assert.assertSame(Filters.ALWAYS_ALLOW, parse("b | (a & true) | true"));
+        Assert.assertSame(Filters.ALWAYS_DENY, parse("!true"));
+        Assert.assertSame(Filters.ALWAYS_ALLOW, parse("true & true"));
+        Assert.assertSame(a, parse("((a))"));
+    }
+
+    @Test
+    public void testShortCircuit() throws Exception {
+        Filter filter = parse("a & b & c");
+        a.response = FilterResponse.DENY;
+        Assert.assertEquals(FilterResponse.DENY, filter.test(null));
+        Assert.assertEquals(0, b.calls + c.calls);
+
+        filter = parse("a | (b | c)");
+        a.response = FilterResponse.ALLOW;
+        Assert.assertEquals(FilterResponse.ALLOW, filter.test(null));
+        Assert.assertEquals(0, b.calls + c.calls);
+    }
+
+    @Test
+    public void testCheapFirst() throws Exception {
+        a.cost = 100;
+        b.cost = Filters.COST_CHEAP;
+        b.response = FilterResponse.DENY;
+        Assert.assertEquals(FilterResponse.DENY, parse("a & b").test(null));
+        Assert.assertEquals(0, a.calls);
+        Assert.assertEquals(1, b.calls);
+    }
+
+    @Test
+    public void testDeterminism() throws Exception {
+        Filter random = Filters.random(0, true, 1, true);
+        Assert.assertTrue(parse("a & !(b | c)").isDeterministic());
+        Assert.assertFalse(random.isDeterministic());
+        Assert.assertFalse(Filters.and(a, Filters.or(b, Filters.inverse(random))).isDeterministic());
+
+        // Filters are only deterministic if they opt in.
+        Filter stateful = object -> FilterResponse.ALLOW;
+        Assert.assertFalse(stateful.isDeterministic());
+        Assert.assertFalse(Filters.or(a, stateful).isDeterministic());
+        Assert.assertTrue(Filters.ALWAYS_ALLOW.isDeterministic());
+        Assert.assertTrue(Filters.entityType(EntityType.PIG).isDeterministic());
+        Assert.assertTrue(Filters.damageCause(DamageCause.FALL).isDeterministic());
+    }
+
+    @Test
+    public void testSubjectKindDispatch() throws Exception {
+        a.kinds = SubjectKind.setOf(SubjectKind.PLAYER);
+        b.response = FilterResponse.ALLOW;
+        Filter filter = parse("a & b");
+        Assert.assertEquals(FilterResponse.ALLOW, filter.test("subject"));
+        Assert.assertEquals(0, a.calls);
+        Assert.assertEquals(1, b.calls);
+
+        Assert.assertEquals(SubjectKind.STRING, SubjectKind.of("subject"));
+        Assert.assertEquals(SubjectKind.OTHER, SubjectKind.of(null));
+        Assert.assertEquals(SubjectKind.VECTOR, SubjectKind.of(new BlockVector()));
+        Assert.assertEquals(SubjectKind.ENTITY_TYPE, SubjectKind.of(EntityType.PIG));
+    }
+
+    @Test
+    public void testIncludedKinds() throws Exception {
+        // Players resolve to PLAYER, but are entities too.
+        Player player = Mockito.mock(Player.class);
+        Assert.assertEquals(SubjectKind.PLAYER, SubjectKind.of(player));
+        a.kinds = SubjectKind.setOf(SubjectKind.ENTITY);
+        a.response = FilterResponse.DENY;
+        b.kinds = SubjectKind.setOf(SubjectKind.OTHER);
+        Filter filter = parse("b | a");
+        Assert.assertEquals(FilterResponse.DENY, filter.test(player));
+        Assert.assertEquals(1, a.calls);
+        Assert.assertEquals(1, b.calls);
+
+        // OTHER includes every kind, so b is still tested against strings while a is skipped.
+        Assert.assertEquals(FilterResponse.ABSTAIN, filter.test("subject"));
+        Assert.assertEquals(1, a.calls);
+        Assert.assertEquals(2, b.calls);
+
+        Assert.assertTrue(Filters.canMatch(a, SubjectKind.PLAYER));
+        Assert.assertFalse(Filters.canMatch(a, SubjectKind.BLUR_PLAYER));
+        Assert.assertTrue(SubjectKind.withIncluded(a.kinds).contains(SubjectKind.PLAYER));
+    }
+
+    @Test
+    public void testCanMatch() throws Exception {
+        Filter entityType = Filters.entityType(EntityType.PIG);
+        Assert.assertTrue(Filters.canMatch(entityType, SubjectKind.PLAYER));
+        Assert.assertFalse(Filters.canMatch(entityType, SubjectKind.MATERIAL, SubjectKind.BLOCK));
+        Assert.assertTrue(Filters.canMatch(Filters.ALWAYS_DENY, SubjectKind.BLOCK));
+        // Or of filters applies to the union of their kinds, inverse keeps its filter's kinds.
+        Filter either = Filters.or(entityType, Filters.damageCause(DamageCause.FALL));
+        Assert.assertTrue(Filters.canMatch(either, SubjectKind.DAMAGE_EVENT));
+        Assert.assertFalse(Filters.canMatch(Filters.inverse(either), SubjectKind.STRING));
+        // A folded constant applies to everything.
+        Assert.assertTrue(Filters.canMatch(Filters.and(entityType, Filters.ALWAYS_ALLOW), SubjectKind.STRING));
+    }
+
+    @Test
+    public void testCallCount() throws Exception {
+        String expression = "a & b & c & d & a & b & c & d";
+        Filter compiled = parse(expression);
+        Filter legacy = a;
+        for (Filter filter : new Filter[]{b, c, d, a, b, c, d}) {
+            legacy = legacyAnd(legacy, filter);
+        }
+        a.response = FilterResponse.DENY;
+
+        legacy.test(null);
+        Assert.assertEquals(8, totalCalls());
+        resetCalls();
+
+        // The first denial ends the conjunction.
+        compiled.test(null);
+        Assert.assertEquals(1, totalCalls());
+    }
+
+    private void assertEquivalent(String expression, Supplier<Filter> legacy) {
+        Filter compiled = parse(expression);
+        Filter expected = legacy.get();
+        FilterResponse[] responses = FilterResponse.values();
+        StubFilter[] all = {a, b, c, d};
+        int combinations = (int) Math.pow(responses.length, all.length);
+        for (int combination = 0; combination < combinations; combination++) {
+            for (int i = 0, n = combination; i < all.length; i++, n /= responses.length) {
+                all[i].response = responses[n % responses.length];
+            }
+            Assert.assertEquals(expression + " with a=" + a.response + ", b=" + b.response + ", c=" + c.response + ", d=" + d.response,
+                expected.test(null), compiled.test(null));
+        }
+    }
+
+    private Filter parse(String expression) {
+        return new FilterRecursiveDescentParser(stubs::get, expression).call();
+    }
+
+    private StubFilter stub(String id) {
+        StubFilter stub = new StubFilter();
+        stubs.put(id, stub);
+        return stub;
+    }
+
+    private int totalCalls() {
+        return a.calls + b.calls + c.calls + d.calls;
+    }
+
+    private void resetCalls() {
+        a.calls = b.calls = c.calls = d.calls = 0;
+    }
+
+    /* ================================
+     * >> REFERENCE IMPLEMENTATION
+     * ================================ */
+
+    // The evaluation of Filter#and and Filter#or before compilation, both sides are tested.
+    private static Filter legacyAnd(Filter left, Filter right) {
+        return (object) -> {
+            FilterResponse first = left.test(object);
+            FilterResponse second = right.test(object);
+            if (first == FilterResponse.ABSTAIN) {
+                return second;
+            } else if (second == FilterResponse.ABSTAIN) {
+                return first;
+            } else {
+                return first.isAllowed() && second.isAllowed() ? FilterResponse.ALLOW : FilterResponse.DENY;
+            }
+        };
+    }
+
+    private static Filter legacyOr(Filter left, Filter right) {
+        return (object) -> {
+            FilterResponse first = left.test(object);
+            if (first == FilterResponse.ALLOW) {
+                return first;
+            }
+            FilterResponse second = right.test(object);
+            return second == FilterResponse.ABSTAIN ? first : second;
+        };
+    }
+
+    private static Filter legacyNot(Filter filter) {
+        return (object) -> filter.test(object).inverse();
+    }
+
+    private static final class StubFilter implements Filter {
+
+        private FilterResponse response = FilterResponse.ABSTAIN;
+        private int cost = Filters.COST_DEFAULT;
+        private Set<SubjectKind> kinds = SubjectKind.ALL;
+        private int calls;
+
+        @Override
+        public FilterResponse test(Object object) {
+            calls++;
+            return response;
+        }
+
+        @Override
+        public int getCost() {
+            return cost;
+        }
+
+        @Override
+        public Set<SubjectKind> getSubjectKinds() {
+            return kinds;
+        }
+
+        @Override
+        public boolean isDeterministic() {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2026 Ali Moghnieh
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.blurengine.blur.modules.goal;
+
+import com.blurengine.blur.modules.filters.Filter;
+import com.blurengine.blur.modules.filters.Filter.FilterResponse;
+import com.blurengine.blur.modules.filters.Filters;
+import com.blurengine.blur.modules.filters.SubjectKind;
+import com.blurengine.blur.modules.goal.ScoreFilters.HighestScoreFilter;
+import com.blurengine.blur.session.BlurPlayer;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.Collections;
+import java.util.OptionalDouble;
+import java.util.Set;
+
+public class ScoreFiltersTest {
+
+    @Test
+    public void testPlayerScorersInCompound() throws Exception {
+        BlurPlayer winner = Mockito.mock(BlurPlayer.class);
+        BlurPlayer loser = Mockito.mock(BlurPlayer.class);
+        GoalModule goalModule = Mockito.mock(GoalModule.class);
+        Mockito.when(goalModule.getScore(winner)).thenReturn(OptionalDouble.of(5));
+        Mockito.when(goalModule.getScore(loser)).thenReturn(OptionalDouble.of(1));
+        Mockito.when(goalModule.getHighestScores()).thenReturn(Collections.singletonMap(winner, 5D));
+        Assert.assertEquals(SubjectKind.BLUR_PLAYER, SubjectKind.of(winner));
+
+        Filter playersOnly = new Filter() {
+            @Override
+            public FilterResponse test(Object object) {
+                return FilterResponse.ALLOW;
+            }
+
+            @Override
+            public Set<SubjectKind> getSubjectKinds() {
+                return SubjectKind.setOf(SubjectKind.BLUR_PLAYER);
+            }
+        };
+        Filter highest = new HighestScoreFilter(goalModule);
+        Filter filter = Filters.and(highest, playersOnly);
+        Assert.assertTrue(Filters.canMatch(highest, SubjectKind.BLUR_PLAYER));
+        Assert.assertEquals(FilterResponse.ALLOW, filter.test(winner));
+        Assert.assertEquals(FilterResponse.DENY, filter.test(loser));
+        Assert.assertEquals(FilterResponse.ABSTAIN, highest.test("unscored"));
+    }
+}
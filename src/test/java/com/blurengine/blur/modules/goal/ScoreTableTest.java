@@ -0,0 +1,106 @@
+/*
+ * Copyright 2026 Ali Moghnieh
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blurengine.blur.modules.goal;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+public class ScoreTableTest {
+
+    @Test
+    public void testScores() throws Exception {
+        ScoreTable table = new ScoreTable();
+        int red = table.add("red", 0);
+        int blue = table.add("blue", 5);
+        Assert.assertEquals(2, table.size());
+        Assert.assertEquals(red, table.getId("red"));
+        Assert.assertEquals(-1, table.getId("green"));
+        Assert.assertEquals("blue", table.getParticipant(blue));
+
+        Assert.assertEquals(3, table.addScore(red, 3), 0);
+        Assert.assertEquals(1, table.addScore(blue, -4), 0);
+        Assert.assertEquals(3, table.getScore(red), 0);
+        Assert.assertEquals(0, table.getRank(red));
+        Assert.assertEquals(1, table.getRank(blue));
+
+        try {
+            table.add("red", 0);
+            Assert.fail();
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+    @Test
+    public void testTies() throws Exception {
+        ScoreTable table = new ScoreTable();
+        int a = table.add("a", 1);
+        int b = table.add("b", 1);
+        int c = table.add("c", 2);
+        // Equal scores rank by who was added first.
+        Assert.assertArrayEquals(new int[]{c, a, b}, table.top(3));
+        Assert.assertArrayEquals(new int[]{b, a, c}, table.bottom(5));
+        Assert.assertArrayEquals(new int[0], table.top(0));
+
+        table.setScore(c, 1);
+        Assert.assertArrayEquals(new int[]{a, b, c}, table.top(3));
+        Assert.assertEquals(2, table.getRank(c));
+    }
+
+    @Test
+    public void testMatchesSort() throws Exception {
+        Random random = new Random(48);
+        ScoreTable table = new ScoreTable();
+        List<Integer> ids = new ArrayList<>();
+        for (int step = 0; step < 20_000; step++) {
+            if (ids.size() < 10 || random.nextInt(20) == 0) {
+                ids.add(table.add("p" + ids.size(), random.nextInt(10)));
+            } else {
+                int id = ids.get(random.nextInt(ids.size()));
+                if (random.nextBoolean()) {
+                    table.addScore(id, random.nextInt(7) - 3);
+                } else {
+                    table.setScore(id, random.nextInt(50));
+                }
+            }
+            if (step % 100 == 0) {
+                int[] expected = sorted(table, ids);
+                Assert.assertArrayEquals(expected, table.top(ids.size()));
+                for (int rank = 0; rank < expected.length; rank++) {
+                    Assert.assertEquals(rank, table.getRank(expected[rank]));
+                }
+                int[] bottom = table.bottom(5);
+                for (int i = 0; i < bottom.length; i++) {
+                    Assert.assertEquals(expected[expected.length - 1 - i], bottom[i]);
+                }
+            }
+        }
+    }
+
+    private static int[] sorted(ScoreTable table, List<Integer> ids) {
+        Integer[] sorted = ids.toArray(new Integer[0]);
+        Arrays.sort(sorted, (a, b) -> {
+            int compare = Double.compare(table.getScore(b), table.getScore(a));
+            return compare != 0 ? compare : Integer.compare(a, b);
+        });
+        return Arrays.stream(sorted).mapToInt(Integer::intValue).toArray();
+    }
+}
@@ -0,0 +1,55 @@
+
+package com.blurengine.blur.modules.spawns;
+
+import com.blurengine.blur.utils.blocks.BlockKeys;
+
+import org.bukkit.util.BoundingBox;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+public class ChangedBlocksTest {
+
+    @Test
+    public void testNothingWatched() throws Exception {
+        ChangedBlocks changed = new ChangedBlocks();
+        Assert.assertFalse(changed.isWatching());
+        for (int x = 0; x < 1000; x++) {
+            Assert.assertFalse(changed.add(x, 64, 0));
+        }
+        Assert.assertTrue(changed.isEmpty());
+    }
+
+    @Test
+    public void testWatchedBounds() throws Exception {
+        ChangedBlocks changed = new ChangedBlocks();
+        changed.watch(new BoundingBox(0, 64, 0, 4, 66, 4));
+        Assert.assertTrue(changed.isWatching());
+
+        // The floor below and the head above the bounds can change positions too.
+        Assert.assertTrue(changed.add(0, 63, 0));
+        Assert.assertTrue(changed.add(4, 67, 4));
+        Assert.assertTrue(changed.add(2, 65, 2));
+        Assert.assertFalse(changed.add(2, 65, 2));
+        Assert.assertFalse(changed.add(5, 64, 0));
+        Assert.assertFalse(changed.add(-1, 64, 0));
+        Assert.assertFalse(changed.add(0, 62, 0));
+        Assert.assertFalse(changed.add(0, 68, 0));
+        Assert.assertEquals(3, changed.size());
+
+        Set<Long> drained = new HashSet<>();
+        changed.drain(drained::add);
+        Assert.assertEquals(new HashSet<>(Arrays.asList(BlockKeys.pack(0, 63, 0), BlockKeys.pack(4, 67, 4), BlockKeys.pack(2, 65, 2))), drained);
+        Assert.assertTrue(changed.isEmpty());
+
+        // Unloading stops watching.
+        changed.add(1, 64, 1);
+        changed.clear();
+        Assert.assertTrue(changed.isEmpty());
+        Assert.assertFalse(changed.isWatching());
+        Assert.assertFalse(changed.add(1, 64, 1));
+    }
+}
@@ -0,0 +1,259 @@
+/*
+ * Copyright 2026 Ali Moghnieh
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blurengine.blur.modules.spawns;
+
+import com.blurengine.blur.modules.spawns.SpawnPositions.BlockTypes;
+import com.blurengine.blur.utils.blocks.BlockKeyMap;
+import com.blurengine.blur.utils.blocks.BlockKeySet;
+import com.blurengine.blur.utils.blocks.BlockKeys;
+
+import org.bukkit.Material;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.OptionalLong;
+import java.util.Random;
+import java.util.Set;
+
+public class SpawnPositionsTest {
+
+    @Test
+    public void testIsStandable() throws Exception {
+        Assert.assertTrue(SpawnPositions.isStandable(Material.GRASS_BLOCK, Material.AIR, Material.AIR));
+        Assert.assertFalse(SpawnPositions.isStandable(Material.AIR, Material.AIR, Material.AIR));
+        Assert.assertFalse(SpawnPositions.isStandable(Material.GRASS_BLOCK, Material.STONE, Material.AIR));
+        Assert.assertFalse(SpawnPositions.isStandable(Material.GRASS_BLOCK, Material.AIR, Material.STONE));
+        Assert.assertFalse(SpawnPositions.isStandable(Material.MAGMA_BLOCK, Material.AIR, Material.AIR));
+        Assert.assertFalse(SpawnPositions.isStandable(Material.GRASS_BLOCK, Material.FIRE, Material.AIR));
+        Assert.assertFalse(SpawnPositions.isStandable(Material.GRASS_BLOCK, Material.AIR, Material.LAVA));
+    }
+
+    @Test
+    public void testUpdate() throws Exception {
+        BlockKeySet candidates = new BlockKeySet();
+        for (int x = 0; x < 4; x++) {
+            candidates.add(x, 64, 0);
+        }
+        SpawnPositions positions = new SpawnPositions(candidates);
+        Assert.assertTrue(positions.isEmpty());
+
+        Assert.assertTrue(positions.update(0, 64, 0, true));
+        Assert.assertTrue(positions.update(1, 64, 0, true));
+        Assert.assertTrue(positions.update(2, 64, 0, true));
+        Assert.assertFalse(positions.update(2, 64, 0, true));
+        Assert.assertEquals(3, positions.size());
+
+        // Blocks outside of the extent are never positions.
+        Assert.assertFalse(positions.isCandidate(0, 65, 0));
+        Assert.assertFalse(positions.update(0, 65, 0, true));
+        Assert.assertFalse(positions.contains(0, 65, 0));
+
+        // Removing from the middle swaps the last position in.
+        Assert.assertTrue(positions.update(0, 64, 0, false));
+        Assert.assertFalse(positions.update(0, 64, 0, false));
+        Assert.assertEquals(2, positions.size());
+        Assert.assertFalse(positions.contains(0, 64, 0));
+        Assert.assertEquals(BlockKeys.pack(2, 64, 0), positions.get(0));
+        Assert.assertEquals(BlockKeys.pack(1, 64, 0), positions.get(1));
+
+        // Remaining indices are still correct after the swap.
+        Assert.assertTrue(positions.update(2, 64, 0, false));
+        Assert.assertEquals(1, positions.size());
+        Assert.assertEquals(BlockKeys.pack(1, 64, 0), positions.get(0));
+        Assert.assertTrue(positions.contains(1, 64, 0));
+    }
+
+    @Test
+    public void testGrowth() throws Exception {
+        BlockKeySet candidates = new BlockKeySet();
+        for (int x = 0; x < 100; x++) {
+            candidates.add(x, 64, x);
+        }
+        SpawnPositions positions = new SpawnPositions(candidates);
+        for (int x = 0; x < 100; x++) {
+            positions.update(x, 64, x, true);
+        }
+        Assert.assertEquals(100, positions.size());
+        for (int x = 0; x < 100; x += 2) {
+            positions.update(x, 64, x, false);
+        }
+        Assert.assertEquals(50, positions.size());
+        for (int x = 0; x < 100; x++) {
+            Assert.assertEquals(x % 2 == 1, positions.contains(x, 64, x));
+        }
+    }
+
+    @Test
+    public void testPick() throws Exception {
+        BlockKeySet candidates = new BlockKeySet();
+        candidates.add(0, 64, 0);
+        candidates.add(5, 70, -3);
+        SpawnPositions positions = new SpawnPositions(candidates);
+        try {
+            positions.pick(new Random());
+            Assert.fail("Picked from empty positions.");
+        } catch (IllegalStateException ignored) {
+        }
+
+        positions.update(0, 64, 0, true);
+        positions.update(5, 70, -3, true);
+        Random random = new Random(0);
+        Set<Long> picked = new HashSet<>();
+        for (int i = 0; i < 100; i++) {
+            picked.add(positions.pick(random));
+        }
+        Set<Long> expected = new HashSet<>();
+        expected.add(BlockKeys.pack(0, 64, 0));
+        expected.add(BlockKeys.pack(5, 70, -3));
+        Assert.assertEquals(expected, picked);
+    }
+
+    @Test
+    public void testScan() throws Exception {
+        // A floor at y 63 from x 0 to 3, with a cactus at x 2 and a wall in the way at x 3.
+        TestBlocks blocks = new TestBlocks();
+        for (int x = 0; x < 4; x++) {
+            blocks.set(x, 63, 0, Material.GRASS_BLOCK);
+        }
+        blocks.set(2, 63, 0, Material.CACTUS);
+        blocks.set(3, 65, 0, Material.STONE);
+        SpawnPositions positions = SpawnPositions.scan(extent(), blocks);
+        Assert.assertEquals(2, positions.size());
+        Assert.assertTrue(positions.contains(0, 64, 0));
+        Assert.assertTrue(positions.contains(1, 64, 0));
+
+        // Unknown blocks, such as outside of the snapshotted chunks, are never standable.
+        Assert.assertTrue(SpawnPositions.scan(extent(), (x, y, z) -> y == 63 ? Material.GRASS_BLOCK : null).isEmpty());
+    }
+
+    @Test
+    public void testBlockChanged() throws Exception {
+        TestBlocks blocks = new TestBlocks();
+        for (int x = 0; x < 4; x++) {
+            blocks.set(x, 63, 0, Material.GRASS_BLOCK);
+        }
+        SpawnPositions positions = SpawnPositions.scan(extent(), blocks);
+        Assert.assertEquals(4, positions.size());
+
+        // Floor removed.
+        blocks.set(0, 63, 0, Material.AIR);
+        positions.blockChanged(0, 63, 0, blocks);
+        Assert.assertFalse(positions.contains(0, 64, 0));
+        // Head blocked.
+        blocks.set(1, 65, 0, Material.STONE);
+        positions.blockChanged(1, 65, 0, blocks);
+        Assert.assertFalse(positions.contains(1, 64, 0));
+        // Feet blocked, then cleared again.
+        blocks.set(2, 64, 0, Material.STONE);
+        positions.blockChanged(2, 64, 0, blocks);
+        Assert.assertFalse(positions.contains(2, 64, 0));
+        blocks.set(2, 64, 0, Material.AIR);
+        positions.blockChanged(2, 64, 0, blocks);
+        Assert.assertTrue(positions.contains(2, 64, 0));
+        // Blocks that no position depends on change nothing.
+        blocks.set(3, 66, 0, Material.STONE);
+        positions.blockChanged(3, 66, 0, blocks);
+        Assert.assertEquals(2, positions.size());
+    }
+
+    @Test
+    public void testPickChecksAgain() throws Exception {
+        TestBlocks blocks = new TestBlocks();
+        for (int x = 0; x < 4; x++) {
+            blocks.set(x, 63, 0, Material.GRASS_BLOCK);
+        }
+        SpawnPositions positions = SpawnPositions.scan(extent(), blocks);
+
+        // Changed without an event, so the positions don't know yet.
+        blocks.set(0, 64, 0, Material.STONE);
+        blocks.set(1, 63, 0, Material.LAVA);
+        blocks.set(2, 65, 0, Material.CACTUS);
+        Random random = new Random(50);
+        for (int i = 0; i < 20; i++) {
+            Assert.assertEquals(OptionalLong.of(BlockKeys.pack(3, 64, 0)), positions.pick(random, blocks));
+        }
+        Assert.assertEquals(1, positions.size());
+
+        blocks.set(3, 63, 0, Material.AIR);
+        Assert.assertFalse(positions.pick(random, blocks).isPresent());
+        Assert.assertTrue(positions.isEmpty());
+        Assert.assertFalse(positions.pick(random, blocks).isPresent());
+        Assert.assertEquals(4, positions.rejectedSize());
+    }
+
+    @Test
+    public void testRecheck() throws Exception {
+        TestBlocks blocks = new TestBlocks();
+        for (int x = 0; x < 4; x++) {
+            blocks.set(x, 63, 0, Material.GRASS_BLOCK);
+        }
+        SpawnPositions positions = SpawnPositions.scan(extent(), blocks);
+        blocks.set(0, 64, 0, Material.STONE);
+        blocks.set(1, 63, 0, Material.LAVA);
+        Random random = new Random(50);
+        for (int i = 0; i < 20; i++) {
+            positions.pick(random, blocks);
+        }
+        Assert.assertEquals(2, positions.size());
+        Assert.assertEquals(2, positions.rejectedSize());
+
+        // Still unstandable, so kept until they change back, again without an event.
+        positions.recheck(blocks);
+        Assert.assertEquals(2, positions.rejectedSize());
+        blocks.set(0, 64, 0, Material.AIR);
+        positions.recheck(blocks);
+        Assert.assertTrue(positions.contains(0, 64, 0));
+        Assert.assertEquals(3, positions.size());
+        Assert.assertEquals(1, positions.rejectedSize());
+
+        // Changing back with an event is just as good.
+        blocks.set(1, 63, 0, Material.STONE);
+        positions.blockChanged(1, 63, 0, blocks);
+        Assert.assertTrue(positions.contains(1, 64, 0));
+        Assert.assertEquals(0, positions.rejectedSize());
+    }
+
+    /**
+     * Blocks from x 0 to 3 at y 64.
+     */
+    private static BlockKeySet extent() {
+        BlockKeySet candidates = new BlockKeySet();
+        for (int x = 0; x < 4; x++) {
+            candidates.add(x, 64, 0);
+        }
+        return candidates;
+    }
+
+    /**
+     * Air everywhere but the blocks that are set.
+     */
+    private static final class TestBlocks implements BlockTypes {
+
+        private final BlockKeyMap<Material> types = new BlockKeyMap<>();
+
+        void set(int x, int y, int z, Material type) {
+            types.put(x, y, z, type);
+        }
+
+        @Override
+        public Material getType(int x, int y, int z) {
+            Material type = types.get(x, y, z);
+            return type == null ? Material.AIR : type;
+        }
+    }
+}
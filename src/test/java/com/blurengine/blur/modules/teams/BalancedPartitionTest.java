@@ -0,0 +1,109 @@
+/*
+ * Copyright 2026 Ali Moghnieh
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blurengine.blur.modules.teams;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class BalancedPartitionTest {
+
+    private static final List<String> TEAMS = Arrays.asList("red", "blue", "green", "yellow");
+
+    @Test
+    public void testEvenSplit() throws Exception {
+        Map<String, List<Integer>> result = BalancedPartition.partition(TEAMS, t -> 0, players(100));
+        Assert.assertEquals(TEAMS, new ArrayList<>(result.keySet()));
+        for (List<Integer> members : result.values()) {
+            Assert.assertEquals(25, members.size());
+        }
+        // Ties go to the earliest team, so members are dealt out in team order.
+        Assert.assertEquals(Arrays.asList(0, 4, 8), result.get("red").subList(0, 3));
+        Assert.assertEquals(Arrays.asList(3, 7, 11), result.get("yellow").subList(0, 3));
+    }
+
+    @Test
+    public void testExistingSizes() throws Exception {
+        Map<String, Integer> sizes = new HashMap<>();
+        sizes.put("red", 5);
+        sizes.put("blue", 2);
+        sizes.put("green", 0);
+        sizes.put("yellow", 3);
+        Map<String, List<Integer>> result = BalancedPartition.partition(TEAMS, sizes::get, players(6));
+        Assert.assertEquals(Collections.emptyList(), result.get("red"));
+        Assert.assertEquals(Arrays.asList(2, 4), result.get("blue"));
+        Assert.assertEquals(Arrays.asList(0, 1, 3, 5), result.get("green"));
+        Assert.assertEquals(Collections.emptyList(), result.get("yellow"));
+    }
+
+    @Test
+    public void testMatchesRoundRobin() throws Exception {
+        Map<String, Integer> sizes = new HashMap<>();
+        sizes.put("red", 1);
+        sizes.put("blue", 4);
+        sizes.put("green", 1);
+        sizes.put("yellow", 0);
+        Map<String, List<Integer>> expected = new HashMap<>();
+        Map<String, Integer> counts = new HashMap<>(sizes);
+        for (Integer player : players(37)) {
+            String team = roundRobin(counts);
+            expected.computeIfAbsent(team, t -> new ArrayList<>()).add(player);
+            counts.merge(team, 1, Integer::sum);
+        }
+        Map<String, List<Integer>> result = BalancedPartition.partition(TEAMS, sizes::get, players(37));
+        for (String team : TEAMS) {
+            Assert.assertEquals(expected.getOrDefault(team, Collections.emptyList()), result.get(team));
+        }
+    }
+
+    @Test
+    public void testEmpty() throws Exception {
+        Assert.assertTrue(BalancedPartition.partition(Collections.<String>emptyList(), t -> 0, players(0)).isEmpty());
+        try {
+            BalancedPartition.partition(Collections.<String>emptyList(), t -> 0, players(1));
+            Assert.fail();
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+    /**
+     * Mirrors {@link RoundRobinBalancedTeamAssignmentStrategy}: the first of the smallest teams.
+     */
+    private static String roundRobin(Map<String, Integer> counts) {
+        String found = null;
+        for (String team : TEAMS) {
+            if (found == null || counts.get(team) < counts.get(found)) {
+                found = team;
+            }
+        }
+        return found;
+    }
+
+    private static List<Integer> players(int count) {
+        List<Integer> players = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            players.add(i);
+        }
+        return players;
+    }
+}
@@ -0,0 +1,227 @@
+/*
+ * Copyright 2026 Ali Moghnieh
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blurengine.blur.modules.teams;
+
+import org.bukkit.ChatColor;
+import org.bukkit.scoreboard.Team;
+import org.bukkit.scoreboard.Team.Option;
+import org.bukkit.scoreboard.Team.OptionStatus;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+public class TeamScoreboardSyncTest {
+
+    @Test
+    public void testReconcile() throws Exception {
+        FakeTeam fake = new FakeTeam();
+        fake.entries.add("stale");
+        fake.entries.add("p1");
+        fake.options.put(Option.COLLISION_RULE, OptionStatus.NEVER);
+        Team team = fake.proxy();
+
+        TeamScoreboardSync sync = newSync(team);
+        sync.addEntry("p1");
+        sync.addEntry("p2");
+        // Display name, color, collision rule, removing stale and adding p2; the prefix and other options already match.
+        Assert.assertEquals(5, sync.flush());
+        Assert.assertEquals(new HashSet<>(Arrays.asList("p1", "p2")), fake.entries);
+        Assert.assertEquals("Red", fake.displayName);
+        Assert.assertFalse(sync.isDirty());
+        Assert.assertEquals(0, sync.flush());
+
+        // An already up to date team costs nothing beyond the reads.
+        fake.operations = 0;
+        TeamScoreboardSync second = newSync(team);
+        second.addEntry("p1");
+        second.addEntry("p2");
+        Assert.assertEquals(0, second.flush());
+        Assert.assertEquals(0, fake.operations);
+    }
+
+    @Test
+    public void testDeltas() throws Exception {
+        FakeTeam fake = new FakeTeam();
+        TeamScoreboardSync sync = newSync(fake.proxy());
+        sync.flush();
+        fake.operations = 0;
+
+        sync.addEntry("p1");
+        sync.addEntry("p2");
+        sync.removeEntry("p2"); // cancels out
+        sync.setDisplayName("Red");  // unchanged
+        sync.setColor(ChatColor.RED);
+        Assert.assertEquals(1, sync.flush());
+        Assert.assertEquals(1, fake.operations);
+        Assert.assertEquals(new HashSet<>(Arrays.asList("p1")), fake.entries);
+
+        sync.removeEntry("p1");
+        sync.addEntry("p1"); // cancels out
+        sync.setDisplayName("Rouge");
+        sync.setOption(Option.NAME_TAG_VISIBILITY, OptionStatus.NEVER);
+        sync.removeEntry("missing");
+        Assert.assertEquals(2, sync.flush());
+        Assert.assertEquals("Rouge", fake.displayName);
+        Assert.assertEquals(OptionStatus.NEVER, fake.options.get(Option.NAME_TAG_VISIBILITY));
+        Assert.assertEquals(new HashSet<>(Arrays.asList("p1")), fake.entries);
+    }
+
+    @Test
+    public void testEntriesNotSynced() throws Exception {
+        FakeTeam fake = new FakeTeam();
+        fake.entries.add("other");
+        TeamScoreboardSync sync = new TeamScoreboardSync(fake.proxy(), false);
+        sync.addEntry("p1");
+        sync.flush();
+        Assert.assertEquals(new HashSet<>(Arrays.asList("other")), fake.entries);
+    }
+
+    @Test
+    public void testGameStart() throws Exception {
+        // 100 players joining a team at game start, with a few swapping teams before the next tick.
+        int players = 100;
+
+        FakeTeam legacyFake = new FakeTeam();
+        Team legacyTeam = legacyFake.proxy();
+        Set<String> members = new HashSet<>();
+        for (int i = 0; i < players; i++) {
+            members.add("p" + i);
+            legacyUpdate(legacyTeam, members);
+        }
+        for (int i = 0; i < 10; i++) {
+            members.remove("p" + i);
+            legacyUpdate(legacyTeam, members);
+        }
+
+        FakeTeam fake = new FakeTeam();
+        TeamScoreboardSync sync = newSync(fake.proxy());
+        sync.flush();
+        fake.operations = 0;
+        for (int i = 0; i < players; i++) {
+            sync.addEntry("p" + i);
+        }
+        for (int i = 0; i < 10; i++) {
+            sync.removeEntry("p" + i);
+        }
+        sync.flush();
+
+        Set<String> expected = new HashSet<>();
+        for (int i = 10; i < players; i++) {
+            expected.add("p" + i);
+        }
+        Assert.assertEquals(expected, fake.entries);
+        Assert.assertEquals(players - 10, fake.operations);
+        Assert.assertTrue(fake.operations < legacyFake.operations);
+    }
+
+    /**
+     * The previous BlurTeam#updateTeamFields, called for every team change.
+     */
+    private static void legacyUpdate(Team team, Set<String> members) {
+        if (!team.getDisplayName().equals("Red")) {
+            team.setDisplayName("Red");
+        }
+        if (!team.getPrefix().equals("")) {
+            team.setPrefix("");
+        }
+        for (Option option : Option.values()) {
+            if (!team.getOption(option).equals(OptionStatus.ALWAYS)) {
+                team.setOption(option, OptionStatus.ALWAYS);
+            }
+        }
+        team.setColor(ChatColor.RED);
+        Set<String> oldEntries = new HashSet<>(members);
+        oldEntries.removeAll(team.getEntries());
+        oldEntries.forEach(team::removeEntry);
+        for (String member : members) {
+            team.addEntry(member);
+        }
+    }
+
+    private static TeamScoreboardSync newSync(Team team) {
+        TeamScoreboardSync sync = new TeamScoreboardSync(team, true);
+        sync.setDisplayName("Red");
+        sync.setPrefix("");
+        sync.setColor(ChatColor.RED);
+        for (Option option : Option.values()) {
+            sync.setOption(option, OptionStatus.ALWAYS);
+        }
+        return sync;
+    }
+
+    /**
+     * Scoreboard team that records its state and counts every mutating call, each of which would be a packet to every viewer.
+     */
+    private static final class FakeTeam {
+
+        String displayName = "";
+        String prefix = "";
+        ChatColor color = ChatColor.RESET;
+        final Map<Option, OptionStatus> options = new EnumMap<>(Option.class);
+        final Set<String> entries = new HashSet<>();
+        int operations;
+
+        Team proxy() {
+            return (Team) Proxy.newProxyInstance(Team.class.getClassLoader(), new Class[]{Team.class}, (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "getDisplayName":
+                        return displayName;
+                    case "getPrefix":
+                        return prefix;
+                    case "getColor":
+                        return color;
+                    case "getOption":
+                        return options.getOrDefault((Option) args[0], OptionStatus.ALWAYS);
+                    case "getEntries":
+                        return new HashSet<>(entries);
+                    case "setDisplayName":
+                        displayName = (String) args[0];
+                        break;
+                    case "setPrefix":
+                        prefix = (String) args[0];
+                        break;
+                    case "setColor":
+                        color = (ChatColor) args[0];
+                        break;
+                    case "setOption":
+                        options.put((Option) args[0], (OptionStatus) args[1]);
+                        break;
+                    case "addEntry":
+                        entries.add((String) args[0]);
+                        break;
+                    case "removeEntry":
+                        operations++;
+                        return entries.remove((String) args[0]);
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "equals":
+                        return proxy == args[0];
+                    default:
+                        throw new UnsupportedOperationException(method.getName());
+                }
+                operations++;
+                return null;
+            });
+        }
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright 2026 Ali Moghnieh
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blurengine.blur.session;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+import java.util.Set;
+
+public class AliveTrackerTest {
+
+    private static final String RED = "red", BLUE = "blue";
+
+    @Test
+    public void testLifecycle() throws Exception {
+        AliveTracker<String, String> tracker = new AliveTracker<>();
+
+        // Join: assigned a team but not alive until the first respawn.
+        tracker.setTeam("a", RED);
+        tracker.setTeam("b", BLUE);
+        Assert.assertEquals(0, tracker.getAliveCount());
+        Assert.assertTrue(tracker.getAliveTeams().isEmpty());
+
+        // Respawn
+        tracker.setAlive("a", true);
+        tracker.setAlive("b", true);
+        tracker.setAlive("b", true);
+        Assert.assertEquals(2, tracker.getAliveCount());
+        Assert.assertEquals(1, tracker.getAliveCount(RED));
+        Assert.assertEquals(new HashSet<>(Arrays.asList(RED, BLUE)), tracker.getAliveTeams());
+
+        // Team change while alive moves the count.
+        tracker.setTeam("b", RED);
+        Assert.assertEquals(2, tracker.getAliveCount(RED));
+        Assert.assertEquals(0, tracker.getAliveCount(BLUE));
+        Assert.assertEquals(Collections.singleton(RED), tracker.getAliveTeams());
+
+        // Death
+        tracker.setAlive("a", false);
+        Assert.assertFalse(tracker.isAlive("a"));
+        Assert.assertEquals(Collections.singleton("b"), tracker.getAlivePlayers());
+        Assert.assertEquals(1, tracker.getAliveCount(RED));
+
+        // Team change while dead only applies on the next respawn.
+        tracker.setTeam("a", BLUE);
+        Assert.assertEquals(0, tracker.getAliveCount(BLUE));
+        tracker.setAlive("a", true);
+        Assert.assertEquals(1, tracker.getAliveCount(BLUE));
+
+        // Losing a team counts the player under null.
+        tracker.setTeam("a", null);
+        Assert.assertEquals(1, tracker.getAliveCount(null));
+        Assert.assertTrue(tracker.getAliveTeams().contains(null));
+
+        // Leave
+        tracker.remove("a");
+        tracker.remove("b");
+        Assert.assertEquals(0, tracker.getAliveCount());
+        Assert.assertTrue(tracker.getAliveTeams().isEmpty());
+
+        // Rejoining starts from scratch.
+        tracker.setAlive("b", true);
+        Assert.assertEquals(Collections.singleton(null), tracker.getAliveTeams());
+    }
+
+    @Test
+    public void testParentAndChild() throws Exception {
+        // Each session has its own tracker, updated by its own core data.
+        AliveTracker<String, String> parent = new AliveTracker<>();
+        AliveTracker<String, String> child = new AliveTracker<>();
+        parent.setTeam("a", RED);
+        parent.setAlive("a", true);
+        Assert.assertFalse(parent.hasAwayPlayers());
+
+        // Entering the child session: deaths and respawns there only reach the child's tracker, so the parent's views go stale.
+        parent.setAway("a", true);
+        child.setAlive("a", true);
+        child.setAlive("a", false);
+        Assert.assertTrue(parent.hasAwayPlayers());
+        Assert.assertTrue(parent.isAlive("a"));
+        Assert.assertFalse(child.isAlive("a"));
+        Assert.assertFalse(child.hasAwayPlayers());
+
+        // Back in the parent session, its own core data applies again.
+        child.remove("a");
+        parent.setAway("a", false);
+        Assert.assertFalse(parent.hasAwayPlayers());
+        Assert.assertEquals(Collections.singleton("a"), parent.getAlivePlayers());
+        Assert.assertEquals(1, parent.getAliveCount(RED));
+
+        // Leaving the parent while away forgets the player.
+        parent.setAway("a", true);
+        parent.remove("a");
+        Assert.assertFalse(parent.hasAwayPlayers());
+        Assert.assertEquals(0, parent.getAliveCount());
+    }
+
+    @Test
+    public void testViews() throws Exception {
+        AliveTracker<String, String> tracker = new AliveTracker<>();
+        Set<String> alive = tracker.getAlivePlayers();
+        tracker.setAlive("a", true);
+        tracker.setAlive("b", true);
+        Assert.assertEquals(Arrays.asList("a", "b"), Arrays.asList(alive.toArray()));
+        try {
+            alive.remove("a");
+            Assert.fail();
+        } catch (UnsupportedOperationException expected) {
+        }
+    }
+
+    @Test
+    public void testMatchesRecomputation() throws Exception {
+        Random random = new Random(49);
+        String[] players = new String[40];
+        String[] teams = {RED, BLUE, "green", null};
+        for (int i = 0; i < players.length; i++) {
+            players[i] = "p" + i;
+        }
+
+        AliveTracker<String, String> tracker = new AliveTracker<>();
+        Map<String, String> playerTeams = new HashMap<>();
+        Set<String> alive = new HashSet<>();
+        for (int step = 0; step < 50_000; step++) {
+            String player = players[random.nextInt(players.length)];
+            switch (random.nextInt(4)) {
+                case 0:
+                    tracker.setAlive(player, true);
+                    alive.add(player);
+                    break;
+                case 1:
+                    tracker.setAlive(player, false);
+                    alive.remove(player);
+                    break;
+                case 2:
+                    String team = teams[random.nextInt(teams.length)];
+                    tracker.setTeam(player, team);
+                    playerTeams.put(player, team);
+                    break;
+                default:
+                    tracker.remove(player);
+                    alive.remove(player);
+                    playerTeams.remove(player);
+            }
+
+            Assert.assertEquals(alive, tracker.getAlivePlayers());
+            Set<String> aliveTeams = new LinkedHashSet<>();
+            for (String p : alive) {
+                aliveTeams.add(playerTeams.get(p));
+            }
+            Assert.assertEquals(aliveTeams, new HashSet<>(tracker.getAliveTeams()));
+            for (String team : teams) {
+                long count = alive.stream().filter(p -> Objects.equals(playerTeams.get(p), team)).count();
+                Assert.assertEquals(count, tracker.getAliveCount(team));
+            }
+        }
+    }
+}
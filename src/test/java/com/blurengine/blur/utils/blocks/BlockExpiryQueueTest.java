@@ -0,0 +1,237 @@
+/*
+ * Copyright 2026 Ali Moghnieh
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blurengine.blur.utils.blocks;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+public class BlockExpiryQueueTest {
+
+    @Test
+    public void testPollOrder() throws Exception {
+        Random random = new Random(0);
+        BlockExpiryQueue<Integer> queue = new BlockExpiryQueue<>();
+        Map<Long, Long> deadlines = new HashMap<>();
+        for (int i = 0; i < 100_000; i++) {
+            long key = BlockKeys.pack(random.nextInt(64) - 32, random.nextInt(8), random.nextInt(64) - 32);
+            if (random.nextInt(4) == 0) {
+                Assert.assertEquals(deadlines.remove(key) != null, queue.remove(key) != null);
+            } else {
+                long deadline = random.nextInt(1000);
+                Assert.assertEquals(deadlines.put(key, deadline) != null, queue.put(key, i, deadline) != null);
+            }
+            Assert.assertEquals(deadlines.size(), queue.size());
+        }
+
+        for (long now = 0; now <= 1000; now += 50) {
+            List<Long> polled = new ArrayList<>();
+            long last = Long.MIN_VALUE;
+            final long time = now;
+            queue.poll(now, (key, value) -> {
+                polled.add(key);
+                return true;
+            });
+            for (long key : polled) {
+                long deadline = deadlines.remove(key);
+                Assert.assertTrue(deadline <= time);
+                Assert.assertTrue(deadline >= last);
+                last = deadline;
+            }
+            for (long deadline : deadlines.values()) {
+                Assert.assertTrue(deadline > time);
+            }
+            Assert.assertEquals(deadlines.size(), queue.size());
+        }
+        Assert.assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void testPollDefers() throws Exception {
+        BlockExpiryQueue<String> queue = new BlockExpiryQueue<>();
+        long key = BlockKeys.pack(1, 2, 3);
+        queue.put(key, "a", 10);
+        Assert.assertEquals(0, queue.poll(9, (k, v) -> true));
+        Assert.assertEquals(0, queue.poll(10, (k, v) -> false));
+        Assert.assertEquals(11, queue.getDeadline(key));
+        Assert.assertEquals(1, queue.poll(11, (k, v) -> true));
+        Assert.assertTrue(queue.isEmpty());
+        Assert.assertEquals(Long.MAX_VALUE, queue.peekDeadline());
+    }
+
+    @Test
+    public void testPollReentrant() throws Exception {
+        BlockExpiryQueue<String> queue = new BlockExpiryQueue<>();
+        long a = BlockKeys.pack(0, 0, 0);
+        long b = BlockKeys.pack(1, 0, 0);
+        long c = BlockKeys.pack(2, 0, 0);
+        queue.put(a, "a", 10);
+        queue.put(b, "b", 20);
+
+        // Re-adding the polled block keeps it, and blocks added as already expired are visited by the same poll.
+        List<String> polled = new ArrayList<>();
+        Assert.assertEquals(1, queue.poll(15, (key, value) -> {
+            polled.add(value);
+            if (key == a) {
+                queue.put(a, "a2", 30);
+                queue.put(c, "c", 5);
+            }
+            return true;
+        }));
+        Assert.assertEquals(Arrays.asList("a", "c"), polled);
+        Assert.assertEquals("a2", queue.get(a));
+        Assert.assertEquals(30, queue.getDeadline(a));
+        Assert.assertFalse(queue.containsKey(c));
+        Assert.assertEquals(2, queue.size());
+
+        // Removing other blocks, or the polled block itself, while deferring.
+        Assert.assertEquals(0, queue.poll(25, (key, value) -> {
+            queue.remove(a);
+            return false;
+        }));
+        Assert.assertFalse(queue.containsKey(a));
+        Assert.assertEquals(26, queue.getDeadline(b));
+        Assert.assertEquals(0, queue.poll(26, (key, value) -> {
+            queue.remove(key);
+            return false;
+        }));
+        Assert.assertTrue(queue.isEmpty());
+        Assert.assertEquals(Long.MAX_VALUE, queue.peekDeadline());
+    }
+
+    @Test
+    public void testReschedule() throws Exception {
+        BlockExpiryQueue<String> queue = new BlockExpiryQueue<>();
+        queue.put(BlockKeys.pack(0, 0, 0), "a", 10);
+        queue.put(BlockKeys.pack(1, 0, 0), "b", 20);
+        Assert.assertEquals(10, queue.peekDeadline());
+        queue.put(BlockKeys.pack(0, 0, 0), "a", 30);
+        Assert.assertEquals(20, queue.peekDeadline());
+        Assert.assertEquals("a", queue.get(0, 0, 0));
+        queue.put(BlockKeys.pack(0, 0, 0), "c", 5);
+        Assert.assertEquals(5, queue.peekDeadline());
+        Assert.assertEquals("c", queue.get(0, 0, 0));
+    }
+
+    @Test
+    public void testContainsOrAdjacent() throws Exception {
+        Random random = new Random(1);
+        BlockExpiryQueue<Object> queue = new BlockExpiryQueue<>();
+        BlockKeySet expected = new BlockKeySet();
+        Object value = new Object();
+        for (int i = 0; i < 20_000; i++) {
+            long key = BlockKeys.pack(random.nextInt(96) - 48, random.nextInt(4), random.nextInt(96) - 48);
+            if (random.nextBoolean()) {
+                queue.put(key, value, 0);
+                expected.add(key);
+            } else {
+                queue.remove(key);
+                expected.remove(key);
+            }
+        }
+        for (int x = -50; x < 50; x++) {
+            for (int y = -1; y < 5; y++) {
+                for (int z = -50; z < 50; z++) {
+                    boolean adjacent = expected.contains(x, y, z)
+                        || expected.contains(x + 1, y, z) || expected.contains(x - 1, y, z)
+                        || expected.contains(x, y + 1, z) || expected.contains(x, y - 1, z)
+                        || expected.contains(x, y, z + 1) || expected.contains(x, y, z - 1);
+                    Assert.assertEquals(adjacent, queue.containsOrAdjacent(x, y, z));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testChunkEdges() throws Exception {
+        BlockExpiryQueue<Object> queue = new BlockExpiryQueue<>();
+        queue.put(BlockKeys.pack(15, 64, 0), new Object(), 0);
+        Assert.assertTrue(queue.isChunkTracked(0, 0));
+        Assert.assertTrue(queue.isChunkTracked(1, 0));
+        Assert.assertTrue(queue.isChunkTracked(0, -1));
+        Assert.assertFalse(queue.isChunkTracked(-1, 0));
+        Assert.assertFalse(queue.isChunkTracked(0, 1));
+        Assert.assertTrue(queue.containsOrAdjacent(16, 64, 0));
+        Assert.assertTrue(queue.containsOrAdjacent(15, 64, -1));
+
+        queue.remove(BlockKeys.pack(15, 64, 0));
+        Assert.assertFalse(queue.isChunkTracked(0, 0));
+        Assert.assertFalse(queue.isChunkTracked(1, 0));
+        Assert.assertFalse(queue.isChunkTracked(0, -1));
+    }
+
+    @Test
+    public void testSortedKeysGroupChunks() throws Exception {
+        Random random = new Random(2);
+        BlockExpiryQueue<Object> queue = new BlockExpiryQueue<>();
+        for (int i = 0; i < 5_000; i++) {
+            queue.put(BlockKeys.pack(random.nextInt(256) - 128, random.nextInt(64), random.nextInt(256) - 128), new Object(), i);
+        }
+        long[] keys = queue.sortedKeys();
+        Assert.assertEquals(queue.size(), keys.length);
+        BlockKeySet finishedChunks = new BlockKeySet();
+        for (int i = 1; i < keys.length; i++) {
+            long previousChunk = BlockKeys.chunkKey(keys[i - 1]);
+            long chunk = BlockKeys.chunkKey(keys[i]);
+            if (previousChunk != chunk) {
+                Assert.assertTrue(finishedChunks.add(previousChunk));
+            }
+            Assert.assertFalse(finishedChunks.contains(chunk));
+        }
+    }
+
+    /**
+     * Polls a large queue over a few ticks, which only visits the few entries that expired, and checks blocks in chunks without entries.
+     */
+    @Test
+    public void testLargeQueue() throws Exception {
+        BlockExpiryQueue<Object> queue = new BlockExpiryQueue<>();
+        Map<Long, Long> deadlines = new HashMap<>();
+        Random random = new Random(3);
+        int ticks = 200;
+        for (int i = 0; i < 20_000; i++) {
+            long key = BlockKeys.pack(random.nextInt(128), 64 + random.nextInt(8), random.nextInt(128));
+            long deadline = 1 + random.nextInt(1_000_000);
+            queue.put(key, key, deadline);
+            deadlines.put(key, deadline);
+        }
+        long expectedExpired = deadlines.values().stream().filter(deadline -> deadline < ticks).count();
+
+        int[] expired = {0};
+        for (int tick = 0; tick < ticks; tick++) {
+            queue.poll(tick, (key, value) -> {
+                expired[0]++;
+                return true;
+            });
+        }
+        Assert.assertEquals(expectedExpired, expired[0]);
+        Assert.assertEquals(deadlines.size() - expectedExpired, queue.size());
+
+        for (int x = 1024; x < 1024 + 256; x += 7) {
+            for (int z = 1024; z < 1024 + 256; z += 7) {
+                Assert.assertFalse(queue.containsOrAdjacent(x, 64, z));
+                Assert.assertFalse(queue.isChunkTracked(x >> 4, z >> 4));
+            }
+        }
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2026 Ali Moghnieh
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blurengine.blur.utils.blocks;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+import java.util.Set;
+
+public class BlockKeyMapTest {
+
+    @Test
+    public void testPackRoundTrip() throws Exception {
+        Random random = new Random(0);
+        for (int i = 0; i < 100_000; i++) {
+            int x = random.nextInt(60_000_000) - 30_000_000;
+            int y = random.nextInt(4096) - 2048;
+            int z = random.nextInt(60_000_000) - 30_000_000;
+            long key = BlockKeys.pack(x, y, z);
+            Assert.assertEquals(x, BlockKeys.x(key));
+            Assert.assertEquals(y, BlockKeys.y(key));
+            Assert.assertEquals(z, BlockKeys.z(key));
+            Assert.assertEquals(BlockKeys.chunkKey(x >> 4, z >> 4), BlockKeys.chunkKey(key));
+            Assert.assertEquals(x >> 4, BlockKeys.chunkKeyX(BlockKeys.chunkKey(key)));
+            Assert.assertEquals(z >> 4, BlockKeys.chunkKeyZ(BlockKeys.chunkKey(key)));
+        }
+    }
+
+    @Test
+    public void testMatchesHashMap() throws Exception {
+        Random random = new Random(1);
+        BlockKeyMap<Integer> map = new BlockKeyMap<>();
+        Map<Long, Integer> expected = new HashMap<>();
+        BlockKeySet set = new BlockKeySet();
+        Set<Long> expectedSet = new HashSet<>();
+        // Small coordinate range to force collisions, removals and the zero key (block 0, 0, 0).
+        for (int i = 0; i < 500_000; i++) {
+            long key = BlockKeys.pack(random.nextInt(32) - 16, random.nextInt(4), random.nextInt(32) - 16);
+            switch (random.nextInt(3)) {
+                case 0:
+                    Assert.assertEquals(expected.put(key, i), map.put(key, i));
+                    Assert.assertEquals(expectedSet.add(key), set.add(key));
+                    break;
+                case 1:
+                    Assert.assertEquals(expected.remove(key), map.remove(key));
+                    Assert.assertEquals(expectedSet.remove(key), set.remove(key));
+                    break;
+                default:
+                    Assert.assertEquals(expected.get(key), map.get(key));
+                    Assert.assertEquals(expectedSet.contains(key), set.contains(key));
+            }
+            Assert.assertEquals(expected.size(), map.size());
+            Assert.assertEquals(expectedSet.size(), set.size());
+        }
+
+        int removed = map.removeIf((key, value) -> value % 3 == 0);
+        int expectedRemoved = expected.size();
+        expected.values().removeIf(value -> value % 3 == 0);
+        Assert.assertEquals(expectedRemoved - expected.size(), removed);
+        map.forEach((key, value) -> Assert.assertTrue(Objects.equals(expected.get(key), value)));
+    }
+
+    @Test
+    public void testGroupByChunk() throws Exception {
+        BlockKeySet set = new BlockKeySet();
+        for (int x = -16; x < 16; x++) {
+            for (int z = 0; z < 16; z++) {
+                set.add(x, 64, z);
+            }
+        }
+        BlockKeyMap<BlockKeySet> chunks = set.groupByChunk();
+        Assert.assertEquals(2, chunks.size());
+        Assert.assertEquals(256, chunks.get(BlockKeys.chunkKey(-1, 0)).size());
+        Assert.assertEquals(256, chunks.get(BlockKeys.chunkKey(0, 0)).size());
+        Assert.assertEquals(2, set.chunkKeys().size());
+    }
+}
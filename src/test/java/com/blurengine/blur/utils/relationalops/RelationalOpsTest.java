@@ -19,6 +19,8 @@ package com.blurengine.blur.utils.relationalops;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.Arrays;
+
 public class RelationalOpsTest {
 
     public static final int NUMBER = 123;
@@ -101,4 +103,25 @@ public class RelationalOpsTest {
         Assert.assertTrue(relational.apply(NUMBER, null)); // NUMBER is equal to NUMBER so allow it.
         Assert.assertTrue(relational.apply(NUMBER - 1, null)); // NUMBER - 1 is less than NUMBER.
     }
+
+    @Test
+    public void testApplyDouble() throws Exception {
+        // applyDouble must agree with apply for every operator, static and inversed relational.
+        double[] values = {NUMBER - 1, NUMBER, NUMBER + 1};
+        for (String string : new String[]{PLAIN_NUMBER, EQUAL_NUMBER, NOT_EQUAL_NUMBER, GT_NUMBER, LT_NUMBER, GTE_NUMBER, LTE_NUMBER}) {
+            Relational<Number> relational = RelationalUtils.deserializeNumber(string);
+            for (Relational<Number> r : Arrays.asList(relational, relational.inversed())) {
+                for (RelationalOperator operator : RelationalOperator.values()) {
+                    for (double value : values) {
+                        Assert.assertEquals(string + " " + operator + " " + value, r.apply(value, operator),
+                            Relationals.applyDouble(r, value, operator));
+                    }
+                }
+            }
+        }
+        // Relationals from elsewhere fall back to apply.
+        Relational<Number> custom = (number, operator) -> number.intValue() % 2 == 0;
+        Assert.assertTrue(Relationals.applyDouble(custom, 4, RelationalOperator.EQUAL));
+        Assert.assertFalse(Relationals.applyDouble(custom, 3, RelationalOperator.EQUAL));
+    }
 }